@@ -0,0 +1,36 @@
+package simulation.benchmarks;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * Entry point of the benchmark jar. Passes all arguments to the JMH command line and enables the
+ * GC profiler unless other profilers are requested, such that every run reports the time as well as
+ * the allocation rate per operation. Example: java -jar benchmarks.jar IntersectionBenchmark -f 1
+ */
+public final class BenchmarkMain {
+
+    /** Profiler that measures the allocations of the benchmarks */
+    private static final String ALLOCATION_PROFILER = "gc";
+
+    private BenchmarkMain() {
+    }
+
+    /**
+     * Runs the JMH benchmarks with the given command line
+     *
+     * @param args JMH command line options
+     * @throws Exception If JMH fails to parse the options or to run the benchmarks
+     */
+    public static void main(String[] args) throws Exception {
+        List<String> arguments = new ArrayList<>(Arrays.asList(args));
+
+        if (!arguments.contains("-prof")) {
+            arguments.add("-prof");
+            arguments.add(ALLOCATION_PROFILER);
+        }
+
+        org.openjdk.jmh.Main.main(arguments.toArray(new String[0]));
+    }
+}
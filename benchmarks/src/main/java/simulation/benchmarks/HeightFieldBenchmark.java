@@ -0,0 +1,83 @@
+package simulation.benchmarks;
+
+import org.openjdk.jmh.annotations.*;
+import simulation.environment.geometry.height.ConcentricCircleGenerator;
+import simulation.environment.geometry.height.HeightFieldGrid;
+import simulation.environment.geometry.height.HeightGenerator;
+import simulation.environment.visualisationadapter.implementation.Bounds2D;
+
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Benchmark for ground queries of the analytic ConcentricCircleGenerator and of a HeightFieldGrid
+ * sampled from it, on a map of 2 km x 2 km with query points spread uniformly over the bounds
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class HeightFieldBenchmark {
+
+    /** Number of precomputed query points, power of two */
+    private static final int POINT_COUNT = 4096;
+
+    /** Seed for the query points */
+    private static final long SEED = 42L;
+
+    /** Size of the map in meters */
+    private static final double MAP_SIZE = 2000.0;
+
+    /** Cell size of the grid in meters */
+    @Param({"1.0", "5.0"})
+    public double cellSize;
+
+    /** Analytic generator */
+    private HeightGenerator generator;
+
+    /** Grid sampled from the analytic generator */
+    private HeightFieldGrid grid;
+
+    /** Query points {x, y} */
+    private double[][] points;
+
+    /** Index of the next query point */
+    private int index = 0;
+
+    @Setup
+    public void setUp() {
+        Bounds2D bounds = new Bounds2D(0, MAP_SIZE, 0, MAP_SIZE, 0, 0);
+        ConcentricCircleGenerator.init(bounds, true);
+        generator = ConcentricCircleGenerator.getInstance();
+        grid = HeightFieldGrid.sample(generator, bounds, cellSize);
+
+        Random random = new Random(SEED);
+        points = new double[POINT_COUNT][];
+
+        for (int i = 0; i < POINT_COUNT; ++i) {
+            points[i] = new double[] {MAP_SIZE * random.nextDouble(), MAP_SIZE * random.nextDouble()};
+        }
+    }
+
+    /**
+     * Returns the next query point
+     */
+    private double[] nextPoint() {
+        index = (index + 1) & (POINT_COUNT - 1);
+        return points[index];
+    }
+
+    @Benchmark
+    public double analyticGround() {
+        double[] point = nextPoint();
+        return generator.getGround(point[0], point[1]);
+    }
+
+    @Benchmark
+    public double gridGround() {
+        double[] point = nextPoint();
+        return grid.getGround(point[0], point[1]);
+    }
+}
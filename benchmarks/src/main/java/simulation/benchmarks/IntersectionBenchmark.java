@@ -0,0 +1,100 @@
+package simulation.benchmarks;
+
+import org.apache.commons.math3.linear.ArrayRealVector;
+import org.apache.commons.math3.linear.RealVector;
+import org.openjdk.jmh.annotations.*;
+import simulation.util.Log;
+import simulation.util.MathHelper;
+
+import java.util.*;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Benchmark that compares the 2D intersection checks of MathHelper for pairs of rectangles
+ * as they are produced by the boundary vectors of vehicles
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class IntersectionBenchmark {
+
+    /** Number of precomputed rectangle pairs */
+    private static final int PAIR_COUNT = 1024;
+
+    /** Rectangle corners {x0, y0, ..., x3, y3} */
+    private double[][] rectangles;
+
+    /** Rectangles as pairs of vector start points and end points */
+    private List<List<Map.Entry<RealVector, RealVector>>> vectors;
+
+    /** Index of the next pair */
+    private int index = 0;
+
+    @Setup
+    public void setUp() {
+        Log.setLogEnabled(false);
+        Random random = new Random(42);
+        rectangles = new double[2 * PAIR_COUNT][];
+        vectors = new ArrayList<>(2 * PAIR_COUNT);
+
+        // Vehicle sized rectangles close to each other, such that roughly half of the pairs intersect
+        for (int i = 0; i < 2 * PAIR_COUNT; ++i) {
+            double centerX = 6.0 * random.nextDouble();
+            double centerY = 6.0 * random.nextDouble();
+            double angle = 2.0 * Math.PI * random.nextDouble();
+            double[] signs = {-1.0, -1.0, 1.0, -1.0, 1.0, 1.0, -1.0, 1.0};
+            double[] corners = new double[8];
+
+            for (int j = 0; j < 8; j += 2) {
+                double x = 0.5 * signs[j] * 2.0;
+                double y = 0.5 * signs[j + 1] * 4.5;
+                corners[j] = centerX + Math.cos(angle) * x - Math.sin(angle) * y;
+                corners[j + 1] = centerY + Math.sin(angle) * x + Math.cos(angle) * y;
+            }
+
+            List<Map.Entry<RealVector, RealVector>> entries = new LinkedList<>();
+            for (int j = 0; j < 8; j += 2) {
+                RealVector start = new ArrayRealVector(new double[] {corners[j], corners[j + 1], 0.0});
+                RealVector end = new ArrayRealVector(new double[] {corners[(j + 2) % 8], corners[(j + 3) % 8], 0.0});
+                entries.add(new AbstractMap.SimpleEntry<>(start, end));
+            }
+
+            rectangles[i] = corners;
+            vectors.add(entries);
+        }
+    }
+
+    @TearDown
+    public void tearDown() {
+        Log.setLogEnabled(true);
+    }
+
+    @Benchmark
+    public boolean polygonIntersection() {
+        int pair = nextPair();
+        return MathHelper.checkPolygonIntersection2D(vectors.get(pair), vectors.get(pair + 1));
+    }
+
+    @Benchmark
+    public boolean intersection() {
+        int pair = nextPair();
+        return MathHelper.checkIntersection2D(vectors.get(pair), vectors.get(pair + 1));
+    }
+
+    @Benchmark
+    public boolean rectangleIntersection() {
+        int pair = nextPair();
+        return MathHelper.checkRectangleIntersection2D(rectangles[pair], rectangles[pair + 1]);
+    }
+
+    /**
+     * Returns the index of the first rectangle of the next pair
+     */
+    private int nextPair() {
+        index = (index + 2) & (2 * PAIR_COUNT - 1);
+        return index;
+    }
+}
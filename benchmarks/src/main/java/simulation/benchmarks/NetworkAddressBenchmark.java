@@ -0,0 +1,118 @@
+package simulation.benchmarks;
+
+import org.openjdk.jmh.annotations.*;
+import simulation.network.Ipv6Address;
+import simulation.network.NetworkUtils;
+
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Benchmark for the receiver checks of the link and network layer, i.e. the comparison of the receiver address
+ * of a frame with the node address and the broadcast or multicast address, with hex strings and binary addresses
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class NetworkAddressBenchmark {
+
+    /** Seed for the addresses */
+    private static final long SEED = 42L;
+
+    /** Number of receiver addresses, needs to be a power of two */
+    private static final int ADDRESS_COUNT = 1024;
+
+    /** MAC broadcast address as in the network settings */
+    private static final String MAC_BROADCAST = "ffffffffffff";
+
+    /** IPv6 link local multicast address as in the network settings */
+    private static final String IPV6_MULTICAST = "ff020000000000000000000000000001";
+
+    /** MAC receiver addresses as strings, newly created like the addresses of received frames */
+    private final String[] macReceiverStrings = new String[ADDRESS_COUNT];
+
+    /** MAC receiver addresses as binary values */
+    private final long[] macReceivers = new long[ADDRESS_COUNT];
+
+    /** IPv6 receiver addresses as strings */
+    private final String[] ipv6ReceiverStrings = new String[ADDRESS_COUNT];
+
+    /** IPv6 receiver addresses as binary values */
+    private final Ipv6Address[] ipv6Receivers = new Ipv6Address[ADDRESS_COUNT];
+
+    /** MAC address of the receiving node as string */
+    private String nodeMacString;
+
+    /** MAC address of the receiving node as binary value */
+    private long nodeMac;
+
+    /** IPv6 address of the receiving node as string */
+    private String nodeIpv6String;
+
+    /** IPv6 address of the receiving node as binary value */
+    private Ipv6Address nodeIpv6;
+
+    /** Binary MAC broadcast address */
+    private final long macBroadcast = NetworkUtils.macAddressToLong(MAC_BROADCAST);
+
+    /** Binary IPv6 multicast address */
+    private final Ipv6Address ipv6Multicast = Ipv6Address.parse(IPV6_MULTICAST);
+
+    /** Index of the next receiver address */
+    private int index;
+
+    @Setup
+    public void setUp() {
+        Random random = new Random(SEED);
+
+        for (int i = 0; i < ADDRESS_COUNT; ++i) {
+            // Mostly broadcast and multicast frames as sent by the beacon application
+            long mac = (random.nextInt(4) == 0 ? (0xfeL << 40) | (random.nextLong() & 0xffffffffffL) : macBroadcast);
+            Ipv6Address ipv6 = (random.nextInt(4) == 0 ? new Ipv6Address(0xfde938777acb4bd4L, random.nextLong()) : ipv6Multicast);
+            macReceivers[i] = mac;
+            macReceiverStrings[i] = new String(NetworkUtils.macAddressToString(mac));
+            ipv6Receivers[i] = ipv6;
+            ipv6ReceiverStrings[i] = new String(ipv6.toString());
+        }
+
+        nodeMac = (0xfeL << 40) | 1L;
+        nodeMacString = NetworkUtils.macAddressToString(nodeMac);
+        nodeIpv6 = new Ipv6Address(0xfde938777acb4bd4L, 1L);
+        nodeIpv6String = nodeIpv6.toString();
+    }
+
+    /**
+     * Returns the index of the next receiver address
+     */
+    private int nextIndex() {
+        index = (index + 1) & (ADDRESS_COUNT - 1);
+        return index;
+    }
+
+    @Benchmark
+    public boolean macReceiverString() {
+        String receiver = macReceiverStrings[nextIndex()];
+        return receiver.equals(nodeMacString) || receiver.equals(MAC_BROADCAST);
+    }
+
+    @Benchmark
+    public boolean macReceiverBinary() {
+        long receiver = macReceivers[nextIndex()];
+        return receiver == nodeMac || receiver == macBroadcast;
+    }
+
+    @Benchmark
+    public boolean ipv6ReceiverString() {
+        String receiver = ipv6ReceiverStrings[nextIndex()];
+        return receiver.equals(nodeIpv6String) || receiver.equals(IPV6_MULTICAST);
+    }
+
+    @Benchmark
+    public boolean ipv6ReceiverBinary() {
+        Ipv6Address receiver = ipv6Receivers[nextIndex()];
+        return receiver.equals(nodeIpv6) || receiver.equals(ipv6Multicast);
+    }
+}
@@ -0,0 +1,90 @@
+package simulation.benchmarks;
+
+import org.openjdk.jmh.annotations.*;
+import simulation.network.NetworkDiscreteEvent;
+import simulation.network.NetworkDiscreteEventId;
+import simulation.network.NetworkEventCalendarQueue;
+
+import java.util.Comparator;
+import java.util.PriorityQueue;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Benchmark for the event queue of the network simulation with the hold model, i.e. the earliest event is removed
+ * and a new event with a delay is added such that the number of pending events stays constant. The delays follow
+ * the beacon intervals with microsecond scale jitter. The binary heap of java.util.PriorityQueue is the reference
+ * for the calendar queue.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class NetworkEventQueueBenchmark {
+
+    /** Seed for the event delays */
+    private static final long SEED = 42L;
+
+    /** Number of precomputed delays, needs to be a power of two */
+    private static final int DELAY_COUNT = 1 << 16;
+
+    /** Number of pending events in the queue */
+    @Param({"1000000"})
+    private int pendingEventCount;
+
+    /** Delays for new events in nanoseconds */
+    private long[] delaysNs;
+
+    /** Index of the next delay */
+    private int delayIndex;
+
+    /** Binary heap ordered by event time */
+    private PriorityQueue<NetworkDiscreteEvent> heapQueue;
+
+    /** Calendar queue */
+    private NetworkEventCalendarQueue calendarQueue;
+
+    @Setup
+    public void setUp() {
+        Random random = new Random(SEED);
+        delaysNs = new long[DELAY_COUNT];
+
+        for (int i = 0; i < DELAY_COUNT; ++i) {
+            delaysNs[i] = 500000L + random.nextInt(250000) + random.nextInt(1000);
+        }
+
+        heapQueue = new PriorityQueue<>(pendingEventCount, Comparator.comparingLong(NetworkDiscreteEvent::getEventTime));
+        calendarQueue = new NetworkEventCalendarQueue();
+
+        for (int i = 0; i < pendingEventCount; ++i) {
+            heapQueue.add(new NetworkDiscreteEvent(nextDelay(), NetworkDiscreteEventId.NETWORK_EVENT_ID_SELF_PERIODIC, null, null));
+            calendarQueue.add(new NetworkDiscreteEvent(nextDelay(), NetworkDiscreteEventId.NETWORK_EVENT_ID_SELF_PERIODIC, null, null));
+        }
+    }
+
+    /**
+     * Returns the next precomputed delay in nanoseconds
+     */
+    private long nextDelay() {
+        delayIndex = (delayIndex + 1) & (DELAY_COUNT - 1);
+        return delaysNs[delayIndex];
+    }
+
+    @Benchmark
+    public NetworkDiscreteEvent heapHold() {
+        NetworkDiscreteEvent event = heapQueue.poll();
+        NetworkDiscreteEvent newEvent = new NetworkDiscreteEvent(event.getEventTime() + nextDelay(), event.getNetworkEventId(), null, null);
+        heapQueue.add(newEvent);
+        return event;
+    }
+
+    @Benchmark
+    public NetworkDiscreteEvent calendarHold() {
+        NetworkDiscreteEvent event = calendarQueue.poll();
+        NetworkDiscreteEvent newEvent = new NetworkDiscreteEvent(event.getEventTime() + nextDelay(), event.getNetworkEventId(), null, null);
+        calendarQueue.add(newEvent);
+        return event;
+    }
+}
@@ -0,0 +1,90 @@
+package simulation.benchmarks;
+
+import commons.simulation.SimulationLoopExecutable;
+import org.openjdk.jmh.annotations.*;
+import simulation.network.*;
+import simulation.util.Log;
+import simulation.vehicle.PhysicalVehicle;
+import simulation.vehicle.PhysicalVehicleBuilder;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Benchmark for the broadcast fan-out of NetworkChannelModel.handleNetworkEvent(), i.e. the transmission of one
+ * message from one vehicle to all other vehicles with the default direct channel model. The network simulator
+ * is set up again before every invocation, such that the scheduled receive events do not accumulate.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class NetworkFanOutBenchmark {
+
+    /** Seed for the positions of the vehicles */
+    private static final long SEED = 42L;
+
+    /** Number of vehicles in the network */
+    @Param({"10", "50"})
+    private int nodeCount;
+
+    /** Vehicles that become network nodes */
+    private final List<SimulationLoopExecutable> vehicles = new ArrayList<>();
+
+    /** Channel model under test */
+    private NetworkChannelModel channelModel;
+
+    /** Event that starts the broadcast */
+    private NetworkDiscreteEvent sendEvent;
+
+    @Setup(Level.Trial)
+    public void setUpVehicles() {
+        Log.setLogEnabled(false);
+        PhysicalVehicleBuilder.resetInstance();
+        Random random = new Random(SEED);
+
+        // Vehicles within the receive range of each other
+        for (int i = 0; i < nodeCount; ++i) {
+            PhysicalVehicle vehicle = PhysicalVehicleBuilder.getInstance().buildPhysicalVehicle(Optional.empty(), Optional.empty(), Optional.empty());
+            vehicle.setGlobalPos(1000.0 + 500.0 * random.nextDouble(), 1000.0 + 500.0 * random.nextDouble(), 0.5);
+            vehicles.add(vehicle);
+        }
+    }
+
+    @Setup(Level.Invocation)
+    public void setUpNetwork() {
+        NetworkSimulator.resetInstance();
+        NetworkSimulator networkSimulator = NetworkSimulator.getInstance();
+        networkSimulator.simulationStarted(vehicles);
+
+        NetworkSettings settings = networkSimulator.getNetworkSettings();
+        channelModel = settings.getNetworkChannelModel();
+        NetworkNode sender = networkSimulator.getNetworkNodes().get(0);
+
+        int[] modulationAndDataRate = settings.getModulationAndDataRateInfo()[channelModel.computeModulationAndDataRateIndex(sender)];
+        NetworkMessage message = new NetworkMessage();
+        message.setMessageLengthBits(1024);
+        message.setPhyDataRateKBits(modulationAndDataRate[0]);
+        message.setPhyBitsPerSignal(modulationAndDataRate[1]);
+        message.setPhyCodeRate((double) (modulationAndDataRate[2]) / (double) (modulationAndDataRate[3]));
+
+        sendEvent = new NetworkDiscreteEvent(0L, NetworkDiscreteEventId.NETWORK_EVENT_ID_PHY_SEND_START, sender, message);
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        NetworkSimulator.resetInstance();
+        Log.setLogEnabled(true);
+    }
+
+    @Benchmark
+    public NetworkDiscreteEvent broadcast() {
+        channelModel.handleNetworkEvent(sendEvent);
+        return sendEvent;
+    }
+}
@@ -0,0 +1,73 @@
+package simulation.benchmarks;
+
+import org.openjdk.jmh.annotations.*;
+import simulation.network.NetworkMessage;
+import simulation.network.NetworkUtils;
+import simulation.util.Log;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Benchmark for the memory of the message copies of one beacon broadcast, i.e. one copy for every receiving node
+ * with the fields that the channel models and the receiving tasks set. Allocated bytes per operation are
+ * reported by the gc profiler that BenchmarkMain adds by default.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class NetworkMessageMemoryBenchmark {
+
+    /** Seed for the beacon values */
+    private static final long SEED = 42L;
+
+    /** Number of nodes in the network, every node except the sender receives a copy */
+    @Param({"1000"})
+    private int nodeCount;
+
+    /** Beacon message as it is passed to the channel model */
+    private NetworkMessage beaconMessage;
+
+    @Setup
+    public void setUp() {
+        Log.setLogEnabled(false);
+        Random random = new Random(SEED);
+        List<Float> floats = new ArrayList<>();
+
+        for (int i = 0; i < 8; ++i) {
+            floats.add((float) (1000.0 * random.nextGaussian()));
+        }
+
+        beaconMessage = new NetworkMessage();
+        beaconMessage.setMessagePayload(NetworkUtils.floatListToArray(floats));
+        beaconMessage.setMessageLengthBits(32 * floats.size() + 64 + 320 + 288 + 62);
+        beaconMessage.setNetworkIpv6Sender("fe80:0000:0000:0000:0000:0000:0000:0001");
+        beaconMessage.setNetworkIpv6Receiver("ff02:0000:0000:0000:0000:0000:0000:0001");
+        beaconMessage.setMacSender("02:00:00:00:00:01");
+        beaconMessage.setMacReceiver("ff:ff:ff:ff:ff:ff");
+    }
+
+    @TearDown
+    public void tearDown() {
+        Log.setLogEnabled(true);
+    }
+
+    @Benchmark
+    public NetworkMessage[] broadcastCopies() {
+        NetworkMessage[] copies = new NetworkMessage[nodeCount - 1];
+
+        for (int i = 0; i < copies.length; ++i) {
+            NetworkMessage copy = beaconMessage.copy();
+            copy.setPhyChannelId(0);
+            copy.setSimReceiveTimeNs(i);
+            copies[i] = copy;
+        }
+
+        return copies;
+    }
+}
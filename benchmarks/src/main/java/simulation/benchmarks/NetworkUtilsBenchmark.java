@@ -0,0 +1,77 @@
+package simulation.benchmarks;
+
+import org.openjdk.jmh.annotations.*;
+import simulation.network.NetworkMessage;
+import simulation.network.NetworkUtils;
+import simulation.util.Log;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Benchmark for the conversion of float lists to the bit string and binary contents of network messages
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class NetworkUtilsBenchmark {
+
+    /** Seed for the float values */
+    private static final long SEED = 42L;
+
+    /** Number of floats in the list, 8 is the size of the beacon messages */
+    @Param({"8", "64"})
+    private int floatCount;
+
+    /** Floats that are converted */
+    private final List<Float> floats = new ArrayList<>();
+
+    /** Message with the floats as bit string contents */
+    private final NetworkMessage bitStringMessage = new NetworkMessage();
+
+    /** Message with the floats as binary payload */
+    private final NetworkMessage payloadMessage = new NetworkMessage();
+
+    @Setup
+    public void setUp() {
+        Log.setLogEnabled(false);
+        Random random = new Random(SEED);
+
+        for (int i = 0; i < floatCount; ++i) {
+            floats.add((float) (1000.0 * random.nextGaussian()));
+        }
+
+        bitStringMessage.setMessageContent(NetworkUtils.floatListToBitString(floats));
+        payloadMessage.setMessagePayload(NetworkUtils.floatListToArray(floats));
+    }
+
+    @TearDown
+    public void tearDown() {
+        Log.setLogEnabled(true);
+    }
+
+    @Benchmark
+    public String floatListToBitString() {
+        return NetworkUtils.floatListToBitString(floats);
+    }
+
+    @Benchmark
+    public float[] floatListToArray() {
+        return NetworkUtils.floatListToArray(floats);
+    }
+
+    @Benchmark
+    public List<Float> bitStringMessageToFloatList() {
+        return NetworkUtils.messageToFloatList(bitStringMessage);
+    }
+
+    @Benchmark
+    public List<Float> payloadMessageToFloatList() {
+        return NetworkUtils.messageToFloatList(payloadMessage);
+    }
+}
@@ -0,0 +1,64 @@
+package simulation.benchmarks;
+
+import org.openjdk.jmh.annotations.*;
+import simulation.environment.osm.Parser2D;
+import simulation.environment.osm.ParserSettings;
+import simulation.environment.visualisationadapter.interfaces.VisualisationEnvironmentContainer;
+import simulation.util.Log;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.InputStream;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Benchmark for Parser2D.parse() on the default map map_ahornstrasse.osm. The map is read into memory once,
+ * such that the benchmark measures parsing, intersection finding and conversion without file access.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class OsmParserBenchmark {
+
+    /** Map that is parsed */
+    private static final String MAP = "/map_ahornstrasse.osm";
+
+    /** Content of the map file */
+    private byte[] mapData;
+
+    @Setup
+    public void setUp() throws Exception {
+        Log.setLogEnabled(false);
+
+        try (InputStream in = getClass().getResourceAsStream(MAP)) {
+            if (in == null) {
+                throw new IllegalStateException("OsmParserBenchmark: Map not found: " + MAP);
+            }
+
+            ByteArrayOutputStream out = new ByteArrayOutputStream();
+            byte[] buffer = new byte[8192];
+            int length;
+
+            while ((length = in.read(buffer)) != -1) {
+                out.write(buffer, 0, length);
+            }
+
+            mapData = out.toByteArray();
+        }
+    }
+
+    @TearDown
+    public void tearDown() {
+        Log.setLogEnabled(true);
+    }
+
+    @Benchmark
+    public VisualisationEnvironmentContainer parse() throws Exception {
+        Parser2D parser = new Parser2D(new ParserSettings(new ByteArrayInputStream(mapData), ParserSettings.ZCoordinates.ALLZERO));
+        parser.parse();
+        return parser.getContainer();
+    }
+}
@@ -0,0 +1,75 @@
+package simulation.benchmarks;
+
+import commons.simulation.PhysicalObject;
+import org.openjdk.jmh.annotations.*;
+import simulation.util.Log;
+import simulation.vehicle.PhysicalVehicle;
+import simulation.vehicle.PhysicalVehicleBuilder;
+import simulation.vehicle.PhysicsEngine;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Benchmark for PhysicsEngine.computePhysics(), i.e. the collision checks of one vehicle against all other
+ * vehicles followed by its force computations. No loop iteration is executed, so the positions of the
+ * vehicles are the same in every invocation.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class PhysicsEngineBenchmark {
+
+    /** Time step of the simulation in milliseconds */
+    private static final long TIME_STEP_MS = 10;
+
+    /** Seed for the positions and rotations of the vehicles */
+    private static final long SEED = 42L;
+
+    /** Number of vehicles */
+    @Param({"10", "100"})
+    private int vehicleCount;
+
+    /** All vehicles as physical objects */
+    private final List<PhysicalObject> physicalObjects = new ArrayList<>();
+
+    @Setup
+    public void setUp() {
+        Log.setLogEnabled(false);
+        PhysicalVehicleBuilder.resetInstance();
+        Random random = new Random(SEED);
+
+        // Density such that a few of the vehicles collide
+        double areaSize = 5.0 * Math.sqrt(vehicleCount);
+        for (int i = 0; i < vehicleCount; ++i) {
+            PhysicalVehicle vehicle = PhysicalVehicleBuilder.getInstance().buildPhysicalVehicle(Optional.empty(), Optional.empty(), Optional.empty());
+            vehicle.setGlobalPos(900.0 + areaSize * random.nextDouble(), 410.0 + areaSize * random.nextDouble(), vehicle.getPos().getEntry(2));
+            vehicle.setGlobalRotation(0.0, 0.0, 2.0 * Math.PI * random.nextDouble());
+            physicalObjects.add(vehicle);
+        }
+    }
+
+    @TearDown
+    public void tearDown() {
+        Log.setLogEnabled(true);
+    }
+
+    @Benchmark
+    public List<PhysicalObject> computePhysics() {
+        for (PhysicalObject object : physicalObjects) {
+            PhysicsEngine.resetForces(object);
+        }
+
+        for (PhysicalObject object : physicalObjects) {
+            PhysicsEngine.computePhysics(object, physicalObjects, TIME_STEP_MS);
+        }
+
+        return physicalObjects;
+    }
+}
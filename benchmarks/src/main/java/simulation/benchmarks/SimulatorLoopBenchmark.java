@@ -0,0 +1,112 @@
+package simulation.benchmarks;
+
+import commons.simulation.SimulationLoopExecutable;
+import commons.simulation.SimulationLoopNotifiable;
+import org.apache.commons.math3.linear.ArrayRealVector;
+import org.openjdk.jmh.annotations.*;
+import simulation.environment.object.Tree;
+import simulation.simulator.SimulationType;
+import simulation.simulator.Simulator;
+import simulation.util.Log;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Benchmark for the object management overhead of the simulation loop. Uses trees, which neither move
+ * nor collide, such that the time and allocations are dominated by the simulator itself. Run with the
+ * GC profiler to see the allocation rate per frame: java -jar benchmarks.jar SimulatorLoopBenchmark -prof gc
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class SimulatorLoopBenchmark {
+
+    /** Number of frames per benchmark invocation */
+    private static final int FRAMES = 10;
+
+    /** Number of trees in the simulation */
+    @Param({"100", "1000", "5000"})
+    private int objectCount;
+
+    /** Simulator under test */
+    private Simulator simulator;
+
+    @Setup
+    public void setUp() {
+        Log.setLogEnabled(false);
+        Simulator.resetSimulator();
+        simulator = Simulator.getSharedInstance();
+        simulator.setSimulationType(SimulationType.SIMULATION_TYPE_FIXED_TIME);
+        simulator.setSimulationLoopFrequency(100);
+        simulator.setSynchronousSimulation(true);
+        simulator.setPausedInFuture(true);
+        simulator.registerLoopObserver(new ObjectCountingObserver());
+
+        // Place trees in a grid with enough space in between to never overlap
+        int columns = (int) Math.ceil(Math.sqrt(objectCount));
+        for (int i = 0; i < objectCount; ++i) {
+            Tree tree = new Tree();
+            tree.setPosition(new ArrayRealVector(new double[] {20.0 * (i % columns), 20.0 * (i / columns), 0.0}));
+            simulator.registerSimulationObject(tree);
+        }
+
+        simulator.stopAfter(0);
+    }
+
+    @TearDown
+    public void tearDown() {
+        Simulator.resetSimulator();
+        Log.setLogEnabled(true);
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(FRAMES)
+    public long simulationLoop() {
+        simulator.extendSimulationTime(FRAMES * 10);
+        simulator.startSimulation();
+        return simulator.getFrameCount();
+    }
+
+    /**
+     * Observer that reads the object lists in every callback, as typical observers do
+     */
+    private static class ObjectCountingObserver implements SimulationLoopNotifiable {
+
+        /** Number of objects seen, prevents dead code elimination */
+        private long count = 0;
+
+        @Override
+        public void willExecuteLoop(List<SimulationLoopExecutable> simulationObjects, long totalTime, long deltaTime) {
+            count += simulationObjects.size();
+        }
+
+        @Override
+        public void didExecuteLoop(List<SimulationLoopExecutable> simulationObjects, long totalTime, long deltaTime) {
+            count += simulationObjects.size();
+        }
+
+        @Override
+        public void willExecuteLoopForObject(SimulationLoopExecutable simulationObject, long totalTime, long deltaTime) {
+            count += Simulator.getSharedInstance().getPhysicalObjects().size();
+        }
+
+        @Override
+        public void didExecuteLoopForObject(SimulationLoopExecutable simulationObject, long totalTime, long deltaTime) {
+            count++;
+        }
+
+        @Override
+        public void simulationStarted(List<SimulationLoopExecutable> simulationObjects) {
+            count += simulationObjects.size();
+        }
+
+        @Override
+        public void simulationStopped(List<SimulationLoopExecutable> simulationObjects, long totalTime) {
+            count += simulationObjects.size();
+        }
+    }
+}
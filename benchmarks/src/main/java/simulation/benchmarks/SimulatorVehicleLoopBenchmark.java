@@ -0,0 +1,82 @@
+package simulation.benchmarks;
+
+import org.openjdk.jmh.annotations.*;
+import simulation.simulator.SimulationType;
+import simulation.simulator.Simulator;
+import simulation.util.Log;
+import simulation.vehicle.PhysicalVehicle;
+import simulation.vehicle.PhysicalVehicleBuilder;
+
+import java.util.Optional;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+import static simulation.vehicle.VehicleActuatorType.*;
+
+/**
+ * Benchmark for the throughput of the simulation loop with N driving vehicles on the default map.
+ * The simulation is set up again before every iteration, such that each iteration starts from the same state.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class SimulatorVehicleLoopBenchmark {
+
+    /** Number of frames per benchmark invocation */
+    private static final int FRAMES = 10;
+
+    /** Seed for the positions and rotations of the vehicles */
+    private static final long SEED = 42L;
+
+    /** Number of vehicles in the simulation */
+    @Param({"10", "100"})
+    private int vehicleCount;
+
+    /** True iff the simulation objects are computed in parallel */
+    @Param({"false", "true"})
+    private boolean parallel;
+
+    /** Simulator under test */
+    private Simulator simulator;
+
+    @Setup(Level.Iteration)
+    public void setUp() throws Exception {
+        Log.setLogEnabled(false);
+        Simulator.resetSimulator();
+        PhysicalVehicleBuilder.resetInstance();
+        simulator = Simulator.getSharedInstance();
+        simulator.setSimulationType(SimulationType.SIMULATION_TYPE_FIXED_TIME);
+        simulator.setSimulationLoopFrequency(100);
+        simulator.setSynchronousSimulation(true);
+        simulator.setPausedInFuture(true);
+        simulator.setParallelSimulation(parallel);
+
+        // Vehicles on a grid around the start position of the simulator tests, accelerating with random steering
+        Random random = new Random(SEED);
+        for (int i = 0; i < vehicleCount; ++i) {
+            PhysicalVehicle vehicle = PhysicalVehicleBuilder.getInstance().buildPhysicalVehicle(Optional.empty(), Optional.empty(), Optional.empty());
+            vehicle.getSimulationVehicle().getVehicleActuator(VEHICLE_ACTUATOR_TYPE_MOTOR).setActuatorValueTarget(1.0);
+            vehicle.getSimulationVehicle().getVehicleActuator(VEHICLE_ACTUATOR_TYPE_STEERING).setActuatorValueTarget(0.2 * random.nextDouble() - 0.1);
+            simulator.registerAndPutObject(vehicle, 900.0 + 8.0 * (i % 10), 410.0 + 8.0 * (i / 10), 2.0 * Math.PI * random.nextDouble());
+        }
+
+        simulator.stopAfter(0);
+    }
+
+    @TearDown(Level.Iteration)
+    public void tearDown() {
+        Simulator.resetSimulator();
+        Log.setLogEnabled(true);
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(FRAMES)
+    public long simulationLoop() {
+        simulator.extendSimulationTime(FRAMES * 10);
+        simulator.startSimulation();
+        return simulator.getFrameCount();
+    }
+}
@@ -0,0 +1,81 @@
+package simulation.benchmarks;
+
+import org.openjdk.jmh.annotations.*;
+import simulation.util.Log;
+import simulation.vehicle.PhysicalVehicle;
+import simulation.vehicle.PhysicalVehicleBuilder;
+import simulation.vehicle.PhysicsEngine;
+import simulation.vehicle.VehicleBatchIntegrator;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.TimeUnit;
+
+import static simulation.vehicle.VehicleActuatorType.*;
+
+/**
+ * Benchmark that compares the loop iteration of each vehicle on its own with the integration per state store
+ * of the VehicleBatchIntegrator for many vehicles without sensors and controller
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class VehicleBatchIntegrationBenchmark {
+
+    /** Time step of the simulation in milliseconds */
+    private static final long TIME_STEP_MS = 10;
+
+    /** Number of simulated vehicles */
+    @Param({"16", "256"})
+    private int vehicleCount;
+
+    /** True iff the vehicles are integrated per state store */
+    @Param({"false", "true"})
+    private boolean batch;
+
+    /** Vehicles under test */
+    private final List<PhysicalVehicle> vehicles = new ArrayList<>();
+
+    /** Integrator used if batch is true */
+    private final VehicleBatchIntegrator integrator = new VehicleBatchIntegrator();
+
+    @Setup
+    public void setUp() throws Exception {
+        Log.setLogEnabled(false);
+        PhysicalVehicleBuilder.resetInstance();
+
+        for (int i = 0; i < vehicleCount; ++i) {
+            PhysicalVehicle vehicle = PhysicalVehicleBuilder.getInstance().buildPhysicalVehicle(Optional.empty(), Optional.empty(), Optional.empty());
+            vehicle.getSimulationVehicle().getVehicleActuator(VEHICLE_ACTUATOR_TYPE_MOTOR).setActuatorValueTarget(1.0);
+            vehicle.getSimulationVehicle().getVehicleActuator(VEHICLE_ACTUATOR_TYPE_STEERING).setActuatorValueTarget(0.1);
+            vehicles.add(vehicle);
+        }
+    }
+
+    @TearDown
+    public void tearDown() {
+        Log.setLogEnabled(true);
+    }
+
+    @Benchmark
+    public List<PhysicalVehicle> physicsStep() {
+        for (PhysicalVehicle vehicle : vehicles) {
+            PhysicsEngine.resetForces(vehicle);
+            PhysicsEngine.computeForces(vehicle, TIME_STEP_MS);
+        }
+
+        if (batch) {
+            integrator.executeLoopIteration(vehicles, TIME_STEP_MS);
+        } else {
+            for (PhysicalVehicle vehicle : vehicles) {
+                vehicle.executeLoopIteration(TIME_STEP_MS);
+            }
+        }
+
+        return vehicles;
+    }
+}
@@ -0,0 +1,57 @@
+package simulation.benchmarks;
+
+import org.openjdk.jmh.annotations.*;
+import simulation.util.Log;
+import simulation.vehicle.PhysicalVehicle;
+import simulation.vehicle.PhysicalVehicleBuilder;
+import simulation.vehicle.PhysicsEngine;
+
+import java.util.Optional;
+import java.util.concurrent.TimeUnit;
+
+import static simulation.vehicle.VehicleActuatorType.*;
+
+/**
+ * Benchmark for the physics computations of a single vehicle without sensors and controller, i.e.
+ * the force computations of the PhysicsEngine followed by the integration step of the PhysicalVehicle.
+ * Run with the GC profiler to see the allocation rate per step:
+ * java -jar benchmarks.jar VehiclePhysicsBenchmark -prof gc
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class VehiclePhysicsBenchmark {
+
+    /** Time step of the simulation in milliseconds */
+    private static final long TIME_STEP_MS = 10;
+
+    /** Vehicle under test */
+    private PhysicalVehicle vehicle;
+
+    @Setup
+    public void setUp() throws Exception {
+        Log.setLogEnabled(false);
+        PhysicalVehicleBuilder.resetInstance();
+        vehicle = PhysicalVehicleBuilder.getInstance().buildPhysicalVehicle(Optional.empty(), Optional.empty(), Optional.empty());
+
+        // Let the vehicle accelerate while steering, such that it drives in circles and all forces are computed
+        vehicle.getSimulationVehicle().getVehicleActuator(VEHICLE_ACTUATOR_TYPE_MOTOR).setActuatorValueTarget(1.0);
+        vehicle.getSimulationVehicle().getVehicleActuator(VEHICLE_ACTUATOR_TYPE_STEERING).setActuatorValueTarget(0.1);
+    }
+
+    @TearDown
+    public void tearDown() {
+        Log.setLogEnabled(true);
+    }
+
+    @Benchmark
+    public PhysicalVehicle physicsStep() {
+        PhysicsEngine.resetForces(vehicle);
+        PhysicsEngine.computeForces(vehicle, TIME_STEP_MS);
+        vehicle.executeLoopIteration(TIME_STEP_MS);
+        return vehicle;
+    }
+}
@@ -0,0 +1,80 @@
+package simulation.benchmarks;
+
+import org.openjdk.jmh.annotations.*;
+import simulation.environment.World;
+import simulation.environment.WorldModel;
+import simulation.environment.visualisationadapter.interfaces.EnvBounds;
+import simulation.environment.visualisationadapter.interfaces.EnvNode;
+import simulation.environment.visualisationadapter.interfaces.EnvStreet;
+import simulation.util.Log;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Benchmark for WorldModel.getGround() on the default map map_ahornstrasse.osm. Half of the query points are
+ * close to street nodes, the other half is spread uniformly over the bounds of the map.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class WorldGroundBenchmark {
+
+    /** Number of precomputed query points, power of two */
+    private static final int POINT_COUNT = 4096;
+
+    /** Seed for the query points */
+    private static final long SEED = 42L;
+
+    /** World under test */
+    private World world;
+
+    /** Query points {x, y, z} */
+    private double[][] points;
+
+    /** Index of the next query point */
+    private int index = 0;
+
+    @Setup
+    public void setUp() throws Exception {
+        Log.setLogEnabled(false);
+        world = WorldModel.getInstance();
+        Random random = new Random(SEED);
+
+        List<EnvNode> nodes = new ArrayList<>();
+        for (EnvStreet street : world.getContainer().getStreets()) {
+            nodes.addAll(street.getNodes());
+        }
+
+        EnvBounds bounds = world.getContainer().getBounds();
+        points = new double[POINT_COUNT][];
+
+        for (int i = 0; i < POINT_COUNT; ++i) {
+            if (i % 2 == 0) {
+                EnvNode node = nodes.get(random.nextInt(nodes.size()));
+                points[i] = new double[] {node.getX().doubleValue() + 4.0 * random.nextDouble() - 2.0,
+                        node.getY().doubleValue() + 4.0 * random.nextDouble() - 2.0, node.getZ().doubleValue()};
+            } else {
+                points[i] = new double[] {bounds.getMinX() + (bounds.getMaxX() - bounds.getMinX()) * random.nextDouble(),
+                        bounds.getMinY() + (bounds.getMaxY() - bounds.getMinY()) * random.nextDouble(), 0.0};
+            }
+        }
+    }
+
+    @TearDown
+    public void tearDown() {
+        Log.setLogEnabled(true);
+    }
+
+    @Benchmark
+    public Number getGround() {
+        index = (index + 1) & (POINT_COUNT - 1);
+        double[] point = points[index];
+        return world.getGround(point[0], point[1], point[2]);
+    }
+}
@@ -11,21 +11,33 @@ import org.apache.commons.math3.linear.RealVector;
 import simulation.environment.geometry.DetailedMapConstructor;
 import simulation.environment.geometry.StreetSignPositioner;
 import simulation.environment.geometry.osmadapter.GeomStreet;
+import simulation.environment.geometry.osmadapter.StreetSegmentIndex;
+import simulation.environment.geometry.osmadapter.WorldTile;
+import simulation.environment.geometry.osmadapter.WorldTiles;
 import simulation.environment.object.TrafficLightSwitcher;
 import simulation.environment.osm.IParser;
+import simulation.environment.osm.ParallelConstruction;
 import simulation.environment.osm.Parser2D;
 import simulation.environment.osm.ParserSettings;
+import simulation.environment.osm.WorldSnapshot;
 import simulation.environment.osm.ZCoordinateGenerator;
 import simulation.environment.pedestrians.PedestrianContainer;
+import simulation.environment.visualisationadapter.implementation.EnvironmentContainer2D;
 import simulation.environment.visualisationadapter.implementation.Node2D;
 import simulation.environment.visualisationadapter.interfaces.EnvNode;
 import simulation.environment.visualisationadapter.interfaces.EnvStreet;
 import simulation.environment.visualisationadapter.interfaces.VisualisationEnvironmentContainer;
 import simulation.environment.weather.Weather;
 import simulation.environment.weather.WeatherSettings;
+import simulation.util.Log;
 
 
+import java.io.File;
+import java.io.IOException;
+import java.nio.file.Files;
 import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
 
 /**
  * Created by lukas on 02.02.17.
@@ -33,35 +45,103 @@ import java.util.*;
  * The WorldModel to be used
  */
 public class WorldModel implements World{
-    private static WorldModel ourInstance;
+    /** Volatile, as the world may first be requested by the worker threads of a parallel simulation loop */
+    private static volatile WorldModel ourInstance;
 
     private static final String defaultMap = "/map_ahornstrasse.osm";
 
     public static World getInstance() {
-        if(ourInstance == null) {
-            try {
-                ourInstance = new WorldModel(defaultMap);
-            } catch (Exception e) {
-                e.printStackTrace();
+        WorldModel world = ourInstance;
+        if(world == null) {
+            synchronized (WorldModel.class) {
+                world = ourInstance;
+                if(world == null) {
+                    try {
+                        world = new WorldModel(defaultMap);
+                        ourInstance = world;
+                    } catch (Exception e) {
+                        e.printStackTrace();
+                    }
+                }
             }
         }
-        return ourInstance;
+        return world;
     }
 
-    public static World init(String map, WeatherSettings weatherSettings) throws Exception {
+    public static synchronized World init(String map, WeatherSettings weatherSettings) throws Exception {
         ourInstance = new WorldModel(new ParserSettings(map, ParserSettings.ZCoordinates.ALLZERO), weatherSettings);
         return ourInstance;
     }
 
-    public static World init(ParserSettings pSettings, WeatherSettings weatherSettings) throws Exception {
+    public static synchronized World init(ParserSettings pSettings, WeatherSettings weatherSettings) throws Exception {
         ourInstance = new WorldModel(pSettings, weatherSettings);
         return ourInstance;
     }
 
+    /**
+     * Drops the cached street segment of an object that left the simulation. Does not create a world if there is none
+     * @param o object that was removed from the simulation
+     */
+    public static void removeObject(PhysicalObject o) {
+        WorldModel world = ourInstance;
+
+        if(world != null) {
+            world.lastSegments.remove(o.getId());
+        }
+    }
+
+    /**
+     * Drops the cached street segments of all objects, e.g. when the simulation is reset
+     */
+    public static void removeAllObjects() {
+        WorldModel world = ourInstance;
+
+        if(world != null) {
+            world.lastSegments.clear();
+        }
+    }
+
+    /**
+     * Loads the tiles around the objects and drops all other tiles with their streets, pedestrians and trees.
+     * Called by the simulator before every frame. Does nothing if the world is not tiled or does not exist
+     * @param objects objects that move in the simulation, e.g. all vehicles
+     */
+    public static void pageTiles(Collection<? extends PhysicalObject> objects) {
+        WorldModel world = ourInstance;
+
+        if(world == null || world.tiles == null) {
+            return;
+        }
+
+        List<Point3D> positions = new ArrayList<>(objects.size());
+        for(PhysicalObject o : objects) {
+            RealVector pos = o.getGeometryPos();
+            positions.add(new Point3D(pos.getEntry(0), pos.getEntry(1), pos.getEntry(2)));
+        }
+
+        world.tiles.pageTiles(positions, world.pSettings.tileLoadRadius);
+    }
+
     private VisualisationEnvironmentContainer visualisationContainer;
 
+    /** Streets of the whole map, null if the world is tiled */
     private ArrayList<GeomStreet> streets;
 
+    /** Segment index over the streets of the whole map, null if the world is tiled */
+    private StreetSegmentIndex streetIndex;
+
+    /** Tiles that build streets, signs, pedestrians and trees around the simulated objects, null if the world is not tiled */
+    private WorldTiles tiles;
+
+    /** Nearest segment of the last street query for every physical object id */
+    private final Map<Long, LastSegment> lastSegments = new ConcurrentHashMap<>();
+
+    /** Street queries answered from the neighbourhood of the last segment of an object */
+    private final LongAdder streetCacheHits = new LongAdder();
+
+    /** Street queries that required a search over the whole street index */
+    private final LongAdder streetCacheMisses = new LongAdder();
+
     private Weather weather;
 
     private PedestrianContainer pedContainer;
@@ -91,24 +171,28 @@ public class WorldModel implements World{
     }
 
     private void initPedestrians() {
-        this.pedContainer = new PedestrianContainer(this.streets, 1);
+        if(this.tiles == null) {
+            this.pedContainer = new PedestrianContainer(this.streets, 1);
+        } else {
+            //with tiles the pedestrians are created up front and walk while the tiles of their streets are loaded
+            this.pedContainer = PedestrianContainer.fromPedestrians(this.tiles.getPedestrians());
+        }
     }
 
     private void constructControllerContainer() {
         ArrayList<IAdjacency> controllerMap = new ArrayList<>();
         HashMap<Long, Point3D> idToPoint = new HashMap<>();
-        for(GeomStreet s : this.streets) {
-            List<EnvNode> nodes = ((EnvStreet) (s.getObject())).getNodes();
+        //routes may cross the whole map, thus the adjacencies are built from the parsed streets and not from the tiles
+        for(EnvStreet s : this.visualisationContainer.getStreets()) {
+            List<EnvNode> nodes = s.getNodes();
             for(int i = 0; i < nodes.size() - 1; i++) {
                 Node2D n1 = (Node2D) (nodes.get(i));
                 Node2D n2 = (Node2D) (nodes.get(i+1));
                 controllerMap.add(new Adjacency(n1, n2));
 
                 // If street is not oneWay, then add other direction as well
-                if (s.getObject() instanceof EnvStreet) {
-                    if (!(((EnvStreet)s.getObject()).isOneWay())) {
-                        controllerMap.add(new Adjacency(n2, n1));
-                    }
+                if (!s.isOneWay()) {
+                    controllerMap.add(new Adjacency(n2, n1));
                 }
 
                 idToPoint.put(n1.getOsmId(), n1.getPoint());
@@ -124,7 +208,10 @@ public class WorldModel implements World{
     }
 
     private void positionStreetSigns() {
-        StreetSignPositioner.positionStreetSigns(this.streets);
+        //with tiles the signs are positioned when the tiles of their streets are loaded
+        if(this.tiles == null) {
+            StreetSignPositioner.positionStreetSigns(this.streets, pSettings.pool);
+        }
     }
 
     private void initWeather(WeatherSettings settings) {
@@ -132,22 +219,87 @@ public class WorldModel implements World{
     }
 
     private void parseWorld(ParserSettings pSettings) throws Exception {
-        IParser parser = new Parser2D(pSettings);
-        parser.parse();
-        this.visualisationContainer = parser.getContainer();
+        if(pSettings.cacheDirectory == null || (pSettings.in == null && pSettings.file == null)) {
+            IParser parser = new Parser2D(pSettings);
+            parser.parse();
+            this.visualisationContainer = parser.getContainer();
+            return;
+        }
+
+        //the source of the map may change below, the settings of the caller stay untouched
+        ParserSettings settings = new ParserSettings(pSettings);
+        File mapFile = null;
+
+        try {
+            String key;
+
+            if(settings.file != null) {
+                //a file is hashed in place and parsed from there on a cache miss
+                key = WorldSnapshot.computeKey(settings.file, settings.z, settings.heightFieldCellSize);
+            } else if(settings.resource != null) {
+                //a resource is hashed from its stream and opened again on a cache miss
+                key = WorldSnapshot.computeKey(settings.in, settings.z, settings.heightFieldCellSize);
+                settings.in = null;
+            } else {
+                //any other stream can only be read once, it is copied to a file while it is hashed
+                Files.createDirectories(settings.cacheDirectory.toPath());
+                mapFile = File.createTempFile("map", ".osm", settings.cacheDirectory);
+                key = WorldSnapshot.copyAndComputeKey(settings.in, mapFile, settings.z, settings.heightFieldCellSize);
+                settings.file = mapFile;
+            }
+
+            File snapshot = WorldSnapshot.getFile(settings.cacheDirectory, key);
+
+            if(snapshot.isFile()) {
+                try {
+                    EnvironmentContainer2D container = WorldSnapshot.read(snapshot);
+                    ZCoordinateGenerator.restoreHeightGenerator(container, settings.z, settings.heightFieldCellSize);
+                    this.visualisationContainer = container;
+                    return;
+                } catch (IOException e) {
+                    Log.warning("WorldModel: parseWorld - Ignoring snapshot " + snapshot + ": " + e.getMessage());
+                }
+            }
+
+            if(settings.file == null) {
+                settings.in = ParserSettings.class.getResourceAsStream(settings.resource);
+            }
+
+            IParser parser = new Parser2D(settings);
+            parser.parse();
+            this.visualisationContainer = parser.getContainer();
+
+            try {
+                WorldSnapshot.write(this.visualisationContainer, snapshot);
+            } catch (IOException | IllegalArgumentException e) {
+                Log.warning("WorldModel: parseWorld - Failed to write snapshot " + snapshot + ": " + e.getMessage());
+            }
+        } finally {
+            if(mapFile != null) {
+                Files.deleteIfExists(mapFile.toPath());
+            }
+        }
     }
 
     private void constructGeomStreets() {
-        this.streets = new ArrayList<>();
-        for(EnvStreet street : visualisationContainer.getStreets()) {
-            this.streets.add(new GeomStreet(street));
+        if(pSettings.tileSize > 0) {
+            //the streets and their segment index are built per tile when the tile is loaded
+            this.tiles = new WorldTiles(visualisationContainer.getStreets(), pSettings.tileSize);
+        } else {
+            //the splines of a street only depend on its own nodes
+            this.streets = new ArrayList<>(ParallelConstruction.map(pSettings.pool, new ArrayList<>(visualisationContainer.getStreets()), GeomStreet::new));
+            this.streetIndex = new StreetSegmentIndex(this.streets);
         }
+
+        this.lastSegments.clear();
     }
 
     @Override
     public Number getGround(Number x, Number y, Number z) {
-        EnvNode n = new Node2D(x.doubleValue(), y.doubleValue(), z.doubleValue());
-        for(GeomStreet minStreet : this.streets) {
+        //only streets with a segment close to (x, y) can contain the node
+        List<GeomStreet> candidates = (this.tiles == null ? this.streetIndex.getStreetCandidates(x.doubleValue(), y.doubleValue()) : this.tiles.getStreetCandidates(x.doubleValue(), y.doubleValue()));
+
+        for(GeomStreet minStreet : candidates) {
             //compute ground on Street
             double streetZ = minStreet.getGround(x.doubleValue(), y.doubleValue(), z.doubleValue());
             //compute node with new z-Coordinate
@@ -166,19 +318,114 @@ public class WorldModel implements World{
         return ZCoordinateGenerator.getGround(x.doubleValue(), y.doubleValue());
     }
 
+    /**
+     *
+     * @param n
+     * @return the street with the minimum distance between n and one of its segments
+     */
     private GeomStreet getMinimumStreetForNode(EnvNode n) {
-        double minDist = Double.MAX_VALUE;
-        GeomStreet minStreet = null;
-
-        for(GeomStreet s : this.streets) {
-            double tmpDist = s.getDistanceToMiddle(n);
-            if(tmpDist < minDist) {
-                minStreet = s;
-                minDist = tmpDist;
+        if(this.tiles != null) {
+            return this.tiles.getNearestStreet(n.getX().doubleValue(), n.getY().doubleValue(), n.getZ().doubleValue());
+        }
+
+        return this.streetIndex.getNearestStreet(n.getX().doubleValue(), n.getY().doubleValue(), n.getZ().doubleValue());
+    }
+
+    /**
+     * Returns the street with the minimum distance between a position of an object and one of its segments.
+     * Objects move only slightly between two queries, so the search starts in the neighbourhood of the
+     * nearest segment of the previous query for the same object
+     *
+     * @param o object whose last nearest segment is used and updated
+     * @param pos position of the object or one of its parts
+     * @return the street with the minimum distance between pos and one of its segments
+     */
+    private GeomStreet getMinimumStreetForObject(PhysicalObject o, RealVector pos) {
+        double x = pos.getEntry(0);
+        double y = pos.getEntry(1);
+        double z = pos.getEntry(2);
+
+        //with tiles the segments of the tile under the position are searched, they are numbered per tile
+        WorldTile tile = (this.tiles == null ? null : this.tiles.getTile(x, y));
+        StreetSegmentIndex index = (tile == null ? this.streetIndex : tile.getIndex());
+
+        if(index == null) {
+            //no street overlaps the tile under the position
+            this.streetCacheMisses.increment();
+            return this.tiles.getNearestStreet(x, y, z);
+        }
+
+        LastSegment lastSegment = this.lastSegments.get(o.getId());
+        int segment = -1;
+
+        if(lastSegment != null && lastSegment.index == index) {
+            segment = index.getNearestSegmentInNeighbourhood(x, y, z, lastSegment.segment);
+        }
+
+        boolean hit = (segment >= 0);
+
+        if(!hit) {
+            segment = index.getNearestSegment(x, y, z);
+
+            if(segment < 0) {
+                this.streetCacheMisses.increment();
+                return (tile == null ? null : this.tiles.getNearestStreet(x, y, z));
             }
+        }
+
+        if(lastSegment == null || lastSegment.index != index || lastSegment.segment != segment) {
+            this.lastSegments.put(o.getId(), new LastSegment(index, segment));
+        }
 
+        //streets that do not overlap the tile are at least as far away as its border and might be closer
+        if(tile != null && index.getSegmentDistance(segment, x, y, z) > tile.getBorderDistance(x, y)) {
+            this.streetCacheMisses.increment();
+            return this.tiles.getNearestStreet(x, y, z);
         }
-        return minStreet;
+
+        if(hit) {
+            this.streetCacheHits.increment();
+        } else {
+            this.streetCacheMisses.increment();
+        }
+
+        return index.getStreetOfSegment(segment);
+    }
+
+    /**
+     * @return number of street queries for objects that were answered from the neighbourhood of the last segment
+     */
+    public long getStreetCacheHitCount() {
+        return this.streetCacheHits.sum();
+    }
+
+    /**
+     * @return number of street queries for objects that required a search over all streets
+     */
+    public long getStreetCacheMissCount() {
+        return this.streetCacheMisses.sum();
+    }
+
+    /**
+     * Resets the hit and miss counters of the street cache
+     */
+    public void resetStreetCacheStatistics() {
+        this.streetCacheHits.reset();
+        this.streetCacheMisses.reset();
+    }
+
+    /**
+     * @return number of loaded tiles, 0 if the world is not tiled
+     */
+    public int getLoadedTileCount() {
+        return (this.tiles == null ? 0 : this.tiles.getLoadedTileCount());
+    }
+
+    /**
+     * @return number of built streets, the streets of the loaded tiles if the world is tiled
+     */
+    public int getLoadedStreetCount() {
+        return (this.tiles == null ? this.streets.size() : this.tiles.getLoadedStreetCount());
     }
 
     /**
@@ -188,8 +435,7 @@ public class WorldModel implements World{
      */
     @Override
     public GeomStreet getStreet(PhysicalObject o){
-        EnvNode n = new Node2D(o.getGeometryPos().getEntry(0),o.getGeometryPos().getEntry(1),o.getGeometryPos().getEntry(2));
-        GeomStreet street = getMinimumStreetForNode(n);
+        GeomStreet street = getMinimumStreetForObject(o, o.getGeometryPos());
         return street;
     }
 
@@ -200,35 +446,22 @@ public class WorldModel implements World{
      * @return returns the n nearest streets for this node
      */
     private List<GeomStreet> getMinimumStreetsForNode(EnvNode n, int numberOfStreets) {
-        TreeMap<Double, GeomStreet> streetDistances = new TreeMap<>();
-
-        ArrayList<GeomStreet> result = new ArrayList<>();
-
-        for(GeomStreet s : this.streets) {
-            streetDistances.put(s.getDistanceToMiddle(n), s);
+        if(this.tiles != null) {
+            return this.tiles.getNearestStreets(n.getX().doubleValue(), n.getY().doubleValue(), n.getZ().doubleValue(), numberOfStreets);
         }
 
-        Iterator<Double> iter = streetDistances.keySet().iterator();
-        int i = 0;
-        while(iter.hasNext() && i < numberOfStreets) {
-            result.add(streetDistances.get(iter.next()));
-        }
-
-
-        return result;
+        return this.streetIndex.getNearestStreets(n.getX().doubleValue(), n.getY().doubleValue(), n.getZ().doubleValue(), numberOfStreets);
     }
 
     @Override
     public Number getDistanceToMiddleOfStreet(PhysicalObject o) {
-        EnvNode n = new Node2D(o.getGeometryPos().getEntry(0),o.getGeometryPos().getEntry(1),o.getGeometryPos().getEntry(2));
-        GeomStreet minStreet = getMinimumStreetForNode(n);
+        GeomStreet minStreet = getMinimumStreetForObject(o, o.getGeometryPos());
         return minStreet.getDistanceToMiddle(o);
     }
 
     @Override
     public Number getDistanceToLeftStreetBorder(PhysicalObject o) {
-        EnvNode n = new Node2D(o.getGeometryPos().getEntry(0),o.getGeometryPos().getEntry(1),o.getGeometryPos().getEntry(2));
-        GeomStreet minStreet = getMinimumStreetForNode(n);
+        GeomStreet minStreet = getMinimumStreetForObject(o, o.getGeometryPos());
 
         return minStreet.getDistanceToLeft(o);
     }
@@ -237,8 +470,7 @@ public class WorldModel implements World{
     public Number getDistanceFrontLeftWheelToLeftStreetBorder(PhysicalObject o) {
         RealVector pos = o.getFrontLeftWheelGeometryPos();
 
-        EnvNode n = new Node2D(pos.getEntry(0),pos.getEntry(1),pos.getEntry(2));
-        GeomStreet minStreet = getMinimumStreetForNode(n);
+        GeomStreet minStreet = getMinimumStreetForObject(o, pos);
 
         return minStreet.getDistanceToLeft(o);
     }
@@ -247,8 +479,7 @@ public class WorldModel implements World{
     public Number getDistanceBackLeftWheelToLeftStreetBorder(PhysicalObject o) {
         RealVector pos = o.getBackLeftWheelGeometryPos();
 
-        EnvNode n = new Node2D(pos.getEntry(0),pos.getEntry(1),pos.getEntry(2));
-        GeomStreet minStreet = getMinimumStreetForNode(n);
+        GeomStreet minStreet = getMinimumStreetForObject(o, pos);
 
         return minStreet.getDistanceToLeft(o);
     }
@@ -257,8 +488,7 @@ public class WorldModel implements World{
     public Number getDistanceLeftFrontToStreetBorder(PhysicalObject o){
         RealVector pos = o.getBackLeftWheelGeometryPos();
 
-        EnvNode n = new Node2D(pos.getEntry(0),pos.getEntry(1),pos.getEntry(2));
-        GeomStreet minStreet = getMinimumStreetForNode(n);
+        GeomStreet minStreet = getMinimumStreetForObject(o, pos);
 
         return minStreet.getDistancetoFrontLeft(o);
     }
@@ -267,16 +497,14 @@ public class WorldModel implements World{
     public Number getDistanceRightFrontToStreetBorder(PhysicalObject o){
         RealVector pos = o.getBackLeftWheelGeometryPos();
 
-        EnvNode n = new Node2D(pos.getEntry(0),pos.getEntry(1),pos.getEntry(2));
-        GeomStreet minStreet = getMinimumStreetForNode(n);
+        GeomStreet minStreet = getMinimumStreetForObject(o, pos);
 
         return minStreet.getDistancetoFrontRight(o);
     }
 
     @Override
     public Number getDistanceToRightStreetBorder(PhysicalObject o) {
-        EnvNode n = new Node2D(o.getGeometryPos().getEntry(0),o.getGeometryPos().getEntry(1),o.getGeometryPos().getEntry(2));
-        GeomStreet minStreet = getMinimumStreetForNode(n);
+        GeomStreet minStreet = getMinimumStreetForObject(o, o.getGeometryPos());
 
         return minStreet.getDistanceToRight(o);
     }
@@ -285,8 +513,7 @@ public class WorldModel implements World{
     public Number getDistanceFrontRightWheelToRightStreetBorder(PhysicalObject o) {
         RealVector pos = o.getFrontRightWheelGeometryPos();
 
-        EnvNode n = new Node2D(pos.getEntry(0),pos.getEntry(1),pos.getEntry(2));
-        GeomStreet minStreet = getMinimumStreetForNode(n);
+        GeomStreet minStreet = getMinimumStreetForObject(o, pos);
 
         return minStreet.getDistanceToLeft(o);
     }
@@ -295,8 +522,7 @@ public class WorldModel implements World{
     public Number getDistanceBackRightWheelToRightStreetBorder(PhysicalObject o) {
         RealVector pos = o.getBackRightWheelGeometryPos();
 
-        EnvNode n = new Node2D(pos.getEntry(0),pos.getEntry(1),pos.getEntry(2));
-        GeomStreet minStreet = getMinimumStreetForNode(n);
+        GeomStreet minStreet = getMinimumStreetForObject(o, pos);
 
         return minStreet.getDistanceToLeft(o);
     }
@@ -367,5 +593,16 @@ public class WorldModel implements World{
         }
     }
 
+    /**
+     * Nearest segment of the last street query of an object and the index the segment belongs to
+     */
+    private static final class LastSegment {
+        private final StreetSegmentIndex index;
+        private final int segment;
 
+        private LastSegment(StreetSegmentIndex index, int segment) {
+            this.index = index;
+            this.segment = segment;
+        }
+    }
 }
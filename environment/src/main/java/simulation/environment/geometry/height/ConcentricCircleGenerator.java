@@ -50,6 +50,16 @@ public class ConcentricCircleGenerator implements HeightGenerator{
         instance = new ConcentricCircleGenerator(bounds, ConcentricCircleGenerator.intervalLength, fixedSlopes);
     }
 
+    /**
+     * Restores a generator from the height map of a previous generator with the same bounds,
+     * e.g. for a world that was loaded from a snapshot instead of being parsed
+     * @param bounds
+     * @param heightMap heights, slopes and interval lengths of the circles as returned by toHeightMap
+     */
+    public static void init(EnvBounds bounds, double[][] heightMap) {
+        instance = new ConcentricCircleGenerator(bounds, heightMap);
+    }
+
     private EnvBounds bounds;
 
     private Point3D midPoint3D;
@@ -91,6 +101,22 @@ public class ConcentricCircleGenerator implements HeightGenerator{
         initIntervals();
     }
 
+    private ConcentricCircleGenerator(EnvBounds bounds, double[][] heightMap) {
+        this.bounds = bounds;
+        this.length = heightMap[2][0];
+        this.normalDist = new NormalDistribution(meanSlope, slopeVar);
+        this.fixedSlopes = false;
+        initMidPoint();
+
+        //the midpoint shares the height of the first circle
+        this.midPoint3D = new Point3D(midPoint2D.getX(), midPoint2D.getY(), heightMap[0][0]);
+
+        this.circles = new ArrayList<>();
+        for(int i = 0; i < heightMap[0].length; i++) {
+            this.circles.add(new ConcentricCircle(heightMap[1][i], heightMap[0][i]));
+        }
+    }
+
     private void initMidPoint() {
         Point2D maxPoint = new Point2D(this.bounds.getMaxX(), this.bounds.getMaxY());
         Point2D minPoint = new Point2D(this.bounds.getMinX(), this.bounds.getMinY());
@@ -0,0 +1,157 @@
+package simulation.environment.geometry.height;
+
+import simulation.environment.visualisationadapter.interfaces.EnvBounds;
+
+/**
+ * A height generator that interpolates bilinearly between heights on a regular grid. The grid is either
+ * sampled once from another height generator or loaded from an external raster, e.g. a digital elevation model.
+ * Thus a ground query is a constant number of array reads instead of an analytic computation.
+ *
+ * Points outside of the grid get the height of the nearest point on the border of the grid.
+ */
+public class HeightFieldGrid implements HeightGenerator {
+
+    private final double minX;
+    private final double minY;
+
+    private final double cellSize;
+
+    private final int columns;
+    private final int rows;
+
+    //heights in row major order, row index is y and column index is x
+    private final double[] heights;
+
+    /**
+     * @param minX x-Coordinate of the first column
+     * @param minY y-Coordinate of the first row
+     * @param cellSize distance between two grid points in meters
+     * @param heights heights of the grid points, heights[row][column] is the height at
+     *                (minX + column * cellSize, minY + row * cellSize)
+     */
+    public HeightFieldGrid(double minX, double minY, double cellSize, double[][] heights) {
+        if(!(cellSize > 0)) {
+            throw new IllegalArgumentException("HeightFieldGrid - Cell size needs to be positive: " + cellSize);
+        }
+
+        if(heights.length == 0 || heights[0].length == 0) {
+            throw new IllegalArgumentException("HeightFieldGrid - Grid needs at least one point");
+        }
+
+        this.minX = minX;
+        this.minY = minY;
+        this.cellSize = cellSize;
+        this.rows = heights.length;
+        this.columns = heights[0].length;
+        this.heights = new double[rows * columns];
+
+        for(int row = 0; row < rows; row++) {
+            if(heights[row].length != columns) {
+                throw new IllegalArgumentException("HeightFieldGrid - All rows need " + columns + " points, row " + row + " has " + heights[row].length);
+            }
+
+            System.arraycopy(heights[row], 0, this.heights, row * columns, columns);
+        }
+    }
+
+    /**
+     * Takes the heights in row major order without copying them
+     */
+    private HeightFieldGrid(double minX, double minY, double cellSize, int rows, int columns, double[] heights) {
+        this.minX = minX;
+        this.minY = minY;
+        this.cellSize = cellSize;
+        this.rows = rows;
+        this.columns = columns;
+        this.heights = heights;
+    }
+
+    /**
+     * Samples a height generator at the grid points that cover the bounds. The last row and column
+     * lie on or beyond the maximum of the bounds
+     * @param generator
+     * @param bounds
+     * @param cellSize distance between two grid points in meters
+     * @return grid with the heights of the generator
+     */
+    public static HeightFieldGrid sample(HeightGenerator generator, EnvBounds bounds, double cellSize) {
+        if(!(cellSize > 0)) {
+            throw new IllegalArgumentException("HeightFieldGrid - Cell size needs to be positive: " + cellSize);
+        }
+
+        int columns = (int) Math.ceil((bounds.getMaxX() - bounds.getMinX()) / cellSize) + 1;
+        int rows = (int) Math.ceil((bounds.getMaxY() - bounds.getMinY()) / cellSize) + 1;
+        if((long) rows * columns > Integer.MAX_VALUE) {
+            throw new IllegalArgumentException("HeightFieldGrid - Too many grid points for cell size " + cellSize + ": " + rows + " x " + columns);
+        }
+
+        //filled in the layout of the grid, such that the heights are never held twice
+        double[] heights = new double[rows * columns];
+
+        for(int row = 0; row < rows; row++) {
+            double y = bounds.getMinY() + row * cellSize;
+            for(int column = 0; column < columns; column++) {
+                heights[row * columns + column] = generator.getGround(bounds.getMinX() + column * cellSize, y);
+            }
+        }
+
+        return new HeightFieldGrid(bounds.getMinX(), bounds.getMinY(), cellSize, rows, columns, heights);
+    }
+
+    @Override
+    public double getGround(double x, double y) {
+        double gridX = clamp((x - minX) / cellSize, columns - 1);
+        double gridY = clamp((y - minY) / cellSize, rows - 1);
+
+        //index of the lower left grid point of the cell, the last cell is used for points on the upper border
+        int column = Math.min((int) gridX, Math.max(columns - 2, 0));
+        int row = Math.min((int) gridY, Math.max(rows - 2, 0));
+        int nextColumn = Math.min(column + 1, columns - 1);
+        int nextRow = Math.min(row + 1, rows - 1);
+
+        double tx = gridX - column;
+        double ty = gridY - row;
+
+        double h00 = heights[row * columns + column];
+        double h10 = heights[row * columns + nextColumn];
+        double h01 = heights[nextRow * columns + column];
+        double h11 = heights[nextRow * columns + nextColumn];
+
+        double lower = h00 + tx * (h10 - h00);
+        double upper = h01 + tx * (h11 - h01);
+        return lower + ty * (upper - lower);
+    }
+
+    /**
+     * @return heights of the grid points, result[row][column] is the height at
+     *         (minX + column * cellSize, minY + row * cellSize)
+     */
+    @Override
+    public double[][] toHeightMap() {
+        double[][] result = new double[rows][columns];
+        for(int row = 0; row < rows; row++) {
+            System.arraycopy(heights, row * columns, result[row], 0, columns);
+        }
+        return result;
+    }
+
+    public double getCellSize() {
+        return this.cellSize;
+    }
+
+    public int getColumns() {
+        return this.columns;
+    }
+
+    public int getRows() {
+        return this.rows;
+    }
+
+    private static double clamp(double value, int max) {
+        if(value < 0) {
+            return 0;
+        }
+
+        return (value > max ? max : value);
+    }
+}
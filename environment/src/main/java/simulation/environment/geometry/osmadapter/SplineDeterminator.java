@@ -10,6 +10,8 @@ import simulation.environment.visualisationadapter.interfaces.EnvNode;
 import simulation.environment.visualisationadapter.interfaces.EnvStreet;
 
 import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
 import java.util.HashMap;
 import java.util.Random;
 import java.util.Set;
@@ -153,26 +155,51 @@ public abstract class SplineDeterminator {
      *
      * @param keys
      * @param p
-     * @return the element of keys with Minimum Distance to p
+     * @return the element of keys with Minimum Distance between p and the segment from p1 to p2 of the spline
      */
 
     private Spline getMinimumSplineForSetAndPoints(Set<Key> keys, Point3D p) {
         double minDist = Double.MAX_VALUE;
         Spline result = null;
 
-        if (keys.size() > 0) {
-            result = this.splines.get(keys.toArray()[0]);
-        }
-
         for(Key k : keys) {
-            double dist = this.splines.get(k).computeDistanceToMiddle(p);
-            if(dist < minDist) {
-                result = this.splines.get(k);
+            Spline spline = this.splines.get(k);
+            double dist = computeSegmentDistance(spline, p);
+            if(result == null || dist < minDist) {
+                result = spline;
+                minDist = dist;
             }
         }
         return result;
     }
 
+    /**
+     * Unlike Spline.computeDistanceToMiddle(), the distance is not measured to the infinite line through
+     * both points, such that splines whose extension passes p are not preferred over the closest spline
+     *
+     * @param s
+     * @param p
+     * @return the distance between p and the closest point of the segment from p1 to p2 of s
+     */
+    private static double computeSegmentDistance(Spline s, Point3D p) {
+        Point3D p1 = s.getP1();
+        Point3D difference = s.getP2().subtract(p1);
+        Point3D differenceOfP1AndP = p.subtract(p1);
+
+        double squaredLength = difference.dotProduct(difference);
+        double t = squaredLength > 0 ? differenceOfP1AndP.dotProduct(difference) / squaredLength : 0;
+        t = Math.max(0, Math.min(1, t));
+
+        return p1.add(difference.multiply(t)).distance(p);
+    }
+
+    /**
+     * @return all splines of the street, one per pair of consecutive nodes
+     */
+    public Collection<Spline> getSplines() {
+        return Collections.unmodifiableCollection(this.splines.values());
+    }
+
 
     /**
      * @return corresponding EnvStreet
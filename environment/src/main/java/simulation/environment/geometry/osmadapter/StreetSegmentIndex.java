@@ -0,0 +1,584 @@
+package simulation.environment.geometry.osmadapter;
+
+import javafx.geometry.Point3D;
+import simulation.environment.geometry.splines.Spline;
+
+import java.util.*;
+import java.util.function.IntConsumer;
+
+/**
+ * Immutable uniform grid over all spline segments of a list of streets. Replaces linear scans over all
+ * streets for nearest street and ground queries. The index is built once when the world is loaded and
+ * may be queried concurrently from multiple threads.
+ */
+public class StreetSegmentIndex {
+
+    /** Default edge length of grid cells in meters */
+    public static final double DEFAULT_CELL_SIZE = 50.0;
+
+    /** Segments whose bounding boxes are closer than this distance in meters are neighbours */
+    public static final double NEIGHBOURHOOD_RADIUS = 20.0;
+
+    /** Upper bound for the number of grid cells, the cell size is increased for very large maps */
+    private static final long MAX_CELL_COUNT = 1L << 22;
+
+    /** Indexed streets in the order given */
+    private final List<GeomStreet> streets;
+
+    /** Edge length of grid cells in meters */
+    private final double cellSize;
+
+    /** Street index of every segment */
+    private final int[] segmentStreet;
+
+    /** Start and end points of every segment, {x1, y1, z1, x2, y2, z2} per segment */
+    private final double[] segmentPoints;
+
+    /** XY bounding box of street and pavements of every segment, {minX, minY, maxX, maxY} per segment */
+    private final double[] segmentBounds;
+
+    /** Cell coordinates of the lower left grid cell */
+    private final int originCellX;
+    private final int originCellY;
+
+    /** Number of grid cells in both directions */
+    private final int cellCountX;
+    private final int cellCountY;
+
+    /** Segments of cell i are cellSegments[cellStart[i]] to cellSegments[cellStart[i + 1] - 1] */
+    private final int[] cellStart;
+    private final int[] cellSegments;
+
+    /** Neighbours of segment i are neighbours[neighbourStart[i]] to neighbours[neighbourStart[i + 1] - 1] */
+    private final int[] neighbourStart;
+    private final int[] neighbours;
+
+    /**
+     * Constructor that indexes all splines of the given streets with default cell size
+     *
+     * @param streets Streets to be indexed
+     */
+    public StreetSegmentIndex(List<GeomStreet> streets) {
+        this(streets, DEFAULT_CELL_SIZE);
+    }
+
+    /**
+     * Constructor that indexes all splines of the given streets
+     *
+     * @param streets Streets to be indexed
+     * @param cellSize Edge length of grid cells in meters, must be positive
+     */
+    public StreetSegmentIndex(List<GeomStreet> streets, double cellSize) {
+        if (!(cellSize > 0.0)) {
+            throw new IllegalArgumentException("StreetSegmentIndex: cellSize must be positive, got " + cellSize);
+        }
+
+        this.streets = Collections.unmodifiableList(new ArrayList<>(streets));
+
+        // Collect segments of all streets
+        List<Spline> splines = new ArrayList<>();
+        List<Integer> splineStreets = new ArrayList<>();
+
+        for (int i = 0; i < streets.size(); ++i) {
+            for (Spline spline : streets.get(i).getDeterminator().getSplines()) {
+                splines.add(spline);
+                splineStreets.add(i);
+            }
+        }
+
+        int segmentCount = splines.size();
+        segmentStreet = new int[segmentCount];
+        segmentPoints = new double[6 * segmentCount];
+        segmentBounds = new double[4 * segmentCount];
+
+        double minX = Double.POSITIVE_INFINITY;
+        double minY = Double.POSITIVE_INFINITY;
+        double maxX = Double.NEGATIVE_INFINITY;
+        double maxY = Double.NEGATIVE_INFINITY;
+
+        for (int i = 0; i < segmentCount; ++i) {
+            Spline spline = splines.get(i);
+            segmentStreet[i] = splineStreets.get(i);
+
+            Point3D p1 = spline.getP1();
+            Point3D p2 = spline.getP2();
+            segmentPoints[6 * i] = p1.getX();
+            segmentPoints[6 * i + 1] = p1.getY();
+            segmentPoints[6 * i + 2] = p1.getZ();
+            segmentPoints[6 * i + 3] = p2.getX();
+            segmentPoints[6 * i + 4] = p2.getY();
+            segmentPoints[6 * i + 5] = p2.getZ();
+
+            // Bounding box of the street including its pavements
+            List<Point3D> borders = new ArrayList<>(spline.getAllBorders());
+            borders.add(p1);
+            borders.add(p2);
+
+            double segmentMinX = Double.POSITIVE_INFINITY;
+            double segmentMinY = Double.POSITIVE_INFINITY;
+            double segmentMaxX = Double.NEGATIVE_INFINITY;
+            double segmentMaxY = Double.NEGATIVE_INFINITY;
+
+            for (Point3D border : borders) {
+                segmentMinX = Math.min(segmentMinX, border.getX());
+                segmentMinY = Math.min(segmentMinY, border.getY());
+                segmentMaxX = Math.max(segmentMaxX, border.getX());
+                segmentMaxY = Math.max(segmentMaxY, border.getY());
+            }
+
+            segmentBounds[4 * i] = segmentMinX;
+            segmentBounds[4 * i + 1] = segmentMinY;
+            segmentBounds[4 * i + 2] = segmentMaxX;
+            segmentBounds[4 * i + 3] = segmentMaxY;
+
+            minX = Math.min(minX, segmentMinX);
+            minY = Math.min(minY, segmentMinY);
+            maxX = Math.max(maxX, segmentMaxX);
+            maxY = Math.max(maxY, segmentMaxY);
+        }
+
+        if (segmentCount == 0) {
+            minX = minY = maxX = maxY = 0.0;
+        }
+
+        // Grow cells for huge maps to keep the grid memory bounded
+        while (((long) Math.floor(maxX / cellSize) - (long) Math.floor(minX / cellSize) + 1) *
+                ((long) Math.floor(maxY / cellSize) - (long) Math.floor(minY / cellSize) + 1) > MAX_CELL_COUNT) {
+            cellSize *= 2.0;
+        }
+
+        this.cellSize = cellSize;
+        originCellX = cellCoordinate(minX);
+        originCellY = cellCoordinate(minY);
+        cellCountX = cellCoordinate(maxX) - originCellX + 1;
+        cellCountY = cellCoordinate(maxY) - originCellY + 1;
+
+        // Count segments per cell, then fill all cells into a single array
+        int cellCount = cellCountX * cellCountY;
+        cellStart = new int[cellCount + 1];
+
+        for (int i = 0; i < segmentCount; ++i) {
+            for (int cell : getCellsOfSegment(i, 0.0)) {
+                cellStart[cell + 1]++;
+            }
+        }
+
+        for (int cell = 0; cell < cellCount; ++cell) {
+            cellStart[cell + 1] += cellStart[cell];
+        }
+
+        cellSegments = new int[cellStart[cellCount]];
+        int[] cellFill = Arrays.copyOf(cellStart, cellCount);
+
+        for (int i = 0; i < segmentCount; ++i) {
+            for (int cell : getCellsOfSegment(i, 0.0)) {
+                cellSegments[cellFill[cell]++] = i;
+            }
+        }
+
+        // Neighbours of every segment, including the segment itself and segments of other streets
+        neighbourStart = new int[segmentCount + 1];
+        int[] segmentNeighbours = new int[segmentCount];
+        int[] stamps = new int[segmentCount];
+        Arrays.fill(stamps, -1);
+
+        for (int i = 0; i < segmentCount; ++i) {
+            int neighbourCount = neighbourStart[i];
+
+            for (int cell : getCellsOfSegment(i, NEIGHBOURHOOD_RADIUS)) {
+                for (int j = cellStart[cell]; j < cellStart[cell + 1]; ++j) {
+                    int segment = cellSegments[j];
+
+                    if (stamps[segment] == i || !areNeighbours(i, segment)) {
+                        continue;
+                    }
+
+                    stamps[segment] = i;
+
+                    if (neighbourCount == segmentNeighbours.length) {
+                        segmentNeighbours = Arrays.copyOf(segmentNeighbours, 2 * neighbourCount);
+                    }
+
+                    segmentNeighbours[neighbourCount++] = segment;
+                }
+            }
+
+            neighbourStart[i + 1] = neighbourCount;
+        }
+
+        neighbours = Arrays.copyOf(segmentNeighbours, neighbourStart[segmentCount]);
+    }
+
+    /**
+     * Checks whether the bounding boxes of two segments are closer than NEIGHBOURHOOD_RADIUS
+     */
+    private boolean areNeighbours(int segment, int otherSegment) {
+        return segmentBounds[4 * otherSegment] <= segmentBounds[4 * segment + 2] + NEIGHBOURHOOD_RADIUS &&
+                segmentBounds[4 * otherSegment + 2] >= segmentBounds[4 * segment] - NEIGHBOURHOOD_RADIUS &&
+                segmentBounds[4 * otherSegment + 1] <= segmentBounds[4 * segment + 3] + NEIGHBOURHOOD_RADIUS &&
+                segmentBounds[4 * otherSegment + 3] >= segmentBounds[4 * segment + 1] - NEIGHBOURHOOD_RADIUS;
+    }
+
+    /**
+     * Returns the indices of all cells that overlap the bounding box of a segment expanded by a margin
+     */
+    private int[] getCellsOfSegment(int segment, double margin) {
+        int fromX = Math.max(0, cellCoordinate(segmentBounds[4 * segment] - margin) - originCellX);
+        int fromY = Math.max(0, cellCoordinate(segmentBounds[4 * segment + 1] - margin) - originCellY);
+        int toX = Math.min(cellCountX - 1, cellCoordinate(segmentBounds[4 * segment + 2] + margin) - originCellX);
+        int toY = Math.min(cellCountY - 1, cellCoordinate(segmentBounds[4 * segment + 3] + margin) - originCellY);
+
+        int[] cells = new int[(toX - fromX + 1) * (toY - fromY + 1)];
+        int index = 0;
+
+        for (int cellX = fromX; cellX <= toX; ++cellX) {
+            for (int cellY = fromY; cellY <= toY; ++cellY) {
+                cells[index++] = cellX * cellCountY + cellY;
+            }
+        }
+
+        return cells;
+    }
+
+    /**
+     * Returns the street with the minimum distance between a point and one of its segments
+     *
+     * @param x X coordinate of the point
+     * @param y Y coordinate of the point
+     * @param z Z coordinate of the point
+     * @return Nearest street, null if no street has a segment
+     */
+    public GeomStreet getNearestStreet(double x, double y, double z) {
+        int segment = getNearestSegment(x, y, z);
+        return (segment < 0 ? null : streets.get(segmentStreet[segment]));
+    }
+
+    /**
+     * Returns the segment with the minimum distance to a point. Segments are numbered in the order
+     * of the streets, ties are resolved in favor of the lower segment number
+     *
+     * @param x X coordinate of the point
+     * @param y Y coordinate of the point
+     * @param z Z coordinate of the point
+     * @return Number of the nearest segment, -1 if there are no segments
+     */
+    public int getNearestSegment(double x, double y, double z) {
+        if (segmentStreet.length == 0) {
+            return -1;
+        }
+
+        // Best segment and its distance found so far
+        int[] nearestSegment = {-1};
+        double[] nearestDistance = {Double.POSITIVE_INFINITY};
+
+        // Search rings of cells around the cell of the point, or the closest cell of the grid
+        int startX = clampedCell(x, originCellX, cellCountX);
+        int startY = clampedCell(y, originCellY, cellCountY);
+
+        for (int radius = 0; ; ++radius) {
+            visitRing(startX, startY, radius, segment -> {
+                double distance = computeSegmentDistance(segment, x, y, z);
+
+                if (distance < nearestDistance[0] || (distance == nearestDistance[0] && segment < nearestSegment[0])) {
+                    nearestSegment[0] = segment;
+                    nearestDistance[0] = distance;
+                }
+            });
+
+            // Ties with unvisited segments are possible as long as the distance is not strictly smaller
+            if (nearestDistance[0] < computeUnvisitedDistance(x, y, startX, startY, radius) || isGridCovered(startX, startY, radius)) {
+                return nearestSegment[0];
+            }
+        }
+    }
+
+    /**
+     * Returns the segment with the minimum distance to a point, if it can be determined from the neighbourhood
+     * of a known segment close to the point, e.g. the nearest segment of the previous query for a moving object.
+     * Much cheaper than getNearestSegment() when the point moved only slightly since the previous query
+     *
+     * @param x X coordinate of the point
+     * @param y Y coordinate of the point
+     * @param z Z coordinate of the point
+     * @param knownSegment Number of a segment close to the point
+     * @return Number of the nearest segment, equal to the result of getNearestSegment(), or -1 if the nearest
+     *         segment may be outside the neighbourhood of knownSegment
+     */
+    public int getNearestSegmentInNeighbourhood(double x, double y, double z, int knownSegment) {
+        if (knownSegment < 0 || knownSegment >= segmentStreet.length) {
+            return -1;
+        }
+
+        // Segments outside of the neighbourhood are outside of the expanded bounding box of the known segment
+        double margin = Math.min(
+                Math.min(x - (segmentBounds[4 * knownSegment] - NEIGHBOURHOOD_RADIUS), (segmentBounds[4 * knownSegment + 2] + NEIGHBOURHOOD_RADIUS) - x),
+                Math.min(y - (segmentBounds[4 * knownSegment + 1] - NEIGHBOURHOOD_RADIUS), (segmentBounds[4 * knownSegment + 3] + NEIGHBOURHOOD_RADIUS) - y));
+
+        int nearestSegment = -1;
+        double nearestDistance = Double.POSITIVE_INFINITY;
+
+        for (int i = neighbourStart[knownSegment]; i < neighbourStart[knownSegment + 1]; ++i) {
+            int segment = neighbours[i];
+            double distance = computeSegmentDistance(segment, x, y, z);
+
+            if (distance < nearestDistance || (distance == nearestDistance && segment < nearestSegment)) {
+                nearestSegment = segment;
+                nearestDistance = distance;
+            }
+        }
+
+        return (nearestDistance < margin ? nearestSegment : -1);
+    }
+
+    /**
+     * Returns the street of a segment
+     *
+     * @param segment Number of the segment
+     * @return Street that contains the segment
+     */
+    public GeomStreet getStreetOfSegment(int segment) {
+        return streets.get(segmentStreet[segment]);
+    }
+
+    /**
+     * Returns the streets with the minimum distances between a point and one of their segments
+     *
+     * @param x X coordinate of the point
+     * @param y Y coordinate of the point
+     * @param z Z coordinate of the point
+     * @param count Maximum number of streets to be returned
+     * @return Up to count streets sorted by ascending distance, ties are sorted by the order of the streets
+     */
+    public List<GeomStreet> getNearestStreets(double x, double y, double z, int count) {
+        return new ArrayList<>(getNearestStreetDistances(x, y, z, count).keySet());
+    }
+
+    /**
+     * Returns the streets with the minimum distances between a point and one of their segments together with
+     * these distances, see getNearestStreets()
+     *
+     * @param x X coordinate of the point
+     * @param y Y coordinate of the point
+     * @param z Z coordinate of the point
+     * @param count Maximum number of streets to be returned
+     * @return Up to count streets mapped to their distances, iterated in the order of getNearestStreets()
+     */
+    public Map<GeomStreet, Double> getNearestStreetDistances(double x, double y, double z, int count) {
+        if (count <= 0 || segmentStreet.length == 0) {
+            return Collections.emptyMap();
+        }
+
+        // Minimum distance for every street found so far
+        Map<Integer, Double> streetDistances = new HashMap<>();
+
+        // Search rings of cells around the cell of the point, or the closest cell of the grid
+        int startX = clampedCell(x, originCellX, cellCountX);
+        int startY = clampedCell(y, originCellY, cellCountY);
+
+        for (int radius = 0; ; ++radius) {
+            visitRing(startX, startY, radius, segment ->
+                    streetDistances.merge(segmentStreet[segment], computeSegmentDistance(segment, x, y, z), Math::min));
+
+            double unvisitedDistance = computeUnvisitedDistance(x, y, startX, startY, radius);
+            int confirmed = 0;
+
+            for (double distance : streetDistances.values()) {
+                if (distance <= unvisitedDistance) {
+                    confirmed++;
+                }
+            }
+
+            if (confirmed >= count || isGridCovered(startX, startY, radius)) {
+                break;
+            }
+        }
+
+        List<Integer> streetIndices = new ArrayList<>(streetDistances.keySet());
+        streetIndices.sort(Comparator.comparingDouble((Integer i) -> streetDistances.get(i)).thenComparingInt(i -> i));
+
+        Map<GeomStreet, Double> result = new LinkedHashMap<>();
+        for (int i = 0; i < Math.min(count, streetIndices.size()); ++i) {
+            result.put(streets.get(streetIndices.get(i)), streetDistances.get(streetIndices.get(i)));
+        }
+
+        return result;
+    }
+
+    /**
+     * Returns all streets with a segment whose street or pavements may contain the XY coordinates of a point.
+     * Use GeomStreet.contains() to check whether the point is actually on a returned street.
+     *
+     * @param x X coordinate of the point
+     * @param y Y coordinate of the point
+     * @return Candidate streets in the order of the indexed streets
+     */
+    public List<GeomStreet> getStreetCandidates(double x, double y) {
+        if (segmentStreet.length == 0) {
+            return Collections.emptyList();
+        }
+
+        // Points outside of the grid are filtered by the bounding box check below
+        int cell = clampedCell(x, originCellX, cellCountX) * cellCountY + clampedCell(y, originCellY, cellCountY);
+        int[] candidates = new int[cellStart[cell + 1] - cellStart[cell]];
+        int candidateCount = 0;
+
+        for (int i = cellStart[cell]; i < cellStart[cell + 1]; ++i) {
+            int segment = cellSegments[i];
+
+            if (x >= segmentBounds[4 * segment] && y >= segmentBounds[4 * segment + 1] &&
+                    x <= segmentBounds[4 * segment + 2] && y <= segmentBounds[4 * segment + 3]) {
+                candidates[candidateCount++] = segmentStreet[segment];
+            }
+        }
+
+        Arrays.sort(candidates, 0, candidateCount);
+
+        List<GeomStreet> result = new ArrayList<>();
+        for (int i = 0; i < candidateCount; ++i) {
+            if (i == 0 || candidates[i] != candidates[i - 1]) {
+                result.add(streets.get(candidates[i]));
+            }
+        }
+
+        return result;
+    }
+
+    /**
+     * @return Edge length of the grid cells in meters
+     */
+    public double getCellSize() {
+        return cellSize;
+    }
+
+    /**
+     * @return Number of indexed segments
+     */
+    public int getSegmentCount() {
+        return segmentStreet.length;
+    }
+
+    /**
+     * Returns the euclidean distance between a point and the closest point of a segment
+     *
+     * @param segment Number of the segment
+     * @param x X coordinate of the point
+     * @param y Y coordinate of the point
+     * @param z Z coordinate of the point
+     * @return Distance between the point and the segment
+     */
+    public double getSegmentDistance(int segment, double x, double y, double z) {
+        return computeSegmentDistance(segment, x, y, z);
+    }
+
+    /**
+     * Computes the euclidean distance between a point and the closest point of a segment
+     */
+    private double computeSegmentDistance(int segment, double x, double y, double z) {
+        int offset = 6 * segment;
+        double dx = segmentPoints[offset + 3] - segmentPoints[offset];
+        double dy = segmentPoints[offset + 4] - segmentPoints[offset + 1];
+        double dz = segmentPoints[offset + 5] - segmentPoints[offset + 2];
+        double px = x - segmentPoints[offset];
+        double py = y - segmentPoints[offset + 1];
+        double pz = z - segmentPoints[offset + 2];
+
+        double squaredLength = dx * dx + dy * dy + dz * dz;
+        double t = (squaredLength > 0.0 ? (px * dx + py * dy + pz * dz) / squaredLength : 0.0);
+        t = Math.max(0.0, Math.min(1.0, t));
+
+        double ex = px - t * dx;
+        double ey = py - t * dy;
+        double ez = pz - t * dz;
+        return Math.sqrt(ex * ex + ey * ey + ez * ez);
+    }
+
+    /**
+     * Calls the consumer for all segments in the cells of the square ring with the given radius around a cell.
+     * Segments that overlap multiple cells may be reported multiple times
+     */
+    private void visitRing(int startX, int startY, int radius, IntConsumer consumer) {
+        int fromX = Math.max(0, startX - radius);
+        int toX = Math.min(cellCountX - 1, startX + radius);
+
+        for (int cellX = fromX; cellX <= toX; ++cellX) {
+            if (cellX == startX - radius || cellX == startX + radius) {
+                // Left and right column of the ring
+                for (int cellY = Math.max(0, startY - radius); cellY <= Math.min(cellCountY - 1, startY + radius); ++cellY) {
+                    visitCell(cellX * cellCountY + cellY, consumer);
+                }
+            } else {
+                // Top and bottom cell of the ring
+                if (startY - radius >= 0) {
+                    visitCell(cellX * cellCountY + startY - radius, consumer);
+                }
+
+                if (startY + radius < cellCountY) {
+                    visitCell(cellX * cellCountY + startY + radius, consumer);
+                }
+            }
+        }
+    }
+
+    /**
+     * Calls the consumer for all segments of a cell
+     */
+    private void visitCell(int cell, IntConsumer consumer) {
+        for (int i = cellStart[cell]; i < cellStart[cell + 1]; ++i) {
+            consumer.accept(cellSegments[i]);
+        }
+    }
+
+    /**
+     * Computes a lower bound for the XY distance between a point and all segments in cells outside of the
+     * square of cells with the given radius around a cell
+     */
+    private double computeUnvisitedDistance(double x, double y, int startX, int startY, int radius) {
+        double unvisitedDistance = Double.POSITIVE_INFINITY;
+
+        if (startX - radius > 0) {
+            unvisitedDistance = Math.min(unvisitedDistance, Math.max(0.0, x - (originCellX + startX - radius) * cellSize));
+        }
+
+        if (startX + radius < cellCountX - 1) {
+            unvisitedDistance = Math.min(unvisitedDistance, Math.max(0.0, (originCellX + startX + radius + 1) * cellSize - x));
+        }
+
+        if (startY - radius > 0) {
+            unvisitedDistance = Math.min(unvisitedDistance, Math.max(0.0, y - (originCellY + startY - radius) * cellSize));
+        }
+
+        if (startY + radius < cellCountY - 1) {
+            unvisitedDistance = Math.min(unvisitedDistance, Math.max(0.0, (originCellY + startY + radius + 1) * cellSize - y));
+        }
+
+        return unvisitedDistance;
+    }
+
+    /**
+     * Checks whether the square of cells with the given radius around a cell covers the whole grid
+     */
+    private boolean isGridCovered(int startX, int startY, int radius) {
+        return startX - radius <= 0 && startY - radius <= 0 && startX + radius >= cellCountX - 1 && startY + radius >= cellCountY - 1;
+    }
+
+    /**
+     * Converts a coordinate to the grid index of the containing cell, clamped to the grid
+     */
+    private int clampedCell(double value, int originCell, int cellCount) {
+        double cell = Math.floor(value / cellSize) - originCell;
+
+        // Also maps NaN to the first cell
+        if (!(cell >= 0.0)) {
+            return 0;
+        }
+
+        return (int) Math.min(cell, cellCount - 1);
+    }
+
+    /**
+     * Converts a coordinate to the coordinate of the containing cell
+     */
+    private int cellCoordinate(double value) {
+        return (int) Math.floor(value / cellSize);
+    }
+}
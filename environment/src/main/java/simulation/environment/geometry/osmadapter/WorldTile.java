@@ -0,0 +1,84 @@
+package simulation.environment.geometry.osmadapter;
+
+import simulation.environment.pedestrians.Pedestrian;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * A square tile of the world with all objects that are built from the parsed map for its area: the streets that
+ * overlap the tile with their spline geometry and a segment index over these streets. Tiles are built when
+ * WorldTiles loads them and are dropped as a whole when they are unloaded.
+ *
+ * A street that does not overlap the tile may still be the nearest street for a point in the tile, the nearest
+ * segment of the index is only the nearest segment of the world if it is not farther away than the border of
+ * the tile, see getBorderDistance().
+ */
+public class WorldTile {
+
+    /** XY bounds of the tile */
+    private final double minX;
+    private final double minY;
+    private final double maxX;
+    private final double maxY;
+
+    /** Streets that overlap the tile including their pavements */
+    private final List<GeomStreet> streets;
+
+    /** Segment index over the streets of the tile */
+    private final StreetSegmentIndex index;
+
+    /** Pedestrians of the streets whose first node is in the tile */
+    private final List<Pedestrian> pedestrians;
+
+    /**
+     * @param minX X coordinate of the lower left corner
+     * @param minY Y coordinate of the lower left corner
+     * @param size Edge length of the tile in meters
+     * @param streets Streets that overlap the tile
+     * @param pedestrians Pedestrians of the tile
+     */
+    WorldTile(double minX, double minY, double size, List<GeomStreet> streets, List<Pedestrian> pedestrians) {
+        this.minX = minX;
+        this.minY = minY;
+        this.maxX = minX + size;
+        this.maxY = minY + size;
+        this.streets = Collections.unmodifiableList(new ArrayList<>(streets));
+        this.index = new StreetSegmentIndex(this.streets);
+        this.pedestrians = Collections.unmodifiableList(new ArrayList<>(pedestrians));
+    }
+
+    /**
+     * Returns the XY distance between a point in the tile and the border of the tile. All streets that do not
+     * overlap the tile are at least this far away from the point
+     *
+     * @param x X coordinate of the point
+     * @param y Y coordinate of the point
+     * @return Distance to the closest edge of the tile, negative if the point is outside of the tile
+     */
+    public double getBorderDistance(double x, double y) {
+        return Math.min(Math.min(x - minX, maxX - x), Math.min(y - minY, maxY - y));
+    }
+
+    /**
+     * @return Segment index over the streets of the tile
+     */
+    public StreetSegmentIndex getIndex() {
+        return index;
+    }
+
+    /**
+     * @return Streets that overlap the tile
+     */
+    public List<GeomStreet> getStreets() {
+        return streets;
+    }
+
+    /**
+     * @return Pedestrians of the streets whose first node is in the tile
+     */
+    public List<Pedestrian> getPedestrians() {
+        return pedestrians;
+    }
+}
@@ -0,0 +1,420 @@
+package simulation.environment.geometry.osmadapter;
+
+import javafx.geometry.Point3D;
+import simulation.environment.geometry.StreetSignPositioner;
+import simulation.environment.pedestrians.Pedestrian;
+import simulation.environment.pedestrians.PedestrianContainer;
+import simulation.environment.visualisationadapter.interfaces.EnvNode;
+import simulation.environment.visualisationadapter.interfaces.EnvStreet;
+
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Partitions the parsed world into square tiles of fixed size and builds the objects of a tile only while the
+ * tile is loaded, see WorldTile. Only the tiles around the simulated objects are loaded, thus the memory for
+ * street geometry and segment indices is bounded by the simulated area and not by the map.
+ *
+ * The parsed streets stay in memory as the source of the tiles. Queries outside of the loaded tiles load the
+ * required tiles on demand, they stay loaded until the next call of pageTiles().
+ *
+ * Pedestrians are created once for all streets. They walk on their street while it is built for a loaded
+ * tile and stand still while it is not, their position on the street is kept in between.
+ */
+public class WorldTiles {
+
+    /** Edge length of tiles in meters */
+    private final double tileSize;
+
+    /** Parsed streets of every tile that contains at least one of them */
+    private final Map<Long, TileContent> contents = new HashMap<>();
+
+    /** Position of every street in the parsed streets, ties between streets are resolved in this order */
+    private final Map<EnvStreet, Integer> streetOrder = new IdentityHashMap<>();
+
+    /** Pedestrians of every street that has pedestrians */
+    private final Map<EnvStreet, List<Pedestrian>> streetPedestrians = new IdentityHashMap<>();
+
+    /** Pedestrians of all streets */
+    private final List<Pedestrian> pedestrians = new ArrayList<>();
+
+    /** Tile coordinates of the tiles with content */
+    private int minTileX = Integer.MAX_VALUE;
+    private int minTileY = Integer.MAX_VALUE;
+    private int maxTileX = Integer.MIN_VALUE;
+    private int maxTileY = Integer.MIN_VALUE;
+
+    /** Loaded tiles, read by queries without locking */
+    private final Map<Long, WorldTile> loadedTiles = new ConcurrentHashMap<>();
+
+    /** Built streets of the loaded tiles, a street that overlaps several loaded tiles is built once */
+    private final Map<EnvStreet, LoadedStreet> loadedStreets = new IdentityHashMap<>();
+
+    /**
+     * @param streets Parsed streets to be partitioned
+     * @param tileSize Edge length of tiles in meters, must be positive
+     */
+    public WorldTiles(Collection<EnvStreet> streets, double tileSize) {
+        if (!(tileSize > 0.0)) {
+            throw new IllegalArgumentException("WorldTiles: tileSize must be positive, got " + tileSize);
+        }
+
+        this.tileSize = tileSize;
+
+        for (EnvStreet street : streets) {
+            streetOrder.put(street, streetOrder.size());
+            double minX = Double.POSITIVE_INFINITY;
+            double minY = Double.POSITIVE_INFINITY;
+            double maxX = Double.NEGATIVE_INFINITY;
+            double maxY = Double.NEGATIVE_INFINITY;
+
+            for (EnvNode node : street.getNodes()) {
+                minX = Math.min(minX, node.getX().doubleValue());
+                minY = Math.min(minY, node.getY().doubleValue());
+                maxX = Math.max(maxX, node.getX().doubleValue());
+                maxY = Math.max(maxY, node.getY().doubleValue());
+            }
+
+            if (minX > maxX) {
+                continue;
+            }
+
+            // The street and its pavements extend beyond the nodes
+            double margin = street.getStreetWidth().doubleValue();
+
+            for (int tileX = tileCoordinate(minX - margin); tileX <= tileCoordinate(maxX + margin); ++tileX) {
+                for (int tileY = tileCoordinate(minY - margin); tileY <= tileCoordinate(maxY + margin); ++tileY) {
+                    getContent(tileX, tileY).streets.add(street);
+                }
+            }
+
+            // Pedestrians only need the nodes to be created, they are placed when their street is built
+            int pedestrianCount = PedestrianContainer.getPedestrianCount(street);
+
+            if (pedestrianCount > 0) {
+                List<Pedestrian> pedestriansOfStreet = new ArrayList<>(pedestrianCount);
+
+                for (int i = 0; i < pedestrianCount; ++i) {
+                    pedestriansOfStreet.add(new Pedestrian(null));
+                }
+
+                streetPedestrians.put(street, pedestriansOfStreet);
+                pedestrians.addAll(pedestriansOfStreet);
+
+                // Pedestrians of a street belong to the tile of its first node
+                EnvNode first = street.getNodes().get(0);
+                getContent(tileCoordinate(first.getX().doubleValue()), tileCoordinate(first.getY().doubleValue())).pedestrians.addAll(pedestriansOfStreet);
+            }
+        }
+    }
+
+    /**
+     * Returns the tile that contains a point and loads it if necessary
+     *
+     * @param x X coordinate of the point
+     * @param y Y coordinate of the point
+     * @return Tile that contains the point, null if there are no streets in the tile
+     */
+    public WorldTile getTile(double x, double y) {
+        return getTile(tileKey(tileCoordinate(x), tileCoordinate(y)));
+    }
+
+    /**
+     * Returns all streets of the tile of a point whose street or pavements may contain the XY coordinates of the
+     * point, see StreetSegmentIndex.getStreetCandidates()
+     *
+     * @param x X coordinate of the point
+     * @param y Y coordinate of the point
+     * @return Candidate streets
+     */
+    public List<GeomStreet> getStreetCandidates(double x, double y) {
+        WorldTile tile = getTile(x, y);
+        return (tile == null ? Collections.<GeomStreet>emptyList() : tile.getIndex().getStreetCandidates(x, y));
+    }
+
+    /**
+     * Returns the street with the minimum distance between a point and one of its segments. Searches rings of
+     * tiles around the tile of the point until no street of an unvisited tile can be closer
+     *
+     * @param x X coordinate of the point
+     * @param y Y coordinate of the point
+     * @param z Z coordinate of the point
+     * @return Nearest street, ties are resolved in the order of the parsed streets, null if there are no streets
+     */
+    public GeomStreet getNearestStreet(double x, double y, double z) {
+        List<GeomStreet> result = getNearestStreets(x, y, z, 1);
+        return (result.isEmpty() ? null : result.get(0));
+    }
+
+    /**
+     * Returns the streets with the minimum distances between a point and one of their segments. Searches rings
+     * of tiles around the tile of the point until no street of an unvisited tile can be closer than the found
+     * streets, see StreetSegmentIndex.getNearestStreets()
+     *
+     * @param x X coordinate of the point
+     * @param y Y coordinate of the point
+     * @param z Z coordinate of the point
+     * @param count Maximum number of streets to be returned
+     * @return Up to count streets sorted by ascending distance, ties are sorted by the order of the parsed streets
+     */
+    public List<GeomStreet> getNearestStreets(double x, double y, double z, int count) {
+        if (count <= 0 || contents.isEmpty()) {
+            return Collections.emptyList();
+        }
+
+        // Minimum distance for every street found so far, streets of several tiles are built once
+        Map<GeomStreet, Double> streetDistances = new IdentityHashMap<>();
+
+        // Start at the tile of the point, or the closest tile with content
+        int startX = Math.max(minTileX, Math.min(maxTileX, tileCoordinate(x)));
+        int startY = Math.max(minTileY, Math.min(maxTileY, tileCoordinate(y)));
+
+        for (int radius = 0; ; ++radius) {
+            for (int tileX = startX - radius; tileX <= startX + radius; ++tileX) {
+                // Inner tiles of the column were visited in previous rings
+                int step = (tileX == startX - radius || tileX == startX + radius ? 1 : Math.max(1, 2 * radius));
+
+                for (int tileY = startY - radius; tileY <= startY + radius; tileY += step) {
+                    WorldTile tile = getTile(tileKey(tileX, tileY));
+
+                    // A street of the result is among the nearest streets of every tile it overlaps
+                    if (tile != null) {
+                        tile.getIndex().getNearestStreetDistances(x, y, z, count).forEach((street, distance) ->
+                                streetDistances.merge(street, distance, Math::min));
+                    }
+                }
+            }
+
+            // Streets of unvisited tiles are outside of the visited square, sides beyond the last tiles have none
+            double unvisitedDistance = Double.POSITIVE_INFINITY;
+
+            if (startX - radius > minTileX) {
+                unvisitedDistance = Math.min(unvisitedDistance, Math.max(0.0, x - (startX - radius) * tileSize));
+            }
+
+            if (startX + radius < maxTileX) {
+                unvisitedDistance = Math.min(unvisitedDistance, Math.max(0.0, (startX + radius + 1) * tileSize - x));
+            }
+
+            if (startY - radius > minTileY) {
+                unvisitedDistance = Math.min(unvisitedDistance, Math.max(0.0, y - (startY - radius) * tileSize));
+            }
+
+            if (startY + radius < maxTileY) {
+                unvisitedDistance = Math.min(unvisitedDistance, Math.max(0.0, (startY + radius + 1) * tileSize - y));
+            }
+
+            int confirmed = 0;
+
+            // Ties with streets of unvisited tiles are possible as long as the distance is not strictly smaller
+            for (double distance : streetDistances.values()) {
+                if (distance < unvisitedDistance) {
+                    confirmed++;
+                }
+            }
+
+            if (confirmed >= count || unvisitedDistance == Double.POSITIVE_INFINITY) {
+                break;
+            }
+        }
+
+        List<GeomStreet> result = new ArrayList<>(streetDistances.keySet());
+        result.sort(Comparator.comparingDouble((GeomStreet street) -> streetDistances.get(street))
+                .thenComparingInt(street -> streetOrder.get((EnvStreet) street.getObject())));
+        return (result.size() > count ? new ArrayList<>(result.subList(0, count)) : result);
+    }
+
+    /**
+     * Loads the tiles around all positions and drops all other tiles with their streets, including tiles that
+     * were loaded on demand by queries. Pedestrians of dropped streets stand still until their street is built again
+     *
+     * @param positions Positions of the simulated objects
+     * @param radius Half edge length of the square around every position in meters
+     */
+    public synchronized void pageTiles(Collection<Point3D> positions, double radius) {
+        Set<Long> neededTiles = new HashSet<>();
+
+        for (Point3D position : positions) {
+            for (int tileX = tileCoordinate(position.getX() - radius); tileX <= tileCoordinate(position.getX() + radius); ++tileX) {
+                for (int tileY = tileCoordinate(position.getY() - radius); tileY <= tileCoordinate(position.getY() + radius); ++tileY) {
+                    long key = tileKey(tileX, tileY);
+
+                    if (contents.containsKey(key)) {
+                        neededTiles.add(key);
+                    }
+                }
+            }
+        }
+
+        for (long key : new ArrayList<>(loadedTiles.keySet())) {
+            if (!neededTiles.contains(key)) {
+                unloadTile(key);
+            }
+        }
+
+        for (long key : neededTiles) {
+            loadTile(key);
+        }
+    }
+
+    /**
+     * @return Pedestrians of all streets, the same objects independent of the loaded tiles
+     */
+    public List<Pedestrian> getPedestrians() {
+        return Collections.unmodifiableList(pedestrians);
+    }
+
+    /**
+     * @return Number of tiles that contain at least one street
+     */
+    public int getTileCount() {
+        return contents.size();
+    }
+
+    /**
+     * @return Number of loaded tiles
+     */
+    public int getLoadedTileCount() {
+        return loadedTiles.size();
+    }
+
+    /**
+     * @return Number of built streets of the loaded tiles
+     */
+    public synchronized int getLoadedStreetCount() {
+        return loadedStreets.size();
+    }
+
+    /**
+     * @return Edge length of tiles in meters
+     */
+    public double getTileSize() {
+        return tileSize;
+    }
+
+    /**
+     * Returns a tile and loads it if necessary, null if the tile has no content
+     */
+    private WorldTile getTile(long key) {
+        WorldTile tile = loadedTiles.get(key);
+        return (tile != null || !contents.containsKey(key) ? tile : loadTile(key));
+    }
+
+    /**
+     * Builds the objects of a tile. Streets that are already built for another loaded tile are shared,
+     * pedestrians continue to walk on newly built streets
+     *
+     * @return Loaded tile, null if the tile has no content
+     */
+    private synchronized WorldTile loadTile(long key) {
+        WorldTile tile = loadedTiles.get(key);
+        TileContent content = contents.get(key);
+
+        if (tile != null || content == null) {
+            return tile;
+        }
+
+        List<GeomStreet> streets = new ArrayList<>(content.streets.size());
+        List<GeomStreet> builtStreets = new ArrayList<>();
+
+        for (EnvStreet street : content.streets) {
+            LoadedStreet loadedStreet = loadedStreets.get(street);
+
+            if (loadedStreet == null) {
+                loadedStreet = new LoadedStreet(new GeomStreet(street));
+                loadedStreets.put(street, loadedStreet);
+                builtStreets.add(loadedStreet.street);
+
+                for (Pedestrian pedestrian : streetPedestrians.getOrDefault(street, Collections.<Pedestrian>emptyList())) {
+                    pedestrian.setStreet(loadedStreet.street);
+
+                    // Pedestrians are placed randomly when their street is built for the first time
+                    if (pedestrian.getStreetParameters() == null) {
+                        pedestrian.spawnAtRandomLocation(new Random());
+                    }
+                }
+            }
+
+            loadedStreet.tileCount++;
+            streets.add(loadedStreet.street);
+        }
+
+        // The positions of the street signs depend on the spline geometry of their streets
+        StreetSignPositioner.positionStreetSigns(builtStreets);
+
+        int tileX = (int) (key >> 32);
+        int tileY = (int) key;
+        tile = new WorldTile(tileX * tileSize, tileY * tileSize, tileSize, streets, content.pedestrians);
+        loadedTiles.put(key, tile);
+        return tile;
+    }
+
+    /**
+     * Drops a loaded tile and all streets that are not part of another loaded tile, their pedestrians stand still
+     */
+    private void unloadTile(long key) {
+        if (loadedTiles.remove(key) == null) {
+            return;
+        }
+
+        for (EnvStreet street : contents.get(key).streets) {
+            LoadedStreet loadedStreet = loadedStreets.get(street);
+
+            if (--loadedStreet.tileCount == 0) {
+                loadedStreets.remove(street);
+
+                for (Pedestrian pedestrian : streetPedestrians.getOrDefault(street, Collections.<Pedestrian>emptyList())) {
+                    pedestrian.setStreet(null);
+                }
+            }
+        }
+    }
+
+    /**
+     * Returns the content of a tile, creates it if necessary
+     */
+    private TileContent getContent(int tileX, int tileY) {
+        minTileX = Math.min(minTileX, tileX);
+        minTileY = Math.min(minTileY, tileY);
+        maxTileX = Math.max(maxTileX, tileX);
+        maxTileY = Math.max(maxTileY, tileY);
+        return contents.computeIfAbsent(tileKey(tileX, tileY), key -> new TileContent());
+    }
+
+    /**
+     * Returns the tile coordinate of a world coordinate
+     */
+    private int tileCoordinate(double value) {
+        return (int) Math.floor(value / tileSize);
+    }
+
+    /**
+     * Returns the key of the tile with the given tile coordinates
+     */
+    private static long tileKey(int tileX, int tileY) {
+        return ((long) tileX << 32) | (tileY & 0xffffffffL);
+    }
+
+    /**
+     * Parsed objects of a tile from which the tile is built
+     */
+    private static class TileContent {
+        /** Streets that overlap the tile */
+        private final List<EnvStreet> streets = new ArrayList<>();
+
+        /** Pedestrians of the streets whose first node is in the tile */
+        private final List<Pedestrian> pedestrians = new ArrayList<>();
+    }
+
+    /**
+     * Built street with the number of loaded tiles it belongs to
+     */
+    private static class LoadedStreet {
+        private final GeomStreet street;
+        private int tileCount = 0;
+
+        private LoadedStreet(GeomStreet street) {
+            this.street = street;
+        }
+    }
+}
@@ -5,6 +5,7 @@ import simulation.environment.visualisationadapter.interfaces.*;
 import simulation.environment.visualisationadapter.implementation.EnvironmentContainer2D;
 
 import java.util.ArrayList;
+import java.util.concurrent.ForkJoinPool;
 
 /**
  * Created by lukas on 02.02.17.
@@ -19,6 +20,7 @@ public class EnvironmentContainerConverter {
 
     private EnvBounds bounds;
 
+    private ForkJoinPool pool = null;
 
 
     public EnvironmentContainerConverter(VisualisationEnvironmentContainer containerLongLat) {
@@ -28,7 +30,18 @@ public class EnvironmentContainerConverter {
     }
 
     public EnvironmentContainerConverter(VisualisationEnvironmentContainer containerLongLat, double minLong, double minLat) {
+        this(containerLongLat, minLong, minLat, null);
+    }
+
+    /**
+     * @param containerLongLat
+     * @param minLong
+     * @param minLat
+     * @param pool pool to convert the streets in parallel, null to convert them one after another
+     */
+    public EnvironmentContainerConverter(VisualisationEnvironmentContainer containerLongLat, double minLong, double minLat, ForkJoinPool pool) {
         this.containerLongLat = containerLongLat;
+        this.pool = pool;
         converter = new ApproximateConverter(minLong, minLat);
         convertLatLongToMeters();
     }
@@ -37,40 +50,46 @@ public class EnvironmentContainerConverter {
      * converts all Street Nodes in the container to kilometric units
      */
     private void convertLatLongToMeters() {
-        ArrayList<EnvStreet> meterStreets = new ArrayList<>();
-        for(EnvStreet longLatStreet : containerLongLat.getStreets()) {
-            ArrayList<EnvNode> nodes = new ArrayList<>();
-            for(EnvNode node : longLatStreet.getNodes()) {
-                double nLong = node.getX().doubleValue();
-                double nLat = node.getY().doubleValue();
+        ArrayList<EnvStreet> meterStreets = new ArrayList<>(ParallelConstruction.map(this.pool, new ArrayList<>(containerLongLat.getStreets()), this::convertStreet));
+        computeMinMax(meterStreets);
+        containerMeters = new EnvironmentContainer2D(bounds, meterStreets, new ArrayList<>());
+    }
 
+    /**
+     * converts the nodes and intersections of one street to kilometric units
+     * @param longLatStreet
+     * @return street in kilometric units
+     */
+    private EnvStreet convertStreet(EnvStreet longLatStreet) {
+        ArrayList<EnvNode> nodes = new ArrayList<>();
+        for(EnvNode node : longLatStreet.getNodes()) {
+            double nLong = node.getX().doubleValue();
+            double nLat = node.getY().doubleValue();
 
-                double mY = converter.convertLatToMeters(nLat);
-                double mX = converter.convertLongToMeters(nLong, nLat);
 
-                double mZ = node.getZ().doubleValue();
-                long osmId = node.getOsmId();
-                nodes.add(new Node2D(mX, mY, mZ, osmId));
-            }
+            double mY = converter.convertLatToMeters(nLat);
+            double mX = converter.convertLongToMeters(nLong, nLat);
 
-            ArrayList<EnvIntersection> intersections = new ArrayList<>();
-            for(EnvNode intersection : longLatStreet.getIntersections()) {
-                double nLong = intersection.getX().doubleValue();
-                double nLat = intersection.getY().doubleValue();
+            double mZ = node.getZ().doubleValue();
+            long osmId = node.getOsmId();
+            nodes.add(new Node2D(mX, mY, mZ, osmId));
+        }
 
+        ArrayList<EnvIntersection> intersections = new ArrayList<>();
+        for(EnvNode intersection : longLatStreet.getIntersections()) {
+            double nLong = intersection.getX().doubleValue();
+            double nLat = intersection.getY().doubleValue();
 
-                double mY = converter.convertLatToMeters(nLat);
-                double mX = converter.convertLongToMeters(nLong, nLat);
 
-                double mZ = intersection.getZ().doubleValue();
-                long osmId = intersection.getOsmId();
-                intersections.add(new Intersection2D(mX, mY, mZ, osmId));
-            }
+            double mY = converter.convertLatToMeters(nLat);
+            double mX = converter.convertLongToMeters(nLong, nLat);
 
-            meterStreets.add(new Street2D(nodes, longLatStreet.getSpeedLimit(), intersections, longLatStreet.getOsmId(), longLatStreet.isOneWay(), longLatStreet.getStreetType()));
+            double mZ = intersection.getZ().doubleValue();
+            long osmId = intersection.getOsmId();
+            intersections.add(new Intersection2D(mX, mY, mZ, osmId));
         }
-        computeMinMax(meterStreets);
-        containerMeters = new EnvironmentContainer2D(bounds, meterStreets, new ArrayList<>());
+
+        return new Street2D(nodes, longLatStreet.getSpeedLimit(), intersections, longLatStreet.getOsmId(), longLatStreet.isOneWay(), longLatStreet.getStreetType());
     }
 
     /**
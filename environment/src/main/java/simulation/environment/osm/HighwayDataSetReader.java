@@ -0,0 +1,187 @@
+package simulation.environment.osm;
+
+import de.topobyte.osm4j.core.access.OsmHandler;
+import de.topobyte.osm4j.core.access.OsmInputException;
+import de.topobyte.osm4j.core.dataset.InMemoryMapDataSet;
+import de.topobyte.osm4j.core.model.iface.OsmBounds;
+import de.topobyte.osm4j.core.model.iface.OsmNode;
+import de.topobyte.osm4j.core.model.iface.OsmRelation;
+import de.topobyte.osm4j.core.model.iface.OsmWay;
+import de.topobyte.osm4j.core.model.util.OsmModelUtil;
+import de.topobyte.osm4j.xml.dynsax.OsmXmlReader;
+import gnu.trove.map.TLongObjectMap;
+import gnu.trove.map.hash.TLongObjectHashMap;
+
+import java.io.*;
+import java.util.Arrays;
+
+/**
+ * Reads only the road network of an osm file into a data set in two streaming passes.
+ *
+ * The first pass keeps all ways with a highway tag and collects the ids of their nodes in a sorted array.
+ * The second pass keeps only the nodes with one of these ids. Buildings, points of interest, relations and
+ * all other nodes are dropped while they are read, thus the heap is proportional to the road network and
+ * not to the whole extract. The data set contains the same highway ways and nodes as a data set of the
+ * whole file, hence the intersections and streets computed from it are the same.
+ */
+public class HighwayDataSetReader {
+
+    private OsmBounds bounds = null;
+
+    private final TLongObjectMap<OsmWay> ways = new TLongObjectHashMap<>();
+
+    private final TLongObjectMap<OsmNode> nodes = new TLongObjectHashMap<>();
+
+    //sorted ids of all nodes of the highway ways without duplicates
+    private long[] nodeIds = new long[1024];
+
+    private int numberOfNodeIds = 0;
+
+    private HighwayDataSetReader() {
+    }
+
+    /**
+     * @param file osm file in xml format
+     * @return data set with the bounds, all highway ways and their nodes
+     * @throws IOException
+     * @throws OsmInputException
+     */
+    public static InMemoryMapDataSet read(File file) throws IOException, OsmInputException {
+        HighwayDataSetReader reader = new HighwayDataSetReader();
+
+        try (InputStream in = new BufferedInputStream(new FileInputStream(file))) {
+            reader.readWays(in);
+        }
+
+        reader.sortNodeIds();
+
+        try (InputStream in = new BufferedInputStream(new FileInputStream(file))) {
+            reader.readNodes(in);
+        }
+
+        InMemoryMapDataSet dataSet = new InMemoryMapDataSet();
+        dataSet.setBounds(reader.bounds);
+        dataSet.setNodes(reader.nodes);
+        dataSet.setWays(reader.ways);
+        dataSet.setRelations(new TLongObjectHashMap<>());
+        return dataSet;
+    }
+
+    /**
+     * Reads a stream that can only be read once. The stream is copied to a temporary file for the two passes
+     * @param in osm data in xml format
+     * @return data set with the bounds, all highway ways and their nodes
+     * @throws IOException
+     * @throws OsmInputException
+     */
+    public static InMemoryMapDataSet read(InputStream in) throws IOException, OsmInputException {
+        File file = File.createTempFile("highways", ".osm");
+
+        try {
+            try (OutputStream out = new BufferedOutputStream(new FileOutputStream(file))) {
+                byte[] buffer = new byte[8192];
+                int length;
+
+                while((length = in.read(buffer)) != -1) {
+                    out.write(buffer, 0, length);
+                }
+            }
+
+            return read(file);
+        } finally {
+            file.delete();
+        }
+    }
+
+    /**
+     * first pass: keeps the bounds and the highway ways and collects the ids of their nodes
+     */
+    private void readWays(InputStream in) throws OsmInputException {
+        OsmXmlReader reader = new OsmXmlReader(in, false);
+        reader.setHandler(new PassHandler() {
+            @Override
+            public void handle(OsmBounds osmBounds) {
+                bounds = osmBounds;
+            }
+
+            @Override
+            public void handle(OsmWay way) {
+                if(OsmModelUtil.getTagsAsMap(way).get("highway") == null) {
+                    return;
+                }
+
+                ways.put(way.getId(), way);
+                for(int i = 0; i < way.getNumberOfNodes(); i++) {
+                    addNodeId(way.getNodeId(i));
+                }
+            }
+        });
+        reader.read();
+    }
+
+    /**
+     * second pass: keeps the nodes of the highway ways
+     */
+    private void readNodes(InputStream in) throws OsmInputException {
+        OsmXmlReader reader = new OsmXmlReader(in, false);
+        reader.setHandler(new PassHandler() {
+            @Override
+            public void handle(OsmNode node) {
+                if(Arrays.binarySearch(nodeIds, 0, numberOfNodeIds, node.getId()) >= 0) {
+                    nodes.put(node.getId(), node);
+                }
+            }
+        });
+        reader.read();
+    }
+
+    private void addNodeId(long id) {
+        if(numberOfNodeIds == nodeIds.length) {
+            nodeIds = Arrays.copyOf(nodeIds, 2 * nodeIds.length);
+        }
+
+        nodeIds[numberOfNodeIds++] = id;
+    }
+
+    /**
+     * sorts the node ids and removes duplicates, e.g. of intersections
+     */
+    private void sortNodeIds() {
+        Arrays.sort(nodeIds, 0, numberOfNodeIds);
+
+        int unique = 0;
+        for(int i = 0; i < numberOfNodeIds; i++) {
+            if(unique == 0 || nodeIds[unique - 1] != nodeIds[i]) {
+                nodeIds[unique++] = nodeIds[i];
+            }
+        }
+
+        numberOfNodeIds = unique;
+        nodeIds = Arrays.copyOf(nodeIds, unique);
+    }
+
+    /**
+     * handler that ignores all entities, each pass only overrides the entities it keeps
+     */
+    private static class PassHandler implements OsmHandler {
+        @Override
+        public void handle(OsmBounds bounds) {
+        }
+
+        @Override
+        public void handle(OsmNode node) {
+        }
+
+        @Override
+        public void handle(OsmWay way) {
+        }
+
+        @Override
+        public void handle(OsmRelation relation) {
+        }
+
+        @Override
+        public void complete() {
+        }
+    }
+}
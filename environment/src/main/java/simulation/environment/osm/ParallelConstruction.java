@@ -0,0 +1,60 @@
+package simulation.environment.osm;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.ForkJoinPool;
+import java.util.function.Consumer;
+import java.util.function.Function;
+import java.util.stream.IntStream;
+
+/**
+ * Executes the independent work of one stage, e.g. the conversion of all streets, on a pool and blocks until
+ * the stage is done. The results are stored by the index of their input, thus every stage returns exactly
+ * the same results in the same order as a serial execution. Without a pool all stages are executed
+ * one after another on the calling thread.
+ */
+public class ParallelConstruction {
+
+    private ParallelConstruction() {
+    }
+
+    /**
+     * Applies the function to all items
+     * @param pool pool for the stage, null for a serial execution
+     * @param items
+     * @param function function without side effects on other items
+     * @return results in the order of the items
+     */
+    public static <T, R> List<R> map(ForkJoinPool pool, List<T> items, Function<? super T, ? extends R> function) {
+        if(pool == null || items.size() < 2) {
+            List<R> results = new ArrayList<>(items.size());
+            for(T item : items) {
+                results.add(function.apply(item));
+            }
+            return results;
+        }
+
+        Object[] results = new Object[items.size()];
+        pool.submit(() -> IntStream.range(0, results.length).parallel().forEach(i -> results[i] = function.apply(items.get(i)))).join();
+
+        @SuppressWarnings("unchecked")
+        List<R> resultList = (List<R>) Arrays.asList(results);
+        return new ArrayList<>(resultList);
+    }
+
+    /**
+     * Executes the action for all items
+     * @param pool pool for the stage, null for a serial execution
+     * @param items
+     * @param action action that only changes objects of its own item
+     */
+    public static <T> void forEach(ForkJoinPool pool, List<T> items, Consumer<? super T> action) {
+        if(pool == null || items.size() < 2) {
+            items.forEach(action);
+            return;
+        }
+
+        pool.submit(() -> IntStream.range(0, items.size()).parallel().forEach(i -> action.accept(items.get(i)))).join();
+    }
+}
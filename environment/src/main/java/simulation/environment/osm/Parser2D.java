@@ -1,15 +1,12 @@
 package simulation.environment.osm;
 
 import de.topobyte.osm4j.core.access.OsmInputException;
-import de.topobyte.osm4j.core.access.OsmReader;
 import de.topobyte.osm4j.core.dataset.InMemoryMapDataSet;
-import de.topobyte.osm4j.core.dataset.MapDataSetLoader;
 import de.topobyte.osm4j.core.model.iface.OsmNode;
 import de.topobyte.osm4j.core.model.iface.OsmTag;
 import de.topobyte.osm4j.core.model.iface.OsmWay;
 import de.topobyte.osm4j.core.model.util.OsmModelUtil;
 import de.topobyte.osm4j.core.resolve.EntityNotFoundException;
-import de.topobyte.osm4j.xml.dynsax.OsmXmlReader;
 import org.apache.commons.lang3.StringUtils;
 import org.w3c.dom.Document;
 import simulation.environment.visualisationadapter.implementation.Bounds2D;
@@ -27,6 +24,7 @@ import java.io.FileInputStream;
 import java.io.FileWriter;
 import java.io.InputStream;
 import java.util.*;
+import java.util.concurrent.ForkJoinPool;
 
 /**
  * Created by lukas on 08.01.17.
@@ -46,10 +44,16 @@ public class Parser2D implements IParser {
 
     private InputStream in;
 
+    private File file;
+
     private EnvironmentContainer2D container;
 
     private ParserSettings.ZCoordinates z;
 
+    private ForkJoinPool pool;
+
+    private double heightFieldCellSize;
+
     private EnvironmentContainer2D containerM;
 
     private double minLong = Double.MAX_VALUE;
@@ -57,7 +61,10 @@ public class Parser2D implements IParser {
 
     public Parser2D(ParserSettings pSettings) {
         this.in = pSettings.in;
+        this.file = pSettings.file;
         this.z = pSettings.z;
+        this.pool = pSettings.pool;
+        this.heightFieldCellSize = pSettings.heightFieldCellSize;
         init();
     }
 
@@ -72,7 +79,7 @@ public class Parser2D implements IParser {
      */
     public void parse() throws Exception {
 
-        if(this.in == null) {
+        if(this.in == null && this.file == null) {
             if (!StringUtils.isBlank(this.filePath)) {
                 this.in = new FileInputStream(filePath);
             } else {
@@ -100,8 +107,8 @@ public class Parser2D implements IParser {
             this.in = new FileInputStream("/tmp/output.xml");
             */
 
-            OsmReader reader = new OsmXmlReader(in, false);
-            this.dataSet = MapDataSetLoader.read(reader, true, true, true);
+            // Only highway ways and their nodes are read, all other entities are not used
+            this.dataSet = (this.file != null ? HighwayDataSetReader.read(this.file) : HighwayDataSetReader.read(in));
 
             // Manually filter dataSet, can not really use OsmTagFilter for that since it is too inflexible
             // Compute minLong and minLat on all unfiltered OsmWays with key highway
@@ -196,10 +203,8 @@ public class Parser2D implements IParser {
             Transformer transformer = transformerFactory.newTransformer();
             transformer.transform(source, result);
 
-            this.in = new FileInputStream("/tmp/output.xml");
-
-            OsmReader reader = new OsmXmlReader(in, false);
-            this.dataSet = MapDataSetLoader.read(reader, true, true, true);
+            // Only highway ways and their nodes are read, all other entities are not used
+            this.dataSet = HighwayDataSetReader.read(new File("/tmp/output.xml"));
 
             // Manually filter dataSet, can not really use OsmTagFilter for that since it is too inflexible
             // Compute minLong and minLat on all unfiltered OsmWays with key highway
@@ -283,7 +288,7 @@ public class Parser2D implements IParser {
     }
 
     private void generateZCoordinates() {
-        ZCoordinateGenerator.generateZCoordinates(containerM, this.z);
+        ZCoordinateGenerator.generateZCoordinates(containerM, this.z, this.pool, this.heightFieldCellSize);
         containerM.setHeightMap(ZCoordinateGenerator.getHeightMap());
     }
 
@@ -300,7 +305,7 @@ public class Parser2D implements IParser {
     }
 
     private void convertLatLongToMeters(double minLong, double minLat) {
-        this.containerM = new EnvironmentContainerConverter(this.container, minLong, minLat).getContainer();
+        this.containerM = new EnvironmentContainerConverter(this.container, minLong, minLat, this.pool).getContainer();
     }
 
 
@@ -1,6 +1,8 @@
 package simulation.environment.osm;
 
+import java.io.File;
 import java.io.InputStream;
+import java.util.concurrent.ForkJoinPool;
 
 /**
  * Created by lukas on 16.02.17.
@@ -15,11 +17,66 @@ public class ParserSettings {
     public InputStream in;
     public ZCoordinates z;
 
+    /**
+     * Name of the resource the input stream was opened from, allows to open the stream again. Null if the stream was given
+     */
+    public String resource = null;
+
+    /**
+     * Osm file that is parsed instead of the input stream if not null
+     */
+    public File file = null;
+
+    /**
+     * Directory for snapshots of parsed worlds, see WorldSnapshot. Snapshots are neither read nor written if null
+     */
+    public File cacheDirectory = null;
+
+    /**
+     * Pool for the stages of the world construction that process streets in parallel, see ParallelConstruction.
+     * All stages are executed on the calling thread if null
+     */
+    public ForkJoinPool pool = null;
+
+    /**
+     * Cell size in meters of a height field grid that is sampled once from the generator of the z-Coordinates
+     * and answers all ground queries by bilinear interpolation, see HeightFieldGrid. Disabled if not positive
+     */
+    public double heightFieldCellSize = 0;
+
+    /**
+     * Edge length in meters of the tiles that build the streets, signs, pedestrians and trees only around the
+     * simulated objects, see WorldTiles. Everything is built once for the whole map if not positive
+     */
+    public double tileSize = 0;
+
+    /**
+     * Half edge length in meters of the square around every simulated object whose tiles are loaded
+     */
+    public double tileLoadRadius = 250;
+
     public ParserSettings(String in, ZCoordinates z) {
+        this.resource = in;
         this.in = getClass().getResourceAsStream(in);
         this.z = z;
     }
 
+    /**
+     * Copies all settings, the copy shares the input stream and the pool with the given settings
+     * @param other settings to be copied
+     */
+    public ParserSettings(ParserSettings other) {
+        this.in = other.in;
+        this.z = other.z;
+        this.resource = other.resource;
+        this.file = other.file;
+        this.cacheDirectory = other.cacheDirectory;
+        this.pool = other.pool;
+        this.heightFieldCellSize = other.heightFieldCellSize;
+        this.tileSize = other.tileSize;
+        this.tileLoadRadius = other.tileLoadRadius;
+    }
+
     @Deprecated
     public ParserSettings(InputStream in, ZCoordinates z) {
         this.in = in;
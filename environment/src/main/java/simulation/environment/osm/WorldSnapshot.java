@@ -0,0 +1,335 @@
+package simulation.environment.osm;
+
+import javafx.geometry.Point3D;
+import simulation.environment.object.TrafficLightSwitcher;
+import simulation.environment.visualisationadapter.implementation.*;
+import simulation.environment.visualisationadapter.interfaces.*;
+
+import java.io.*;
+import java.nio.BufferUnderflowException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.AtomicMoveNotSupportedException;
+import java.nio.file.Files;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.security.DigestInputStream;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.*;
+
+/**
+ * Binary snapshot of a parsed world, i.e. the container in metric units with streets, nodes, intersections,
+ * street signs, heights and bounds. A snapshot is stored in a file whose name is a hash of the map data,
+ * the settings for the z-Coordinates and the format version, thus a snapshot is only loaded for
+ * the same map and settings. Snapshots are read from a memory mapped file.
+ *
+ * Layout (big endian): magic, version, bounds, height map, streets. Each street consists of its
+ * osm-id, speed limit, one way flag, street type, nodes and intersections. Each node consists of
+ * its coordinates, osm-id and street sign.
+ */
+public class WorldSnapshot {
+
+    /** Magic number at the start of every snapshot */
+    private static final int MAGIC = 0x57534e50;
+
+    /** Version of the format, needs to be increased on every change of the layout */
+    public static final int FORMAT_VERSION = 1;
+
+    /** Value for a street without street type */
+    private static final int NO_STREET_TYPE = -1;
+
+    /** Street sign kinds */
+    private static final byte SIGN_NONE = 0;
+    private static final byte SIGN_STATIC = 1;
+    private static final byte SIGN_TRAFFIC_LIGHT = 2;
+
+    private WorldSnapshot() {
+    }
+
+    /**
+     * Copies the map data of a stream to a file and computes its key while copying, such that the map
+     * is never held in memory and can be parsed from the file on a cache miss
+     * @param in content of the osm file
+     * @param file file the content is copied to
+     * @param z strategy for the z-Coordinates
+     * @param heightFieldCellSize cell size of the height field grid for the z-Coordinates
+     * @return key of the map data and settings, see computeKey
+     * @throws IOException
+     */
+    public static String copyAndComputeKey(InputStream in, File file, ParserSettings.ZCoordinates z, double heightFieldCellSize) throws IOException {
+        MessageDigest digest = createDigest(z, heightFieldCellSize);
+
+        try (InputStream digestIn = new DigestInputStream(in, digest);
+             OutputStream out = new BufferedOutputStream(new FileOutputStream(file))) {
+            byte[] buffer = new byte[8192];
+            int length;
+
+            while((length = digestIn.read(buffer)) != -1) {
+                out.write(buffer, 0, length);
+            }
+        }
+
+        return toHex(digest.digest());
+    }
+
+    /**
+     * Computes the key of the map data of a stream without holding it in memory, the stream is closed afterwards
+     * @param in content of the osm file
+     * @param z strategy for the z-Coordinates
+     * @param heightFieldCellSize cell size of the height field grid for the z-Coordinates
+     * @return key of the map data and settings, see computeKey
+     * @throws IOException
+     */
+    public static String computeKey(InputStream in, ParserSettings.ZCoordinates z, double heightFieldCellSize) throws IOException {
+        MessageDigest digest = createDigest(z, heightFieldCellSize);
+
+        try (InputStream digestIn = new DigestInputStream(in, digest)) {
+            byte[] buffer = new byte[8192];
+
+            while(digestIn.read(buffer) != -1) {
+                //the digest is updated while reading
+            }
+        }
+
+        return toHex(digest.digest());
+    }
+
+    /**
+     * @param file osm file
+     * @param z strategy for the z-Coordinates
+     * @param heightFieldCellSize cell size of the height field grid for the z-Coordinates
+     * @return key of the content of the file and settings, see computeKey
+     * @throws IOException
+     */
+    public static String computeKey(File file, ParserSettings.ZCoordinates z, double heightFieldCellSize) throws IOException {
+        return computeKey(new FileInputStream(file), z, heightFieldCellSize);
+    }
+
+    /**
+     * @param mapData content of the osm file
+     * @param z strategy for the z-Coordinates
+     * @param heightFieldCellSize cell size of the height field grid for the z-Coordinates
+     * @return hex string of the SHA-256 hash of the format version, settings and map data
+     */
+    public static String computeKey(byte[] mapData, ParserSettings.ZCoordinates z, double heightFieldCellSize) {
+        MessageDigest digest = createDigest(z, heightFieldCellSize);
+        digest.update(mapData);
+        return toHex(digest.digest());
+    }
+
+    /**
+     * @param directory cache directory
+     * @param key key of the map data and settings
+     * @return file of the snapshot for the map and settings, the file might not exist
+     */
+    public static File getFile(File directory, String key) {
+        return new File(directory, "world-" + key + ".bin");
+    }
+
+    /**
+     * Returns a SHA-256 digest that already contains the format version and the settings
+     */
+    private static MessageDigest createDigest(ParserSettings.ZCoordinates z, double heightFieldCellSize) {
+        MessageDigest digest;
+
+        try {
+            digest = MessageDigest.getInstance("SHA-256");
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("WorldSnapshot - createDigest: SHA-256 is not available", e);
+        }
+
+        digest.update(ByteBuffer.allocate(4).putInt(FORMAT_VERSION).array());
+        digest.update(String.valueOf(z).getBytes(StandardCharsets.UTF_8));
+        //all disabled grids lead to the same heights
+        digest.update(ByteBuffer.allocate(8).putDouble(Math.max(heightFieldCellSize, 0)).array());
+        return digest;
+    }
+
+    private static String toHex(byte[] hash) {
+        StringBuilder builder = new StringBuilder();
+        for(byte b : hash) {
+            builder.append(String.format("%02x", b));
+        }
+
+        return builder.toString();
+    }
+
+    /**
+     * Writes the container to the file. The snapshot is written to a temporary file first and moved afterwards,
+     * such that concurrent runs never read a partially written snapshot
+     * @param container parsed container in metric units
+     * @param file
+     * @throws IOException
+     * @throws IllegalArgumentException if the container contains objects that are not part of the format
+     */
+    public static void write(VisualisationEnvironmentContainer container, File file) throws IOException {
+        if(!container.getBuildings().isEmpty() || (container.getTrees() != null && !container.getTrees().isEmpty())) {
+            throw new IllegalArgumentException("WorldSnapshot - write: Buildings and trees are not supported");
+        }
+
+        File directory = file.getAbsoluteFile().getParentFile();
+        Files.createDirectories(directory.toPath());
+        File tmpFile = File.createTempFile(file.getName(), ".tmp", directory);
+
+        try {
+            try (DataOutputStream out = new DataOutputStream(new BufferedOutputStream(new FileOutputStream(tmpFile)))) {
+                out.writeInt(MAGIC);
+                out.writeInt(FORMAT_VERSION);
+
+                EnvBounds bounds = container.getBounds();
+                out.writeDouble(bounds.getMinX());
+                out.writeDouble(bounds.getMaxX());
+                out.writeDouble(bounds.getMinY());
+                out.writeDouble(bounds.getMaxY());
+                out.writeDouble(bounds.getMinZ());
+                out.writeDouble(bounds.getMaxZ());
+
+                double[][] heightMap = container.getHeightMap();
+                out.writeInt(heightMap.length);
+                for(double[] row : heightMap) {
+                    out.writeInt(row.length);
+                    for(double value : row) {
+                        out.writeDouble(value);
+                    }
+                }
+
+                out.writeInt(container.getStreets().size());
+                for(EnvStreet street : container.getStreets()) {
+                    out.writeLong(street.getOsmId());
+                    out.writeDouble(street.getSpeedLimit().doubleValue());
+                    out.writeBoolean(street.isOneWay());
+                    out.writeInt(street.getStreetType() == null ? NO_STREET_TYPE : street.getStreetType().ordinal());
+
+                    out.writeInt(street.getNodes().size());
+                    for(EnvNode node : street.getNodes()) {
+                        writeNode(out, node);
+                    }
+
+                    out.writeInt(street.getIntersections().size());
+                    for(EnvNode node : street.getIntersections()) {
+                        writeNode(out, node);
+                    }
+                }
+            }
+
+            try {
+                Files.move(tmpFile.toPath(), file.toPath(), StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+            } catch (AtomicMoveNotSupportedException e) {
+                Files.move(tmpFile.toPath(), file.toPath(), StandardCopyOption.REPLACE_EXISTING);
+            }
+        } finally {
+            Files.deleteIfExists(tmpFile.toPath());
+        }
+    }
+
+    private static void writeNode(DataOutputStream out, EnvNode node) throws IOException {
+        out.writeDouble(node.getX().doubleValue());
+        out.writeDouble(node.getY().doubleValue());
+        out.writeDouble(node.getZ().doubleValue());
+        out.writeLong(node.getOsmId());
+
+        StreetSign sign = node.getStreetSign();
+        if(sign instanceof TrafficLight) {
+            out.writeByte(SIGN_TRAFFIC_LIGHT);
+            out.writeLong(sign.getId());
+        } else if(sign == null || sign.getType() == SignTypeAndState.EMPTY_SIGN) {
+            out.writeByte(SIGN_NONE);
+        } else {
+            out.writeByte(SIGN_STATIC);
+            out.writeInt(sign.getType().ordinal());
+        }
+    }
+
+    /**
+     * Reads a container from a memory mapped snapshot. Traffic lights at the same node are grouped
+     * into one TrafficLightSwitcher as done by the StreetSignGenerator
+     * @param file
+     * @return container as it was written
+     * @throws IOException if the file is no snapshot of the current format version or is truncated
+     */
+    public static EnvironmentContainer2D read(File file) throws IOException {
+        try (FileChannel channel = FileChannel.open(file.toPath(), StandardOpenOption.READ)) {
+            MappedByteBuffer buffer = channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size());
+
+            if(buffer.getInt() != MAGIC) {
+                throw new IOException("WorldSnapshot - read: No snapshot: " + file);
+            }
+
+            int version = buffer.getInt();
+            if(version != FORMAT_VERSION) {
+                throw new IOException("WorldSnapshot - read: Unsupported version " + version + ": " + file);
+            }
+
+            Bounds2D bounds = new Bounds2D(buffer.getDouble(), buffer.getDouble(), buffer.getDouble(),
+                    buffer.getDouble(), buffer.getDouble(), buffer.getDouble());
+
+            double[][] heightMap = new double[buffer.getInt()][];
+            for(int i = 0; i < heightMap.length; i++) {
+                heightMap[i] = new double[buffer.getInt()];
+                buffer.asDoubleBuffer().get(heightMap[i]);
+                buffer.position(buffer.position() + heightMap[i].length * Double.BYTES);
+            }
+
+            Map<Point3D, List<TrafficLight>> trafficLights = new LinkedHashMap<>();
+            int streetCount = buffer.getInt();
+            ArrayList<EnvStreet> streets = new ArrayList<>(streetCount);
+
+            for(int i = 0; i < streetCount; i++) {
+                long osmId = buffer.getLong();
+                double speedLimit = buffer.getDouble();
+                boolean isOneWay = buffer.get() != 0;
+                int streetTypeIndex = buffer.getInt();
+                EnvStreet.StreetTypes streetType = (streetTypeIndex == NO_STREET_TYPE ? null : EnvStreet.StreetTypes.values()[streetTypeIndex]);
+
+                int nodeCount = buffer.getInt();
+                List<EnvNode> nodes = new ArrayList<>(nodeCount);
+                for(int j = 0; j < nodeCount; j++) {
+                    nodes.add(readNode(buffer, false, trafficLights));
+                }
+
+                int intersectionCount = buffer.getInt();
+                List<EnvIntersection> intersections = new ArrayList<>(intersectionCount);
+                for(int j = 0; j < intersectionCount; j++) {
+                    intersections.add((EnvIntersection) readNode(buffer, true, trafficLights));
+                }
+
+                streets.add(new Street2D(nodes, speedLimit, intersections, osmId, isOneWay, streetType));
+            }
+
+            for(List<TrafficLight> signals : trafficLights.values()) {
+                TrafficLightSwitcher.addSwitcher(new TrafficLightSwitcher(signals));
+            }
+
+            EnvironmentContainer2D container = new EnvironmentContainer2D(bounds, streets, new ArrayList<>());
+            container.setHeightMap(heightMap);
+            return container;
+        } catch (BufferUnderflowException | IndexOutOfBoundsException | IllegalArgumentException e) {
+            throw new IOException("WorldSnapshot - read: Corrupt snapshot: " + file, e);
+        }
+    }
+
+    private static Node2D readNode(ByteBuffer buffer, boolean isIntersection, Map<Point3D, List<TrafficLight>> trafficLights) {
+        double x = buffer.getDouble();
+        double y = buffer.getDouble();
+        double z = buffer.getDouble();
+        long osmId = buffer.getLong();
+        Node2D node = (isIntersection ? new Intersection2D(x, y, z, osmId) : new Node2D(x, y, z, osmId));
+
+        byte signKind = buffer.get();
+        if(signKind == SIGN_TRAFFIC_LIGHT) {
+            TrafficLight signal = new TrafficLight(buffer.getLong());
+            TrafficLight.classId = Math.max(TrafficLight.classId, signal.getId() + 1);
+            node.setStreetSign(signal);
+            trafficLights.computeIfAbsent(node.getPoint(), k -> new ArrayList<>()).add(signal);
+        } else if(signKind == SIGN_STATIC) {
+            node.setStreetSign(new StreetSignImpl(SignTypeAndState.values()[buffer.getInt()]));
+        } else if(signKind != SIGN_NONE) {
+            throw new IllegalArgumentException("WorldSnapshot - readNode: Unknown street sign kind " + signKind);
+        }
+
+        return node;
+    }
+}
@@ -2,6 +2,7 @@ package simulation.environment.osm;
 
 import simulation.environment.geometry.height.AllZeroGenerator;
 import simulation.environment.geometry.height.ConcentricCircleGenerator;
+import simulation.environment.geometry.height.HeightFieldGrid;
 import simulation.environment.geometry.height.HeightGenerator;
 import simulation.environment.geometry.height.StaticHeightGenerator;
 import simulation.environment.visualisationadapter.implementation.Bounds2D;
@@ -12,6 +13,10 @@ import simulation.environment.visualisationadapter.interfaces.EnvBounds;
 import simulation.environment.visualisationadapter.interfaces.EnvNode;
 import simulation.environment.visualisationadapter.interfaces.EnvStreet;
 
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ForkJoinPool;
+
 /**
  * Created by lukas on 16.02.17.
  *
@@ -26,55 +31,45 @@ public class ZCoordinateGenerator {
 
     private static HeightGenerator heightGenerator;
 
+    //generator for all ground queries, either heightGenerator or a height field grid
+    private static HeightGenerator groundGenerator;
+
     public static void generateZCoordinates(EnvironmentContainer2D container, ParserSettings.ZCoordinates strategy) {
-        if(strategy == ParserSettings.ZCoordinates.ALLZERO) {
-            heightGenerator = new AllZeroGenerator();
-        } else if(strategy == ParserSettings.ZCoordinates.STATIC) {
-            heightGenerator = new StaticHeightGenerator(container.getBounds());
-        } else {
-            ConcentricCircleGenerator.init(container.getBounds());
-            heightGenerator = ConcentricCircleGenerator.getInstance();
-        }
+        generateZCoordinates(container, strategy, null, 0);
+    }
+
+    /**
+     * Generate z-Coordinates for container using the Strategy specified in strategy
+     * @param container
+     * @param strategy
+     * @param pool pool to process the streets in parallel, null to process them one after another
+     * @param heightFieldCellSize cell size of a height field grid sampled from the generator of the strategy,
+     *                            the generator is used directly if the cell size is not positive
+     */
+    public static void generateZCoordinates(EnvironmentContainer2D container, ParserSettings.ZCoordinates strategy, ForkJoinPool pool, double heightFieldCellSize) {
+        initHeightGenerator(container.getBounds(), strategy);
+        initGroundGenerator(container.getBounds(), heightFieldCellSize);
 
         double maxZ = Double.MIN_VALUE;
         double minZ = Double.MAX_VALUE;
 
-        for(EnvStreet s : container.getStreets()) {
-            for(EnvNode n : s.getNodes()) {
-                Node2D n1 = (Node2D) n;
-                n1.setZ(heightGenerator.getGround(n1.getX().doubleValue(), n1.getY().doubleValue()));
-
-                if(n1.getZ().doubleValue() < 0) {
-                    System.out.println(n1);
-                }
-
-                if(n1.getZ().doubleValue() > maxZ) {
-                    maxZ = n1.getZ().doubleValue();
-                }
-
-                if(n1.getZ().doubleValue() < minZ) {
-                    minZ = n1.getZ().doubleValue();
-                }
+        //the height generator is only read, thus the streets are independent
+        List<double[]> streetMinMax = ParallelConstruction.map(pool, new ArrayList<>(container.getStreets()), ZCoordinateGenerator::generateZCoordinates);
 
+        for(double[] minMax : streetMinMax) {
+            if(minMax[0] < minZ) {
+                minZ = minMax[0];
             }
 
-            for(EnvNode n : s.getIntersections()) {
-                Node2D n1 = (Node2D) n;
-                n1.setZ(heightGenerator.getGround(n1.getX().doubleValue(), n1.getY().doubleValue()));
-                if(n1.getZ().doubleValue() > maxZ) {
-                    maxZ = n1.getZ().doubleValue();
-                }
-
-                if(n1.getZ().doubleValue() < minZ) {
-                    minZ = n1.getZ().doubleValue();
-                }
+            if(minMax[1] > maxZ) {
+                maxZ = minMax[1];
             }
         }
 
         for(Building b : container.getBuildings()) {
             for(EnvNode n : b.getNodes()) {
                 Node2D n1 = (Node2D) n;
-                n1.setZ(heightGenerator.getGround(n1.getX().doubleValue(), n1.getY().doubleValue()));
+                n1.setZ(groundGenerator.getGround(n1.getX().doubleValue(), n1.getY().doubleValue()));
 
                 if(n1.getZ().doubleValue() > maxZ) {
                     maxZ = n1.getZ().doubleValue();
@@ -89,14 +84,116 @@ public class ZCoordinateGenerator {
         container.setBounds(new Bounds2D(oldBounds.getMinX(), oldBounds.getMaxX(), oldBounds.getMinY(), oldBounds.getMaxY(), minZ, maxZ));
     }
 
+    /**
+     * Generate z-Coordinates for the nodes and intersections of one street
+     * @param s
+     * @return minimum and maximum z-Coordinate of the street
+     */
+    private static double[] generateZCoordinates(EnvStreet s) {
+        double maxZ = Double.MIN_VALUE;
+        double minZ = Double.MAX_VALUE;
+
+        for(EnvNode n : s.getNodes()) {
+            Node2D n1 = (Node2D) n;
+            n1.setZ(groundGenerator.getGround(n1.getX().doubleValue(), n1.getY().doubleValue()));
+
+            if(n1.getZ().doubleValue() < 0) {
+                System.out.println(n1);
+            }
+
+            if(n1.getZ().doubleValue() > maxZ) {
+                maxZ = n1.getZ().doubleValue();
+            }
+
+            if(n1.getZ().doubleValue() < minZ) {
+                minZ = n1.getZ().doubleValue();
+            }
+
+        }
+
+        for(EnvNode n : s.getIntersections()) {
+            Node2D n1 = (Node2D) n;
+            n1.setZ(groundGenerator.getGround(n1.getX().doubleValue(), n1.getY().doubleValue()));
+            if(n1.getZ().doubleValue() > maxZ) {
+                maxZ = n1.getZ().doubleValue();
+            }
+
+            if(n1.getZ().doubleValue() < minZ) {
+                minZ = n1.getZ().doubleValue();
+            }
+        }
+
+        return new double[]{minZ, maxZ};
+    }
+
+    /**
+     * Initialise the height generator for the strategy. The generators only use the x and y bounds
+     * @param bounds
+     * @param strategy
+     */
+    private static void initHeightGenerator(EnvBounds bounds, ParserSettings.ZCoordinates strategy) {
+        if(strategy == ParserSettings.ZCoordinates.ALLZERO) {
+            heightGenerator = new AllZeroGenerator();
+        } else if(strategy == ParserSettings.ZCoordinates.STATIC) {
+            heightGenerator = new StaticHeightGenerator(bounds);
+        } else {
+            ConcentricCircleGenerator.init(bounds);
+            heightGenerator = ConcentricCircleGenerator.getInstance();
+        }
+    }
+
+    /**
+     * Use a height field grid sampled from the height generator for all ground queries if the cell size is positive
+     * @param bounds
+     * @param heightFieldCellSize
+     */
+    private static void initGroundGenerator(EnvBounds bounds, double heightFieldCellSize) {
+        if(heightFieldCellSize > 0) {
+            groundGenerator = HeightFieldGrid.sample(heightGenerator, bounds, heightFieldCellSize);
+        } else {
+            groundGenerator = heightGenerator;
+        }
+    }
+
+    public static void restoreHeightGenerator(EnvironmentContainer2D container, ParserSettings.ZCoordinates strategy) {
+        restoreHeightGenerator(container, strategy, 0);
+    }
+
+    /**
+     * Restore the height generator for a container with z-Coordinates that were generated in a previous run,
+     * such that getGround matches the heights of the nodes. Random heights are restored from the height map of the container
+     * @param container
+     * @param strategy
+     * @param heightFieldCellSize cell size of the height field grid that was used to generate the z-Coordinates
+     */
+    public static void restoreHeightGenerator(EnvironmentContainer2D container, ParserSettings.ZCoordinates strategy, double heightFieldCellSize) {
+        if(strategy == ParserSettings.ZCoordinates.ALLZERO || strategy == ParserSettings.ZCoordinates.STATIC) {
+            initHeightGenerator(container.getBounds(), strategy);
+        } else {
+            ConcentricCircleGenerator.init(container.getBounds(), container.getHeightMap());
+            heightGenerator = ConcentricCircleGenerator.getInstance();
+        }
+
+        initGroundGenerator(container.getBounds(), heightFieldCellSize);
+    }
+
+    /**
+     * Replace the ground of the environment by an external height field, e.g. a raster of a digital elevation model.
+     * Only affects ground queries, not the z-Coordinates of existing nodes
+     * @param heightField
+     */
+    public static void setHeightField(HeightFieldGrid heightField) {
+        groundGenerator = heightField;
+    }
+
     /**
      * @param x
      * @param y
      * @return Ground in the environment for given x and y
      */
     public static double getGround(double x, double y) {
-        if(heightGenerator != null) {
-            return heightGenerator.getGround(x, y);
+        if(groundGenerator != null) {
+            return groundGenerator.getGround(x, y);
         } else {
             //this case should never occur!
             return 0.d;
@@ -50,7 +50,8 @@ public class Pedestrian implements SimulationLoopExecutable, PhysicalObject, IPe
     /** Unique ID */
     private long uniqueId = IdGenerator.getSharedInstance().generateUniqueId();
 
-    private StreetInterpolator mInterpolator;
+    /** Interpolator of the street, null while the street is not built. Volatile, as tiles of the world may be loaded by other threads */
+    private volatile StreetInterpolator mInterpolator;
 
     /**
      * Constructor for a pedestrian that is standing at its position Initial
@@ -69,6 +70,25 @@ public class Pedestrian implements SimulationLoopExecutable, PhysicalObject, IPe
         }
     }
 
+    /**
+     * Sets the street the pedestrian walks on, e.g. when the street is built again for a loaded tile of the world.
+     * The street parameters are kept, thus the pedestrian continues where it stopped
+     *
+     * @param geomStreet street of the pedestrian, null while the street is not built. The pedestrian stands
+     *                   still without a street
+     */
+    public void setStreet(GeomStreet geomStreet) {
+        this.geomStreet = geomStreet;
+        this.mInterpolator = (geomStreet == null ? null : new StreetInterpolator(geomStreet));
+    }
+
+    /**
+     * @return true iff the pedestrian has a street to walk on, see setStreet()
+     */
+    public boolean hasStreet() {
+        return this.mInterpolator != null;
+    }
+
     /**
      * Function that gets the speed of the object
      *
@@ -331,6 +351,13 @@ public class Pedestrian implements SimulationLoopExecutable, PhysicalObject, IPe
 
     @Override
     public void executeLoopIteration(long timeDiffMs) {
+        // the street might be dropped or built concurrently, see setStreet()
+        StreetInterpolator interpolator = this.mInterpolator;
+
+        if (interpolator == null || this.params == null) {
+            return;
+        }
+
         // get last movement parameters
         PedestrianStreetParameters movementParameters = this.getStreetParameters();
 
@@ -356,7 +383,7 @@ public class Pedestrian implements SimulationLoopExecutable, PhysicalObject, IPe
         // movement a pedestrians does in each time step
         double distance = PEDESTRIAN_SPEED_DEFAULT * timeDiffMs;
         //PedestrianStreetParameters newParams = this.geomStreet.getMovementOfPedestrian(movementParameters, distance);
-        PedestrianStreetParameters newParams = mInterpolator.calculateNewMovement(movementParameters, distance);
+        PedestrianStreetParameters newParams = interpolator.calculateNewMovement(movementParameters, distance);
 
         // set new movement parameters in pedestrian
         this.setStreetParameters(newParams);
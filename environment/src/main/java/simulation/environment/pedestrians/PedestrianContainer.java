@@ -2,6 +2,7 @@ package simulation.environment.pedestrians;
 
 import simulation.environment.geometry.osmadapter.GeomStreet;
 import simulation.environment.visualisationadapter.interfaces.EnvNode;
+import simulation.environment.visualisationadapter.interfaces.EnvStreet;
 
 import java.util.ArrayList;
 import java.util.Arrays;
@@ -70,8 +71,31 @@ public class PedestrianContainer {
     }
 
 
-    private void spawnPedestriansOnStreet(GeomStreet s) {
-        List<EnvNode> listOfNodes = s.getDeterminator().getStreet().getNodes();
+    static {
+        Arrays.sort(STREET_WHITELIST_OSMID);
+    }
+
+    /**
+     * Number of pedestrians that are spawned on a street, computed from the nodes of the street only
+     * @param street the street to spawn pedestrians on
+     * @return number of pedestrians for the street, 0 if it is not on the whitelist
+     */
+    public static int getPedestrianCount(EnvStreet street) {
+        List<EnvNode> listOfNodes = street.getNodes();
+
+        // Only one id must match and the whole street is added
+        boolean isOnWhiteList = false;
+        for (int i = 0; !isOnWhiteList &&  i < listOfNodes.size(); i++) {
+            long osmId = listOfNodes.get(i).getOsmId();
+
+            isOnWhiteList = Arrays.binarySearch(STREET_WHITELIST_OSMID, osmId) >= 0;
+        }
+
+        // Only if we found the street in the whitelist we spawn there
+        if (!isOnWhiteList) {
+            return 0;
+        }
+
         double apprDistanceForStreet = 0;
 
         // Calculate an approximately length of the street to determine how
@@ -86,36 +110,23 @@ public class PedestrianContainer {
         }
 
         // Flooring prevents really short streets from adding a mass of pedestrians
-        int numOfPedestrians = (int) Math.floor(apprDistanceForStreet / THRESHOLD_METER_PER_PEDESTRIAN);
-
-        // Now the actual generation of pedestrians
-        for (int i = 0; i < numOfPedestrians; i++) {
-            Pedestrian ped = new Pedestrian(s);
-            ped.spawnAtRandomLocation(new Random());
-            // ped.setStreetParameters(s.spawnPedestrian());
-            pedestrians.add(ped);
-        }
+        return (int) Math.floor(apprDistanceForStreet / THRESHOLD_METER_PER_PEDESTRIAN);
     }
 
     /**
-     * spawn x pedestrians on each street
+     * spawn pedestrians on each street of the whitelist
      * @param streets the streets on which to spawn pedestrians
      */
     private void spawnPedestrians(ArrayList<GeomStreet> streets) {
         for(GeomStreet s : streets) {
-            List<EnvNode> listOfNodes = s.getDeterminator().getStreet().getNodes();
-
-            // Only one id must match and the whole street is added
-            boolean isOnWhiteList = false;
-            for (int i = 0; !isOnWhiteList &&  i < listOfNodes.size(); i++) {
-                long osmId = listOfNodes.get(i).getOsmId();
-
-                isOnWhiteList = Arrays.binarySearch(STREET_WHITELIST_OSMID, osmId) >= 0;
-            }
-
-            // Only if we found the street in the whitelist we spawn there
-            if (isOnWhiteList) {
-                spawnPedestriansOnStreet(s);
+            int numOfPedestrians = getPedestrianCount((EnvStreet) s.getObject());
+
+            // Now the actual generation of pedestrians
+            for (int i = 0; i < numOfPedestrians; i++) {
+                Pedestrian ped = new Pedestrian(s);
+                ped.spawnAtRandomLocation(new Random());
+                // ped.setStreetParameters(s.spawnPedestrian());
+                pedestrians.add(ped);
             }
         }
     }
@@ -127,11 +138,20 @@ public class PedestrianContainer {
     public PedestrianContainer(ArrayList<GeomStreet> streets) {
         pedestrians = new ArrayList<>();
 
-        Arrays.sort(STREET_WHITELIST_OSMID);
-
         spawnPedestrians(streets);
     }
 
+    /**
+     * Container for pedestrians that were already created, e.g. for the streets of a tiled world
+     * @param pedestrians
+     * @return container with the given pedestrians
+     */
+    public static PedestrianContainer fromPedestrians(List<Pedestrian> pedestrians) {
+        PedestrianContainer container = new PedestrianContainer(new ArrayList<>());
+        container.pedestrians.addAll(pedestrians);
+        return container;
+    }
+
     /**
      * @deprecated
      */
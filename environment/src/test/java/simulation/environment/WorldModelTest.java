@@ -1,13 +1,22 @@
 package simulation.environment;
 
 import junit.framework.TestCase;
+import org.apache.commons.math3.linear.ArrayRealVector;
 import org.junit.Test;
+import simulation.environment.object.Tree;
 import simulation.environment.osm.ParserSettings;
+import simulation.environment.pedestrians.PedestrianContainer;
 import simulation.environment.visualisationadapter.interfaces.EnvNode;
 import simulation.environment.visualisationadapter.interfaces.EnvStreet;
 import simulation.environment.visualisationadapter.interfaces.SignTypeAndState;
 import simulation.environment.weather.WeatherSettings;
 
+import java.io.File;
+import java.nio.file.Files;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
 public class WorldModelTest extends TestCase {
     @Test
     public void testApp() throws Exception {
@@ -102,4 +111,83 @@ public class WorldModelTest extends TestCase {
             }
         }
     }
+
+    @Test
+    public void testTiledWorld() throws Exception {
+        WorldModel world = (WorldModel) WorldModel.init(new ParserSettings(getClass().getResourceAsStream("/map_ahornstrasse.osm"),
+                ParserSettings.ZCoordinates.STATIC), new WeatherSettings());
+
+        List<EnvNode> nodes = new ArrayList<>();
+        for(EnvStreet s : world.getContainer().getStreets()) {
+            nodes.addAll(s.getNodes());
+        }
+
+        List<Double> expectedGround = new ArrayList<>();
+        for(EnvNode n : nodes) {
+            expectedGround.add(world.getGround(n.getX().doubleValue() + 1.0, n.getY().doubleValue() + 1.0, n.getZ()).doubleValue());
+        }
+
+        int streetCount = world.getContainer().getStreets().size();
+        int pedestrianCount = world.getPedestrianContainer().getPedestrians().size();
+
+        ParserSettings settings = new ParserSettings(getClass().getResourceAsStream("/map_ahornstrasse.osm"), ParserSettings.ZCoordinates.STATIC);
+        settings.tileSize = 50;
+        settings.tileLoadRadius = 10;
+        WorldModel tiledWorld = (WorldModel) WorldModel.init(settings, new WeatherSettings());
+
+        //nothing is built before the simulation pages tiles in or a query needs them
+        assertEquals(0, tiledWorld.getLoadedTileCount());
+        assertEquals(0, tiledWorld.getLoadedStreetCount());
+
+        //pedestrians of all streets exist up front in one container
+        PedestrianContainer pedestrians = tiledWorld.getPedestrianContainer();
+        assertEquals(pedestrianCount, pedestrians.getPedestrians().size());
+
+        for(int i = 0; i < nodes.size(); i++) {
+            EnvNode n = nodes.get(i);
+            assertEquals(expectedGround.get(i), tiledWorld.getGround(n.getX().doubleValue() + 1.0, n.getY().doubleValue() + 1.0, n.getZ()).doubleValue(), 0.0);
+        }
+
+        //only the tiles around the simulated object stay loaded
+        Tree tree = new Tree();
+        tree.setPosition(new ArrayRealVector(new double[] {nodes.get(0).getX().doubleValue(), nodes.get(0).getY().doubleValue(), 0.0}));
+        WorldModel.pageTiles(Collections.singletonList(tree));
+        assertTrue(tiledWorld.getLoadedTileCount() > 0 && tiledWorld.getLoadedTileCount() <= 4);
+        assertTrue(tiledWorld.getLoadedStreetCount() > 0 && tiledWorld.getLoadedStreetCount() < streetCount);
+
+        WorldModel.pageTiles(Collections.<Tree>emptyList());
+        assertEquals(0, tiledWorld.getLoadedTileCount());
+        assertEquals(0, tiledWorld.getLoadedStreetCount());
+        assertSame(pedestrians, tiledWorld.getPedestrianContainer());
+        assertEquals(pedestrianCount, pedestrians.getPedestrians().size());
+    }
+
+    @Test
+    public void testSnapshotCache() throws Exception {
+        File cacheDirectory = Files.createTempDirectory("worlds").toFile();
+
+        try {
+            ParserSettings settings = new ParserSettings("/map_ahornstrasse.osm", ParserSettings.ZCoordinates.STATIC);
+            settings.cacheDirectory = cacheDirectory;
+            int streetCount = WorldModel.init(settings, new WeatherSettings()).getContainer().getStreets().size();
+
+            //the map is only hashed and parsed, the only file in the cache is the snapshot
+            File[] files = cacheDirectory.listFiles();
+            assertEquals(1, files.length);
+            assertTrue(files[0].getName().startsWith("world-"));
+            assertNull(settings.file);
+
+            //the snapshot is loaded for the same map and settings
+            settings = new ParserSettings("/map_ahornstrasse.osm", ParserSettings.ZCoordinates.STATIC);
+            settings.cacheDirectory = cacheDirectory;
+            assertEquals(streetCount, WorldModel.init(settings, new WeatherSettings()).getContainer().getStreets().size());
+            assertEquals(1, cacheDirectory.listFiles().length);
+        } finally {
+            for(File file : cacheDirectory.listFiles()) {
+                Files.deleteIfExists(file.toPath());
+            }
+
+            Files.deleteIfExists(cacheDirectory.toPath());
+        }
+    }
 }
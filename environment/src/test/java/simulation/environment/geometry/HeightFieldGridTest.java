@@ -0,0 +1,64 @@
+package simulation.environment.geometry;
+
+import org.junit.Test;
+import simulation.environment.geometry.height.ConcentricCircleGenerator;
+import simulation.environment.geometry.height.HeightFieldGrid;
+import simulation.environment.geometry.height.HeightGenerator;
+import simulation.environment.visualisationadapter.implementation.Bounds2D;
+
+import static org.junit.Assert.*;
+
+/**
+ * Compares the bilinear interpolation of the HeightFieldGrid with the sampled height generators
+ */
+public class HeightFieldGridTest {
+
+    @Test
+    public void testBilinearInterpolation() {
+        // Plane z = 2x + 3y + 1 is reproduced exactly by bilinear interpolation
+        double[][] heights = new double[3][4];
+        for (int row = 0; row < 3; ++row) {
+            for (int column = 0; column < 4; ++column) {
+                heights[row][column] = 2.0 * (10.0 + 5.0 * column) + 3.0 * (20.0 + 5.0 * row) + 1.0;
+            }
+        }
+
+        HeightFieldGrid grid = new HeightFieldGrid(10.0, 20.0, 5.0, heights);
+        assertEquals(4, grid.getColumns());
+        assertEquals(3, grid.getRows());
+
+        assertEquals(2.0 * 12.5 + 3.0 * 21.0 + 1.0, grid.getGround(12.5, 21.0), 1e-9);
+        assertEquals(2.0 * 25.0 + 3.0 * 30.0 + 1.0, grid.getGround(25.0, 30.0), 1e-9);
+        assertEquals(heights[1][2], grid.getGround(20.0, 25.0), 1e-9);
+
+        // Points outside of the grid get the height on the border
+        assertEquals(grid.getGround(10.0, 20.0), grid.getGround(0.0, 0.0), 0.0);
+        assertEquals(grid.getGround(25.0, 30.0), grid.getGround(100.0, 100.0), 0.0);
+
+        assertArrayEquals(heights, grid.toHeightMap());
+    }
+
+    @Test
+    public void testSampledGenerator() {
+        Bounds2D bounds = new Bounds2D(0, 400, 0, 300, 0, 0);
+        ConcentricCircleGenerator.init(bounds, true);
+        HeightGenerator generator = ConcentricCircleGenerator.getInstance();
+        HeightFieldGrid grid = HeightFieldGrid.sample(generator, bounds, 1.0);
+
+        assertEquals(401, grid.getColumns());
+        assertEquals(301, grid.getRows());
+
+        // Exact on grid points, close to the generator with slopes of 2 % in between
+        assertEquals(generator.getGround(100.0, 50.0), grid.getGround(100.0, 50.0), 1e-9);
+        for (double x = 0.5; x < 400.0; x += 37.3) {
+            for (double y = 0.5; y < 300.0; y += 29.1) {
+                assertEquals(generator.getGround(x, y), grid.getGround(x, y), 0.05);
+            }
+        }
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testInvalidCellSize() {
+        new HeightFieldGrid(0.0, 0.0, 0.0, new double[][] {{1.0}});
+    }
+}
@@ -0,0 +1,172 @@
+package simulation.environment.geometry;
+
+import javafx.geometry.Point3D;
+import org.junit.Test;
+import simulation.environment.geometry.osmadapter.GeomStreet;
+import simulation.environment.geometry.osmadapter.StreetSegmentIndex;
+import simulation.environment.geometry.splines.Spline;
+import simulation.environment.visualisationadapter.implementation.Node2D;
+import simulation.environment.visualisationadapter.implementation.Street2D;
+import simulation.environment.visualisationadapter.interfaces.EnvIntersection;
+import simulation.environment.visualisationadapter.interfaces.EnvNode;
+
+import java.util.*;
+
+import static org.junit.Assert.*;
+
+/**
+ * Compares the results of the StreetSegmentIndex with linear scans over all streets
+ */
+public class StreetSegmentIndexTest {
+
+    @Test
+    public void testNearestStreetsMatchLinearScan() {
+        Random random = new Random(17);
+        List<GeomStreet> streets = createRandomStreets(random, 40);
+
+        // Small cells to force searches over several rings of cells
+        StreetSegmentIndex index = new StreetSegmentIndex(streets, 20.0);
+
+        for (int i = 0; i < 500; ++i) {
+            // Also query points outside of the map
+            Point3D p = new Point3D(1400.0 * random.nextDouble() - 200.0, 1400.0 * random.nextDouble() - 200.0, 0.0);
+
+            List<GeomStreet> expected = new ArrayList<>(streets);
+            expected.sort(Comparator.comparingDouble(s -> computeStreetDistance(s, p)));
+
+            List<GeomStreet> result = index.getNearestStreets(p.getX(), p.getY(), p.getZ(), 3);
+            assertEquals(3, result.size());
+
+            for (int j = 0; j < result.size(); ++j) {
+                assertEquals(computeStreetDistance(expected.get(j), p), computeStreetDistance(result.get(j), p), 1e-9);
+            }
+
+            assertSame(result.get(0), index.getNearestStreet(p.getX(), p.getY(), p.getZ()));
+        }
+    }
+
+    @Test
+    public void testNeighbourhoodSearchMatchesGlobalSearch() {
+        Random random = new Random(31);
+        List<GeomStreet> streets = createRandomStreets(random, 40);
+        StreetSegmentIndex index = new StreetSegmentIndex(streets);
+        int hits = 0;
+
+        for (int walk = 0; walk < 20; ++walk) {
+            // Start on a node of a random street
+            Spline start = streets.get(random.nextInt(streets.size())).getDeterminator().getSplines().iterator().next();
+            double x = start.getP1().getX();
+            double y = start.getP1().getY();
+            int lastSegment = index.getNearestSegment(x, y, 0.0);
+
+            // Small steps like a vehicle between two frames
+            for (int step = 0; step < 200; ++step) {
+                x += 2.0 * random.nextDouble() - 1.0;
+                y += 2.0 * random.nextDouble() - 1.0;
+
+                int expected = index.getNearestSegment(x, y, 0.0);
+                int segment = index.getNearestSegmentInNeighbourhood(x, y, 0.0, lastSegment);
+
+                if (segment >= 0) {
+                    assertEquals(expected, segment);
+                    hits++;
+                }
+
+                assertSame(index.getNearestStreet(x, y, 0.0), index.getStreetOfSegment(expected));
+                lastSegment = expected;
+            }
+        }
+
+        // Most queries are answered from the neighbourhood
+        assertTrue(hits > 2000);
+
+        // Points far away from the known segment always require a global search
+        assertEquals(-1, index.getNearestSegmentInNeighbourhood(1e5, 1e5, 0.0, 0));
+        assertEquals(-1, index.getNearestSegmentInNeighbourhood(0.0, 0.0, 0.0, -1));
+    }
+
+    @Test
+    public void testStreetCandidatesMatchLinearScan() {
+        Random random = new Random(23);
+        List<GeomStreet> streets = createRandomStreets(random, 40);
+        StreetSegmentIndex index = new StreetSegmentIndex(streets);
+
+        for (int i = 0; i < 500; ++i) {
+            double x = 1000.0 * random.nextDouble();
+            double y = 1000.0 * random.nextDouble();
+
+            List<GeomStreet> expected = new ArrayList<>();
+            for (GeomStreet street : streets) {
+                for (Spline spline : street.getDeterminator().getSplines()) {
+                    if (bordersContain(spline, x, y)) {
+                        expected.add(street);
+                        break;
+                    }
+                }
+            }
+
+            assertEquals(expected, index.getStreetCandidates(x, y));
+        }
+    }
+
+    @Test
+    public void testEmptyIndex() {
+        StreetSegmentIndex index = new StreetSegmentIndex(Collections.emptyList());
+        assertEquals(0, index.getSegmentCount());
+        assertNull(index.getNearestStreet(1.0, 2.0, 3.0));
+        assertEquals(-1, index.getNearestSegment(1.0, 2.0, 3.0));
+        assertEquals(-1, index.getNearestSegmentInNeighbourhood(1.0, 2.0, 3.0, 0));
+        assertTrue(index.getNearestStreets(1.0, 2.0, 3.0, 5).isEmpty());
+        assertTrue(index.getStreetCandidates(1.0, 2.0).isEmpty());
+    }
+
+    private static List<GeomStreet> createRandomStreets(Random random, int count) {
+        List<GeomStreet> streets = new ArrayList<>();
+
+        for (int i = 0; i < count; ++i) {
+            ArrayList<EnvNode> nodes = new ArrayList<>();
+            double x = 1000.0 * random.nextDouble();
+            double y = 1000.0 * random.nextDouble();
+            int nodeCount = 2 + random.nextInt(6);
+
+            for (int j = 0; j < nodeCount; ++j) {
+                nodes.add(new Node2D(x, y, 0.0, 1000L * i + j));
+                x += 120.0 * random.nextDouble() - 60.0;
+                y += 120.0 * random.nextDouble() - 60.0;
+            }
+
+            streets.add(new GeomStreet(new Street2D(nodes, 50, new ArrayList<EnvIntersection>(), false)));
+        }
+
+        return streets;
+    }
+
+    private static double computeStreetDistance(GeomStreet street, Point3D p) {
+        double minDistance = Double.MAX_VALUE;
+
+        for (Spline spline : street.getDeterminator().getSplines()) {
+            Point3D difference = spline.getP2().subtract(spline.getP1());
+            double t = p.subtract(spline.getP1()).dotProduct(difference) / difference.dotProduct(difference);
+            t = Math.max(0.0, Math.min(1.0, t));
+            minDistance = Math.min(minDistance, spline.getP1().add(difference.multiply(t)).distance(p));
+        }
+
+        return minDistance;
+    }
+
+    private static boolean bordersContain(Spline spline, double x, double y) {
+        double minX = Math.min(spline.getP1().getX(), spline.getP2().getX());
+        double minY = Math.min(spline.getP1().getY(), spline.getP2().getY());
+        double maxX = Math.max(spline.getP1().getX(), spline.getP2().getX());
+        double maxY = Math.max(spline.getP1().getY(), spline.getP2().getY());
+
+        for (Point3D border : spline.getAllBorders()) {
+            minX = Math.min(minX, border.getX());
+            minY = Math.min(minY, border.getY());
+            maxX = Math.max(maxX, border.getX());
+            maxY = Math.max(maxY, border.getY());
+        }
+
+        return x >= minX && y >= minY && x <= maxX && y <= maxY;
+    }
+}
@@ -0,0 +1,199 @@
+package simulation.environment.geometry;
+
+import javafx.geometry.Point3D;
+import org.junit.Test;
+import simulation.environment.geometry.osmadapter.GeomStreet;
+import simulation.environment.geometry.osmadapter.StreetSegmentIndex;
+import simulation.environment.geometry.osmadapter.WorldTile;
+import simulation.environment.geometry.osmadapter.WorldTiles;
+import simulation.environment.pedestrians.Pedestrian;
+import simulation.environment.pedestrians.PedestrianStreetParameters;
+import simulation.environment.visualisationadapter.implementation.Node2D;
+import simulation.environment.visualisationadapter.implementation.Street2D;
+import simulation.environment.visualisationadapter.interfaces.EnvIntersection;
+import simulation.environment.visualisationadapter.interfaces.EnvNode;
+import simulation.environment.visualisationadapter.interfaces.EnvStreet;
+
+import java.util.*;
+
+import static org.junit.Assert.*;
+
+/**
+ * Checks that tiles only build the streets around the simulated objects, keep their pedestrians and answer
+ * queries like an index over the whole map
+ */
+public class WorldTilesTest {
+
+    /** Distance between two streets in meters */
+    private static final double STREET_SPACING = 1000.0;
+
+    @Test
+    public void testQueriesMatchFullIndex() {
+        List<EnvStreet> streets = createStreets(5, 4);
+        List<GeomStreet> geomStreets = new ArrayList<>();
+        for (EnvStreet street : streets) {
+            geomStreets.add(new GeomStreet(street));
+        }
+
+        StreetSegmentIndex index = new StreetSegmentIndex(geomStreets);
+        WorldTiles tiles = new WorldTiles(streets, 400.0);
+
+        Random random = new Random(7);
+        for (int i = 0; i < 200; ++i) {
+            // Also points far away from all streets and outside of the map
+            double x = 6000.0 * random.nextDouble() - 500.0;
+            double y = 5000.0 * random.nextDouble() - 500.0;
+
+            assertSame(index.getNearestStreet(x, y, 0.0).getObject(), tiles.getNearestStreet(x, y, 0.0).getObject());
+
+            List<EnvStreet> expectedNearest = new ArrayList<>();
+            for (GeomStreet street : index.getNearestStreets(x, y, 0.0, 3)) {
+                expectedNearest.add((EnvStreet) street.getObject());
+            }
+
+            List<EnvStreet> resultNearest = new ArrayList<>();
+            for (GeomStreet street : tiles.getNearestStreets(x, y, 0.0, 3)) {
+                resultNearest.add((EnvStreet) street.getObject());
+            }
+
+            assertEquals(expectedNearest, resultNearest);
+
+            List<EnvStreet> expected = new ArrayList<>();
+            for (GeomStreet street : index.getStreetCandidates(x, y)) {
+                expected.add((EnvStreet) street.getObject());
+            }
+
+            List<EnvStreet> result = new ArrayList<>();
+            for (GeomStreet street : tiles.getStreetCandidates(x, y)) {
+                result.add((EnvStreet) street.getObject());
+            }
+
+            assertEquals(expected, result);
+        }
+
+        // Points on the streets are answered by the tile under the point
+        WorldTile tile = tiles.getTile(2150.0, 3260.0);
+        int segment = tile.getIndex().getNearestSegment(2150.0, 3260.0, 0.0);
+        assertTrue(tile.getIndex().getSegmentDistance(segment, 2150.0, 3260.0, 0.0) <= tile.getBorderDistance(2150.0, 3260.0));
+        assertSame(streets.get(2 * 4 + 3), tile.getIndex().getStreetOfSegment(segment).getObject());
+
+        // A point far away from the streets of its tile may be closer to a street of another tile
+        tile = tiles.getTile(2150.0, 3560.0);
+        segment = tile.getIndex().getNearestSegment(2150.0, 3560.0, 0.0);
+        assertTrue(tile.getIndex().getSegmentDistance(segment, 2150.0, 3560.0, 0.0) > tile.getBorderDistance(2150.0, 3560.0));
+    }
+
+    @Test
+    public void testLoadedObjectsBoundedByActiveArea() {
+        List<Point3D> positions = Arrays.asList(new Point3D(3150.0, 2250.0, 0.0), new Point3D(7150.0, 5250.0, 0.0));
+
+        for (int size : new int[] {10, 40}) {
+            List<EnvStreet> streets = createStreets(size, size);
+            WorldTiles tiles = new WorldTiles(streets, 500.0);
+
+            assertTrue(tiles.getTileCount() >= size * size);
+            assertEquals(0, tiles.getLoadedTileCount());
+            assertEquals(0, tiles.getLoadedStreetCount());
+
+            // Only the streets at the two positions are built, independent of the size of the map
+            tiles.pageTiles(positions, 10.0);
+            assertEquals(2, tiles.getLoadedTileCount());
+            assertEquals(2, tiles.getLoadedStreetCount());
+
+            for (WorldTile tile : Arrays.asList(tiles.getTile(3150.0, 2250.0), tiles.getTile(7150.0, 5250.0))) {
+                assertEquals(1, tile.getStreets().size());
+                assertEquals(2, tile.getIndex().getSegmentCount());
+            }
+
+            // Moving objects drop the tiles they left
+            tiles.pageTiles(Collections.singletonList(new Point3D(1150.0, 1250.0, 0.0)), 10.0);
+            assertEquals(1, tiles.getLoadedTileCount());
+            assertEquals(1, tiles.getLoadedStreetCount());
+            assertSame(streets.get(size + 1), tiles.getStreetCandidates(1150.0, 1250.0).get(0).getObject());
+
+            // Queries outside of the loaded tiles load tiles on demand until the next paging
+            assertSame(streets.get(5 * size + 5), tiles.getNearestStreet(5150.0, 5260.0, 0.0).getObject());
+            assertEquals(2, tiles.getLoadedTileCount());
+
+            tiles.pageTiles(Collections.<Point3D>emptyList(), 10.0);
+            assertEquals(0, tiles.getLoadedTileCount());
+            assertEquals(0, tiles.getLoadedStreetCount());
+        }
+    }
+
+    @Test
+    public void testStreetsSharedByTiles() {
+        // One street from (0, 75) to (200, 75) over two tiles
+        List<EnvStreet> streets = Collections.singletonList(createStreet(0.0, 75.0, 0L));
+        WorldTiles tiles = new WorldTiles(streets, 150.0);
+
+        tiles.pageTiles(Arrays.asList(new Point3D(50.0, 75.0, 0.0), new Point3D(190.0, 75.0, 0.0)), 1.0);
+        assertEquals(2, tiles.getLoadedTileCount());
+        assertEquals(1, tiles.getLoadedStreetCount());
+        assertSame(tiles.getTile(50.0, 75.0).getStreets().get(0), tiles.getTile(190.0, 75.0).getStreets().get(0));
+
+        // The street stays built as long as one of its tiles is loaded
+        tiles.pageTiles(Collections.singletonList(new Point3D(190.0, 75.0, 0.0)), 1.0);
+        assertEquals(1, tiles.getLoadedStreetCount());
+
+        tiles.pageTiles(Collections.singletonList(new Point3D(1000.0, 1000.0, 0.0)), 1.0);
+        assertEquals(0, tiles.getLoadedTileCount());
+        assertEquals(0, tiles.getLoadedStreetCount());
+    }
+
+    @Test
+    public void testPedestriansKeptAcrossPaging() {
+        // One street from (100, 250) to (300, 250) on the whitelist of PedestrianContainer, thus with one pedestrian
+        List<EnvStreet> streets = Collections.singletonList(createStreet(100.0, 250.0, 35855882L));
+        WorldTiles tiles = new WorldTiles(streets, 500.0);
+        List<Pedestrian> pedestrians = tiles.getPedestrians();
+
+        // Pedestrians exist before their street is built, but stand still
+        assertEquals(1, pedestrians.size());
+        Pedestrian pedestrian = pedestrians.get(0);
+        assertFalse(pedestrian.hasStreet());
+
+        tiles.pageTiles(Collections.singletonList(new Point3D(150.0, 250.0, 0.0)), 10.0);
+        assertTrue(pedestrian.hasStreet());
+        assertSame(pedestrian, tiles.getTile(150.0, 250.0).getPedestrians().get(0));
+        PedestrianStreetParameters parameters = pedestrian.getStreetParameters();
+        assertNotNull(parameters);
+
+        // The pedestrian keeps its state while its street is dropped and continues when it is built again
+        tiles.pageTiles(Collections.<Point3D>emptyList(), 10.0);
+        assertFalse(pedestrian.hasStreet());
+        assertEquals(pedestrians, tiles.getPedestrians());
+
+        tiles.pageTiles(Collections.singletonList(new Point3D(150.0, 250.0, 0.0)), 10.0);
+        assertTrue(pedestrian.hasStreet());
+        assertSame(parameters, pedestrian.getStreetParameters());
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testInvalidTileSize() {
+        new WorldTiles(createStreets(1, 1), 0.0);
+    }
+
+    /**
+     * Creates a grid of streets, street i * rows + j goes from (1000 i + 100, 1000 j + 250) to (1000 i + 300, 1000 j + 250)
+     */
+    private static List<EnvStreet> createStreets(int columns, int rows) {
+        List<EnvStreet> streets = new ArrayList<>();
+
+        for (int i = 0; i < columns; ++i) {
+            for (int j = 0; j < rows; ++j) {
+                streets.add(createStreet(STREET_SPACING * i + 100.0, STREET_SPACING * j + 250.0, 1000L * (i * rows + j)));
+            }
+        }
+
+        return streets;
+    }
+
+    private static EnvStreet createStreet(double x, double y, long osmId) {
+        List<EnvNode> nodes = new ArrayList<>();
+        nodes.add(new Node2D(x, y, 0.0, osmId));
+        nodes.add(new Node2D(x + 100.0, y, 0.0, osmId + 1));
+        nodes.add(new Node2D(x + 200.0, y, 0.0, osmId + 2));
+        return new Street2D(nodes, 50, new ArrayList<EnvIntersection>(), false);
+    }
+}
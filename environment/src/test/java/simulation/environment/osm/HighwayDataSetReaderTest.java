@@ -0,0 +1,63 @@
+package simulation.environment.osm;
+
+import de.topobyte.osm4j.core.dataset.InMemoryMapDataSet;
+import de.topobyte.osm4j.core.dataset.MapDataSetLoader;
+import de.topobyte.osm4j.core.model.iface.OsmNode;
+import de.topobyte.osm4j.core.model.iface.OsmWay;
+import de.topobyte.osm4j.core.model.util.OsmModelUtil;
+import de.topobyte.osm4j.xml.dynsax.OsmXmlReader;
+import org.junit.Test;
+
+import java.io.InputStream;
+
+import static org.junit.Assert.*;
+
+/**
+ * Compares the data set of the two pass HighwayDataSetReader with the complete data set of a map
+ */
+public class HighwayDataSetReaderTest {
+
+    private static final String MAP = "/map_buildings_test.osm";
+
+    @Test
+    public void testSameRoadNetwork() throws Exception {
+        InMemoryMapDataSet expected;
+        try (InputStream in = getClass().getResourceAsStream(MAP)) {
+            expected = MapDataSetLoader.read(new OsmXmlReader(in, false), true, true, true);
+        }
+
+        InMemoryMapDataSet result;
+        try (InputStream in = getClass().getResourceAsStream(MAP)) {
+            result = HighwayDataSetReader.read(in);
+        }
+
+        assertEquals(expected.getBounds().getLeft(), result.getBounds().getLeft(), 0.0);
+        assertEquals(expected.getBounds().getTop(), result.getBounds().getTop(), 0.0);
+
+        int highwayCount = 0;
+        for (OsmWay way : expected.getWays().valueCollection()) {
+            if (OsmModelUtil.getTagsAsMap(way).get("highway") == null) {
+                assertFalse(result.getWays().containsKey(way.getId()));
+                continue;
+            }
+
+            ++highwayCount;
+            OsmWay resultWay = result.getWays().get(way.getId());
+            assertNotNull(resultWay);
+            assertEquals(way.getNumberOfNodes(), resultWay.getNumberOfNodes());
+
+            for (int i = 0; i < way.getNumberOfNodes(); ++i) {
+                OsmNode node = expected.getNode(way.getNodeId(i));
+                OsmNode resultNode = result.getNode(resultWay.getNodeId(i));
+                assertEquals(node.getId(), resultNode.getId());
+                assertEquals(node.getLatitude(), resultNode.getLatitude(), 0.0);
+                assertEquals(node.getLongitude(), resultNode.getLongitude(), 0.0);
+            }
+        }
+
+        // Only the road network is kept
+        assertEquals(highwayCount, result.getWays().size());
+        assertTrue(result.getNodes().size() <= expected.getNodes().size());
+        assertTrue(result.getRelations().isEmpty());
+    }
+}
@@ -0,0 +1,84 @@
+package simulation.environment.osm;
+
+import org.junit.Test;
+import simulation.environment.visualisationadapter.interfaces.EnvNode;
+import simulation.environment.visualisationadapter.interfaces.EnvStreet;
+import simulation.environment.visualisationadapter.interfaces.VisualisationEnvironmentContainer;
+
+import java.io.InputStream;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.Assert.*;
+
+/**
+ * Compares the parallel stages of the world construction with a serial execution
+ */
+public class ParallelConstructionTest {
+
+    @Test
+    public void testMapKeepsOrder() {
+        List<Integer> items = new ArrayList<>();
+        for (int i = 0; i < 1000; ++i) {
+            items.add(i);
+        }
+
+        ForkJoinPool pool = new ForkJoinPool(4);
+
+        try {
+            List<Integer> results = ParallelConstruction.map(pool, items, i -> i * i);
+            assertEquals(ParallelConstruction.map(null, items, i -> i * i), results);
+
+            AtomicInteger sum = new AtomicInteger();
+            ParallelConstruction.forEach(pool, items, sum::addAndGet);
+            assertEquals(999 * 1000 / 2, sum.get());
+        } finally {
+            pool.shutdown();
+        }
+    }
+
+    @Test
+    public void testParallelParserMatchesSerialParser() throws Exception {
+        ForkJoinPool pool = new ForkJoinPool(4);
+
+        try {
+            VisualisationEnvironmentContainer expected = parse(null);
+            VisualisationEnvironmentContainer result = parse(pool);
+
+            assertEquals(expected.getBounds().getMinZ(), result.getBounds().getMinZ(), 0.0);
+            assertEquals(expected.getBounds().getMaxZ(), result.getBounds().getMaxZ(), 0.0);
+
+            List<EnvStreet> expectedStreets = new ArrayList<>(expected.getStreets());
+            List<EnvStreet> resultStreets = new ArrayList<>(result.getStreets());
+            assertEquals(expectedStreets, resultStreets);
+
+            for (int i = 0; i < expectedStreets.size(); ++i) {
+                List<EnvNode> expectedNodes = expectedStreets.get(i).getNodes();
+                List<EnvNode> resultNodes = resultStreets.get(i).getNodes();
+
+                for (int j = 0; j < expectedNodes.size(); ++j) {
+                    assertEquals(expectedNodes.get(j).getZ().doubleValue(), resultNodes.get(j).getZ().doubleValue(), 0.0);
+                }
+
+                assertEquals(new ArrayList<>(expectedStreets.get(i).getIntersections()), new ArrayList<>(resultStreets.get(i).getIntersections()));
+            }
+        } finally {
+            pool.shutdown();
+        }
+    }
+
+    /**
+     * Returns the container of the test map with static heights, parsed with the pool
+     */
+    private VisualisationEnvironmentContainer parse(ForkJoinPool pool) throws Exception {
+        try (InputStream in = getClass().getResourceAsStream("/map_buildings_test.osm")) {
+            ParserSettings settings = new ParserSettings(in, ParserSettings.ZCoordinates.STATIC);
+            settings.pool = pool;
+            Parser2D parser = new Parser2D(settings);
+            parser.parse();
+            return parser.getContainer();
+        }
+    }
+}
@@ -0,0 +1,132 @@
+package simulation.environment.osm;
+
+import org.junit.Test;
+import simulation.environment.visualisationadapter.implementation.EnvironmentContainer2D;
+import simulation.environment.visualisationadapter.interfaces.EnvNode;
+import simulation.environment.visualisationadapter.interfaces.EnvStreet;
+import simulation.environment.visualisationadapter.interfaces.VisualisationEnvironmentContainer;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.file.Files;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.Assert.*;
+
+/**
+ * Compares containers loaded from snapshots with the parsed containers
+ */
+public class WorldSnapshotTest {
+
+    @Test
+    public void testRoundTrip() throws Exception {
+        File mapFile = File.createTempFile("map", ".osm");
+        String key;
+        try (InputStream in = getClass().getResourceAsStream("/map_buildings_test.osm")) {
+            key = WorldSnapshot.copyAndComputeKey(in, mapFile, ParserSettings.ZCoordinates.RANDOM, 0);
+        }
+
+        // The key computed while copying is the key of the copied data
+        assertEquals(WorldSnapshot.computeKey(Files.readAllBytes(mapFile.toPath()), ParserSettings.ZCoordinates.RANDOM, 0), key);
+
+        // Files and streams are hashed in place to the same key
+        assertEquals(key, WorldSnapshot.computeKey(mapFile, ParserSettings.ZCoordinates.RANDOM, 0));
+        assertEquals(key, WorldSnapshot.computeKey(getClass().getResourceAsStream("/map_buildings_test.osm"), ParserSettings.ZCoordinates.RANDOM, 0));
+
+        ParserSettings settings = new ParserSettings((InputStream) null, ParserSettings.ZCoordinates.RANDOM);
+        settings.file = mapFile;
+        Parser2D parser = new Parser2D(settings);
+        parser.parse();
+        VisualisationEnvironmentContainer expected = parser.getContainer();
+
+        List<Double> expectedGround = new ArrayList<>();
+        for (int i = 0; i <= 10; ++i) {
+            expectedGround.add(ZCoordinateGenerator.getGround(getX(expected, i), getY(expected, i)));
+        }
+
+        File file = File.createTempFile("world", ".bin");
+
+        try {
+            assertTrue(WorldSnapshot.getFile(file.getParentFile(), key).getName().contains(key));
+
+            WorldSnapshot.write(expected, file);
+            EnvironmentContainer2D result = WorldSnapshot.read(file);
+
+            assertEquals(expected.getBounds().getMinX(), result.getBounds().getMinX(), 0.0);
+            assertEquals(expected.getBounds().getMaxY(), result.getBounds().getMaxY(), 0.0);
+            assertEquals(expected.getBounds().getMaxZ(), result.getBounds().getMaxZ(), 0.0);
+            assertEquals(expected.getMidpoint(), result.getMidpoint());
+            assertArrayEquals(expected.getHeightMap(), result.getHeightMap());
+
+            List<EnvStreet> expectedStreets = new ArrayList<>(expected.getStreets());
+            List<EnvStreet> resultStreets = new ArrayList<>(result.getStreets());
+            assertEquals(expectedStreets.size(), resultStreets.size());
+
+            for (int i = 0; i < expectedStreets.size(); ++i) {
+                EnvStreet expectedStreet = expectedStreets.get(i);
+                EnvStreet resultStreet = resultStreets.get(i);
+
+                assertEquals(expectedStreet, resultStreet);
+                assertEquals(expectedStreet.isOneWay(), resultStreet.isOneWay());
+                assertEquals(expectedStreet.getStreetType(), resultStreet.getStreetType());
+                assertEquals(expectedStreet.getSpeedLimit().doubleValue(), resultStreet.getSpeedLimit().doubleValue(), 0.0);
+                assertEquals(new ArrayList<>(expectedStreet.getIntersections()), new ArrayList<>(resultStreet.getIntersections()));
+
+                for (int j = 0; j < expectedStreet.getNodes().size(); ++j) {
+                    EnvNode expectedNode = expectedStreet.getNodes().get(j);
+                    EnvNode resultNode = resultStreet.getNodes().get(j);
+                    assertEquals(expectedNode.getOsmId(), resultNode.getOsmId());
+                    assertEquals(expectedNode.getStreetSign().getType(), resultNode.getStreetSign().getType());
+                }
+            }
+
+            // Random heights of the restored generator match the heights of the parsed world
+            ZCoordinateGenerator.restoreHeightGenerator(result, ParserSettings.ZCoordinates.RANDOM);
+            for (int i = 0; i <= 10; ++i) {
+                assertEquals(expectedGround.get(i), ZCoordinateGenerator.getGround(getX(expected, i), getY(expected, i)), 0.0);
+            }
+        } finally {
+            Files.deleteIfExists(file.toPath());
+            Files.deleteIfExists(mapFile.toPath());
+        }
+    }
+
+    @Test
+    public void testKey() {
+        byte[] mapData = {1, 2, 3};
+        byte[] otherMapData = {1, 2, 4};
+
+        assertEquals(WorldSnapshot.computeKey(mapData, ParserSettings.ZCoordinates.STATIC, 0), WorldSnapshot.computeKey(mapData.clone(), ParserSettings.ZCoordinates.STATIC, 0));
+        assertNotEquals(WorldSnapshot.computeKey(mapData, ParserSettings.ZCoordinates.STATIC, 0), WorldSnapshot.computeKey(otherMapData, ParserSettings.ZCoordinates.STATIC, 0));
+        assertNotEquals(WorldSnapshot.computeKey(mapData, ParserSettings.ZCoordinates.STATIC, 0), WorldSnapshot.computeKey(mapData, ParserSettings.ZCoordinates.RANDOM, 0));
+        assertNotEquals(WorldSnapshot.computeKey(mapData, ParserSettings.ZCoordinates.STATIC, 0), WorldSnapshot.computeKey(mapData, ParserSettings.ZCoordinates.STATIC, 5.0));
+    }
+
+    @Test(expected = IOException.class)
+    public void testInvalidSnapshot() throws Exception {
+        File file = File.createTempFile("world", ".bin");
+
+        try {
+            Files.write(file.toPath(), new byte[]{1, 2, 3, 4, 5, 6, 7, 8});
+            WorldSnapshot.read(file);
+        } finally {
+            Files.deleteIfExists(file.toPath());
+        }
+    }
+
+    /**
+     * Returns the x coordinate of a query point on the diagonal of the bounds
+     */
+    private static double getX(VisualisationEnvironmentContainer container, int step) {
+        return container.getBounds().getMinX() + step * (container.getBounds().getMaxX() - container.getBounds().getMinX()) / 10.0;
+    }
+
+    /**
+     * Returns the y coordinate of a query point on the diagonal of the bounds
+     */
+    private static double getY(VisualisationEnvironmentContainer container, int step) {
+        return container.getBounds().getMinY() + step * (container.getBounds().getMaxY() - container.getBounds().getMinY()) / 10.0;
+    }
+}
@@ -0,0 +1,196 @@
+package simulation.network;
+
+/**
+ * Immutable binary IPv6 address consisting of two 64 bit halves. Addresses are compared by their bits,
+ * the hex string is only created for logging and statistics and cached afterwards.
+ */
+public final class Ipv6Address {
+
+    /** Unspecified address, used as address of messages without an address */
+    public static final Ipv6Address UNSPECIFIED = new Ipv6Address(0L, 0L);
+
+    /** Upper 64 bits of the address, the network prefix */
+    private final long high;
+
+    /** Lower 64 bits of the address, the interface identifier */
+    private final long low;
+
+    /** Cached hex string of the address, null until it is requested */
+    private String hexString = null;
+
+    /**
+     * Constructor for an address
+     *
+     * @param high Upper 64 bits of the address
+     * @param low Lower 64 bits of the address
+     */
+    public Ipv6Address(long high, long low) {
+        this.high = high;
+        this.low = low;
+    }
+
+    /**
+     * Function that parses an address from its hex representation. Accepts the 32 hex characters used in the
+     * network settings as well as the notation with colons, including a "::" for groups of zeros.
+     * The empty string is parsed as unspecified address.
+     *
+     * @param address Address as string
+     * @return Parsed address
+     * @throws IllegalArgumentException if the string is not a valid address
+     */
+    public static Ipv6Address parse(String address) {
+        if (address.isEmpty()) {
+            return UNSPECIFIED;
+        }
+
+        String hex = (address.indexOf(':') < 0 ? address : expandGroups(address));
+
+        if (hex.length() != 32 || !isHex(hex)) {
+            throw new IllegalArgumentException("Ipv6Address - parse: Invalid address: " + address);
+        }
+
+        return new Ipv6Address(Long.parseUnsignedLong(hex.substring(0, 16), 16), Long.parseUnsignedLong(hex.substring(16), 16));
+    }
+
+    /**
+     * Function that converts the notation with colons to 32 hex characters
+     *
+     * @param address Address with colons
+     * @return Address as 32 hex characters
+     * @throws IllegalArgumentException if the groups of the address are invalid
+     */
+    private static String expandGroups(String address) {
+        int gapIndex = address.indexOf("::");
+        String head = (gapIndex < 0 ? address : address.substring(0, gapIndex));
+        String tail = (gapIndex < 0 ? "" : address.substring(gapIndex + 2));
+        String[] headGroups = (head.isEmpty() ? new String[0] : head.split(":", -1));
+        String[] tailGroups = (tail.isEmpty() ? new String[0] : tail.split(":", -1));
+        int missingGroups = 8 - headGroups.length - tailGroups.length;
+
+        if ((gapIndex < 0 && missingGroups != 0) || (gapIndex >= 0 && missingGroups < 1)) {
+            throw new IllegalArgumentException("Ipv6Address - parse: Invalid number of groups: " + address);
+        }
+
+        StringBuilder builder = new StringBuilder(32);
+        appendGroups(builder, headGroups, address);
+
+        for (int i = 0; i < missingGroups; ++i) {
+            builder.append("0000");
+        }
+
+        appendGroups(builder, tailGroups, address);
+        return builder.toString();
+    }
+
+    /**
+     * Function that appends groups of an address as four hex characters each
+     *
+     * @param builder Builder for the hex characters
+     * @param groups Groups with one to four hex characters
+     * @param address Complete address for error messages
+     * @throws IllegalArgumentException if a group is empty or too long
+     */
+    private static void appendGroups(StringBuilder builder, String[] groups, String address) {
+        for (String group : groups) {
+            if (group.isEmpty() || group.length() > 4) {
+                throw new IllegalArgumentException("Ipv6Address - parse: Invalid group in address: " + address);
+            }
+
+            for (int i = group.length(); i < 4; ++i) {
+                builder.append('0');
+            }
+
+            builder.append(group);
+        }
+    }
+
+    /**
+     * Function that checks if a string only consists of hex characters
+     *
+     * @param string String to be checked
+     * @return True if all characters are hex characters, otherwise false
+     */
+    private static boolean isHex(String string) {
+        for (int i = 0; i < string.length(); ++i) {
+            if (Character.digit(string.charAt(i), 16) < 0) {
+                return false;
+            }
+        }
+
+        return true;
+    }
+
+    /**
+     * Function that returns the upper 64 bits of the address
+     *
+     * @return Upper 64 bits of the address
+     */
+    public long getHigh() {
+        return high;
+    }
+
+    /**
+     * Function that returns the lower 64 bits of the address
+     *
+     * @return Lower 64 bits of the address
+     */
+    public long getLow() {
+        return low;
+    }
+
+    /**
+     * Function that checks if this is the unspecified address
+     *
+     * @return True if all bits are zero, otherwise false
+     */
+    public boolean isUnspecified() {
+        return high == 0L && low == 0L;
+    }
+
+    /**
+     * Function that compares the bits of two addresses
+     *
+     * @param other Object to compare with
+     * @return True if other is an address with the same bits, otherwise false
+     */
+    @Override
+    public boolean equals(Object other) {
+        if (this == other) {
+            return true;
+        }
+
+        if (!(other instanceof Ipv6Address)) {
+            return false;
+        }
+
+        Ipv6Address otherAddress = (Ipv6Address) (other);
+        return high == otherAddress.high && low == otherAddress.low;
+    }
+
+    /**
+     * Function that returns a hash code computed from the bits of the address
+     *
+     * @return Hash code of the address
+     */
+    @Override
+    public int hashCode() {
+        return 31 * Long.hashCode(high) + Long.hashCode(low);
+    }
+
+    /**
+     * Function that returns the address as 32 lower case hex characters, the empty string for the unspecified address
+     *
+     * @return Hex representation of the address
+     */
+    @Override
+    public String toString() {
+        String result = hexString;
+
+        if (result == null) {
+            result = (isUnspecified() ? "" : String.format("%016x%016x", high, low));
+            hexString = result;
+        }
+
+        return result;
+    }
+}
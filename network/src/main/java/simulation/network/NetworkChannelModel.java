@@ -15,8 +15,8 @@ public abstract class NetworkChannelModel implements NetworkEventHandler {
      */
     @Override
     public void handleNetworkEvent(NetworkDiscreteEvent event) {
-        // Call computation method for all network nodes except sending node
-        for (NetworkNode node : NetworkSimulator.getInstance().getNetworkNodes()) {
+        // Call computation method for all network nodes in range except sending node
+        for (NetworkNode node : NetworkSimulator.getInstance().getNetworkNodesInRange(event.getNetworkNode(), getMaximumRange())) {
             if (!node.equals(event.getNetworkNode())) {
                 // Create individual message copies for each transmission and compute transmission
                 NetworkMessage newMessage = event.getEventMessage().copy();
@@ -25,6 +25,16 @@ public abstract class NetworkChannelModel implements NetworkEventHandler {
         }
     }
 
+    /**
+     * Function that returns the maximum distance in which a transmission can have any effect on another node,
+     * including interferences. Transmissions are only computed for nodes within this distance.
+     *
+     * @return Maximum distance of a transmission, Double.POSITIVE_INFINITY if the range is not limited
+     */
+    public double getMaximumRange() {
+        return Double.POSITIVE_INFINITY;
+    }
+
     /**
      * Function that computes if and how transmissions between network nodes are received
      *
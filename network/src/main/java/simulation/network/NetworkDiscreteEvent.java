@@ -13,12 +13,27 @@ public class NetworkDiscreteEvent implements DiscreteEvent {
     /** Type of the event */
     private NetworkDiscreteEventId eventId;
 
-    /** Message of the event */
+    /** Message of the event, null for timer events */
     private NetworkMessage eventMessage;
 
     /** Network node related to this event */
     private NetworkNode networkNode;
 
+    /** Task id of the task that scheduled this event as timer, null if the event is no timer event */
+    private NetworkTaskId timerTaskId = null;
+
+    /** Boolean flag indicating if the event was cancelled and is skipped when its time is reached */
+    private volatile boolean cancelled = false;
+
+    /** Boolean flag indicating if the event was taken from the event pool and is returned to it after processing */
+    private boolean pooled = false;
+
+    /** Number of times the event was processed, distinguishes the uses of a pooled event for NetworkEventHandle */
+    private volatile long generation = 0L;
+
+    /** Sequence number assigned by an event queue, orders events with equal time by their scheduling */
+    private long queueSequence = 0L;
+
     /**
      * Constructor for a network discrete event
      * @param eventTimeNs Time of the event measured in nanoseconds
@@ -33,6 +48,24 @@ public class NetworkDiscreteEvent implements DiscreteEvent {
         this.networkNode = networkNode;
     }
 
+    /**
+     * Function that sets all values of the event, used to reuse events from the event pool
+     *
+     * @param eventTimeNs Time of the event measured in nanoseconds
+     * @param eventId Id of the event
+     * @param networkNode Network node related to this event
+     * @param eventMessage Message of the event, null for timer events
+     * @param timerTaskId Task id of the task that scheduled the timer, null for other events
+     */
+    void reset(long eventTimeNs, NetworkDiscreteEventId eventId, NetworkNode networkNode, NetworkMessage eventMessage, NetworkTaskId timerTaskId) {
+        this.eventTimeNs = eventTimeNs;
+        this.eventId = eventId;
+        this.eventMessage = eventMessage;
+        this.networkNode = networkNode;
+        this.timerTaskId = timerTaskId;
+        this.cancelled = false;
+    }
+
     /**
      * Function that returns the network event id of the event
      *
@@ -51,6 +84,15 @@ public class NetworkDiscreteEvent implements DiscreteEvent {
         return eventMessage;
     }
 
+    /**
+     * Function that returns the task id of the task that scheduled this event as timer
+     *
+     * @return Task id of the timer task, null if the event is no timer event
+     */
+    public NetworkTaskId getTimerTaskId() {
+        return timerTaskId;
+    }
+
     /**
      * Function that returns the network node of the event
      *
@@ -60,6 +102,86 @@ public class NetworkDiscreteEvent implements DiscreteEvent {
         return networkNode;
     }
 
+    /**
+     * Function that returns if the event was cancelled
+     *
+     * @return True if the event was cancelled, otherwise false
+     */
+    public boolean isCancelled() {
+        return cancelled;
+    }
+
+    /**
+     * Function that cancels the event, a cancelled event stays in the event list but is not processed
+     */
+    public void cancel() {
+        cancelled = true;
+    }
+
+    /**
+     * Function that cancels the event only if it was not processed since the given generation
+     *
+     * @param generation Generation of the event that should be cancelled
+     */
+    void cancel(long generation) {
+        if (this.generation == generation) {
+            cancelled = true;
+        }
+    }
+
+    /**
+     * Function that returns the number of times the event was processed
+     *
+     * @return Generation of the event
+     */
+    long getGeneration() {
+        return generation;
+    }
+
+    /**
+     * Function that starts a new generation of the event after it was processed, handles of the
+     * processed event do not refer to the event anymore
+     */
+    void nextGeneration() {
+        generation++;
+    }
+
+    /**
+     * Function that returns if the event is returned to the event pool after processing
+     *
+     * @return True if the event was taken from the event pool, otherwise false
+     */
+    boolean isPooled() {
+        return pooled;
+    }
+
+    /**
+     * Function that sets if the event is returned to the event pool after processing
+     *
+     * @param pooled True if the event was taken from the event pool, otherwise false
+     */
+    void setPooled(boolean pooled) {
+        this.pooled = pooled;
+    }
+
+    /**
+     * Function that returns the sequence number assigned by an event queue
+     *
+     * @return Sequence number of the event
+     */
+    long getQueueSequence() {
+        return queueSequence;
+    }
+
+    /**
+     * Function that sets the sequence number assigned by an event queue
+     *
+     * @param queueSequence New sequence number of the event
+     */
+    void setQueueSequence(long queueSequence) {
+        this.queueSequence = queueSequence;
+    }
+
     /**
      * Function that returns the time of the event
      *
@@ -92,6 +214,8 @@ public class NetworkDiscreteEvent implements DiscreteEvent {
                 ", eventId=" + eventId +
                 ", eventMessage=" + eventMessage +
                 ", networkNode=" + networkNode +
+                ", timerTaskId=" + timerTaskId +
+                ", cancelled=" + cancelled +
                 '}';
     }
 }
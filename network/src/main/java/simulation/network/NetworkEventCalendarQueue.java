@@ -0,0 +1,328 @@
+package simulation.network;
+
+import java.util.Arrays;
+
+/**
+ * Calendar queue for network events, a priority queue with amortized constant time for insertion and removal
+ * of the earliest event when the event times are spread evenly over a limited time window.
+ * Events are sorted into buckets that each cover a time interval of the bucket width, the buckets are reused
+ * cyclically for later time intervals. The number of buckets follows the number of events and the bucket width
+ * is computed from the time differences of the earliest events whenever the number of buckets changes.
+ * Events with equal time are returned in the order in which they were added.
+ */
+public final class NetworkEventCalendarQueue {
+
+    /** Minimum number of buckets, needs to be a power of two */
+    private static final int MIN_BUCKET_COUNT = 16;
+
+    /** Number of earliest events that are used to compute the bucket width */
+    private static final int BUCKET_WIDTH_SAMPLE_SIZE = 25;
+
+    /** Bucket width that is used before it can be computed from the events, in nanoseconds */
+    private static final long DEFAULT_BUCKET_WIDTH_NS = 100000L;
+
+    /** Buckets of the queue, null for buckets that were never used */
+    private Bucket[] buckets = new Bucket[MIN_BUCKET_COUNT];
+
+    /** Time interval covered by one bucket in nanoseconds */
+    private long bucketWidthNs = DEFAULT_BUCKET_WIDTH_NS;
+
+    /** Number of events in the queue */
+    private int size = 0;
+
+    /** Sequence number for the next added event */
+    private long nextSequence = 0L;
+
+    /** Index of the time interval with bucket width that is searched first, no event is in an earlier interval */
+    private long currentDay = 0L;
+
+    /**
+     * Function that returns the number of events in the queue
+     *
+     * @return Number of events
+     */
+    public int size() {
+        return size;
+    }
+
+    /**
+     * Function that checks if the queue is empty
+     *
+     * @return True if there are no events in the queue, otherwise false
+     */
+    public boolean isEmpty() {
+        return size == 0;
+    }
+
+    /**
+     * Function that adds an event to the queue
+     *
+     * @param event Event to be added
+     */
+    public void add(NetworkDiscreteEvent event) {
+        event.setQueueSequence(nextSequence++);
+        long day = dayOf(event.getEventTime());
+
+        if (size == 0 || day < currentDay) {
+            currentDay = day;
+        }
+
+        insert(event);
+        ++size;
+
+        if (size > 2 * buckets.length) {
+            resize(2 * buckets.length);
+        }
+    }
+
+    /**
+     * Function that returns the earliest event without removing it
+     *
+     * @return Earliest event, null if the queue is empty
+     */
+    public NetworkDiscreteEvent peek() {
+        Bucket bucket = findEarliestBucket();
+        return (bucket == null ? null : bucket.peek());
+    }
+
+    /**
+     * Function that removes and returns the earliest event
+     *
+     * @return Earliest event, null if the queue is empty
+     */
+    public NetworkDiscreteEvent poll() {
+        Bucket bucket = findEarliestBucket();
+
+        if (bucket == null) {
+            return null;
+        }
+
+        NetworkDiscreteEvent event = bucket.poll();
+        --size;
+
+        if (size < buckets.length / 2 && buckets.length > MIN_BUCKET_COUNT) {
+            resize(buckets.length / 2);
+        }
+
+        return event;
+    }
+
+    /**
+     * Function that returns the bucket that contains the earliest event as first element,
+     * advances the current day over time intervals without events
+     *
+     * @return Bucket with the earliest event, null if the queue is empty
+     */
+    private Bucket findEarliestBucket() {
+        if (size == 0) {
+            return null;
+        }
+
+        // Search the buckets of the following days for one year
+        int mask = buckets.length - 1;
+        for (int i = 0; i < buckets.length; ++i) {
+            Bucket bucket = buckets[(int) (currentDay & mask)];
+
+            if (bucket != null && !bucket.isEmpty() && dayOf(bucket.peek().getEventTime()) == currentDay) {
+                return bucket;
+            }
+
+            ++currentDay;
+        }
+
+        // No event within one year, continue at the day of the earliest event
+        Bucket earliestBucket = null;
+        for (Bucket bucket : buckets) {
+            if (bucket != null && !bucket.isEmpty() && (earliestBucket == null || isBefore(bucket.peek(), earliestBucket.peek()))) {
+                earliestBucket = bucket;
+            }
+        }
+
+        currentDay = dayOf(earliestBucket.peek().getEventTime());
+        return earliestBucket;
+    }
+
+    /**
+     * Function that inserts an event into its bucket
+     *
+     * @param event Event to be inserted
+     */
+    private void insert(NetworkDiscreteEvent event) {
+        int index = (int) (dayOf(event.getEventTime()) & (buckets.length - 1));
+
+        if (buckets[index] == null) {
+            buckets[index] = new Bucket();
+        }
+
+        buckets[index].add(event);
+    }
+
+    /**
+     * Function that changes the number of buckets, computes a new bucket width and inserts all events again
+     *
+     * @param bucketCount New number of buckets, needs to be a power of two
+     */
+    private void resize(int bucketCount) {
+        // Compute new bucket width from the earliest events, they are inserted again below
+        int sampleSize = Math.min(size, BUCKET_WIDTH_SAMPLE_SIZE);
+        NetworkDiscreteEvent[] sample = new NetworkDiscreteEvent[sampleSize];
+
+        for (int i = 0; i < sampleSize; ++i) {
+            Bucket bucket = findEarliestBucket();
+            sample[i] = bucket.poll();
+            --size;
+        }
+
+        long newBucketWidthNs = computeBucketWidth(sample);
+        Bucket[] oldBuckets = buckets;
+        buckets = new Bucket[bucketCount];
+        bucketWidthNs = newBucketWidthNs;
+
+        for (Bucket bucket : oldBuckets) {
+            while (bucket != null && !bucket.isEmpty()) {
+                insert(bucket.poll());
+            }
+        }
+
+        for (NetworkDiscreteEvent event : sample) {
+            insert(event);
+        }
+
+        size += sampleSize;
+        currentDay = (sampleSize > 0 ? dayOf(sample[0].getEventTime()) : 0L);
+    }
+
+    /**
+     * Function that computes the bucket width as three times the average time difference of consecutive events,
+     * ignoring differences that are larger than twice the average of all differences
+     *
+     * @param sample Earliest events in the order of the queue
+     * @return Bucket width in nanoseconds, the current bucket width if there are no time differences
+     */
+    private long computeBucketWidth(NetworkDiscreteEvent[] sample) {
+        if (sample.length < 2) {
+            return bucketWidthNs;
+        }
+
+        long totalDifference = sample[sample.length - 1].getEventTime() - sample[0].getEventTime();
+        double averageDifference = (double) totalDifference / (sample.length - 1);
+        long limitedDifference = 0L;
+        int limitedCount = 0;
+
+        for (int i = 1; i < sample.length; ++i) {
+            long difference = sample[i].getEventTime() - sample[i - 1].getEventTime();
+
+            if (difference <= 2.0 * averageDifference) {
+                limitedDifference += difference;
+                ++limitedCount;
+            }
+        }
+
+        if (limitedDifference == 0L) {
+            return bucketWidthNs;
+        }
+
+        return Math.max(1L, 3L * limitedDifference / limitedCount);
+    }
+
+    /**
+     * Function that returns the index of the time interval with bucket width that contains a time
+     *
+     * @param timeNs Time in nanoseconds
+     * @return Index of the time interval
+     */
+    private long dayOf(long timeNs) {
+        return Math.floorDiv(timeNs, bucketWidthNs);
+    }
+
+    /**
+     * Function that checks if an event is ordered before another event
+     *
+     * @param event Event to be checked
+     * @param otherEvent Event to compare with
+     * @return True if event has an earlier time or was added earlier with the same time, otherwise false
+     */
+    private static boolean isBefore(NetworkDiscreteEvent event, NetworkDiscreteEvent otherEvent) {
+        return event.getEventTime() < otherEvent.getEventTime() ||
+                (event.getEventTime() == otherEvent.getEventTime() && event.getQueueSequence() < otherEvent.getQueueSequence());
+    }
+
+    /**
+     * Events of one bucket sorted by time and sequence, the earliest event is removed first
+     */
+    private static final class Bucket {
+
+        /** Events in the range from head to tail */
+        private NetworkDiscreteEvent[] events = new NetworkDiscreteEvent[4];
+
+        /** Index of the earliest event */
+        private int head = 0;
+
+        /** Index after the latest event */
+        private int tail = 0;
+
+        /**
+         * Function that checks if the bucket is empty
+         *
+         * @return True if the bucket is empty, otherwise false
+         */
+        boolean isEmpty() {
+            return head == tail;
+        }
+
+        /**
+         * Function that returns the earliest event of the bucket
+         *
+         * @return Earliest event
+         */
+        NetworkDiscreteEvent peek() {
+            return events[head];
+        }
+
+        /**
+         * Function that removes and returns the earliest event of the bucket
+         *
+         * @return Earliest event
+         */
+        NetworkDiscreteEvent poll() {
+            NetworkDiscreteEvent event = events[head];
+            events[head++] = null;
+
+            if (head == tail) {
+                head = 0;
+                tail = 0;
+            }
+
+            return event;
+        }
+
+        /**
+         * Function that adds an event at its sorted position, events are usually added in the order of their time
+         *
+         * @param event Event to be added
+         */
+        void add(NetworkDiscreteEvent event) {
+            if (tail == events.length) {
+                if (head > 0) {
+                    System.arraycopy(events, head, events, 0, tail - head);
+                    Arrays.fill(events, tail - head, tail, null);
+                    tail -= head;
+                    head = 0;
+                }
+
+                if (tail == events.length) {
+                    events = Arrays.copyOf(events, 2 * events.length);
+                }
+            }
+
+            int position = tail;
+            while (position > head && isBefore(event, events[position - 1])) {
+                events[position] = events[position - 1];
+                --position;
+            }
+
+            events[position] = event;
+            ++tail;
+        }
+    }
+}
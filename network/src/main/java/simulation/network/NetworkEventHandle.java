@@ -0,0 +1,54 @@
+package simulation.network;
+
+/**
+ * Class that refers to a scheduled network event and stays safe to use after the event was processed
+ * Processed events are returned to the event pool and reused for other events, the handle remembers the
+ * generation of the event it was created for, thus cancelling it after the event was reused has no effect
+ */
+public final class NetworkEventHandle {
+
+    /** Event that was scheduled */
+    private final NetworkDiscreteEvent event;
+
+    /** Generation of the event when it was scheduled */
+    private final long generation;
+
+    /** Time of the event measured in nanoseconds */
+    private final long eventTimeNs;
+
+    /**
+     * Constructor for a handle of an event that is about to be scheduled or already scheduled and not processed yet
+     *
+     * @param event Scheduled event
+     */
+    public NetworkEventHandle(NetworkDiscreteEvent event) {
+        this.event = event;
+        this.generation = event.getGeneration();
+        this.eventTimeNs = event.getEventTime();
+    }
+
+    /**
+     * Function that cancels the event if it was not processed yet, otherwise nothing happens
+     */
+    public void cancel() {
+        event.cancel(generation);
+    }
+
+    /**
+     * Function that returns if the event is neither processed nor cancelled
+     *
+     * @return True if the event is still scheduled, otherwise false
+     */
+    public boolean isPending() {
+        return event.getGeneration() == generation && !event.isCancelled();
+    }
+
+    /**
+     * Function that returns the time of the event
+     *
+     * @return Time of the event measured in nanoseconds
+     */
+    public long getEventTime() {
+        return eventTimeNs;
+    }
+}
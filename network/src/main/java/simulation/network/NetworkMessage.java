@@ -1,40 +1,20 @@
 package simulation.network;
 
+import java.util.Arrays;
+
 /**
  * Class that represents the elements of a network message
  * This includes the message contents, length and header information
+ * Contents and header fields that are set by the sender are stored in a core that is shared between copies
+ * and only copied when a copy changes one of them, per transmission fields are stored in each message
  */
 public class NetworkMessage {
 
-    /** Contents of message */
-    private String messageContent = "";
-
-    /** Possible transport sequence number */
-    private int transportSequenceNumber = 0;
-
-    /** Possible transport port source number */
-    private int transportPortSourceNumber = 0;
-
-    /** Possible transport port destination number */
-    private int transportPortDestNumber = 0;
-
-    /** Possible IPv6 address of the sender */
-    private String networkIpv6Sender = "";
-
-    /** Possible IPv6 address of the receiver */
-    private String networkIpv6Receiver = "";
-
-    /** Possible IPv6 hop count */
-    private int networkHopLimit = 0;
-
-    /** MAC address of the sender */
-    private String macSender = "";
+    /** Contents and sender header fields, possibly shared with copies of this message */
+    private MessageCore core = new MessageCore();
 
-    /** MAC address of the receiver */
-    private String macReceiver = "";
-
-    /** Possible MAC sequence number */
-    private int macSequenceNumber = 0;
+    /** Flag indicating if core is shared with other messages and needs to be copied before it is changed */
+    private boolean coreShared = false;
 
     /** Length of message in KBits */
     private int phyDataRateKBits = 0;
@@ -51,9 +31,6 @@ public class NetworkMessage {
     /** Channel ID on which message was sent and received, set by channel objects */
     private int phyChannelId = 0;
 
-    /** Time of creation of the message in simulation, in nanoseconds */
-    private long simCreateTimeNs = 0;
-
     /** Time of receiving of the message in simulation, in nanoseconds */
     private long simReceiveTimeNs = -1;
 
@@ -84,7 +61,7 @@ public class NetworkMessage {
      * @return Value for messageContent
      */
     public String getMessageContent() {
-        return messageContent;
+        return core.messageContent;
     }
 
     /**
@@ -93,7 +70,27 @@ public class NetworkMessage {
      * @param messageContent New value for messageContent
      */
     public void setMessageContent(String messageContent) {
-        this.messageContent = messageContent;
+        writableCore().messageContent = messageContent;
+    }
+
+    /**
+     * Function that returns messagePayload
+     * The returned array is shared with all copies of the message and must not be modified
+     *
+     * @return Value for messagePayload, null if the message has no binary contents
+     */
+    public float[] getMessagePayload() {
+        return core.messagePayload;
+    }
+
+    /**
+     * Function that sets messagePayload
+     * The array is not copied, it must not be modified after it was set
+     *
+     * @param messagePayload New value for messagePayload
+     */
+    public void setMessagePayload(float[] messagePayload) {
+        writableCore().messagePayload = messagePayload;
     }
 
     /**
@@ -102,7 +99,7 @@ public class NetworkMessage {
      * @return Value for transportSequenceNumber
      */
     public int getTransportSequenceNumber() {
-        return transportSequenceNumber;
+        return core.transportSequenceNumber;
     }
 
     /**
@@ -111,7 +108,7 @@ public class NetworkMessage {
      * @param transportSequenceNumber New value for transportSequenceNumber
      */
     public void setTransportSequenceNumber(int transportSequenceNumber) {
-        this.transportSequenceNumber = transportSequenceNumber;
+        writableCore().transportSequenceNumber = transportSequenceNumber;
     }
 
     /**
@@ -120,7 +117,7 @@ public class NetworkMessage {
      * @return Value for transportPortSourceNumber
      */
     public int getTransportPortSourceNumber() {
-        return transportPortSourceNumber;
+        return core.transportPortSourceNumber;
     }
 
     /**
@@ -129,7 +126,7 @@ public class NetworkMessage {
      * @param transportPortSourceNumber New value for transportPortSourceNumber
      */
     public void setTransportPortSourceNumber(int transportPortSourceNumber) {
-        this.transportPortSourceNumber = transportPortSourceNumber;
+        writableCore().transportPortSourceNumber = transportPortSourceNumber;
     }
 
     /**
@@ -138,7 +135,7 @@ public class NetworkMessage {
      * @return Value for transportPortDestNumber
      */
     public int getTransportPortDestNumber() {
-        return transportPortDestNumber;
+        return core.transportPortDestNumber;
     }
 
     /**
@@ -147,43 +144,97 @@ public class NetworkMessage {
      * @param transportPortDestNumber New value for transportPortDestNumber
      */
     public void setTransportPortDestNumber(int transportPortDestNumber) {
-        this.transportPortDestNumber = transportPortDestNumber;
+        writableCore().transportPortDestNumber = transportPortDestNumber;
     }
 
     /**
-     * Function that returns networkIpv6Sender
+     * Function that returns networkIpv6Sender as string, for logging and statistics
      *
      * @return Value for networkIpv6Sender
      */
     public String getNetworkIpv6Sender() {
-        return networkIpv6Sender;
+        return core.networkIpv6Sender.toString();
     }
 
     /**
-     * Function that sets networkIpv6Sender
+     * Function that sets networkIpv6Sender from its string representation
      *
      * @param networkIpv6Sender New value for networkIpv6Sender
      */
     public void setNetworkIpv6Sender(String networkIpv6Sender) {
-        this.networkIpv6Sender = networkIpv6Sender;
+        writableCore().networkIpv6Sender = Ipv6Address.parse(networkIpv6Sender);
     }
 
     /**
-     * Function that returns networkIpv6Receiver
+     * Function that returns networkIpv6Sender
+     *
+     * @return Binary value for networkIpv6Sender
+     */
+    public Ipv6Address getNetworkIpv6SenderBinary() {
+        return core.networkIpv6Sender;
+    }
+
+    /**
+     * Function that sets networkIpv6Sender
+     *
+     * @param networkIpv6Sender New binary value for networkIpv6Sender
+     */
+    public void setNetworkIpv6SenderBinary(Ipv6Address networkIpv6Sender) {
+        writableCore().networkIpv6Sender = networkIpv6Sender;
+    }
+
+    /**
+     * Function that returns networkSenderNodeId
+     *
+     * @return Value for networkSenderNodeId
+     */
+    public long getNetworkSenderNodeId() {
+        return core.networkSenderNodeId;
+    }
+
+    /**
+     * Function that sets networkSenderNodeId
+     *
+     * @param networkSenderNodeId New value for networkSenderNodeId
+     */
+    public void setNetworkSenderNodeId(long networkSenderNodeId) {
+        writableCore().networkSenderNodeId = networkSenderNodeId;
+    }
+
+    /**
+     * Function that returns networkIpv6Receiver as string, for logging and statistics
      *
      * @return Value for networkIpv6Receiver
      */
     public String getNetworkIpv6Receiver() {
-        return networkIpv6Receiver;
+        return core.networkIpv6Receiver.toString();
     }
 
     /**
-     * Function that sets networkIpv6Receiver
+     * Function that sets networkIpv6Receiver from its string representation
      *
      * @param networkIpv6Receiver New value for networkIpv6Receiver
      */
     public void setNetworkIpv6Receiver(String networkIpv6Receiver) {
-        this.networkIpv6Receiver = networkIpv6Receiver;
+        writableCore().networkIpv6Receiver = Ipv6Address.parse(networkIpv6Receiver);
+    }
+
+    /**
+     * Function that returns networkIpv6Receiver
+     *
+     * @return Binary value for networkIpv6Receiver
+     */
+    public Ipv6Address getNetworkIpv6ReceiverBinary() {
+        return core.networkIpv6Receiver;
+    }
+
+    /**
+     * Function that sets networkIpv6Receiver
+     *
+     * @param networkIpv6Receiver New binary value for networkIpv6Receiver
+     */
+    public void setNetworkIpv6ReceiverBinary(Ipv6Address networkIpv6Receiver) {
+        writableCore().networkIpv6Receiver = networkIpv6Receiver;
     }
 
     /**
@@ -192,7 +243,7 @@ public class NetworkMessage {
      * @return Value for networkHopLimit
      */
     public int getNetworkHopLimit() {
-        return networkHopLimit;
+        return core.networkHopLimit;
     }
 
     /**
@@ -201,43 +252,97 @@ public class NetworkMessage {
      * @param networkHopLimit New value for networkHopLimit
      */
     public void setNetworkHopLimit(int networkHopLimit) {
-        this.networkHopLimit = networkHopLimit;
+        writableCore().networkHopLimit = networkHopLimit;
     }
 
     /**
-     * Function that returns macSender
+     * Function that returns macSender as string, for logging and statistics
      *
      * @return Value for macSender
      */
     public String getMacSender() {
-        return macSender;
+        return NetworkUtils.macAddressToString(core.macSender);
     }
 
     /**
-     * Function that sets macSender
+     * Function that sets macSender from its string representation
      *
      * @param macSender New value for macSender
      */
     public void setMacSender(String macSender) {
-        this.macSender = macSender;
+        writableCore().macSender = NetworkUtils.macAddressToLong(macSender);
     }
 
     /**
-     * Function that returns macReceiver
+     * Function that returns macSender
+     *
+     * @return Binary value for macSender, NetworkUtils.MAC_ADDRESS_NONE if not set
+     */
+    public long getMacSenderBinary() {
+        return core.macSender;
+    }
+
+    /**
+     * Function that sets macSender
+     *
+     * @param macSender New binary value for macSender
+     */
+    public void setMacSenderBinary(long macSender) {
+        writableCore().macSender = macSender;
+    }
+
+    /**
+     * Function that returns macSenderNodeId
+     *
+     * @return Value for macSenderNodeId
+     */
+    public long getMacSenderNodeId() {
+        return core.macSenderNodeId;
+    }
+
+    /**
+     * Function that sets macSenderNodeId
+     *
+     * @param macSenderNodeId New value for macSenderNodeId
+     */
+    public void setMacSenderNodeId(long macSenderNodeId) {
+        writableCore().macSenderNodeId = macSenderNodeId;
+    }
+
+    /**
+     * Function that returns macReceiver as string, for logging and statistics
      *
      * @return Value for macReceiver
      */
     public String getMacReceiver() {
-        return macReceiver;
+        return NetworkUtils.macAddressToString(core.macReceiver);
     }
 
     /**
-     * Function that sets macReceiver
+     * Function that sets macReceiver from its string representation
      *
      * @param macReceiver New value for macReceiver
      */
     public void setMacReceiver(String macReceiver) {
-        this.macReceiver = macReceiver;
+        writableCore().macReceiver = NetworkUtils.macAddressToLong(macReceiver);
+    }
+
+    /**
+     * Function that returns macReceiver
+     *
+     * @return Binary value for macReceiver, NetworkUtils.MAC_ADDRESS_NONE if not set
+     */
+    public long getMacReceiverBinary() {
+        return core.macReceiver;
+    }
+
+    /**
+     * Function that sets macReceiver
+     *
+     * @param macReceiver New binary value for macReceiver
+     */
+    public void setMacReceiverBinary(long macReceiver) {
+        writableCore().macReceiver = macReceiver;
     }
 
     /**
@@ -246,7 +351,7 @@ public class NetworkMessage {
      * @return Value for macSequenceNumber
      */
     public int getMacSequenceNumber() {
-        return macSequenceNumber;
+        return core.macSequenceNumber;
     }
 
     /**
@@ -255,7 +360,7 @@ public class NetworkMessage {
      * @param macSequenceNumber New value for macSequenceNumber
      */
     public void setMacSequenceNumber(int macSequenceNumber) {
-        this.macSequenceNumber = macSequenceNumber;
+        writableCore().macSequenceNumber = macSequenceNumber;
     }
 
     /**
@@ -354,7 +459,7 @@ public class NetworkMessage {
      * @return Value for simCreateTimeNs
      */
     public long getSimCreateTimeNs() {
-        return simCreateTimeNs;
+        return core.simCreateTimeNs;
     }
 
     /**
@@ -363,7 +468,7 @@ public class NetworkMessage {
      * @param simCreateTimeNs New value for simCreateTimeNs
      */
     public void setSimCreateTimeNs(long simCreateTimeNs) {
-        this.simCreateTimeNs = simCreateTimeNs;
+        writableCore().simCreateTimeNs = simCreateTimeNs;
     }
 
     /**
@@ -499,22 +604,14 @@ public class NetworkMessage {
      */
     public NetworkMessage copy() {
         NetworkMessage copiedMessage = new NetworkMessage();
-        copiedMessage.messageContent = messageContent;
-        copiedMessage.transportSequenceNumber = transportSequenceNumber;
-        copiedMessage.transportPortSourceNumber = transportPortSourceNumber;
-        copiedMessage.transportPortDestNumber = transportPortDestNumber;
-        copiedMessage.networkIpv6Sender = networkIpv6Sender;
-        copiedMessage.networkIpv6Receiver = networkIpv6Receiver;
-        copiedMessage.networkHopLimit = networkHopLimit;
-        copiedMessage.macSender = macSender;
-        copiedMessage.macReceiver = macReceiver;
-        copiedMessage.macSequenceNumber = macSequenceNumber;
+        copiedMessage.core = core;
+        copiedMessage.coreShared = true;
+        coreShared = true;
         copiedMessage.phyDataRateKBits = phyDataRateKBits;
         copiedMessage.phyCodeRate = phyCodeRate;
         copiedMessage.phyBitsPerSignal = phyBitsPerSignal;
         copiedMessage.phySlowTransmissionBits = phySlowTransmissionBits;
         copiedMessage.phyChannelId = phyChannelId;
-        copiedMessage.simCreateTimeNs = simCreateTimeNs;
         copiedMessage.simReceiveTimeNs = simReceiveTimeNs;
         copiedMessage.messageLengthBits = messageLengthBits;
         copiedMessage.applicationLengthBits = applicationLengthBits;
@@ -544,6 +641,20 @@ public class NetworkMessage {
         isWiredMessage = wiredMessage;
     }
 
+    /**
+     * Function that returns the core of this message for changes, copies the core first if it is shared
+     *
+     * @return Core that is only referenced by this message
+     */
+    private MessageCore writableCore() {
+        if (coreShared) {
+            core = core.copy();
+            coreShared = false;
+        }
+
+        return core;
+    }
+
     /**
      * Include all settings in toString method
      *
@@ -552,22 +663,25 @@ public class NetworkMessage {
     @Override
     public String toString() {
         return "NetworkMessage{" +
-                "messageContent='" + messageContent + '\'' +
-                ", transportSequenceNumber=" + transportSequenceNumber +
-                ", transportPortSourceNumber=" + transportPortSourceNumber +
-                ", transportPortDestNumber=" + transportPortDestNumber +
-                ", networkIpv6Sender='" + networkIpv6Sender + '\'' +
-                ", networkIpv6Receiver='" + networkIpv6Receiver + '\'' +
-                ", networkHopLimit=" + networkHopLimit +
-                ", macSender='" + macSender + '\'' +
-                ", macReceiver='" + macReceiver + '\'' +
-                ", macSequenceNumber=" + macSequenceNumber +
+                "messageContent='" + core.messageContent + '\'' +
+                ", messagePayload=" + Arrays.toString(core.messagePayload) +
+                ", transportSequenceNumber=" + core.transportSequenceNumber +
+                ", transportPortSourceNumber=" + core.transportPortSourceNumber +
+                ", transportPortDestNumber=" + core.transportPortDestNumber +
+                ", networkIpv6Sender='" + getNetworkIpv6Sender() + '\'' +
+                ", networkSenderNodeId=" + core.networkSenderNodeId +
+                ", networkIpv6Receiver='" + getNetworkIpv6Receiver() + '\'' +
+                ", networkHopLimit=" + core.networkHopLimit +
+                ", macSender='" + getMacSender() + '\'' +
+                ", macSenderNodeId=" + core.macSenderNodeId +
+                ", macReceiver='" + getMacReceiver() + '\'' +
+                ", macSequenceNumber=" + core.macSequenceNumber +
                 ", phyDataRateKBits=" + phyDataRateKBits +
                 ", phyCodeRate=" + phyCodeRate +
                 ", phyBitsPerSignal=" + phyBitsPerSignal +
                 ", phySlowTransmissionBits=" + phySlowTransmissionBits +
                 ", phyChannelId=" + phyChannelId +
-                ", simCreateTimeNs=" + simCreateTimeNs +
+                ", simCreateTimeNs=" + core.simCreateTimeNs +
                 ", simReceiveTimeNs=" + simReceiveTimeNs +
                 ", messageLengthBits=" + messageLengthBits +
                 ", applicationLengthBits=" + applicationLengthBits +
@@ -578,4 +692,76 @@ public class NetworkMessage {
                 ", isWiredMessage=" + isWiredMessage +
                 '}';
     }
+
+    /**
+     * Contents and header fields of a message that are set by the sender and shared between copies
+     */
+    private static final class MessageCore {
+
+        /** Contents of message */
+        String messageContent = "";
+
+        /** Binary contents of message, shared between copies and thus never modified after it is set */
+        float[] messagePayload = null;
+
+        /** Possible transport sequence number */
+        int transportSequenceNumber = 0;
+
+        /** Possible transport port source number */
+        int transportPortSourceNumber = 0;
+
+        /** Possible transport port destination number */
+        int transportPortDestNumber = 0;
+
+        /** Possible IPv6 address of the sender */
+        Ipv6Address networkIpv6Sender = Ipv6Address.UNSPECIFIED;
+
+        /** Id of the network node that set the IPv6 sender address, -1 if unknown */
+        long networkSenderNodeId = -1L;
+
+        /** Possible IPv6 address of the receiver */
+        Ipv6Address networkIpv6Receiver = Ipv6Address.UNSPECIFIED;
+
+        /** Possible IPv6 hop count */
+        int networkHopLimit = 0;
+
+        /** MAC address of the sender */
+        long macSender = NetworkUtils.MAC_ADDRESS_NONE;
+
+        /** Id of the network node that set the MAC sender address, -1 if unknown */
+        long macSenderNodeId = -1L;
+
+        /** MAC address of the receiver */
+        long macReceiver = NetworkUtils.MAC_ADDRESS_NONE;
+
+        /** Possible MAC sequence number */
+        int macSequenceNumber = 0;
+
+        /** Time of creation of the message in simulation, in nanoseconds */
+        long simCreateTimeNs = 0;
+
+        /**
+         * Function that returns a copy of the core
+         *
+         * @return Copy of the core
+         */
+        MessageCore copy() {
+            MessageCore copiedCore = new MessageCore();
+            copiedCore.messageContent = messageContent;
+            copiedCore.messagePayload = messagePayload;
+            copiedCore.transportSequenceNumber = transportSequenceNumber;
+            copiedCore.transportPortSourceNumber = transportPortSourceNumber;
+            copiedCore.transportPortDestNumber = transportPortDestNumber;
+            copiedCore.networkIpv6Sender = networkIpv6Sender;
+            copiedCore.networkSenderNodeId = networkSenderNodeId;
+            copiedCore.networkIpv6Receiver = networkIpv6Receiver;
+            copiedCore.networkHopLimit = networkHopLimit;
+            copiedCore.macSender = macSender;
+            copiedCore.macSenderNodeId = macSenderNodeId;
+            copiedCore.macReceiver = macReceiver;
+            copiedCore.macSequenceNumber = macSequenceNumber;
+            copiedCore.simCreateTimeNs = simCreateTimeNs;
+            return copiedCore;
+        }
+    }
 }
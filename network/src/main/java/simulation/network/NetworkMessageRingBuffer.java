@@ -0,0 +1,168 @@
+package simulation.network;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Ring buffer with fixed capacity for recently received messages of one sender, ordered by receive time.
+ * Adding a message to a full buffer replaces the oldest message. Messages are received in the order of the
+ * simulation time, thus expired messages are always at the oldest end of the buffer.
+ */
+public final class NetworkMessageRingBuffer {
+
+    /** Messages in the range from head to head + size, wrapped around the end of the array */
+    private final NetworkMessage[] messages;
+
+    /** Index of the oldest message */
+    private int head = 0;
+
+    /** Number of messages in the buffer */
+    private int size = 0;
+
+    /**
+     * Constructor for an empty buffer
+     *
+     * @param capacity Maximum number of messages, at least one
+     */
+    public NetworkMessageRingBuffer(int capacity) {
+        if (capacity <= 0) {
+            throw new IllegalArgumentException("NetworkMessageRingBuffer - Capacity needs to be positive: " + capacity);
+        }
+
+        messages = new NetworkMessage[capacity];
+    }
+
+    /**
+     * Function that returns the maximum number of messages
+     *
+     * @return Capacity of the buffer
+     */
+    public int getCapacity() {
+        return messages.length;
+    }
+
+    /**
+     * Function that returns the number of messages
+     *
+     * @return Number of messages in the buffer
+     */
+    public synchronized int size() {
+        return size;
+    }
+
+    /**
+     * Function that checks if the buffer is empty
+     *
+     * @return True if there are no messages in the buffer, otherwise false
+     */
+    public synchronized boolean isEmpty() {
+        return size == 0;
+    }
+
+    /**
+     * Function that adds a message as newest message, replaces the oldest message if the buffer is full
+     *
+     * @param message Message to be added
+     */
+    public synchronized void add(NetworkMessage message) {
+        if (size == messages.length) {
+            messages[head] = message;
+            head = next(head);
+        } else {
+            messages[index(size)] = message;
+            ++size;
+        }
+    }
+
+    /**
+     * Function that returns a message by its age
+     *
+     * @param age Position counted from the newest message, 0 is the newest message
+     * @return Message at the position, null if there is no message at the position
+     */
+    public synchronized NetworkMessage get(int age) {
+        if (age < 0 || age >= size) {
+            return null;
+        }
+
+        return messages[index(size - 1 - age)];
+    }
+
+    /**
+     * Function that returns the newest message
+     *
+     * @return Newest message, null if the buffer is empty
+     */
+    public NetworkMessage getNewest() {
+        return get(0);
+    }
+
+    /**
+     * Function that removes all messages from the oldest end that were received at least maxAgeNs before a time
+     *
+     * @param currentTimeNs Current simulation time in nanoseconds
+     * @param maxAgeNs Time in nanoseconds after which a message is removed
+     * @return Number of removed messages
+     */
+    public synchronized int removeExpired(long currentTimeNs, long maxAgeNs) {
+        int removed = 0;
+
+        while (size > 0 && (currentTimeNs - messages[head].getSimReceiveTimeNs()) >= maxAgeNs) {
+            messages[head] = null;
+            head = next(head);
+            --size;
+            ++removed;
+        }
+
+        return removed;
+    }
+
+    /**
+     * Function that returns all messages
+     *
+     * @return New list of the messages, newest message first
+     */
+    public synchronized List<NetworkMessage> toList() {
+        List<NetworkMessage> list = new ArrayList<>(size);
+
+        for (int age = 0; age < size; ++age) {
+            list.add(messages[index(size - 1 - age)]);
+        }
+
+        return list;
+    }
+
+    /**
+     * Function that returns the array index of a message
+     *
+     * @param offset Position counted from the oldest message
+     * @return Array index of the message
+     */
+    private int index(int offset) {
+        int index = head + offset;
+        return (index >= messages.length ? index - messages.length : index);
+    }
+
+    /**
+     * Function that returns the array index after an index
+     *
+     * @param index Array index
+     * @return Following array index, wrapped around the end of the array
+     */
+    private int next(int index) {
+        return (index + 1 == messages.length ? 0 : index + 1);
+    }
+
+    /**
+     * Improved toString() method to get more information
+     *
+     * @return String of information about object
+     */
+    @Override
+    public synchronized String toString() {
+        return "NetworkMessageRingBuffer{" +
+                "capacity=" + messages.length +
+                ", messages=" + toList() +
+                '}';
+    }
+}
@@ -25,14 +25,23 @@ public class NetworkNode implements NetworkEventHandler {
     /** IPv6 address of this network node */
     private String ipv6Address = "";
 
+    /** Binary MAC address of this network node, compared with the addresses of received messages */
+    private long macAddressBinary = NetworkUtils.MAC_ADDRESS_NONE;
+
+    /** Binary IPv6 address of this network node, shared by all messages that are sent by this node */
+    private Ipv6Address ipv6AddressBinary = Ipv6Address.UNSPECIFIED;
+
     /** List of tasks for this network node */
     private List<NetworkTask> networkTaskList = Collections.synchronizedList(new LinkedList<NetworkTask>());
 
-    /** Map of recently received messages, key is mac address */
-    private Map<String, List<NetworkMessage>> recentMacMessagesMap = Collections.synchronizedMap(new HashMap<>());
+    /** Tasks that handle an event id in the order of networkTaskList, built when the tasks are initialized */
+    private final Map<NetworkDiscreteEventId, NetworkTask[]> eventTaskMap = new EnumMap<>(NetworkDiscreteEventId.class);
+
+    /** Map of recently received messages, key is id of the node with the mac sender address */
+    private Map<Long, NetworkMessageRingBuffer> recentMacMessagesMap = Collections.synchronizedMap(new HashMap<>());
 
-    /** Map of recently received messages, key is ipv6 address */
-    private Map<String, List<NetworkMessage>> recentIpv6MessagesMap = Collections.synchronizedMap(new HashMap<>());
+    /** Map of recently received messages, key is id of the node with the ipv6 sender address */
+    private Map<Long, NetworkMessageRingBuffer> recentIpv6MessagesMap = Collections.synchronizedMap(new HashMap<>());
 
     /** Map of sending channels, key is channel id, value is count */
     private Map<Integer, Integer> sendingChannelsMap = Collections.synchronizedMap(new HashMap<>());
@@ -61,8 +70,13 @@ public class NetworkNode implements NetworkEventHandler {
      */
     @Override
     public void handleNetworkEvent(NetworkDiscreteEvent event) {
-        // Just ask all tasks to process event
-        for (NetworkTask task : networkTaskList) {
+        // Ask all tasks that handle the event id to process event
+        NetworkTask[] tasks = eventTaskMap.get(event.getNetworkEventId());
+        if (tasks == null) {
+            return;
+        }
+
+        for (NetworkTask task : tasks) {
             task.handleNetworkEvent(event);
         }
     }
@@ -85,6 +99,24 @@ public class NetworkNode implements NetworkEventHandler {
         return ipv6Address;
     }
 
+    /**
+     * Function that returns the binary representation of macAddress
+     *
+     * @return MAC address as 48 bit value, NetworkUtils.MAC_ADDRESS_NONE if the node has no MAC address
+     */
+    public long getMacAddressBinary() {
+        return macAddressBinary;
+    }
+
+    /**
+     * Function that returns the binary representation of ipv6Address
+     *
+     * @return Binary IPv6 address
+     */
+    public Ipv6Address getIpv6AddressBinary() {
+        return ipv6AddressBinary;
+    }
+
     /**
      * Function that returns a specific network task from this network node, if available
      * If it is not present, empty optional is returned
@@ -113,23 +145,44 @@ public class NetworkNode implements NetworkEventHandler {
     }
 
     /**
-     * Get recent messages map, key is mac address
+     * Get recent messages map, key is id of the node with the mac sender address
      *
      * @return Recent mac messages map
      */
-    public Map<String, List<NetworkMessage>> getRecentMacMessagesMap() {
+    public Map<Long, NetworkMessageRingBuffer> getRecentMacMessagesMap() {
         return recentMacMessagesMap;
     }
 
     /**
-     * Get recent messages map, key is ipv6 address
+     * Get recent messages map, key is id of the node with the ipv6 sender address
      *
      * @return Recent ipv6 messages map
      */
-    public Map<String, List<NetworkMessage>> getRecentIpv6MessagesMap() {
+    public Map<Long, NetworkMessageRingBuffer> getRecentIpv6MessagesMap() {
         return recentIpv6MessagesMap;
     }
 
+    /**
+     * Function that returns the ipv6 addresses of all senders in the recent ipv6 messages map
+     *
+     * @return New set of ipv6 sender addresses
+     */
+    public Set<String> getRecentIpv6Senders() {
+        Set<String> senders = new HashSet<>();
+
+        synchronized (recentIpv6MessagesMap) {
+            for (NetworkMessageRingBuffer buffer : recentIpv6MessagesMap.values()) {
+                NetworkMessage message = buffer.getNewest();
+
+                if (message != null) {
+                    senders.add(message.getNetworkIpv6Sender());
+                }
+            }
+        }
+
+        return senders;
+    }
+
     /**
      * Function that returns sendingChannelsMap
      *
@@ -205,6 +258,14 @@ public class NetworkNode implements NetworkEventHandler {
         if (NetworkSimulator.getInstance().getNetworkSettings().getSettingsId() == NetworkSettingsId.NETWORK_SETTINGS_ID_CELLULAR) {
             macAddress = "";
         }
+
+        // Binary addresses for comparisons in the tasks
+        try {
+            ipv6AddressBinary = Ipv6Address.parse(ipv6Address);
+            macAddressBinary = NetworkUtils.macAddressToLong(macAddress);
+        } catch (IllegalArgumentException e) {
+            Log.warning("NetworkNode - Invalid network address, check network settings: " + e.getMessage());
+        }
     }
 
     /**
@@ -222,12 +283,27 @@ public class NetworkNode implements NetworkEventHandler {
             networkTaskList.add(NetworkTaskCreator.createTaskForNode(taskId, this));
         }
 
+        // Build dispatch table, tasks specify their event ids on creation
+        for (NetworkDiscreteEventId eventId : NetworkDiscreteEventId.values()) {
+            List<NetworkTask> eventTasks = new ArrayList<>();
+
+            for (NetworkTask task : networkTaskList) {
+                if (task.handlesEventId(eventId)) {
+                    eventTasks.add(task);
+                }
+            }
+
+            if (!eventTasks.isEmpty()) {
+                eventTaskMap.put(eventId, eventTasks.toArray(new NetworkTask[0]));
+            }
+        }
+
         // Compute random start time for tasks with network settings
         long startTime = MathHelper.randomLong(NetworkSimulator.getInstance().getNetworkSettings().getMinTaskStartTimeNs(), NetworkSimulator.getInstance().getNetworkSettings().getMaxTaskStartTimeNs());
 
         // Create event for initial tasks with random start time and empty message
         NetworkMessage message = new NetworkMessage();
-        NetworkDiscreteEvent event = new NetworkDiscreteEvent(startTime, NetworkDiscreteEventId.NETWORK_EVENT_ID_RANDOM_START_INITIALIZE, this, message);
+        NetworkDiscreteEvent event = NetworkSimulator.getInstance().obtainEvent(startTime, NetworkDiscreteEventId.NETWORK_EVENT_ID_RANDOM_START_INITIALIZE, this, message);
         NetworkSimulator.getInstance().scheduleEvent(event);
     }
 
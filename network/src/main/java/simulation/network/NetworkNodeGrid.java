@@ -0,0 +1,163 @@
+package simulation.network;
+
+import org.apache.commons.math3.linear.RealVector;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * Uniform grid over the x and y positions of network nodes that answers which nodes are within a given range
+ * of a position. The positions are captured when the grid is built, thus it needs to be rebuilt when the nodes move.
+ * Nodes of one cell are stored next to each other, cells are sorted by their key.
+ */
+final class NetworkNodeGrid {
+
+    /** Nodes in the order of their registration */
+    private final NetworkNode[] nodes;
+
+    /** X positions of the nodes at the time the grid was built */
+    private final double[] posX;
+
+    /** Y positions of the nodes at the time the grid was built */
+    private final double[] posY;
+
+    /** Edge length of a cell */
+    private final double cellSize;
+
+    /** Cell keys of the nodes, sorted ascending */
+    private final long[] sortedKeys;
+
+    /** Node indices in the order of sortedKeys */
+    private final int[] sortedIndices;
+
+    /**
+     * Constructor that captures the current positions of all nodes
+     *
+     * @param nodes Nodes in the order of their registration
+     * @param cellSize Edge length of a cell, should be close to the range of the queries
+     */
+    NetworkNodeGrid(List<NetworkNode> nodes, double cellSize) {
+        this.nodes = nodes.toArray(new NetworkNode[0]);
+        this.cellSize = cellSize;
+        this.posX = new double[this.nodes.length];
+        this.posY = new double[this.nodes.length];
+
+        // Sort node indices by cell key, nodes of the same cell stay in the order of their registration
+        long[] keys = new long[this.nodes.length];
+        Integer[] order = new Integer[this.nodes.length];
+
+        for (int i = 0; i < this.nodes.length; ++i) {
+            RealVector pos = this.nodes[i].getPhysicalObject().getGeometryPos();
+            posX[i] = pos.getEntry(0);
+            posY[i] = pos.getEntry(1);
+            keys[i] = cellKey(cell(posX[i]), cell(posY[i]));
+            order[i] = i;
+        }
+
+        Arrays.sort(order, (a, b) -> Long.compare(keys[a], keys[b]));
+
+        this.sortedKeys = new long[this.nodes.length];
+        this.sortedIndices = new int[this.nodes.length];
+
+        for (int i = 0; i < order.length; ++i) {
+            sortedIndices[i] = order[i];
+            sortedKeys[i] = keys[order[i]];
+        }
+    }
+
+    /**
+     * Getter for cell size
+     * @return Edge length of a cell
+     */
+    double getCellSize() {
+        return cellSize;
+    }
+
+    /**
+     * Getter for all nodes
+     * @return Unmodifiable list of all nodes in the order of their registration
+     */
+    List<NetworkNode> getNodes() {
+        return Collections.unmodifiableList(Arrays.asList(nodes));
+    }
+
+    /**
+     * Function that returns all nodes whose x and y position is within a range of a position
+     *
+     * @param x X position of the center
+     * @param y Y position of the center
+     * @param range Maximum distance in the x y plane, inclusive
+     * @return Nodes within the range in the order of their registration
+     */
+    List<NetworkNode> getNodesInRange(double x, double y, double range) {
+        long minCellX = cell(x - range);
+        long maxCellX = cell(x + range);
+        long minCellY = cell(y - range);
+        long maxCellY = cell(y + range);
+        double rangeSquared = range * range;
+        int[] found = new int[8];
+        int count = 0;
+
+        for (long cellX = minCellX; cellX <= maxCellX; ++cellX) {
+            for (long cellY = minCellY; cellY <= maxCellY; ++cellY) {
+                long key = cellKey(cellX, cellY);
+                int pos = Arrays.binarySearch(sortedKeys, key);
+
+                if (pos < 0) {
+                    continue;
+                }
+
+                // Binary search finds any entry of the cell, go to the first one
+                while (pos > 0 && sortedKeys[pos - 1] == key) {
+                    --pos;
+                }
+
+                for (; pos < sortedKeys.length && sortedKeys[pos] == key; ++pos) {
+                    int index = sortedIndices[pos];
+                    double dx = posX[index] - x;
+                    double dy = posY[index] - y;
+
+                    if (dx * dx + dy * dy <= rangeSquared) {
+                        if (count == found.length) {
+                            found = Arrays.copyOf(found, 2 * count);
+                        }
+
+                        found[count++] = index;
+                    }
+                }
+            }
+        }
+
+        Arrays.sort(found, 0, count);
+        List<NetworkNode> result = new ArrayList<>(count);
+
+        for (int i = 0; i < count; ++i) {
+            result.add(nodes[found[i]]);
+        }
+
+        return result;
+    }
+
+    /**
+     * Function that returns the cell coordinate of a position coordinate
+     *
+     * @param coordinate X or y position
+     * @return Cell coordinate
+     */
+    private long cell(double coordinate) {
+        return (long) Math.floor(coordinate / cellSize);
+    }
+
+    /**
+     * Function that combines two cell coordinates into one key
+     *
+     * @param cellX Cell x coordinate
+     * @param cellY Cell y coordinate
+     * @return Key of the cell
+     */
+    private static long cellKey(long cellX, long cellY) {
+        return (cellX << 32) ^ (cellY & 0xFFFFFFFFL);
+    }
+}
@@ -24,12 +24,18 @@ public abstract class NetworkSettings {
     /** IPv6 link local multicast address of network, needs to consist of 32 characters, hex representation */
     private String ipv6LinkLocalMulticastAddress = "ff020000000000000000000000000001";
 
+    /** Binary IPv6 link local multicast address of network, shared by all messages that are sent to it */
+    private Ipv6Address ipv6LinkLocalMulticastAddressBinary = Ipv6Address.parse(ipv6LinkLocalMulticastAddress);
+
     /** MAC prefix of network, needs to consist of 2 characters, hex representation */
     private String macPrefix = "fe";
 
     /** MAC broadcast address of network, needs to consist of 12 characters, hex representation */
     private String macBroadcastAddress = "ffffffffffff";
 
+    /** Binary MAC broadcast address of network */
+    private long macBroadcastAddressBinary = NetworkUtils.macAddressToLong(macBroadcastAddress);
+
     /** Initial parts of message are always transmitted at slow data rate (e.g. preamble), measured in kilobits per second */
     private int slowDataRateKBits = 1000;
 
@@ -65,6 +71,9 @@ public abstract class NetworkSettings {
     /** Network channel objects that is responsible for the computation of new transmissions */
     private NetworkChannelModel networkChannelModel = null;
 
+    /** Boolean flag indicating if network events are scheduled in a calendar queue instead of the event list of the discrete event simulator */
+    private boolean calendarEventQueueEnabled = false;
+
     /**
      * Function that returns settingsId
      *
@@ -135,6 +144,16 @@ public abstract class NetworkSettings {
      */
     protected void setIpv6LinkLocalMulticastAddress(String ipv6LinkLocalMulticastAddress) {
         this.ipv6LinkLocalMulticastAddress = ipv6LinkLocalMulticastAddress;
+        this.ipv6LinkLocalMulticastAddressBinary = Ipv6Address.parse(ipv6LinkLocalMulticastAddress);
+    }
+
+    /**
+     * Function that returns the binary representation of ipv6LinkLocalMulticastAddress
+     *
+     * @return Binary IPv6 link local multicast address of network
+     */
+    public Ipv6Address getIpv6LinkLocalMulticastAddressBinary() {
+        return ipv6LinkLocalMulticastAddressBinary;
     }
 
     /**
@@ -171,6 +190,16 @@ public abstract class NetworkSettings {
      */
     protected void setMacBroadcastAddress(String macBroadcastAddress) {
         this.macBroadcastAddress = macBroadcastAddress;
+        this.macBroadcastAddressBinary = NetworkUtils.macAddressToLong(macBroadcastAddress);
+    }
+
+    /**
+     * Get binary MAC broadcast address of network
+     *
+     * @return MAC broadcast address of network as 48 bit value, NetworkUtils.MAC_ADDRESS_NONE if there is none
+     */
+    public long getMacBroadcastAddressBinary() {
+        return macBroadcastAddressBinary;
     }
 
     /**
@@ -371,6 +400,24 @@ public abstract class NetworkSettings {
         this.networkChannelModel = networkChannelModel;
     }
 
+    /**
+     * Function that returns calendarEventQueueEnabled
+     *
+     * @return Value for calendarEventQueueEnabled
+     */
+    public boolean isCalendarEventQueueEnabled() {
+        return calendarEventQueueEnabled;
+    }
+
+    /**
+     * Function that sets calendarEventQueueEnabled, needs to be set before the first event is scheduled
+     *
+     * @param calendarEventQueueEnabled New value for calendarEventQueueEnabled
+     */
+    public void setCalendarEventQueueEnabled(boolean calendarEventQueueEnabled) {
+        this.calendarEventQueueEnabled = calendarEventQueueEnabled;
+    }
+
     /**
      * Improved toString() method to get more information
      *
@@ -396,6 +443,7 @@ public abstract class NetworkSettings {
                 ", maximumLocalDelayPerLayer=" + maximumLocalDelayPerLayer +
                 ", networkTaskIdMap=" + networkTaskIdMap +
                 ", networkChannelModel=" + networkChannelModel +
+                ", calendarEventQueueEnabled=" + calendarEventQueueEnabled +
                 '}';
     }
 }
@@ -4,15 +4,19 @@ import commons.simulation.DiscreteEvent;
 import commons.simulation.DiscreteEventSimulator;
 import commons.simulation.PhysicalObject;
 import commons.simulation.SimulationLoopExecutable;
+import org.apache.commons.math3.linear.RealVector;
 import simulation.network.settings.SettingsCellular;
 import simulation.network.settings.SettingsDirect;
 import simulation.network.settings.SettingsSimple;
 import simulation.util.Log;
 import simulation.vehicle.PhysicalVehicle;
 
+import java.util.ArrayDeque;
 import java.util.Collections;
+import java.util.Deque;
 import java.util.LinkedList;
 import java.util.List;
+import java.util.PriorityQueue;
 
 /**
  * Singleton class that can be registered to the simulator for autonomously driving vehicles
@@ -32,6 +36,27 @@ public class NetworkSimulator extends DiscreteEventSimulator {
     /** Network settings for this network simulator */
     private NetworkSettings networkSettings = null;
 
+    /** Spatial index of the network nodes, rebuilt on demand after the nodes changed or moved */
+    private NetworkNodeGrid nodeGrid = null;
+
+    /** Ids of the physical objects, captured on demand after the objects changed */
+    private PhysicalObjectIds objectIds = null;
+
+    /** Maximum number of processed events that are kept for reuse */
+    private static final int EVENT_POOL_MAX_SIZE = 4096;
+
+    /** Processed events that are reused for new events */
+    private final Deque<NetworkDiscreteEvent> eventPool = new ArrayDeque<>();
+
+    /** Calendar queue for network events if enabled in network settings, null if events are scheduled in the event list */
+    private NetworkEventCalendarQueue calendarQueue = null;
+
+    /** Times of the wake up events in the event list that process the calendar queue, earliest first */
+    private final PriorityQueue<Long> calendarWakeUpTimes = new PriorityQueue<>();
+
+    /** Time until which events of the calendar queue are currently processed, Long.MIN_VALUE if not processing */
+    private long calendarProcessingTimeNs = Long.MIN_VALUE;
+
     /**
      * NetworkSimulator constructor, only called by getInstance singleton function
      * All settings for the network simulation are defined here
@@ -83,6 +108,20 @@ public class NetworkSimulator extends DiscreteEventSimulator {
     protected void setPhysicalObjects(List<PhysicalObject> physicalObjects) {
         this.physicalObjects.clear();
         this.physicalObjects.addAll(Collections.synchronizedList(new LinkedList<>(physicalObjects)));
+        invalidatePositions();
+    }
+
+    /**
+     * Get the ids of all physical objects, captured once per simulation loop iteration
+     *
+     * @return Sorted ids of the physical objects
+     */
+    synchronized PhysicalObjectIds getPhysicalObjectIds() {
+        if (objectIds == null) {
+            objectIds = new PhysicalObjectIds(physicalObjects);
+        }
+
+        return objectIds;
     }
 
     /**
@@ -102,6 +141,48 @@ public class NetworkSimulator extends DiscreteEventSimulator {
     protected void setNetworkNodes(List<NetworkNode> networkNodes) {
         this.networkNodes.clear();
         this.networkNodes.addAll(Collections.synchronizedList(new LinkedList<>(networkNodes)));
+        invalidatePositions();
+    }
+
+    /**
+     * Get network nodes whose position in the x y plane is within a range of the position of a node,
+     * including the node itself. Positions are captured once per simulation loop iteration.
+     *
+     * @param node Node at the center of the range
+     * @param range Maximum distance to the node, Double.POSITIVE_INFINITY for all network nodes
+     * @return Unmodifiable list of network nodes within the range in the order of their registration
+     */
+    public List<NetworkNode> getNetworkNodesInRange(NetworkNode node, double range) {
+        if (Double.isInfinite(range)) {
+            return getNodeGrid(Double.POSITIVE_INFINITY).getNodes();
+        }
+
+        RealVector pos = node.getPhysicalObject().getGeometryPos();
+        return Collections.unmodifiableList(getNodeGrid(range).getNodesInRange(pos.getEntry(0), pos.getEntry(1), range));
+    }
+
+    /**
+     * Get the spatial index of the network nodes, builds a new one if the nodes changed or moved
+     * or if the index was built for a different cell size
+     *
+     * @param cellSize Edge length of the cells of the index
+     * @return Spatial index of the current network nodes
+     */
+    private synchronized NetworkNodeGrid getNodeGrid(double cellSize) {
+        if (nodeGrid == null || nodeGrid.getCellSize() != cellSize) {
+            nodeGrid = new NetworkNodeGrid(networkNodes, cellSize);
+        }
+
+        return nodeGrid;
+    }
+
+    /**
+     * Discards the spatial index of the network nodes and the ids of the physical objects,
+     * such that they are captured again with the current positions and objects
+     */
+    private synchronized void invalidatePositions() {
+        nodeGrid = null;
+        objectIds = null;
     }
 
     /**
@@ -122,6 +203,135 @@ public class NetworkSimulator extends DiscreteEventSimulator {
         this.networkSettings = networkSettings;
     }
 
+    /**
+     * Function that returns a network event, reuses a processed event if available
+     * The returned event is returned to the event pool after it was processed, thus it must not be
+     * referenced anymore once it was processed or skipped after cancellation. Use a NetworkEventHandle
+     * to keep a reference to a scheduled event
+     *
+     * @param eventTimeNs Time of the event measured in nanoseconds
+     * @param eventId Id of the event
+     * @param networkNode Network node related to this event
+     * @param eventMessage Message of the event
+     * @return Network event with the given values
+     */
+    public synchronized NetworkDiscreteEvent obtainEvent(long eventTimeNs, NetworkDiscreteEventId eventId, NetworkNode networkNode, NetworkMessage eventMessage) {
+        return obtainEvent(eventTimeNs, eventId, networkNode, eventMessage, null);
+    }
+
+    /**
+     * Function that schedules a timer event for a network task, timer events have no message
+     * The event is only handled by the task that scheduled it, see NetworkTask.isOwnTimer()
+     *
+     * @param eventTimeNs Time of the timer measured in nanoseconds
+     * @param eventId Id of the timer event
+     * @param task Task that is notified when the timer expires
+     * @return Handle of the scheduled timer event, cancelling it has no effect once the timer expired
+     */
+    public synchronized NetworkEventHandle scheduleTimer(long eventTimeNs, NetworkDiscreteEventId eventId, NetworkTask task) {
+        NetworkDiscreteEvent event = obtainEvent(eventTimeNs, eventId, task.getNetworkNode(), null, task.getTaskId());
+        NetworkEventHandle handle = new NetworkEventHandle(event);
+        scheduleEvent(event);
+        return handle;
+    }
+
+    /**
+     * Function that returns a network event from the event pool or a new one if the pool is empty
+     *
+     * @param eventTimeNs Time of the event measured in nanoseconds
+     * @param eventId Id of the event
+     * @param networkNode Network node related to this event
+     * @param eventMessage Message of the event, null for timer events
+     * @param timerTaskId Task id of the task that scheduled the timer, null for other events
+     * @return Network event with the given values
+     */
+    private NetworkDiscreteEvent obtainEvent(long eventTimeNs, NetworkDiscreteEventId eventId, NetworkNode networkNode, NetworkMessage eventMessage, NetworkTaskId timerTaskId) {
+        NetworkDiscreteEvent event = eventPool.pollFirst();
+
+        if (event == null) {
+            event = new NetworkDiscreteEvent(eventTimeNs, eventId, networkNode, eventMessage);
+            event.setPooled(true);
+        }
+
+        event.reset(eventTimeNs, eventId, networkNode, eventMessage, timerTaskId);
+        return event;
+    }
+
+    /**
+     * Function that returns a processed event to the event pool if it was taken from it
+     * Handles of the event do not refer to it anymore afterwards
+     *
+     * @param event Processed event
+     */
+    private synchronized void releaseEvent(NetworkDiscreteEvent event) {
+        event.nextGeneration();
+
+        if (event.isPooled() && eventPool.size() < EVENT_POOL_MAX_SIZE) {
+            // Keep time and id, release references to node and message
+            event.reset(event.getEventTime(), event.getNetworkEventId(), null, null, null);
+            eventPool.addFirst(event);
+        }
+    }
+
+    /**
+     * Function that schedules a network event
+     * If the calendar queue is enabled in the network settings, the event is put into the calendar queue
+     * and the event list of the discrete event simulator only holds wake up events that process it
+     *
+     * @param event Event to be scheduled
+     */
+    public synchronized void scheduleEvent(NetworkDiscreteEvent event) {
+        if (calendarQueue == null && networkSettings.isCalendarEventQueueEnabled()) {
+            calendarQueue = new NetworkEventCalendarQueue();
+        }
+
+        if (calendarQueue == null) {
+            super.scheduleEvent(event);
+            return;
+        }
+
+        calendarQueue.add(event);
+        scheduleCalendarWakeUp(event.getEventTime());
+    }
+
+    /**
+     * Function that ensures that the calendar queue is processed at a time, adds a wake up event to the
+     * event list if there is no earlier one and the time is not processed already
+     *
+     * @param timeNs Time of the earliest event in the calendar queue
+     */
+    private void scheduleCalendarWakeUp(long timeNs) {
+        if (timeNs <= calendarProcessingTimeNs) {
+            return;
+        }
+
+        if (calendarWakeUpTimes.isEmpty() || timeNs < calendarWakeUpTimes.peek()) {
+            calendarWakeUpTimes.add(timeNs);
+            super.scheduleEvent(new CalendarWakeUpEvent(timeNs));
+        }
+    }
+
+    /**
+     * Function that processes all events of the calendar queue up to the time of a wake up event,
+     * including events that are scheduled for this time while processing
+     *
+     * @param wakeUpEvent Wake up event that is processed
+     */
+    private synchronized void processCalendarQueue(DiscreteEvent wakeUpEvent) {
+        calendarWakeUpTimes.remove(wakeUpEvent.getEventTime());
+        calendarProcessingTimeNs = wakeUpEvent.getEventTime();
+
+        while (!calendarQueue.isEmpty() && calendarQueue.peek().getEventTime() <= calendarProcessingTimeNs) {
+            processNetworkEvent(calendarQueue.poll());
+        }
+
+        calendarProcessingTimeNs = Long.MIN_VALUE;
+
+        if (!calendarQueue.isEmpty()) {
+            scheduleCalendarWakeUp(calendarQueue.peek().getEventTime());
+        }
+    }
+
     /**
      * Function that needs to be implemented in subclasses of DiscreteEventSimulator for processing events
      *
@@ -130,41 +340,58 @@ public class NetworkSimulator extends DiscreteEventSimulator {
     @Override
     protected void processEvent(DiscreteEvent event) {
         // Only process events for this simulator
-        if (event instanceof NetworkDiscreteEvent) {
-            // Convert event type
-            NetworkDiscreteEvent networkEvent = (NetworkDiscreteEvent)(event);
-
-            // Forward event to network node to allow for some changes before general mechanisms begin
-            networkEvent.getNetworkNode().handleNetworkEvent(networkEvent);
-
-            // General processing and statistics
-            switch (networkEvent.getNetworkEventId()) {
-                case NETWORK_EVENT_ID_PHY_RECEIVE_INTERRUPTION_DETECTED:
-                    NetworkStatistics.getInstance().processReceiveInterruptionPhy();
-                    break;
-                case NETWORK_EVENT_ID_PHY_SEND_START:
-                    networkSettings.getNetworkChannelModel().handleNetworkEvent(networkEvent);
-                    NetworkStatistics.getInstance().processSendMessageStartPhy(networkEvent.getEventMessage());
-                    break;
-                case NETWORK_EVENT_ID_LINK_RECEIVE:
-                    NetworkStatistics.getInstance().processReceivedMessageLink(networkEvent.getEventMessage());
-                    break;
-                case NETWORK_EVENT_ID_APP_SEND:
-                    networkEvent.getEventMessage().setSimCreateTimeNs(getSimulationTimeNs());
-                    NetworkStatistics.getInstance().processSendMessageApp(networkEvent.getEventMessage());
-                    break;
-                case NETWORK_EVENT_ID_APP_RECEIVE:
-                    networkEvent.getEventMessage().setSimReceiveTimeNs(getSimulationTimeNs());
-                    NetworkUtils.putMessageInNode(networkEvent.getNetworkNode(), networkEvent.getEventMessage());
-                    NetworkStatistics.getInstance().processReceivedMessageApp(networkEvent.getEventMessage());
-                    break;
-                default:
-                    break;
-            }
+        if (event instanceof CalendarWakeUpEvent) {
+            processCalendarQueue(event);
+        } else if (event instanceof NetworkDiscreteEvent) {
+            processNetworkEvent((NetworkDiscreteEvent)(event));
         } else {
             // Warning for invalid events
-            Log.warning("NetworkSimulator - processEvent: Skipped invalid event: " + event);
+            Log.warning(() -> "NetworkSimulator - processEvent: Skipped invalid event: " + event);
+        }
+    }
+
+    /**
+     * Function that processes a network event
+     *
+     * @param networkEvent Event to be processed
+     */
+    private void processNetworkEvent(NetworkDiscreteEvent networkEvent) {
+        // Skip events that were cancelled after they were scheduled
+        if (networkEvent.isCancelled()) {
+            releaseEvent(networkEvent);
+            return;
+        }
+
+        // Forward event to network node to allow for some changes before general mechanisms begin
+        networkEvent.getNetworkNode().handleNetworkEvent(networkEvent);
+
+        // General processing and statistics
+        switch (networkEvent.getNetworkEventId()) {
+            case NETWORK_EVENT_ID_PHY_RECEIVE_INTERRUPTION_DETECTED:
+                NetworkStatistics.getInstance().processReceiveInterruptionPhy();
+                break;
+            case NETWORK_EVENT_ID_PHY_SEND_START:
+                networkSettings.getNetworkChannelModel().handleNetworkEvent(networkEvent);
+                NetworkStatistics.getInstance().processSendMessageStartPhy(networkEvent.getEventMessage());
+                break;
+            case NETWORK_EVENT_ID_LINK_RECEIVE:
+                NetworkStatistics.getInstance().processReceivedMessageLink(networkEvent.getEventMessage());
+                break;
+            case NETWORK_EVENT_ID_APP_SEND:
+                networkEvent.getEventMessage().setSimCreateTimeNs(getSimulationTimeNs());
+                NetworkStatistics.getInstance().processSendMessageApp(networkEvent.getEventMessage());
+                break;
+            case NETWORK_EVENT_ID_APP_RECEIVE:
+                networkEvent.getEventMessage().setSimReceiveTimeNs(getSimulationTimeNs());
+                NetworkUtils.putMessageInNode(networkEvent.getNetworkNode(), networkEvent.getEventMessage());
+                NetworkStatistics.getInstance().processReceivedMessageApp(networkEvent.getEventMessage());
+                break;
+            default:
+                break;
         }
+
+        // Event is not referenced anymore after processing
+        releaseEvent(networkEvent);
     }
 
     /**
@@ -188,9 +415,26 @@ public class NetworkSimulator extends DiscreteEventSimulator {
             }
         }
 
+        invalidatePositions();
+
         networkSettings.getNetworkChannelModel().networkSimulationStart();
     }
 
+    /**
+     * Is called after each loop iteration of the simulation, processes all events until the new simulation time
+     * Objects have moved in the loop iteration, thus the spatial index of the network nodes and the
+     * ids of the physical objects are captured again
+     *
+     * @param simulationObjects List of all simulation objects
+     * @param totalTime Total simulation time in milliseconds
+     * @param deltaTime Duration of last loop iteration in milliseconds
+     */
+    @Override
+    public void didExecuteLoop(List<SimulationLoopExecutable> simulationObjects, long totalTime, long deltaTime) {
+        invalidatePositions();
+        super.didExecuteLoop(simulationObjects, totalTime, deltaTime);
+    }
+
     /**
      * Is called just after the simulation ends
      * Change function to show log output from network statistics
@@ -217,4 +461,54 @@ public class NetworkSimulator extends DiscreteEventSimulator {
                 ", networkSettings=" + networkSettings +
                 '}';
     }
+
+    /**
+     * Event in the event list of the simulator that triggers processing of the calendar queue
+     */
+    private static final class CalendarWakeUpEvent implements DiscreteEvent {
+
+        /** Time of the event */
+        private final long eventTimeNs;
+
+        /**
+         * Constructor for a wake up event
+         *
+         * @param eventTimeNs Time of the event
+         */
+        CalendarWakeUpEvent(long eventTimeNs) {
+            this.eventTimeNs = eventTimeNs;
+        }
+
+        /**
+         * Function that returns the time of the event
+         *
+         * @return Time of the event
+         */
+        @Override
+        public long getEventTime() {
+            return eventTimeNs;
+        }
+
+        /**
+         * Function that returns a numeric identifier for the event
+         *
+         * @return Numeric identifier for the event
+         */
+        @Override
+        public int getEventId() {
+            return NetworkDiscreteEventId.NETWORK_EVENT_ID_NONE.ordinal();
+        }
+
+        /**
+         * Improved toString() method to get more information
+         *
+         * @return String of information about object
+         */
+        @Override
+        public String toString() {
+            return "CalendarWakeUpEvent{" +
+                    "eventTimeNs=" + eventTimeNs +
+                    '}';
+        }
+    }
 }
@@ -73,7 +73,7 @@ public class NetworkStatistics {
         }
 
         if (message.getSimReceiveTimeNs() < message.getSimCreateTimeNs()) {
-            Log.warning("NetworkStatistics - processReceivedMessageApp: Skipped message, receive time is invalid: " + message);
+            Log.warning(() -> "NetworkStatistics - processReceivedMessageApp: Skipped message, receive time is invalid: " + message);
             return;
         }
 
@@ -1,8 +1,11 @@
 package simulation.network;
 
+import java.util.Arrays;
 import java.util.Collections;
+import java.util.EnumSet;
 import java.util.LinkedList;
 import java.util.List;
+import java.util.Set;
 
 import static simulation.network.NetworkTaskId.NETWORK_TASK_ID_NONE;
 
@@ -21,8 +24,11 @@ public abstract class NetworkTask implements NetworkEventHandler {
     /** List of all network event ids that are processed by this task */
     private final List<NetworkDiscreteEventId> taskEventIdList = Collections.synchronizedList(new LinkedList<>());
 
-    /** List of all task notifiable objects */
-    private final List<NetworkTaskNotifiable> taskNotifiableList = Collections.synchronizedList(new LinkedList<>());
+    /** Set of all network event ids that are processed by this task, for fast lookup */
+    private volatile Set<NetworkDiscreteEventId> taskEventIdSet = EnumSet.noneOf(NetworkDiscreteEventId.class);
+
+    /** Array of all task notifiable objects, replaced on changes such that events are handled without locking */
+    private volatile NetworkTaskNotifiable[] taskNotifiables = new NetworkTaskNotifiable[0];
 
     /**
      * Function that returns the task id of the task
@@ -77,6 +83,7 @@ public abstract class NetworkTask implements NetworkEventHandler {
     protected void setTaskEventIdList(List<NetworkDiscreteEventId> taskEventIdList) {
         this.taskEventIdList.clear();
         this.taskEventIdList.addAll(taskEventIdList);
+        this.taskEventIdSet = taskEventIdList.isEmpty() ? EnumSet.noneOf(NetworkDiscreteEventId.class) : EnumSet.copyOf(taskEventIdList);
     }
 
     /**
@@ -85,7 +92,28 @@ public abstract class NetworkTask implements NetworkEventHandler {
      * @return True if this task handles the given event id, otherwise false
      */
     public boolean handlesEventId(NetworkDiscreteEventId eventId) {
-        return taskEventIdList.contains(eventId);
+        return taskEventIdSet.contains(eventId);
+    }
+
+    /**
+     * Function that schedules a timer event without message that is only handled by this task
+     *
+     * @param delayNs Delay of the timer from the current simulation time in nanoseconds
+     * @param eventId Id of the timer event, needs to be handled by this task
+     * @return Handle of the scheduled timer event, cancelling it has no effect once the timer expired
+     */
+    protected NetworkEventHandle scheduleTimer(long delayNs, NetworkDiscreteEventId eventId) {
+        return NetworkSimulator.getInstance().scheduleTimer(NetworkUtils.simTimeWithDelay(delayNs), eventId, this);
+    }
+
+    /**
+     * Function that checks if an event is a timer event that was scheduled by this task
+     *
+     * @param event Event to be checked
+     * @return True if the event is a timer event of this task, otherwise false
+     */
+    protected boolean isOwnTimer(NetworkDiscreteEvent event) {
+        return event.getTimerTaskId() == getTaskId();
     }
 
     /**
@@ -93,8 +121,10 @@ public abstract class NetworkTask implements NetworkEventHandler {
      *
      * @param taskNotifiable Task notifiable to be added
      */
-    public void registerDiscreteEventSimulationNotifiable(NetworkTaskNotifiable taskNotifiable) {
-        taskNotifiableList.add(taskNotifiable);
+    public synchronized void registerDiscreteEventSimulationNotifiable(NetworkTaskNotifiable taskNotifiable) {
+        NetworkTaskNotifiable[] newTaskNotifiables = Arrays.copyOf(taskNotifiables, taskNotifiables.length + 1);
+        newTaskNotifiables[taskNotifiables.length] = taskNotifiable;
+        taskNotifiables = newTaskNotifiables;
     }
 
     /**
@@ -102,8 +132,10 @@ public abstract class NetworkTask implements NetworkEventHandler {
      *
      * @param taskNotifiable Task notifiable to be removed
      */
-    public void unregisterDiscreteEventSimulationNotifiable(NetworkTaskNotifiable taskNotifiable) {
-        taskNotifiableList.remove(taskNotifiable);
+    public synchronized void unregisterDiscreteEventSimulationNotifiable(NetworkTaskNotifiable taskNotifiable) {
+        List<NetworkTaskNotifiable> newTaskNotifiables = new LinkedList<>(Arrays.asList(taskNotifiables));
+        newTaskNotifiables.remove(taskNotifiable);
+        taskNotifiables = newTaskNotifiables.toArray(new NetworkTaskNotifiable[0]);
     }
 
     /**
@@ -125,13 +157,18 @@ public abstract class NetworkTask implements NetworkEventHandler {
             return;
         }
 
+        // Handle event directly if there are no notifiable objects
+        NetworkTaskNotifiable[] notifiables = taskNotifiables;
+        if (notifiables.length == 0) {
+            taskHandleNetworkEvent(event);
+            return;
+        }
+
         // Inform notifiable objects and process return values
         boolean continueProcessing = true;
-        synchronized (taskNotifiableList) {
-            for (NetworkTaskNotifiable taskNotifiable : taskNotifiableList) {
-                boolean notifiableResult = taskNotifiable.onTaskHandleNetworkEvent(event, this);
-                continueProcessing = (continueProcessing && notifiableResult);
-            }
+        for (NetworkTaskNotifiable taskNotifiable : notifiables) {
+            boolean notifiableResult = taskNotifiable.onTaskHandleNetworkEvent(event, this);
+            continueProcessing = (continueProcessing && notifiableResult);
         }
 
         // Task notifiables are allowed to prevent further processing with false as return value
@@ -143,10 +180,8 @@ public abstract class NetworkTask implements NetworkEventHandler {
         taskHandleNetworkEvent(event);
 
         // Inform notifiable objects
-        synchronized (taskNotifiableList) {
-            for (NetworkTaskNotifiable taskNotifiable : taskNotifiableList) {
-                taskNotifiable.afterTaskHandleNetworkEvent(event, this);
-            }
+        for (NetworkTaskNotifiable taskNotifiable : notifiables) {
+            taskNotifiable.afterTaskHandleNetworkEvent(event, this);
         }
     }
 }
@@ -2,9 +2,11 @@ package simulation.network;
 
 import simulation.util.MathHelper;
 
+import java.util.ArrayList;
 import java.util.Collections;
 import java.util.LinkedList;
 import java.util.List;
+import java.util.Map;
 import java.util.Random;
 
 /**
@@ -12,6 +14,9 @@ import java.util.Random;
  */
 public final class NetworkUtils {
 
+    /** Binary MAC address of nodes and messages without MAC address, outside of the 48 bit range of addresses */
+    public static final long MAC_ADDRESS_NONE = -1L;
+
     /** Empty constructor, this class has no instances, only static functions */
     private NetworkUtils() {}
 
@@ -51,7 +56,39 @@ public final class NetworkUtils {
     }
 
     /**
-     * Function that returns the time that is needed for the transmission between two nodes
+     * Function that computes the error rate caused by multi path propagation for a transmission between two nodes
+     * The model adds an error for every physical object except sender and receiver that decreases with the distance
+     * of the object to the line from the sender to the object itself. This line ends in the object, so the distance
+     * is always 0.0 and clamped to 0.5, and every object adds the same error of scaleFactor / 0.5 no matter where it is.
+     * The error rate is therefore computed from the number of objects instead of their positions
+     *
+     * @param sender Node that sends the transmission
+     * @param receiver Node that receives the transmission
+     * @param baseError Error rate without any objects
+     * @param scaleFactor Error of an object in a distance of 1.0
+     * @param maxDistance Objects with this distance or more do not add any error
+     * @return Error rate of multi path propagation
+     */
+    public static double calcMultiPathErrorRate(NetworkNode sender, NetworkNode receiver, double baseError, double scaleFactor, double maxDistance) {
+        // Distance of every object to its line is 0.0, which is only counted for a positive maximum distance
+        if (maxDistance <= 0.0) {
+            return baseError;
+        }
+
+        PhysicalObjectIds objects = NetworkSimulator.getInstance().getPhysicalObjectIds();
+        long senderId = sender.getPhysicalObject().getId();
+        long receiverId = receiver.getPhysicalObject().getId();
+        int objectCount = objects.size() - objects.count(senderId);
+
+        if (receiverId != senderId) {
+            objectCount -= objects.count(receiverId);
+        }
+
+        return baseError + objectCount * (scaleFactor / 0.5);
+    }
+
+    /**
+     * Function that stores a received message in the recent messages maps of a node
      *
      * @param networkNode Node in which a message should be stored
      * @param message Message to be stored in node
@@ -65,42 +102,81 @@ public final class NetworkUtils {
         }
 
         // Ipv6 message processing
-        if (networkNode.getRecentIpv6MessagesMap().containsKey(message.getNetworkIpv6Sender())) {
-            List<NetworkMessage> messageList = networkNode.getRecentIpv6MessagesMap().get(message.getNetworkIpv6Sender());
-            messageList.add(0, message);
-
-            // Keep maximum size
-            if (messageList.size() >= settings.getMessageBufferSize()) {
-                List<NetworkMessage> subMessageList = Collections.synchronizedList(new LinkedList<>(messageList.subList(0, settings.getMessageBufferSize())));
-                messageList.clear();
-                messageList.addAll(subMessageList);
-            }
-        } else {
-            // Create new map entry
-            List<NetworkMessage> newList = Collections.synchronizedList(new LinkedList<NetworkMessage>());
-            newList.add(message);
-            networkNode.getRecentIpv6MessagesMap().putIfAbsent(message.getNetworkIpv6Sender(), newList);
-        }
+        putMessageInBuffer(networkNode.getRecentIpv6MessagesMap(), message.getNetworkSenderNodeId(), message, settings.getMessageBufferSize());
 
         // Mac message processing
         if (settings.getSettingsId() != NetworkSettingsId.NETWORK_SETTINGS_ID_CELLULAR) {
-            if (networkNode.getRecentMacMessagesMap().containsKey(message.getMacSender())) {
-                List<NetworkMessage> messageList = networkNode.getRecentMacMessagesMap().get(message.getMacSender());
-                messageList.add(0, message);
-
-                // Keep maximum size
-                if (messageList.size() >= settings.getMessageBufferSize()) {
-                    List<NetworkMessage> subMessageList = Collections.synchronizedList(new LinkedList<>(messageList.subList(0, settings.getMessageBufferSize())));
-                    messageList.clear();
-                    messageList.addAll(subMessageList);
-                }
-            } else {
-                // Create new map entry
-                List<NetworkMessage> newList = Collections.synchronizedList(new LinkedList<NetworkMessage>());
-                newList.add(message);
-                networkNode.getRecentMacMessagesMap().putIfAbsent(message.getMacSender(), newList);
+            putMessageInBuffer(networkNode.getRecentMacMessagesMap(), message.getMacSenderNodeId(), message, settings.getMessageBufferSize());
+        }
+    }
+
+    /**
+     * Function that adds a message to the ring buffer of its sender, creates the buffer if it does not exist
+     *
+     * @param bufferMap Map of ring buffers, key is id of the sender node
+     * @param senderNodeId Id of the sender node
+     * @param message Message to be stored
+     * @param bufferSize Capacity for a new ring buffer
+     */
+    private static void putMessageInBuffer(Map<Long, NetworkMessageRingBuffer> bufferMap, long senderNodeId, NetworkMessage message, int bufferSize) {
+        NetworkMessageRingBuffer buffer = bufferMap.get(senderNodeId);
+
+        if (buffer == null) {
+            synchronized (bufferMap) {
+                buffer = bufferMap.computeIfAbsent(senderNodeId, key -> new NetworkMessageRingBuffer(bufferSize));
+            }
+        }
+
+        buffer.add(message);
+    }
+
+    /**
+     * Function that converts a MAC address from its hex representation to its binary representation,
+     * accepts 12 hex characters with optional ':' or '-' separators and the empty string for no address
+     *
+     * @param macAddress MAC address as string
+     * @return MAC address as 48 bit value, MAC_ADDRESS_NONE for the empty string
+     * @throws IllegalArgumentException if the string is not a valid MAC address
+     */
+    public static long macAddressToLong(String macAddress) {
+        if (macAddress.isEmpty()) {
+            return MAC_ADDRESS_NONE;
+        }
+
+        long result = 0L;
+        int digits = 0;
+
+        for (int i = 0; i < macAddress.length(); ++i) {
+            char c = macAddress.charAt(i);
+
+            if (c == ':' || c == '-') {
+                continue;
+            }
+
+            int digit = Character.digit(c, 16);
+
+            if (digit < 0 || ++digits > 12) {
+                throw new IllegalArgumentException("NetworkUtils - macAddressToLong: Invalid MAC address: " + macAddress);
             }
+
+            result = (result << 4) | digit;
+        }
+
+        if (digits != 12) {
+            throw new IllegalArgumentException("NetworkUtils - macAddressToLong: Invalid MAC address: " + macAddress);
         }
+
+        return result;
+    }
+
+    /**
+     * Function that converts a binary MAC address to 12 lower case hex characters, for logging and statistics
+     *
+     * @param macAddress MAC address as 48 bit value
+     * @return MAC address as string, the empty string for MAC_ADDRESS_NONE
+     */
+    public static String macAddressToString(long macAddress) {
+        return (macAddress == MAC_ADDRESS_NONE ? "" : String.format("%012x", macAddress));
     }
 
     /**
@@ -168,6 +244,47 @@ public final class NetworkUtils {
         return resultList;
     }
 
+    /**
+     * Function that returns a float array from a list of floats, used as binary message payload
+     *
+     * @param floatList List of floats to be converted
+     * @return Array with the float values in the order of the list
+     */
+    public static float[] floatListToArray(List<Float> floatList) {
+        float[] result = new float[floatList.size()];
+        int i = 0;
+
+        for (Float value : floatList) {
+            result[i++] = value;
+        }
+
+        return result;
+    }
+
+    /**
+     * Function that returns the float values of a message, read from the binary payload if present
+     * and parsed from the bit string contents otherwise
+     *
+     * @param message Message with float values
+     * @throws IllegalArgumentException if message has no payload and its contents are not a multiple of 32 bits
+     * @return List of floats of the message
+     */
+    public static List<Float> messageToFloatList(NetworkMessage message) {
+        float[] payload = message.getMessagePayload();
+
+        if (payload == null) {
+            return bitStringToFloatList(message.getMessageContent());
+        }
+
+        List<Float> resultList = new ArrayList<>(payload.length);
+
+        for (float value : payload) {
+            resultList.add(value);
+        }
+
+        return Collections.synchronizedList(resultList);
+    }
+
     /**
      * Function that returns the simulation time for the next layer within a specified randomized interval in network settings
      *
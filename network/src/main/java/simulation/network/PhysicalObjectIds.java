@@ -0,0 +1,67 @@
+package simulation.network;
+
+import commons.simulation.PhysicalObject;
+
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * Sorted ids of all physical objects of the network simulation, captured once such that computations for
+ * many transmissions do not need to iterate over the objects again
+ */
+final class PhysicalObjectIds {
+
+    /** Ids of the objects in ascending order */
+    private final long[] ids;
+
+    /**
+     * Constructor that captures the ids of the objects
+     *
+     * @param physicalObjects Physical objects of the network simulation
+     */
+    PhysicalObjectIds(List<PhysicalObject> physicalObjects) {
+        PhysicalObject[] objects = physicalObjects.toArray(new PhysicalObject[0]);
+        ids = new long[objects.length];
+
+        for (int i = 0; i < objects.length; ++i) {
+            ids[i] = objects[i].getId();
+        }
+
+        Arrays.sort(ids);
+    }
+
+    /**
+     * Getter for the number of objects
+     * @return Number of captured objects
+     */
+    int size() {
+        return ids.length;
+    }
+
+    /**
+     * Function that counts the objects with an id
+     *
+     * @param id Id of the objects
+     * @return Number of captured objects with this id
+     */
+    int count(long id) {
+        int index = Arrays.binarySearch(ids, id);
+
+        if (index < 0) {
+            return 0;
+        }
+
+        int first = index;
+        int last = index;
+
+        while (first > 0 && ids[first - 1] == id) {
+            first--;
+        }
+
+        while (last < ids.length - 1 && ids[last + 1] == id) {
+            last++;
+        }
+
+        return last - first + 1;
+    }
+}
@@ -1,12 +1,10 @@
 package simulation.network.channels;
 
-import commons.simulation.PhysicalObject;
 import commons.simulation.PhysicalObjectType;
 import org.apache.commons.math3.linear.RealVector;
 import org.apache.commons.math3.util.FastMath;
 import simulation.network.*;
 import simulation.util.Log;
-import simulation.vehicle.Vehicle;
 
 import java.util.*;
 
@@ -162,7 +160,7 @@ public class ChannelModelCellular extends NetworkChannelModel {
         lastMaxHarqDelay = 0L;
 
         // Schedule end of transmission sending in sender node
-        NetworkDiscreteEvent sendingEnd = new NetworkDiscreteEvent(transmissionEnd + transmissionEndDelay, NetworkDiscreteEventId.NETWORK_EVENT_ID_PHY_SEND_END, event.getNetworkNode(), event.getEventMessage());
+        NetworkDiscreteEvent sendingEnd = NetworkSimulator.getInstance().obtainEvent(transmissionEnd + transmissionEndDelay, NetworkDiscreteEventId.NETWORK_EVENT_ID_PHY_SEND_END, event.getNetworkNode(), event.getEventMessage());
         NetworkSimulator.getInstance().scheduleEvent(sendingEnd);
     }
 
@@ -181,7 +179,7 @@ public class ChannelModelCellular extends NetworkChannelModel {
                 NetworkCellBaseStation senderStation = (NetworkCellBaseStation)(sender.getPhysicalObject());
 
                 if (senderStation.getConnectedBaseStationIDs().contains(otherNode.getPhysicalObject().getId())) {
-                    NetworkDiscreteEvent wiredEvent = new NetworkDiscreteEvent(NetworkUtils.simTimeWithDelay(1500000L), NetworkDiscreteEventId.NETWORK_EVENT_ID_PHY_RECEIVE_MESSAGE_END, otherNode, message);
+                    NetworkDiscreteEvent wiredEvent = NetworkSimulator.getInstance().obtainEvent(NetworkUtils.simTimeWithDelay(1500000L), NetworkDiscreteEventId.NETWORK_EVENT_ID_PHY_RECEIVE_MESSAGE_END, otherNode, message);
                     NetworkSimulator.getInstance().scheduleEvent(wiredEvent);
                 }
             }
@@ -229,38 +227,7 @@ public class ChannelModelCellular extends NetworkChannelModel {
         totalBitErrorRate += errorRateDistance;
 
         // Multi-path objects
-        double errorRateMultiPath = MULTI_PATH_BASE_ERROR;
-
-        // Add error for all other physical objects that are near the direct line communication depending on their distance
-        for (PhysicalObject physicalObject : NetworkSimulator.getInstance().getPhysicalObjects()) {
-            if (physicalObject.getId() != sender.getPhysicalObject().getId() && physicalObject.getId() != otherNode.getPhysicalObject().getId()) {
-                RealVector senderPos = sender.getPhysicalObject().getGeometryPos();
-                RealVector otherPos = physicalObject.getGeometryPos();
-                RealVector diffVector = otherPos.subtract(senderPos);
-                List<RealVector> positionList = Collections.synchronizedList(new LinkedList<>());
-
-                for (int i = 0; i <= MULTI_PATH_ACCURACY; ++i) {
-                    double factor = (double)(i) / (double)(MULTI_PATH_ACCURACY);
-                    positionList.add(senderPos.add(diffVector.mapMultiply(factor)));
-                }
-
-                Map.Entry<Integer, RealVector> otherPositionInfo = Vehicle.getNearestPositionOnPositionList(positionList, otherPos, MULTI_PATH_ACCURACY_NEAREST_POSITION);
-                RealVector otherNearestPosOnRay = otherPositionInfo.getValue();
-
-                // Compute error value depending on distance
-                double otherNearestDistance = otherPos.getDistance(otherNearestPosOnRay);
-
-                if (otherNearestDistance < MULTI_PATH_MAX_DISTANCE) {
-
-                    if (otherNearestDistance < 1.0) {
-                        otherNearestDistance = 0.5;
-                    }
-
-                    errorRateMultiPath += (MULTI_PATH_SCALE_FACTOR / otherNearestDistance);
-                }
-            }
-        }
-
+        double errorRateMultiPath = NetworkUtils.calcMultiPathErrorRate(sender, otherNode, MULTI_PATH_BASE_ERROR, MULTI_PATH_SCALE_FACTOR, MULTI_PATH_MAX_DISTANCE);
         totalBitErrorRate += errorRateMultiPath;
 
         // Doppler shift objects
@@ -351,8 +318,8 @@ public class ChannelModelCellular extends NetworkChannelModel {
         if (packetSuccessProbability >= randomChance && distance <= maxClearTransmissionRange) {
             long transmissionReceiveStart = NetworkUtils.simTimeWithDelay(NetworkUtils.calcPropagationTime(sender, otherNode));
             long transmissionReceiveEnd = NetworkUtils.simTimeWithDelay(harqDelay + NetworkUtils.calcPropagationTime(sender, otherNode) + NetworkUtils.calcTransmissionTime(message));
-            NetworkDiscreteEvent eventReceiveStart = new NetworkDiscreteEvent(transmissionReceiveStart, NetworkDiscreteEventId.NETWORK_EVENT_ID_PHY_RECEIVE_MESSAGE_START, otherNode, message);
-            NetworkDiscreteEvent eventReceiveEnd = new NetworkDiscreteEvent(transmissionReceiveEnd, NetworkDiscreteEventId.NETWORK_EVENT_ID_PHY_RECEIVE_MESSAGE_END, otherNode, message);
+            NetworkDiscreteEvent eventReceiveStart = NetworkSimulator.getInstance().obtainEvent(transmissionReceiveStart, NetworkDiscreteEventId.NETWORK_EVENT_ID_PHY_RECEIVE_MESSAGE_START, otherNode, message);
+            NetworkDiscreteEvent eventReceiveEnd = NetworkSimulator.getInstance().obtainEvent(transmissionReceiveEnd, NetworkDiscreteEventId.NETWORK_EVENT_ID_PHY_RECEIVE_MESSAGE_END, otherNode, message);
             NetworkSimulator.getInstance().scheduleEvent(eventReceiveStart);
             NetworkSimulator.getInstance().scheduleEvent(eventReceiveEnd);
 
@@ -360,8 +327,8 @@ public class ChannelModelCellular extends NetworkChannelModel {
         } else if (distance <= maxInterferenceRange) {
             long transmissionReceiveStart = NetworkUtils.simTimeWithDelay(NetworkUtils.calcPropagationTime(sender, otherNode));
             long transmissionReceiveEnd = NetworkUtils.simTimeWithDelay(NetworkUtils.calcPropagationTime(sender, otherNode) + NetworkUtils.calcTransmissionTime(message));
-            NetworkDiscreteEvent eventReceiveStart = new NetworkDiscreteEvent(transmissionReceiveStart, NetworkDiscreteEventId.NETWORK_EVENT_ID_PHY_RECEIVE_INTERFERENCE_START, otherNode, message);
-            NetworkDiscreteEvent eventReceiveEnd = new NetworkDiscreteEvent(transmissionReceiveEnd, NetworkDiscreteEventId.NETWORK_EVENT_ID_PHY_RECEIVE_INTERFERENCE_END, otherNode, message);
+            NetworkDiscreteEvent eventReceiveStart = NetworkSimulator.getInstance().obtainEvent(transmissionReceiveStart, NetworkDiscreteEventId.NETWORK_EVENT_ID_PHY_RECEIVE_INTERFERENCE_START, otherNode, message);
+            NetworkDiscreteEvent eventReceiveEnd = NetworkSimulator.getInstance().obtainEvent(transmissionReceiveEnd, NetworkDiscreteEventId.NETWORK_EVENT_ID_PHY_RECEIVE_INTERFERENCE_END, otherNode, message);
             NetworkSimulator.getInstance().scheduleEvent(eventReceiveStart);
             NetworkSimulator.getInstance().scheduleEvent(eventReceiveEnd);
         }
@@ -1,11 +1,9 @@
 package simulation.network.channels;
 
-import commons.simulation.PhysicalObject;
 import org.apache.commons.math3.linear.RealVector;
 import org.apache.commons.math3.util.FastMath;
 import simulation.network.*;
 import simulation.vehicle.PhysicalVehicle;
-import simulation.vehicle.Vehicle;
 
 import java.util.*;
 
@@ -73,6 +71,17 @@ public class ChannelModelDirect extends NetworkChannelModel {
         {5890000, 10000},
     };
 
+    /**
+     * Function that returns the maximum distance in which a transmission can have any effect on another node,
+     * including interferences. Transmissions are only computed for nodes within this distance.
+     *
+     * @return Maximum distance of a transmission
+     */
+    @Override
+    public double getMaximumRange() {
+        return RANGE_MAXIMUM_RECEIVE * RANGE_INTERFERENCE_FACTOR;
+    }
+
     /**
      * Function that computes if and how transmissions between network nodes are received
      *
@@ -119,38 +128,7 @@ public class ChannelModelDirect extends NetworkChannelModel {
         totalBitErrorRate += errorRateDistance;
 
         // Multi-path objects
-        double errorRateMultiPath = MULTI_PATH_BASE_ERROR;
-
-        // Add error for all other physical objects that are near the direct line communication depending on their distance
-        for (PhysicalObject physicalObject : NetworkSimulator.getInstance().getPhysicalObjects()) {
-            if (physicalObject.getId() != sender.getPhysicalObject().getId() && physicalObject.getId() != otherNode.getPhysicalObject().getId()) {
-                RealVector senderPos = sender.getPhysicalObject().getGeometryPos();
-                RealVector otherPos = physicalObject.getGeometryPos();
-                RealVector diffVector = otherPos.subtract(senderPos);
-                List<RealVector> positionList = Collections.synchronizedList(new LinkedList<>());
-
-                for (int i = 0; i <= MULTI_PATH_ACCURACY; ++i) {
-                    double factor = (double)(i) / (double)(MULTI_PATH_ACCURACY);
-                    positionList.add(senderPos.add(diffVector.mapMultiply(factor)));
-                }
-
-                Map.Entry<Integer, RealVector> otherPositionInfo = Vehicle.getNearestPositionOnPositionList(positionList, otherPos, MULTI_PATH_ACCURACY_NEAREST_POSITION);
-                RealVector otherNearestPosOnRay = otherPositionInfo.getValue();
-
-                // Compute error value depending on distance
-                double otherNearestDistance = otherPos.getDistance(otherNearestPosOnRay);
-
-                if (otherNearestDistance < MULTI_PATH_MAX_DISTANCE) {
-
-                    if (otherNearestDistance < 1.0) {
-                        otherNearestDistance = 0.5;
-                    }
-
-                    errorRateMultiPath += (MULTI_PATH_SCALE_FACTOR / otherNearestDistance);
-                }
-            }
-        }
-
+        double errorRateMultiPath = NetworkUtils.calcMultiPathErrorRate(sender, otherNode, MULTI_PATH_BASE_ERROR, MULTI_PATH_SCALE_FACTOR, MULTI_PATH_MAX_DISTANCE);
         totalBitErrorRate += errorRateMultiPath;
 
         // Doppler shift objects
@@ -225,8 +203,8 @@ public class ChannelModelDirect extends NetworkChannelModel {
         if (packetSuccessProbability >= randomChance && distance <= maxClearTransmissionRange) {
             long transmissionReceiveStart = NetworkUtils.simTimeWithDelay(NetworkUtils.calcPropagationTime(sender, otherNode));
             long transmissionReceiveEnd = NetworkUtils.simTimeWithDelay(NetworkUtils.calcPropagationTime(sender, otherNode) + NetworkUtils.calcTransmissionTime(message));
-            NetworkDiscreteEvent eventReceiveStart = new NetworkDiscreteEvent(transmissionReceiveStart, NetworkDiscreteEventId.NETWORK_EVENT_ID_PHY_RECEIVE_MESSAGE_START, otherNode, message);
-            NetworkDiscreteEvent eventReceiveEnd = new NetworkDiscreteEvent(transmissionReceiveEnd, NetworkDiscreteEventId.NETWORK_EVENT_ID_PHY_RECEIVE_MESSAGE_END, otherNode, message);
+            NetworkDiscreteEvent eventReceiveStart = NetworkSimulator.getInstance().obtainEvent(transmissionReceiveStart, NetworkDiscreteEventId.NETWORK_EVENT_ID_PHY_RECEIVE_MESSAGE_START, otherNode, message);
+            NetworkDiscreteEvent eventReceiveEnd = NetworkSimulator.getInstance().obtainEvent(transmissionReceiveEnd, NetworkDiscreteEventId.NETWORK_EVENT_ID_PHY_RECEIVE_MESSAGE_END, otherNode, message);
             NetworkSimulator.getInstance().scheduleEvent(eventReceiveStart);
             NetworkSimulator.getInstance().scheduleEvent(eventReceiveEnd);
 
@@ -234,8 +212,8 @@ public class ChannelModelDirect extends NetworkChannelModel {
         } else if (distance <= maxInterferenceRange) {
             long transmissionReceiveStart = NetworkUtils.simTimeWithDelay(NetworkUtils.calcPropagationTime(sender, otherNode));
             long transmissionReceiveEnd = NetworkUtils.simTimeWithDelay(NetworkUtils.calcPropagationTime(sender, otherNode) + NetworkUtils.calcTransmissionTime(message));
-            NetworkDiscreteEvent eventReceiveStart = new NetworkDiscreteEvent(transmissionReceiveStart, NetworkDiscreteEventId.NETWORK_EVENT_ID_PHY_RECEIVE_INTERFERENCE_START, otherNode, message);
-            NetworkDiscreteEvent eventReceiveEnd = new NetworkDiscreteEvent(transmissionReceiveEnd, NetworkDiscreteEventId.NETWORK_EVENT_ID_PHY_RECEIVE_INTERFERENCE_END, otherNode, message);
+            NetworkDiscreteEvent eventReceiveStart = NetworkSimulator.getInstance().obtainEvent(transmissionReceiveStart, NetworkDiscreteEventId.NETWORK_EVENT_ID_PHY_RECEIVE_INTERFERENCE_START, otherNode, message);
+            NetworkDiscreteEvent eventReceiveEnd = NetworkSimulator.getInstance().obtainEvent(transmissionReceiveEnd, NetworkDiscreteEventId.NETWORK_EVENT_ID_PHY_RECEIVE_INTERFERENCE_END, otherNode, message);
             NetworkSimulator.getInstance().scheduleEvent(eventReceiveStart);
             NetworkSimulator.getInstance().scheduleEvent(eventReceiveEnd);
         }
@@ -58,15 +58,12 @@ public class TaskAppBeacon extends NetworkTask {
         switch (event.getNetworkEventId()) {
             case NETWORK_EVENT_ID_RANDOM_START_INITIALIZE: {
                 // Schedule periodic event
-                NetworkMessage messageTaskName = new NetworkMessage();
-                messageTaskName.setMessageContent(getTaskId().name());
-                NetworkDiscreteEvent newEvent = new NetworkDiscreteEvent(NetworkUtils.simTimeWithDelay(0), NetworkDiscreteEventId.NETWORK_EVENT_ID_SELF_PERIODIC, networkNode, messageTaskName);
-                NetworkSimulator.getInstance().scheduleEvent(newEvent);
+                scheduleTimer(0, NetworkDiscreteEventId.NETWORK_EVENT_ID_SELF_PERIODIC);
                 return;
             }
             case NETWORK_EVENT_ID_SELF_PERIODIC: {
                 // Return if periodic update that is not from this task
-                if (!event.getEventMessage().getMessageContent().equals(getTaskId().name())) {
+                if (!isOwnTimer(event)) {
                     return;
                 }
 
@@ -74,10 +71,7 @@ public class TaskAppBeacon extends NetworkTask {
                 sendBroadcastBeaconMessage();
 
                 // Create new event to repeat periodic call
-                NetworkMessage messageTaskName = new NetworkMessage();
-                messageTaskName.setMessageContent(getTaskId().name());
-                NetworkDiscreteEvent newEvent = new NetworkDiscreteEvent(NetworkUtils.simTimeWithDelay(NetworkSimulator.getInstance().getNetworkSettings().getApplicationBeaconUpdateInterval()), NetworkDiscreteEventId.NETWORK_EVENT_ID_SELF_PERIODIC, networkNode, messageTaskName);
-                NetworkSimulator.getInstance().scheduleEvent(newEvent);
+                scheduleTimer(NetworkSimulator.getInstance().getNetworkSettings().getApplicationBeaconUpdateInterval(), NetworkDiscreteEventId.NETWORK_EVENT_ID_SELF_PERIODIC);
                 return;
             }
             case NETWORK_EVENT_ID_APP_RECEIVE: {
@@ -87,13 +81,13 @@ public class TaskAppBeacon extends NetworkTask {
                 }
 
                 // Redirect messages to other application tasks
-                NetworkDiscreteEvent newEvent = new NetworkDiscreteEvent(NetworkUtils.simTimeWithDelay(0), NetworkDiscreteEventId.NETWORK_EVENT_ID_APP_UPDATE, networkNode, event.getEventMessage());
+                NetworkDiscreteEvent newEvent = NetworkSimulator.getInstance().obtainEvent(NetworkUtils.simTimeWithDelay(0), NetworkDiscreteEventId.NETWORK_EVENT_ID_APP_UPDATE, networkNode, event.getEventMessage());
                 NetworkSimulator.getInstance().scheduleEvent(newEvent);
                 return;
             }
             case NETWORK_EVENT_ID_APP_SEND: {
                 // Forward message with delay to transport
-                NetworkDiscreteEvent newEvent = new NetworkDiscreteEvent(NetworkUtils.simTimeWithDelay(NetworkUtils.randomNextLayerSimulationTime()), NetworkDiscreteEventId.NETWORK_EVENT_ID_TRANSPORT_SEND, networkNode, event.getEventMessage());
+                NetworkDiscreteEvent newEvent = NetworkSimulator.getInstance().obtainEvent(NetworkUtils.simTimeWithDelay(NetworkUtils.randomNextLayerSimulationTime()), NetworkDiscreteEventId.NETWORK_EVENT_ID_TRANSPORT_SEND, networkNode, event.getEventMessage());
                 NetworkSimulator.getInstance().scheduleEvent(newEvent);
                 return;
             }
@@ -204,13 +198,13 @@ public class TaskAppBeacon extends NetworkTask {
                 message.setTransportPortDestNumber(APP_BEACON_PORT_NUMBER_STATUS_MSG);
             }
 
-            message.setMessageContent(NetworkUtils.floatListToBitString(messageFloats));
+            message.setMessagePayload(NetworkUtils.floatListToArray(messageFloats));
             message.setMessageLengthBits(32 * messageFloats.size());
             message.setApplicationLengthBits(32 * messageFloats.size());
-            message.setNetworkIpv6Receiver(NetworkSimulator.getInstance().getNetworkSettings().getIpv6LinkLocalMulticastAddress());
+            message.setNetworkIpv6ReceiverBinary(NetworkSimulator.getInstance().getNetworkSettings().getIpv6LinkLocalMulticastAddressBinary());
 
             // Schedule event for sending
-            NetworkDiscreteEvent newEvent = new NetworkDiscreteEvent(NetworkUtils.simTimeWithDelay(0), NetworkDiscreteEventId.NETWORK_EVENT_ID_APP_SEND, networkNode, message);
+            NetworkDiscreteEvent newEvent = NetworkSimulator.getInstance().obtainEvent(NetworkUtils.simTimeWithDelay(0), NetworkDiscreteEventId.NETWORK_EVENT_ID_APP_SEND, networkNode, message);
             NetworkSimulator.getInstance().scheduleEvent(newEvent);
         }
     }
@@ -34,15 +34,12 @@ public class TaskAppMessagesSoftState extends NetworkTask {
         switch (event.getNetworkEventId()) {
             case NETWORK_EVENT_ID_RANDOM_START_INITIALIZE: {
                 // Schedule periodic event
-                NetworkMessage messageTaskName = new NetworkMessage();
-                messageTaskName.setMessageContent(getTaskId().name());
-                NetworkDiscreteEvent newEvent = new NetworkDiscreteEvent(NetworkUtils.simTimeWithDelay(0), NetworkDiscreteEventId.NETWORK_EVENT_ID_SELF_PERIODIC, networkNode, messageTaskName);
-                NetworkSimulator.getInstance().scheduleEvent(newEvent);
+                scheduleTimer(0, NetworkDiscreteEventId.NETWORK_EVENT_ID_SELF_PERIODIC);
                 return;
             }
             case NETWORK_EVENT_ID_SELF_PERIODIC: {
                 // Return if periodic update that is not from this task
-                if (!event.getEventMessage().getMessageContent().equals(getTaskId().name())) {
+                if (!isOwnTimer(event)) {
                     return;
                 }
 
@@ -51,10 +48,7 @@ public class TaskAppMessagesSoftState extends NetworkTask {
                 softStateCleanup(networkNode.getRecentIpv6MessagesMap());
 
                 // Create new event to repeat periodic call
-                NetworkMessage messageTaskName = new NetworkMessage();
-                messageTaskName.setMessageContent(getTaskId().name());
-                NetworkDiscreteEvent newEvent = new NetworkDiscreteEvent(NetworkUtils.simTimeWithDelay(2000000000L), NetworkDiscreteEventId.NETWORK_EVENT_ID_SELF_PERIODIC, networkNode, messageTaskName);
-                NetworkSimulator.getInstance().scheduleEvent(newEvent);
+                scheduleTimer(2000000000L, NetworkDiscreteEventId.NETWORK_EVENT_ID_SELF_PERIODIC);
                 return;
             }
             default:
@@ -67,28 +61,21 @@ public class TaskAppMessagesSoftState extends NetworkTask {
      *
      * @param inputMap Map that will be cleaned up by this function
      */
-    public static void softStateCleanup(Map<String, List<NetworkMessage>> inputMap) {
-        List<String> removeKeys = Collections.synchronizedList(new LinkedList<>());
+    public static void softStateCleanup(Map<Long, NetworkMessageRingBuffer> inputMap) {
+        long currentTimeNs = NetworkSimulator.getInstance().getSimulationTimeNs();
+        long maxTimeNs = NetworkSimulator.getInstance().getNetworkSettings().getMessageBufferMaxTime();
 
-        for (String key : inputMap.keySet()) {
-            List<NetworkMessage> messageList = inputMap.get(key);
-            List<NetworkMessage> removeList = Collections.synchronizedList(new LinkedList<>());
+        synchronized (inputMap) {
+            Iterator<NetworkMessageRingBuffer> iterator = inputMap.values().iterator();
 
-            synchronized (messageList) {
-                for (NetworkMessage message : messageList) {
-                    if ((NetworkSimulator.getInstance().getSimulationTimeNs() - message.getSimReceiveTimeNs()) >= NetworkSimulator.getInstance().getNetworkSettings().getMessageBufferMaxTime()) {
-                        removeList.add(message);
-                    }
-                }
-            }
-
-            messageList.removeAll(removeList);
+            while (iterator.hasNext()) {
+                NetworkMessageRingBuffer buffer = iterator.next();
+                buffer.removeExpired(currentTimeNs, maxTimeNs);
 
-            if (messageList.isEmpty()) {
-                removeKeys.add(key);
+                if (buffer.isEmpty()) {
+                    iterator.remove();
+                }
             }
         }
-
-        inputMap.keySet().removeAll(removeKeys);
     }
 }
@@ -77,11 +77,11 @@ public class TaskAppTrafficOptimization extends NetworkTask {
 
                     // Remove nodes which were not received for a long time
                     // Changes to key set or value set are reflected in the map as well, thus retainAll call removes outdated map entries
-                    Set<String> recentIpv6Addresses = Collections.synchronizedSet(new HashSet<>(networkNode.getRecentIpv6MessagesMap().keySet()));
+                    Set<String> recentIpv6Addresses = networkNode.getRecentIpv6Senders();
                     infoMap.keySet().retainAll(recentIpv6Addresses);
 
                     // Get all received data from other network node
-                    List<Float> floatValues = NetworkUtils.bitStringToFloatList(event.getEventMessage().getMessageContent());
+                    List<Float> floatValues = NetworkUtils.messageToFloatList(event.getEventMessage());
 
                     if (floatValues.size() != 8) {
                         Log.warning("TaskAppTrafficOptimization - handleNetworkEvent: Float list does not match with specified format of size 8, skipped processing! " + floatValues);
@@ -156,7 +156,7 @@ public class TaskAppVelocityControl extends NetworkTask {
         switch (event.getNetworkEventId()) {
             case NETWORK_EVENT_ID_SELF_PERIODIC: {
                 // Return if periodic update that is not from this task
-                if (!event.getEventMessage().getMessageContent().equals(getTaskId().name())) {
+                if (!isOwnTimer(event)) {
                     return;
                 }
 
@@ -164,10 +164,7 @@ public class TaskAppVelocityControl extends NetworkTask {
                 performVelocityControl();
 
                 // Create new event to repeat periodic call
-                NetworkMessage messageTaskName = new NetworkMessage();
-                messageTaskName.setMessageContent(getTaskId().name());
-                NetworkDiscreteEvent newEvent = new NetworkDiscreteEvent(NetworkUtils.simTimeWithDelay(NetworkSimulator.getInstance().getNetworkSettings().getApplicationBeaconUpdateInterval()), NETWORK_EVENT_ID_SELF_PERIODIC, networkNode, messageTaskName);
-                NetworkSimulator.getInstance().scheduleEvent(newEvent);
+                scheduleTimer(NetworkSimulator.getInstance().getNetworkSettings().getApplicationBeaconUpdateInterval(), NETWORK_EVENT_ID_SELF_PERIODIC);
                 return;
             }
             case NETWORK_EVENT_ID_APP_UPDATE: {
@@ -184,12 +181,12 @@ public class TaskAppVelocityControl extends NetworkTask {
 
                     // Remove nodes which were not received for a long time
                     // Changes to key set or value set are reflected in the map as well, thus retainAll call removes outdated map entries
-                    Set<String> recentIpv6Addresses = Collections.synchronizedSet(new HashSet<>(networkNode.getRecentIpv6MessagesMap().keySet()));
+                    Set<String> recentIpv6Addresses = networkNode.getRecentIpv6Senders();
                     statusInfoMap.keySet().retainAll(recentIpv6Addresses);
                     trajectoryInfoMap.keySet().retainAll(recentIpv6Addresses);
 
                     // Get all received data from other network node
-                    List<Float> floatValues = Collections.synchronizedList(NetworkUtils.bitStringToFloatList(event.getEventMessage().getMessageContent()));
+                    List<Float> floatValues = NetworkUtils.messageToFloatList(event.getEventMessage());
 
                     // Put status message in map
                     if (event.getEventMessage().getTransportPortDestNumber() == TaskAppBeacon.APP_BEACON_PORT_NUMBER_STATUS_MSG) {
@@ -213,9 +210,7 @@ public class TaskAppVelocityControl extends NetworkTask {
                     // Create new event to repeat periodic call if not already scheduled
                     if (!periodicUpdateScheduled) {
                         periodicUpdateScheduled = true;
-                        NetworkMessage messageTaskName = new NetworkMessage();
-                        messageTaskName.setMessageContent(getTaskId().name());
-                        NetworkDiscreteEvent newEvent = new NetworkDiscreteEvent(NetworkUtils.simTimeWithDelay(500000000L), NETWORK_EVENT_ID_SELF_PERIODIC, networkNode, messageTaskName);                       NetworkSimulator.getInstance().scheduleEvent(newEvent);
+                        scheduleTimer(500000000L, NETWORK_EVENT_ID_SELF_PERIODIC);
                     }
 
                     // Perform computation for velocity control
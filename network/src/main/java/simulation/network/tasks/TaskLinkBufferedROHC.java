@@ -53,7 +53,7 @@ public class TaskLinkBufferedROHC extends NetworkTask {
             case NETWORK_EVENT_ID_LINK_RECEIVE: {
                 // For wired messages, just forward message
                 if (event.getEventMessage().isWiredMessage()) {
-                    NetworkDiscreteEvent wiredEvent = new NetworkDiscreteEvent(NetworkUtils.simTimeWithDelay(NetworkUtils.randomNextLayerSimulationTime()), NetworkDiscreteEventId.NETWORK_EVENT_ID_NET_RECEIVE, networkNode, event.getEventMessage());
+                    NetworkDiscreteEvent wiredEvent = NetworkSimulator.getInstance().obtainEvent(NetworkUtils.simTimeWithDelay(NetworkUtils.randomNextLayerSimulationTime()), NetworkDiscreteEventId.NETWORK_EVENT_ID_NET_RECEIVE, networkNode, event.getEventMessage());
                     NetworkSimulator.getInstance().scheduleEvent(wiredEvent);
                     return;
                 }
@@ -66,20 +66,20 @@ public class TaskLinkBufferedROHC extends NetworkTask {
                 event.getEventMessage().setNetAdditionalBits(netDecompressed);
                 event.getEventMessage().setTransportAdditionalBits(transportDecompressed);
 
-                NetworkDiscreteEvent newEvent = new NetworkDiscreteEvent(NetworkUtils.simTimeWithDelay(NetworkUtils.randomNextLayerSimulationTime()), NetworkDiscreteEventId.NETWORK_EVENT_ID_NET_RECEIVE, networkNode, event.getEventMessage());
+                NetworkDiscreteEvent newEvent = NetworkSimulator.getInstance().obtainEvent(NetworkUtils.simTimeWithDelay(NetworkUtils.randomNextLayerSimulationTime()), NetworkDiscreteEventId.NETWORK_EVENT_ID_NET_RECEIVE, networkNode, event.getEventMessage());
                 NetworkSimulator.getInstance().scheduleEvent(newEvent);
                 return;
             }
             case NETWORK_EVENT_ID_LINK_FORWARD_TO_PHY: {
                 long eventTime = forwardToPhyDoneTimeNs - 1;
-                NetworkDiscreteEvent newEvent = new NetworkDiscreteEvent(eventTime, NetworkDiscreteEventId.NETWORK_EVENT_ID_PHY_SEND_START, networkNode, event.getEventMessage());
+                NetworkDiscreteEvent newEvent = NetworkSimulator.getInstance().obtainEvent(eventTime, NetworkDiscreteEventId.NETWORK_EVENT_ID_PHY_SEND_START, networkNode, event.getEventMessage());
                 NetworkSimulator.getInstance().scheduleEvent(newEvent);
                 return;
             }
             case NETWORK_EVENT_ID_LINK_SEND: {
                 // For wired messages, just forward message
                 if (event.getEventMessage().isWiredMessage()) {
-                    NetworkDiscreteEvent wiredEvent = new NetworkDiscreteEvent(NetworkUtils.simTimeWithDelay(NetworkUtils.randomNextLayerSimulationTime()), NetworkDiscreteEventId.NETWORK_EVENT_ID_PHY_SEND_START, networkNode, event.getEventMessage());
+                    NetworkDiscreteEvent wiredEvent = NetworkSimulator.getInstance().obtainEvent(NetworkUtils.simTimeWithDelay(NetworkUtils.randomNextLayerSimulationTime()), NetworkDiscreteEventId.NETWORK_EVENT_ID_PHY_SEND_START, networkNode, event.getEventMessage());
                     NetworkSimulator.getInstance().scheduleEvent(wiredEvent);
                     return;
                 }
@@ -92,14 +92,15 @@ public class TaskLinkBufferedROHC extends NetworkTask {
                 event.getEventMessage().setNetAdditionalBits(netCompressed);
                 event.getEventMessage().setTransportAdditionalBits(transportCompressed);
 
-                event.getEventMessage().setMacSender("");
+                event.getEventMessage().setMacSenderBinary(NetworkUtils.MAC_ADDRESS_NONE);
+                event.getEventMessage().setMacSenderNodeId(-1L);
                 event.getEventMessage().setMacSequenceNumber(NetworkUtils.getRandomPositiveNumberBits(16));
                 event.getEventMessage().setMessageLengthBits(event.getEventMessage().getMessageLengthBits() + 48);
                 event.getEventMessage().setLinkAdditionalBits(48);
 
                 // Put message in queue and check for channel status
                 messageQueue.add(0, event.getEventMessage());
-                NetworkDiscreteEvent newEvent = new NetworkDiscreteEvent(NetworkUtils.simTimeWithDelay(0), NetworkDiscreteEventId.NETWORK_EVENT_ID_LINK_CHECK_CHANNEL_STATUS, networkNode, event.getEventMessage());
+                NetworkDiscreteEvent newEvent = NetworkSimulator.getInstance().obtainEvent(NetworkUtils.simTimeWithDelay(0), NetworkDiscreteEventId.NETWORK_EVENT_ID_LINK_CHECK_CHANNEL_STATUS, networkNode, event.getEventMessage());
                 NetworkSimulator.getInstance().scheduleEvent(newEvent);
                 return;
             }
@@ -134,7 +135,7 @@ public class TaskLinkBufferedROHC extends NetworkTask {
                     NetworkMessage message = messageQueue.get(messageQueue.size() - 1);
                     messageQueue.remove(messageQueue.size() - 1);
                     forwardToPhyDoneTimeNs = NetworkUtils.simTimeWithDelay(NetworkUtils.randomNextLayerSimulationTime()) + 1;
-                    NetworkDiscreteEvent newEvent = new NetworkDiscreteEvent(NetworkUtils.simTimeWithDelay(0), NetworkDiscreteEventId.NETWORK_EVENT_ID_LINK_FORWARD_TO_PHY, networkNode, message);
+                    NetworkDiscreteEvent newEvent = NetworkSimulator.getInstance().obtainEvent(NetworkUtils.simTimeWithDelay(0), NetworkDiscreteEventId.NETWORK_EVENT_ID_LINK_FORWARD_TO_PHY, networkNode, message);
                     NetworkSimulator.getInstance().scheduleEvent(newEvent);
                 }
 
@@ -20,7 +20,7 @@ public class TaskLinkCSMA extends NetworkTask {
     /** Slot time in nanoseconds */
     public static long TASK_LINK_CSMA_SLOT_TIME_NS = 13000L;
 
-    /** Wait refresh time, needs to be a common divisor of slot time and DIFS */
+    /** Wait tick time, needs to be a common divisor of slot time and DIFS, waiting times are counted in these ticks */
     public static long TASK_LINK_CSMA_WAIT_REFRESH_TIME_NS = 1000L;
 
     /** Contention window min slot count */
@@ -62,6 +62,12 @@ public class TaskLinkCSMA extends NetworkTask {
     /** Time value indicating when forwarding to PHY is done */
     private long forwardToPhyDoneTimeNs = 0L;
 
+    /** Time value of the last wait tick that is included in the remaining DIFS and backoff times */
+    private long waitingTickTimeNs = 0L;
+
+    /** Scheduled wait event that ends the current DIFS or backoff waiting phase, null if not waiting */
+    private NetworkEventHandle waitingEvent = null;
+
     /**
      * Constructor for this task
      *
@@ -80,6 +86,8 @@ public class TaskLinkCSMA extends NetworkTask {
         waitingBackoffInterruptTimeNs = 0L;
         waitingBackoffRemainingTimeNs = 0L;
         forwardToPhyDoneTimeNs = 0L;
+        waitingTickTimeNs = 0L;
+        waitingEvent = null;
         setTaskEventIdList(Arrays.asList(NETWORK_EVENT_ID_LINK_RECEIVE, NETWORK_EVENT_ID_LINK_SEND,
                 NETWORK_EVENT_ID_LINK_CHECK_CHANNEL_STATUS, NETWORK_EVENT_ID_LINK_FORWARD_TO_PHY,
                 NETWORK_EVENT_ID_LINK_WAIT_FOR_SENDING));
@@ -96,29 +104,30 @@ public class TaskLinkCSMA extends NetworkTask {
         switch (event.getNetworkEventId()) {
             case NETWORK_EVENT_ID_LINK_RECEIVE: {
                 // Do not receive if this node is not supposed to receive
-                if (!event.getEventMessage().getMacReceiver().equals(networkNode.getMacAddress()) && !event.getEventMessage().getMacReceiver().equals(NetworkSimulator.getInstance().getNetworkSettings().getMacBroadcastAddress())) {
+                if (event.getEventMessage().getMacReceiverBinary() != networkNode.getMacAddressBinary() && event.getEventMessage().getMacReceiverBinary() != NetworkSimulator.getInstance().getNetworkSettings().getMacBroadcastAddressBinary()) {
                     return;
                 }
 
-                NetworkDiscreteEvent newEvent = new NetworkDiscreteEvent(NetworkUtils.simTimeWithDelay(NetworkUtils.randomNextLayerSimulationTime()), NetworkDiscreteEventId.NETWORK_EVENT_ID_NET_RECEIVE, networkNode, event.getEventMessage());
+                NetworkDiscreteEvent newEvent = NetworkSimulator.getInstance().obtainEvent(NetworkUtils.simTimeWithDelay(NetworkUtils.randomNextLayerSimulationTime()), NetworkDiscreteEventId.NETWORK_EVENT_ID_NET_RECEIVE, networkNode, event.getEventMessage());
                 NetworkSimulator.getInstance().scheduleEvent(newEvent);
                 return;
             }
             case NETWORK_EVENT_ID_LINK_FORWARD_TO_PHY: {
                 long eventTime = forwardToPhyDoneTimeNs - 1;
-                NetworkDiscreteEvent newEvent = new NetworkDiscreteEvent(eventTime, NetworkDiscreteEventId.NETWORK_EVENT_ID_PHY_SEND_START, networkNode, event.getEventMessage());
+                NetworkDiscreteEvent newEvent = NetworkSimulator.getInstance().obtainEvent(eventTime, NetworkDiscreteEventId.NETWORK_EVENT_ID_PHY_SEND_START, networkNode, event.getEventMessage());
                 NetworkSimulator.getInstance().scheduleEvent(newEvent);
                 return;
             }
             case NETWORK_EVENT_ID_LINK_SEND: {
-                event.getEventMessage().setMacSender(networkNode.getMacAddress());
+                event.getEventMessage().setMacSenderBinary(networkNode.getMacAddressBinary());
+                event.getEventMessage().setMacSenderNodeId(networkNode.getPhysicalObject().getId());
                 event.getEventMessage().setMacSequenceNumber(NetworkUtils.getRandomPositiveNumberBits(16));
                 event.getEventMessage().setMessageLengthBits(event.getEventMessage().getMessageLengthBits() + 288);
                 event.getEventMessage().setLinkAdditionalBits(288);
 
                 // Put message in queue and check for channel status
                 messageQueue.add(0, event.getEventMessage());
-                NetworkDiscreteEvent newEvent = new NetworkDiscreteEvent(NetworkUtils.simTimeWithDelay(0), NetworkDiscreteEventId.NETWORK_EVENT_ID_LINK_CHECK_CHANNEL_STATUS, networkNode, event.getEventMessage());
+                NetworkDiscreteEvent newEvent = NetworkSimulator.getInstance().obtainEvent(NetworkUtils.simTimeWithDelay(0), NetworkDiscreteEventId.NETWORK_EVENT_ID_LINK_CHECK_CHANNEL_STATUS, networkNode, event.getEventMessage());
                 NetworkSimulator.getInstance().scheduleEvent(newEvent);
                 return;
             }
@@ -148,6 +157,9 @@ public class TaskLinkCSMA extends NetworkTask {
                 remainingChannelIDs.retainAll(busyChannels);
                 boolean sendingChannelsBusy = !remainingChannelIDs.isEmpty();
 
+                // Take wait ticks into account that passed since the last update
+                updateWaitingTimes();
+
                 // Choose backoff timer when sending channel is busy by other node and message queue is not empty and timer is zero
                 if (sendingChannelsBusy && !messageQueue.isEmpty() && waitingBackoffRemainingTimeNs == 0L) {
                     int randomWindowSize = MathHelper.randomInt(TASK_LINK_CSMA_CONTENTION_WINDOW_MIN_SLOT, (int) (TASK_LINK_CSMA_CONTENTION_WINDOW_MAX_BROADCAST_FRACTION * TASK_LINK_CSMA_CONTENTION_WINDOW_MAX_SLOT));
@@ -157,32 +169,36 @@ public class TaskLinkCSMA extends NetworkTask {
                 // When waiting for DIFS and channel is busy, then DIFS was interrupted
                 if (sendingChannelsBusy && waitingForDifs && !waitingForBackoff && !waitingForDifsInterrupted) {
                     waitingForDifsInterrupted = true;
+                    scheduleWaitingEvent(waitingTickTimeNs + TASK_LINK_CSMA_WAIT_REFRESH_TIME_NS, event.getEventMessage());
                 }
 
                 // When waiting for backoff and channel is busy, then backoff was interrupted
                 if (sendingChannelsBusy && !waitingForDifs && waitingForBackoff && !waitingForBackoffInterrupted) {
                     waitingBackoffInterruptTimeNs = NetworkUtils.simTimeWithDelay(0);
                     waitingForBackoffInterrupted = true;
+                    scheduleWaitingEvent(waitingTickTimeNs + TASK_LINK_CSMA_WAIT_REFRESH_TIME_NS, event.getEventMessage());
                 }
 
                 // When there is a message to send and channel is idle and not waiting for DIFS or backoff, then start waiting for DIFS
                 if (!messageQueue.isEmpty() && !sendingChannelsBusy && !waitingForDifs && !waitingForBackoff) {
                     waitingForDifs = true;
                     waitingDifsRemainingTimeNs = TASK_LINK_CSMA_DIFS_NS;
-                    NetworkDiscreteEvent newEvent = new NetworkDiscreteEvent(NetworkUtils.simTimeWithDelay(TASK_LINK_CSMA_WAIT_REFRESH_TIME_NS), NetworkDiscreteEventId.NETWORK_EVENT_ID_LINK_WAIT_FOR_SENDING, networkNode, event.getEventMessage());
-                    NetworkSimulator.getInstance().scheduleEvent(newEvent);
+                    waitingTickTimeNs = NetworkUtils.simTimeWithDelay(0);
+                    scheduleWaitingEvent(waitingTickTimeNs + waitingTicksTimeNs(waitingDifsRemainingTimeNs), event.getEventMessage());
                 }
 
                 return;
             }
             case NETWORK_EVENT_ID_LINK_WAIT_FOR_SENDING: {
+                waitingEvent = null;
+
                 // Do nothing if waiting is not enabled
                 if (!waitingForDifs && !waitingForBackoff) {
-                    Log.warning("TaskLinkCSMA: Wait event called without waiting enabled! Skipped. NetworkNode: " + networkNode);
+                    Log.warning(() -> "TaskLinkCSMA: Wait event called without waiting enabled! Skipped. NetworkNode: " + networkNode);
                     return;
                 }
 
-                // Skip waiting if waiting for DIFS was interrupted
+                // Skip waiting if waiting for DIFS was interrupted, this is the first wait tick after the interruption
                 // That means channel got busy in the meantime and message sending is started as soon as it is idle again
                 if (waitingForDifs && waitingForDifsInterrupted) {
                     waitingForDifs = false;
@@ -190,7 +206,7 @@ public class TaskLinkCSMA extends NetworkTask {
                     return;
                 }
 
-                // Skip waiting if waiting for backoff was interrupted
+                // Skip waiting if waiting for backoff was interrupted, this is the first wait tick after the interruption
                 // Need to compute remaining backoff time for next attempt
                 if (waitingForBackoff && waitingForBackoffInterrupted) {
                     waitingForBackoff = false;
@@ -200,51 +216,93 @@ public class TaskLinkCSMA extends NetworkTask {
                     return;
                 }
 
-                // Handle DIFS waiting
-                if (waitingForDifs && !waitingForDifsInterrupted) {
-                    waitingDifsRemainingTimeNs = Math.max(0L, waitingDifsRemainingTimeNs - TASK_LINK_CSMA_WAIT_REFRESH_TIME_NS);
-
-                    // Waiting for DIFS done without interruptions, start waiting for backoff
-                    if (waitingDifsRemainingTimeNs == 0L) {
-                        waitingForDifs = false;
-                        waitingForBackoff = true;
-                        waitingForBackoffInterrupted = false;
-                        waitingBackoffInterruptTimeNs = 0L;
-                    }
+                // Waiting for DIFS done without interruptions, start waiting for backoff
+                if (waitingForDifs) {
+                    waitingDifsRemainingTimeNs = 0L;
+                    waitingForDifs = false;
+                    waitingForBackoff = true;
+                    waitingForBackoffInterrupted = false;
+                    waitingBackoffInterruptTimeNs = 0L;
 
-                    NetworkDiscreteEvent newEvent = new NetworkDiscreteEvent(NetworkUtils.simTimeWithDelay(TASK_LINK_CSMA_WAIT_REFRESH_TIME_NS), NetworkDiscreteEventId.NETWORK_EVENT_ID_LINK_WAIT_FOR_SENDING, networkNode, event.getEventMessage());
-                    NetworkSimulator.getInstance().scheduleEvent(newEvent);
+                    // Backoff is decremented from the next wait tick on, at least one wait tick is needed
+                    waitingTickTimeNs = NetworkUtils.simTimeWithDelay(0);
+                    long backoffTimeNs = Math.max(waitingTicksTimeNs(waitingBackoffRemainingTimeNs), TASK_LINK_CSMA_WAIT_REFRESH_TIME_NS);
+                    scheduleWaitingEvent(waitingTickTimeNs + backoffTimeNs, event.getEventMessage());
                     return;
                 }
 
-                // Handle backoff waiting
-                if (waitingForBackoff && !waitingForBackoffInterrupted) {
-                    waitingBackoffRemainingTimeNs = Math.max(0L, waitingBackoffRemainingTimeNs - TASK_LINK_CSMA_WAIT_REFRESH_TIME_NS);
-
-                    // Waiting for backoff done without interruptions, start sending first message from queue
-                    if (waitingBackoffRemainingTimeNs == 0L) {
-                        waitingForBackoff = false;
-                        waitingBackoffInterruptTimeNs = 0L;
-
-                        if (!messageQueue.isEmpty()) {
-                            NetworkMessage message = messageQueue.get(messageQueue.size() - 1);
-                            messageQueue.remove(messageQueue.size() - 1);
-                            forwardToPhyDoneTimeNs = NetworkUtils.simTimeWithDelay(NetworkUtils.randomNextLayerSimulationTime()) + 1;
-                            NetworkDiscreteEvent newEvent = new NetworkDiscreteEvent(NetworkUtils.simTimeWithDelay(0), NetworkDiscreteEventId.NETWORK_EVENT_ID_LINK_FORWARD_TO_PHY, networkNode, message);
-                            NetworkSimulator.getInstance().scheduleEvent(newEvent);
-                        } else {
-                            Log.warning("TaskLinkCSMA: No message in queue and forwarding to PHY failed! NetworkNode: " + networkNode);
-                        }
-                    } else {
-                        NetworkDiscreteEvent newEvent = new NetworkDiscreteEvent(NetworkUtils.simTimeWithDelay(TASK_LINK_CSMA_WAIT_REFRESH_TIME_NS), NetworkDiscreteEventId.NETWORK_EVENT_ID_LINK_WAIT_FOR_SENDING, networkNode, event.getEventMessage());
-                        NetworkSimulator.getInstance().scheduleEvent(newEvent);
-                    }
+                // Waiting for backoff done without interruptions, start sending first message from queue
+                waitingBackoffRemainingTimeNs = 0L;
+                waitingForBackoff = false;
+                waitingBackoffInterruptTimeNs = 0L;
 
-                    return;
+                if (!messageQueue.isEmpty()) {
+                    NetworkMessage message = messageQueue.get(messageQueue.size() - 1);
+                    messageQueue.remove(messageQueue.size() - 1);
+                    forwardToPhyDoneTimeNs = NetworkUtils.simTimeWithDelay(NetworkUtils.randomNextLayerSimulationTime()) + 1;
+                    NetworkDiscreteEvent newEvent = NetworkSimulator.getInstance().obtainEvent(NetworkUtils.simTimeWithDelay(0), NetworkDiscreteEventId.NETWORK_EVENT_ID_LINK_FORWARD_TO_PHY, networkNode, message);
+                    NetworkSimulator.getInstance().scheduleEvent(newEvent);
+                } else {
+                    Log.warning(() -> "TaskLinkCSMA: No message in queue and forwarding to PHY failed! NetworkNode: " + networkNode);
                 }
+
+                return;
             }
             default:
                 return;
         }
     }
+
+    /**
+     * Function that returns the time of all wait ticks that are needed to count down a waiting time
+     *
+     * @param waitingTimeNs Waiting time in nanoseconds
+     * @return Waiting time rounded up to a multiple of the wait tick time
+     */
+    private static long waitingTicksTimeNs(long waitingTimeNs) {
+        long ticks = (waitingTimeNs + TASK_LINK_CSMA_WAIT_REFRESH_TIME_NS - 1) / TASK_LINK_CSMA_WAIT_REFRESH_TIME_NS;
+        return ticks * TASK_LINK_CSMA_WAIT_REFRESH_TIME_NS;
+    }
+
+    /**
+     * Function that counts down the remaining backoff time by all wait ticks that passed until the current simulation time
+     * Wait ticks are only counted while waiting is not interrupted, the tick that ends the waiting phase is counted by the waiting event
+     */
+    private void updateWaitingTimes() {
+        if (waitingEvent == null || waitingForDifsInterrupted || waitingForBackoffInterrupted) {
+            return;
+        }
+
+        long passedTicks = (NetworkUtils.simTimeWithDelay(0) - waitingTickTimeNs) / TASK_LINK_CSMA_WAIT_REFRESH_TIME_NS;
+        long remainingTicks = (waitingEvent.getEventTime() - waitingTickTimeNs) / TASK_LINK_CSMA_WAIT_REFRESH_TIME_NS;
+        long passedTimeNs = Math.min(passedTicks, remainingTicks - 1) * TASK_LINK_CSMA_WAIT_REFRESH_TIME_NS;
+
+        if (passedTimeNs <= 0L) {
+            return;
+        }
+
+        if (waitingForBackoff) {
+            waitingBackoffRemainingTimeNs = Math.max(0L, waitingBackoffRemainingTimeNs - passedTimeNs);
+        } else if (waitingForDifs) {
+            waitingDifsRemainingTimeNs = Math.max(0L, waitingDifsRemainingTimeNs - passedTimeNs);
+        }
+
+        waitingTickTimeNs += passedTimeNs;
+    }
+
+    /**
+     * Function that schedules the wait event for a wait tick and cancels the previously scheduled one
+     *
+     * @param eventTimeNs Time of the wait tick
+     * @param message Message of the event
+     */
+    private void scheduleWaitingEvent(long eventTimeNs, NetworkMessage message) {
+        if (waitingEvent != null) {
+            waitingEvent.cancel();
+        }
+
+        NetworkDiscreteEvent event = NetworkSimulator.getInstance().obtainEvent(eventTimeNs, NetworkDiscreteEventId.NETWORK_EVENT_ID_LINK_WAIT_FOR_SENDING, networkNode, message);
+        waitingEvent = new NetworkEventHandle(event);
+        NetworkSimulator.getInstance().scheduleEvent(event);
+    }
 }
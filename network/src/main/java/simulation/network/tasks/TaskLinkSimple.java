@@ -34,20 +34,21 @@ public class TaskLinkSimple extends NetworkTask {
             case NETWORK_EVENT_ID_LINK_RECEIVE: {
 
                 // Do not receive if this node is not supposed to receive
-                if (!event.getEventMessage().getMacReceiver().equals(networkNode.getMacAddress()) && !event.getEventMessage().getMacReceiver().equals(NetworkSimulator.getInstance().getNetworkSettings().getMacBroadcastAddress())) {
+                if (event.getEventMessage().getMacReceiverBinary() != networkNode.getMacAddressBinary() && event.getEventMessage().getMacReceiverBinary() != NetworkSimulator.getInstance().getNetworkSettings().getMacBroadcastAddressBinary()) {
                     return;
                 }
 
-                NetworkDiscreteEvent newEvent = new NetworkDiscreteEvent(NetworkUtils.simTimeWithDelay(NetworkUtils.randomNextLayerSimulationTime()), NetworkDiscreteEventId.NETWORK_EVENT_ID_NET_RECEIVE, networkNode, event.getEventMessage());
+                NetworkDiscreteEvent newEvent = NetworkSimulator.getInstance().obtainEvent(NetworkUtils.simTimeWithDelay(NetworkUtils.randomNextLayerSimulationTime()), NetworkDiscreteEventId.NETWORK_EVENT_ID_NET_RECEIVE, networkNode, event.getEventMessage());
                 NetworkSimulator.getInstance().scheduleEvent(newEvent);
                 return;
             }
             case NETWORK_EVENT_ID_LINK_SEND: {
-                event.getEventMessage().setMacSender(networkNode.getMacAddress());
+                event.getEventMessage().setMacSenderBinary(networkNode.getMacAddressBinary());
+                event.getEventMessage().setMacSenderNodeId(networkNode.getPhysicalObject().getId());
                 event.getEventMessage().setMacSequenceNumber(NetworkUtils.getRandomPositiveNumberBits(16));
                 event.getEventMessage().setMessageLengthBits(event.getEventMessage().getMessageLengthBits() + 288);
                 event.getEventMessage().setLinkAdditionalBits(288);
-                NetworkDiscreteEvent newEvent = new NetworkDiscreteEvent(NetworkUtils.simTimeWithDelay(NetworkUtils.randomNextLayerSimulationTime()), NetworkDiscreteEventId.NETWORK_EVENT_ID_PHY_SEND_START, networkNode, event.getEventMessage());
+                NetworkDiscreteEvent newEvent = NetworkSimulator.getInstance().obtainEvent(NetworkUtils.simTimeWithDelay(NetworkUtils.randomNextLayerSimulationTime()), NetworkDiscreteEventId.NETWORK_EVENT_ID_PHY_SEND_START, networkNode, event.getEventMessage());
                 NetworkSimulator.getInstance().scheduleEvent(newEvent);
                 return;
             }
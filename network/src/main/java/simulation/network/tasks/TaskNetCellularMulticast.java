@@ -33,26 +33,27 @@ public class TaskNetCellularMulticast extends NetworkTask {
         switch (event.getNetworkEventId()) {
             case NETWORK_EVENT_ID_NET_RECEIVE: {
                 // Do not receive if this is not a multicast message
-                if (!event.getEventMessage().getNetworkIpv6Receiver().equals(NetworkSimulator.getInstance().getNetworkSettings().getIpv6LinkLocalMulticastAddress())) {
+                if (!event.getEventMessage().getNetworkIpv6ReceiverBinary().equals(NetworkSimulator.getInstance().getNetworkSettings().getIpv6LinkLocalMulticastAddressBinary())) {
                     return;
                 }
 
                 // Ignore messages that originated from this node
-                if (event.getEventMessage().getNetworkIpv6Sender().equals(networkNode.getIpv6Address())) {
+                if (event.getEventMessage().getNetworkIpv6SenderBinary().equals(networkNode.getIpv6AddressBinary())) {
                     return;
                 }
 
                 // Multicast message to link layer and do not forward to transport
-                NetworkDiscreteEvent newEvent = new NetworkDiscreteEvent(NetworkUtils.simTimeWithDelay(0), NETWORK_EVENT_ID_NET_MULTICAST, networkNode, event.getEventMessage());
+                NetworkDiscreteEvent newEvent = NetworkSimulator.getInstance().obtainEvent(NetworkUtils.simTimeWithDelay(0), NETWORK_EVENT_ID_NET_MULTICAST, networkNode, event.getEventMessage());
                 NetworkSimulator.getInstance().scheduleEvent(newEvent);
                 return;
             }
             case NETWORK_EVENT_ID_NET_SEND: {
-                event.getEventMessage().setNetworkIpv6Sender(networkNode.getIpv6Address());
+                event.getEventMessage().setNetworkIpv6SenderBinary(networkNode.getIpv6AddressBinary());
+                event.getEventMessage().setNetworkSenderNodeId(networkNode.getPhysicalObject().getId());
                 event.getEventMessage().setMessageLengthBits(event.getEventMessage().getMessageLengthBits() + 320);
                 event.getEventMessage().setNetAdditionalBits(320);
 
-                NetworkDiscreteEvent newEvent = new NetworkDiscreteEvent(NetworkUtils.simTimeWithDelay(NetworkUtils.randomNextLayerSimulationTime()), NetworkDiscreteEventId.NETWORK_EVENT_ID_LINK_SEND, networkNode, event.getEventMessage());
+                NetworkDiscreteEvent newEvent = NetworkSimulator.getInstance().obtainEvent(NetworkUtils.simTimeWithDelay(NetworkUtils.randomNextLayerSimulationTime()), NetworkDiscreteEventId.NETWORK_EVENT_ID_LINK_SEND, networkNode, event.getEventMessage());
                 NetworkSimulator.getInstance().scheduleEvent(newEvent);
                 return;
             }
@@ -70,14 +71,14 @@ public class TaskNetCellularMulticast extends NetworkTask {
                 }
 
                 // Send message to cell with wireless communication
-                NetworkDiscreteEvent newEvent = new NetworkDiscreteEvent(NetworkUtils.simTimeWithDelay(NetworkUtils.randomNextLayerSimulationTime()), NetworkDiscreteEventId.NETWORK_EVENT_ID_LINK_SEND, networkNode, event.getEventMessage());
+                NetworkDiscreteEvent newEvent = NetworkSimulator.getInstance().obtainEvent(NetworkUtils.simTimeWithDelay(NetworkUtils.randomNextLayerSimulationTime()), NetworkDiscreteEventId.NETWORK_EVENT_ID_LINK_SEND, networkNode, event.getEventMessage());
                 NetworkSimulator.getInstance().scheduleEvent(newEvent);
 
                 // If it is not a wired message, copy message and send it to neighboring directly connected base stations as wired message
                 if (!wasWiredMessage) {
                     NetworkMessage wiredMessage = event.getEventMessage().copy();
                     wiredMessage.setWiredMessage(true);
-                    NetworkDiscreteEvent wiredEvent = new NetworkDiscreteEvent(NetworkUtils.simTimeWithDelay(NetworkUtils.randomNextLayerSimulationTime()), NetworkDiscreteEventId.NETWORK_EVENT_ID_LINK_SEND, networkNode, wiredMessage);
+                    NetworkDiscreteEvent wiredEvent = NetworkSimulator.getInstance().obtainEvent(NetworkUtils.simTimeWithDelay(NetworkUtils.randomNextLayerSimulationTime()), NetworkDiscreteEventId.NETWORK_EVENT_ID_LINK_SEND, networkNode, wiredMessage);
                     NetworkSimulator.getInstance().scheduleEvent(wiredEvent);
                 }
                 return;
@@ -33,30 +33,31 @@ public class TaskNetSimple extends NetworkTask {
         switch (event.getNetworkEventId()) {
             case NETWORK_EVENT_ID_NET_RECEIVE: {
                 // Do not receive if this node is not supposed to receive
-                if (!event.getEventMessage().getNetworkIpv6Receiver().equals(networkNode.getIpv6Address()) && !event.getEventMessage().getNetworkIpv6Receiver().equals(NetworkSimulator.getInstance().getNetworkSettings().getIpv6LinkLocalMulticastAddress())) {
+                if (!event.getEventMessage().getNetworkIpv6ReceiverBinary().equals(networkNode.getIpv6AddressBinary()) && !event.getEventMessage().getNetworkIpv6ReceiverBinary().equals(NetworkSimulator.getInstance().getNetworkSettings().getIpv6LinkLocalMulticastAddressBinary())) {
                     return;
                 }
 
                 // Ignore messages that originated from this node
-                if (event.getEventMessage().getNetworkIpv6Sender().equals(networkNode.getIpv6Address())) {
+                if (event.getEventMessage().getNetworkIpv6SenderBinary().equals(networkNode.getIpv6AddressBinary())) {
                     return;
                 }
 
-                NetworkDiscreteEvent newEvent = new NetworkDiscreteEvent(NetworkUtils.simTimeWithDelay(NetworkUtils.randomNextLayerSimulationTime()), NetworkDiscreteEventId.NETWORK_EVENT_ID_TRANSPORT_RECEIVE, networkNode, event.getEventMessage());
+                NetworkDiscreteEvent newEvent = NetworkSimulator.getInstance().obtainEvent(NetworkUtils.simTimeWithDelay(NetworkUtils.randomNextLayerSimulationTime()), NetworkDiscreteEventId.NETWORK_EVENT_ID_TRANSPORT_RECEIVE, networkNode, event.getEventMessage());
                 NetworkSimulator.getInstance().scheduleEvent(newEvent);
                 return;
             }
             case NETWORK_EVENT_ID_NET_SEND: {
                 event.getEventMessage().setNetworkHopLimit(2);
-                event.getEventMessage().setNetworkIpv6Sender(networkNode.getIpv6Address());
+                event.getEventMessage().setNetworkIpv6SenderBinary(networkNode.getIpv6AddressBinary());
+                event.getEventMessage().setNetworkSenderNodeId(networkNode.getPhysicalObject().getId());
                 event.getEventMessage().setMessageLengthBits(event.getEventMessage().getMessageLengthBits() + 320);
                 event.getEventMessage().setNetAdditionalBits(320);
 
-                if (event.getEventMessage().getNetworkIpv6Receiver().equals(NetworkSimulator.getInstance().getNetworkSettings().getIpv6LinkLocalMulticastAddress())) {
-                    event.getEventMessage().setMacReceiver(NetworkSimulator.getInstance().getNetworkSettings().getMacBroadcastAddress());
+                if (event.getEventMessage().getNetworkIpv6ReceiverBinary().equals(NetworkSimulator.getInstance().getNetworkSettings().getIpv6LinkLocalMulticastAddressBinary())) {
+                    event.getEventMessage().setMacReceiverBinary(NetworkSimulator.getInstance().getNetworkSettings().getMacBroadcastAddressBinary());
                 }
 
-                NetworkDiscreteEvent newEvent = new NetworkDiscreteEvent(NetworkUtils.simTimeWithDelay(NetworkUtils.randomNextLayerSimulationTime()), NetworkDiscreteEventId.NETWORK_EVENT_ID_LINK_SEND, networkNode, event.getEventMessage());
+                NetworkDiscreteEvent newEvent = NetworkSimulator.getInstance().obtainEvent(NetworkUtils.simTimeWithDelay(NetworkUtils.randomNextLayerSimulationTime()), NetworkDiscreteEventId.NETWORK_EVENT_ID_LINK_SEND, networkNode, event.getEventMessage());
                 NetworkSimulator.getInstance().scheduleEvent(newEvent);
                 return;
             }
@@ -53,10 +53,10 @@ public class TaskPhyInterference extends NetworkTask {
                     if (sendingMap.containsKey(channelID)) {
                         Integer count = sendingMap.get(channelID);
                         sendingMap.put(channelID, count + 1);
-                        Log.warning("TaskPhyInterference: Already existing sending value map entry is increased, should not happen! NetworkNode: " + networkNode);
+                        Log.warning(() -> "TaskPhyInterference: Already existing sending value map entry is increased, should not happen! NetworkNode: " + networkNode);
                     } else {
                         sendingMap.put(channelID, 1);
-                        NetworkDiscreteEvent newEvent = new NetworkDiscreteEvent(NetworkUtils.simTimeWithDelay(0), NetworkDiscreteEventId.NETWORK_EVENT_ID_LINK_CHECK_CHANNEL_STATUS, networkNode, event.getEventMessage());
+                        NetworkDiscreteEvent newEvent = NetworkSimulator.getInstance().obtainEvent(NetworkUtils.simTimeWithDelay(0), NetworkDiscreteEventId.NETWORK_EVENT_ID_LINK_CHECK_CHANNEL_STATUS, networkNode, event.getEventMessage());
                         NetworkSimulator.getInstance().scheduleEvent(newEvent);
                     }
 
@@ -122,7 +122,7 @@ public class TaskPhyInterference extends NetworkTask {
                     }
 
                     // Schedule end of transmission sending
-                    NetworkDiscreteEvent sendingEnd = new NetworkDiscreteEvent(NetworkUtils.simTimeWithDelay(NetworkUtils.calcTransmissionTime(event.getEventMessage())), NetworkDiscreteEventId.NETWORK_EVENT_ID_PHY_SEND_END, event.getNetworkNode(), event.getEventMessage());
+                    NetworkDiscreteEvent sendingEnd = NetworkSimulator.getInstance().obtainEvent(NetworkUtils.simTimeWithDelay(NetworkUtils.calcTransmissionTime(event.getEventMessage())), NetworkDiscreteEventId.NETWORK_EVENT_ID_PHY_SEND_END, event.getNetworkNode(), event.getEventMessage());
                     NetworkSimulator.getInstance().scheduleEvent(sendingEnd);
                 }
 
@@ -137,16 +137,16 @@ public class TaskPhyInterference extends NetworkTask {
 
                 for (Integer channelID : senderChannelIDs) {
                     if (!sendingMap.containsKey(channelID)) {
-                        Log.warning("TaskPhyInterference: Sending clear called but channel is not in map, should not happen! NetworkNode: " + networkNode);
+                        Log.warning(() -> "TaskPhyInterference: Sending clear called but channel is not in map, should not happen! NetworkNode: " + networkNode);
                     } else {
                         Integer count = sendingMap.get(channelID);
 
                         if (count > 1) {
-                            Log.warning("TaskPhyInterference: Sending clear called with value > 1, should not happen! NetworkNode: " + networkNode);
+                            Log.warning(() -> "TaskPhyInterference: Sending clear called with value > 1, should not happen! NetworkNode: " + networkNode);
                             sendingMap.put(channelID, count - 1);
                         } else {
                             sendingMap.remove(channelID);
-                            NetworkDiscreteEvent newEvent = new NetworkDiscreteEvent(NetworkUtils.simTimeWithDelay(0), NetworkDiscreteEventId.NETWORK_EVENT_ID_LINK_CHECK_CHANNEL_STATUS, networkNode, event.getEventMessage());
+                            NetworkDiscreteEvent newEvent = NetworkSimulator.getInstance().obtainEvent(NetworkUtils.simTimeWithDelay(0), NetworkDiscreteEventId.NETWORK_EVENT_ID_LINK_CHECK_CHANNEL_STATUS, networkNode, event.getEventMessage());
                             NetworkSimulator.getInstance().scheduleEvent(newEvent);
                         }
                     }
@@ -165,7 +165,7 @@ public class TaskPhyInterference extends NetworkTask {
                     interruptedReceiveChannels.add(channelID);
                 } else {
                     receivingMap.put(channelID, 1);
-                    NetworkDiscreteEvent newEvent = new NetworkDiscreteEvent(NetworkUtils.simTimeWithDelay(0), NetworkDiscreteEventId.NETWORK_EVENT_ID_LINK_CHECK_CHANNEL_STATUS, networkNode, event.getEventMessage());
+                    NetworkDiscreteEvent newEvent = NetworkSimulator.getInstance().obtainEvent(NetworkUtils.simTimeWithDelay(0), NetworkDiscreteEventId.NETWORK_EVENT_ID_LINK_CHECK_CHANNEL_STATUS, networkNode, event.getEventMessage());
                     NetworkSimulator.getInstance().scheduleEvent(newEvent);
                 }
 
@@ -177,7 +177,7 @@ public class TaskPhyInterference extends NetworkTask {
                 Integer channelID = event.getEventMessage().getPhyChannelId();
 
                 if (!receivingMap.containsKey(channelID)) {
-                    Log.warning("TaskPhyInterference: Receiving interference clear called but channel is not in map, should not happen! NetworkNode: " + networkNode);
+                    Log.warning(() -> "TaskPhyInterference: Receiving interference clear called but channel is not in map, should not happen! NetworkNode: " + networkNode);
                 } else {
                     Integer count = receivingMap.get(channelID);
 
@@ -185,7 +185,7 @@ public class TaskPhyInterference extends NetworkTask {
                         receivingMap.put(channelID, count - 1);
                     } else {
                         receivingMap.remove(channelID);
-                        NetworkDiscreteEvent newEvent = new NetworkDiscreteEvent(NetworkUtils.simTimeWithDelay(0), NetworkDiscreteEventId.NETWORK_EVENT_ID_LINK_CHECK_CHANNEL_STATUS, networkNode, event.getEventMessage());
+                        NetworkDiscreteEvent newEvent = NetworkSimulator.getInstance().obtainEvent(NetworkUtils.simTimeWithDelay(0), NetworkDiscreteEventId.NETWORK_EVENT_ID_LINK_CHECK_CHANNEL_STATUS, networkNode, event.getEventMessage());
                         NetworkSimulator.getInstance().scheduleEvent(newEvent);
                         interruptedReceiveChannels.remove(channelID);
                     }
@@ -204,7 +204,7 @@ public class TaskPhyInterference extends NetworkTask {
                     interruptedReceiveChannels.add(channelID);
                 } else {
                     receivingMap.put(channelID, 1);
-                    NetworkDiscreteEvent newEvent = new NetworkDiscreteEvent(NetworkUtils.simTimeWithDelay(0), NetworkDiscreteEventId.NETWORK_EVENT_ID_LINK_CHECK_CHANNEL_STATUS, networkNode, event.getEventMessage());
+                    NetworkDiscreteEvent newEvent = NetworkSimulator.getInstance().obtainEvent(NetworkUtils.simTimeWithDelay(0), NetworkDiscreteEventId.NETWORK_EVENT_ID_LINK_CHECK_CHANNEL_STATUS, networkNode, event.getEventMessage());
                     NetworkSimulator.getInstance().scheduleEvent(newEvent);
                 }
 
@@ -218,7 +218,7 @@ public class TaskPhyInterference extends NetworkTask {
             case NETWORK_EVENT_ID_PHY_RECEIVE_MESSAGE_END: {
                 // For wired messages, just forward message
                 if (event.getEventMessage().isWiredMessage()) {
-                    NetworkDiscreteEvent newEvent = new NetworkDiscreteEvent(NetworkUtils.simTimeWithDelay(NetworkUtils.randomNextLayerSimulationTime()), NetworkDiscreteEventId.NETWORK_EVENT_ID_LINK_RECEIVE, networkNode, event.getEventMessage());
+                    NetworkDiscreteEvent newEvent = NetworkSimulator.getInstance().obtainEvent(NetworkUtils.simTimeWithDelay(NetworkUtils.randomNextLayerSimulationTime()), NetworkDiscreteEventId.NETWORK_EVENT_ID_LINK_RECEIVE, networkNode, event.getEventMessage());
                     NetworkSimulator.getInstance().scheduleEvent(newEvent);
                     return;
                 }
@@ -229,7 +229,7 @@ public class TaskPhyInterference extends NetworkTask {
                 boolean receiveSuccess = true;
 
                 if (!receivingMap.containsKey(channelID)) {
-                    Log.warning("TaskPhyInterference: Receiving message clear called but channel is not in map, should not happen! NetworkNode: " + networkNode);
+                    Log.warning(() -> "TaskPhyInterference: Receiving message clear called but channel is not in map, should not happen! NetworkNode: " + networkNode);
                 } else {
                     Integer count = receivingMap.get(channelID);
 
@@ -238,7 +238,7 @@ public class TaskPhyInterference extends NetworkTask {
                         receiveSuccess = false;
                     } else {
                         receivingMap.remove(channelID);
-                        NetworkDiscreteEvent newEvent = new NetworkDiscreteEvent(NetworkUtils.simTimeWithDelay(0), NetworkDiscreteEventId.NETWORK_EVENT_ID_LINK_CHECK_CHANNEL_STATUS, networkNode, event.getEventMessage());
+                        NetworkDiscreteEvent newEvent = NetworkSimulator.getInstance().obtainEvent(NetworkUtils.simTimeWithDelay(0), NetworkDiscreteEventId.NETWORK_EVENT_ID_LINK_CHECK_CHANNEL_STATUS, networkNode, event.getEventMessage());
                         NetworkSimulator.getInstance().scheduleEvent(newEvent);
 
                         if (interruptedReceiveChannels.contains(channelID)) {
@@ -249,10 +249,10 @@ public class TaskPhyInterference extends NetworkTask {
                 }
 
                 if (receiveSuccess) {
-                    NetworkDiscreteEvent newEvent = new NetworkDiscreteEvent(NetworkUtils.simTimeWithDelay(NetworkUtils.randomNextLayerSimulationTime()), NetworkDiscreteEventId.NETWORK_EVENT_ID_LINK_RECEIVE, networkNode, event.getEventMessage());
+                    NetworkDiscreteEvent newEvent = NetworkSimulator.getInstance().obtainEvent(NetworkUtils.simTimeWithDelay(NetworkUtils.randomNextLayerSimulationTime()), NetworkDiscreteEventId.NETWORK_EVENT_ID_LINK_RECEIVE, networkNode, event.getEventMessage());
                     NetworkSimulator.getInstance().scheduleEvent(newEvent);
                 } else {
-                    NetworkDiscreteEvent newEvent = new NetworkDiscreteEvent(NetworkUtils.simTimeWithDelay(0), NetworkDiscreteEventId.NETWORK_EVENT_ID_PHY_RECEIVE_INTERRUPTION_DETECTED, networkNode, event.getEventMessage());
+                    NetworkDiscreteEvent newEvent = NetworkSimulator.getInstance().obtainEvent(NetworkUtils.simTimeWithDelay(0), NetworkDiscreteEventId.NETWORK_EVENT_ID_PHY_RECEIVE_INTERRUPTION_DETECTED, networkNode, event.getEventMessage());
                     NetworkSimulator.getInstance().scheduleEvent(newEvent);
                 }
 
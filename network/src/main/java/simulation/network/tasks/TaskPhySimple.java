@@ -92,7 +92,7 @@ public class TaskPhySimple extends NetworkTask {
                 }
 
                 // Schedule end of transmission sending
-                NetworkDiscreteEvent sendingEnd = new NetworkDiscreteEvent(NetworkUtils.simTimeWithDelay(NetworkUtils.calcTransmissionTime(event.getEventMessage())), NetworkDiscreteEventId.NETWORK_EVENT_ID_PHY_SEND_END, event.getNetworkNode(), event.getEventMessage());
+                NetworkDiscreteEvent sendingEnd = NetworkSimulator.getInstance().obtainEvent(NetworkUtils.simTimeWithDelay(NetworkUtils.calcTransmissionTime(event.getEventMessage())), NetworkDiscreteEventId.NETWORK_EVENT_ID_PHY_SEND_END, event.getNetworkNode(), event.getEventMessage());
                 NetworkSimulator.getInstance().scheduleEvent(sendingEnd);
 
                 // Now general processing in NetworkSimulator will take over to forward message to channel objects
@@ -100,7 +100,7 @@ public class TaskPhySimple extends NetworkTask {
                 return;
             }
             case NETWORK_EVENT_ID_PHY_RECEIVE_MESSAGE_END: {
-                NetworkDiscreteEvent newEvent = new NetworkDiscreteEvent(NetworkUtils.simTimeWithDelay(NetworkUtils.randomNextLayerSimulationTime()), NetworkDiscreteEventId.NETWORK_EVENT_ID_LINK_RECEIVE, networkNode, event.getEventMessage());
+                NetworkDiscreteEvent newEvent = NetworkSimulator.getInstance().obtainEvent(NetworkUtils.simTimeWithDelay(NetworkUtils.randomNextLayerSimulationTime()), NetworkDiscreteEventId.NETWORK_EVENT_ID_LINK_RECEIVE, networkNode, event.getEventMessage());
                 NetworkSimulator.getInstance().scheduleEvent(newEvent);
                 return;
             }
@@ -32,7 +32,7 @@ public class TaskTransportSimple extends NetworkTask {
         // Handle events
         switch (event.getNetworkEventId()) {
             case NETWORK_EVENT_ID_TRANSPORT_RECEIVE: {
-                NetworkDiscreteEvent newEvent = new NetworkDiscreteEvent(NetworkUtils.simTimeWithDelay(NetworkUtils.randomNextLayerSimulationTime()), NetworkDiscreteEventId.NETWORK_EVENT_ID_APP_RECEIVE, networkNode, event.getEventMessage());
+                NetworkDiscreteEvent newEvent = NetworkSimulator.getInstance().obtainEvent(NetworkUtils.simTimeWithDelay(NetworkUtils.randomNextLayerSimulationTime()), NetworkDiscreteEventId.NETWORK_EVENT_ID_APP_RECEIVE, networkNode, event.getEventMessage());
                 NetworkSimulator.getInstance().scheduleEvent(newEvent);
                 return;
             }
@@ -40,7 +40,7 @@ public class TaskTransportSimple extends NetworkTask {
                 event.getEventMessage().setTransportSequenceNumber(NetworkUtils.getRandomPositiveNumberBits(16));
                 event.getEventMessage().setMessageLengthBits(event.getEventMessage().getMessageLengthBits() + 64);
                 event.getEventMessage().setTransportAdditionalBits(64);
-                NetworkDiscreteEvent newEvent = new NetworkDiscreteEvent(NetworkUtils.simTimeWithDelay(NetworkUtils.randomNextLayerSimulationTime()), NetworkDiscreteEventId.NETWORK_EVENT_ID_NET_SEND, networkNode, event.getEventMessage());
+                NetworkDiscreteEvent newEvent = NetworkSimulator.getInstance().obtainEvent(NetworkUtils.simTimeWithDelay(NetworkUtils.randomNextLayerSimulationTime()), NetworkDiscreteEventId.NETWORK_EVENT_ID_NET_SEND, networkNode, event.getEventMessage());
                 NetworkSimulator.getInstance().scheduleEvent(newEvent);
                 return;
             }
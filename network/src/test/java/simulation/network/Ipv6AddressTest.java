@@ -0,0 +1,60 @@
+package simulation.network;
+
+import org.junit.Test;
+
+import static org.junit.Assert.*;
+
+/**
+ * Test for parsing, formatting and comparing binary IPv6 addresses
+ */
+public class Ipv6AddressTest {
+
+    @Test
+    public void testParseAndFormat() {
+        Ipv6Address address = Ipv6Address.parse("ff020000000000000000000000000001");
+        assertEquals(0xff02000000000000L, address.getHigh());
+        assertEquals(1L, address.getLow());
+        assertEquals("ff020000000000000000000000000001", address.toString());
+
+        // Notation with colons
+        assertEquals(address, Ipv6Address.parse("ff02:0000:0000:0000:0000:0000:0000:0001"));
+        assertEquals(address, Ipv6Address.parse("ff02::1"));
+        assertEquals(new Ipv6Address(0L, 1L), Ipv6Address.parse("::1"));
+        assertEquals(new Ipv6Address(0xfe80000000000000L, 0L), Ipv6Address.parse("fe80::"));
+
+        // Upper case input is formatted in lower case
+        assertEquals("fde938777acb4bd4c4ca4238a0b92382", Ipv6Address.parse("FDE938777ACB4BD4C4CA4238A0B92382").toString());
+
+        // Empty string is the unspecified address
+        assertSame(Ipv6Address.UNSPECIFIED, Ipv6Address.parse(""));
+        assertTrue(Ipv6Address.UNSPECIFIED.isUnspecified());
+        assertEquals("", Ipv6Address.UNSPECIFIED.toString());
+    }
+
+    @Test
+    public void testEquality() {
+        Ipv6Address address = Ipv6Address.parse("fde938777acb4bd4c4ca4238a0b92382");
+        Ipv6Address sameAddress = new Ipv6Address(address.getHigh(), address.getLow());
+        Ipv6Address otherAddress = new Ipv6Address(address.getHigh(), address.getLow() + 1L);
+
+        assertEquals(address, sameAddress);
+        assertEquals(address.hashCode(), sameAddress.hashCode());
+        assertNotEquals(address, otherAddress);
+        assertNotEquals(address, Ipv6Address.UNSPECIFIED);
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testInvalidLength() {
+        Ipv6Address.parse("ff02000000000000000000000000001");
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testInvalidCharacter() {
+        Ipv6Address.parse("ff02000000000000000000000000000g");
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testInvalidGroups() {
+        Ipv6Address.parse("ff02:1");
+    }
+}
@@ -0,0 +1,74 @@
+package simulation.network;
+
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+import static org.junit.Assert.*;
+
+/**
+ * Test for the calendar queue of network events
+ */
+public class NetworkEventCalendarQueueTest {
+
+    @Test
+    public void testEqualTimesInInsertionOrder() {
+        NetworkEventCalendarQueue queue = new NetworkEventCalendarQueue();
+        List<NetworkDiscreteEvent> events = new ArrayList<>();
+
+        for (int i = 0; i < 100; ++i) {
+            NetworkDiscreteEvent event = new NetworkDiscreteEvent(1000L * (i % 3), NetworkDiscreteEventId.NETWORK_EVENT_ID_SELF_PERIODIC, null, null);
+            events.add(event);
+            queue.add(event);
+        }
+
+        assertEquals(100, queue.size());
+
+        for (int time = 0; time < 3; ++time) {
+            for (int i = time; i < 100; i += 3) {
+                assertSame(events.get(i), queue.peek());
+                assertSame(events.get(i), queue.poll());
+            }
+        }
+
+        assertTrue(queue.isEmpty());
+        assertNull(queue.poll());
+    }
+
+    @Test
+    public void testOrderWithResize() {
+        NetworkEventCalendarQueue queue = new NetworkEventCalendarQueue();
+        Random random = new Random(42L);
+        long currentTime = 0L;
+        long lastTime = Long.MIN_VALUE;
+        int addedCount = 0;
+        int polledCount = 0;
+
+        // Hold model with a growing and a shrinking phase and some far future events
+        for (int i = 0; i < 20000; ++i) {
+            boolean growing = (i < 10000);
+
+            if (queue.isEmpty() || random.nextInt(10) < (growing ? 7 : 3)) {
+                long delay = (random.nextInt(20) == 0 ? 1000000000L : 0L) + random.nextInt(750000);
+                queue.add(new NetworkDiscreteEvent(currentTime + delay, NetworkDiscreteEventId.NETWORK_EVENT_ID_SELF_PERIODIC, null, null));
+                ++addedCount;
+            } else {
+                NetworkDiscreteEvent event = queue.poll();
+                assertTrue(event.getEventTime() >= lastTime);
+                lastTime = event.getEventTime();
+                currentTime = lastTime;
+                ++polledCount;
+            }
+
+            assertEquals(addedCount - polledCount, queue.size());
+        }
+
+        while (!queue.isEmpty()) {
+            NetworkDiscreteEvent event = queue.poll();
+            assertTrue(event.getEventTime() >= lastTime);
+            lastTime = event.getEventTime();
+        }
+    }
+}
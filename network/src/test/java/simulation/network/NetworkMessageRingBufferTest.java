@@ -0,0 +1,63 @@
+package simulation.network;
+
+import org.junit.Test;
+
+import java.util.List;
+
+import static org.junit.Assert.*;
+
+/**
+ * Test for the ring buffer of recently received messages
+ */
+public class NetworkMessageRingBufferTest {
+
+    @Test
+    public void testCapacityAndOrder() {
+        NetworkMessageRingBuffer buffer = new NetworkMessageRingBuffer(3);
+        NetworkMessage[] messages = new NetworkMessage[5];
+
+        for (int i = 0; i < messages.length; ++i) {
+            messages[i] = new NetworkMessage();
+            messages[i].setSimReceiveTimeNs(100L * i);
+            buffer.add(messages[i]);
+        }
+
+        // Oldest messages are replaced, newest message first
+        assertEquals(3, buffer.size());
+        assertSame(messages[4], buffer.getNewest());
+        assertSame(messages[2], buffer.get(2));
+        assertNull(buffer.get(3));
+
+        List<NetworkMessage> list = buffer.toList();
+        assertEquals(3, list.size());
+        assertSame(messages[4], list.get(0));
+        assertSame(messages[3], list.get(1));
+        assertSame(messages[2], list.get(2));
+    }
+
+    @Test
+    public void testRemoveExpired() {
+        NetworkMessageRingBuffer buffer = new NetworkMessageRingBuffer(4);
+
+        for (int i = 0; i < 6; ++i) {
+            NetworkMessage message = new NetworkMessage();
+            message.setSimReceiveTimeNs(100L * i);
+            buffer.add(message);
+        }
+
+        // Messages at 200 and 300 are at least 200 old at 500, messages at 400 and 500 remain
+        assertEquals(2, buffer.removeExpired(500L, 200L));
+        assertEquals(2, buffer.size());
+        assertEquals(400L, buffer.get(1).getSimReceiveTimeNs());
+
+        assertEquals(0, buffer.removeExpired(500L, 200L));
+        assertEquals(2, buffer.removeExpired(1000L, 200L));
+        assertTrue(buffer.isEmpty());
+        assertNull(buffer.getNewest());
+
+        // Buffer is usable after it was emptied
+        NetworkMessage message = new NetworkMessage();
+        buffer.add(message);
+        assertSame(message, buffer.getNewest());
+    }
+}
@@ -0,0 +1,73 @@
+package simulation.network;
+
+import org.junit.Test;
+
+import static org.junit.Assert.*;
+
+/**
+ * Test for copies of network messages that share their contents
+ */
+public class NetworkMessageTest {
+
+    @Test
+    public void testCopyIndependence() {
+        NetworkMessage message = new NetworkMessage();
+        message.setMessageContent("content");
+        message.setNetworkIpv6Sender("fe800000000000000000000000000001");
+        message.setMacSequenceNumber(7);
+        message.setMessageLengthBits(100);
+
+        NetworkMessage firstCopy = message.copy();
+        NetworkMessage secondCopy = message.copy();
+        NetworkMessage copyOfCopy = firstCopy.copy();
+
+        // Per transmission fields
+        firstCopy.setMessageLengthBits(200);
+        firstCopy.setSimReceiveTimeNs(5L);
+        assertEquals(100, message.getMessageLengthBits());
+        assertEquals(100, copyOfCopy.getMessageLengthBits());
+        assertEquals(-1L, message.getSimReceiveTimeNs());
+
+        // Shared fields changed in a copy
+        firstCopy.setNetworkIpv6Sender("fe800000000000000000000000000002");
+        firstCopy.setMacSequenceNumber(8);
+        assertEquals("fe800000000000000000000000000002", firstCopy.getNetworkIpv6Sender());
+        assertEquals(8, firstCopy.getMacSequenceNumber());
+        assertEquals("fe800000000000000000000000000001", message.getNetworkIpv6Sender());
+        assertEquals("fe800000000000000000000000000001", secondCopy.getNetworkIpv6Sender());
+        assertEquals("fe800000000000000000000000000001", copyOfCopy.getNetworkIpv6Sender());
+        assertEquals(7, copyOfCopy.getMacSequenceNumber());
+
+        // Shared fields changed in the original
+        message.setMessageContent("changed");
+        assertEquals("changed", message.getMessageContent());
+        assertEquals("content", firstCopy.getMessageContent());
+        assertEquals("content", secondCopy.getMessageContent());
+        assertEquals("content", copyOfCopy.getMessageContent());
+        assertEquals("fe800000000000000000000000000001", message.getNetworkIpv6Sender());
+    }
+
+    @Test
+    public void testBinaryAddresses() {
+        NetworkMessage message = new NetworkMessage();
+        assertEquals("", message.getNetworkIpv6Sender());
+        assertEquals("", message.getMacReceiver());
+        assertEquals(NetworkUtils.MAC_ADDRESS_NONE, message.getMacReceiverBinary());
+
+        // String setters are parsed, string getters return the hex representation
+        message.setNetworkIpv6Receiver("ff02::1");
+        message.setMacReceiver("ff:ff:ff:ff:ff:ff");
+        assertEquals(new Ipv6Address(0xff02000000000000L, 1L), message.getNetworkIpv6ReceiverBinary());
+        assertEquals("ff020000000000000000000000000001", message.getNetworkIpv6Receiver());
+        assertEquals(0xffffffffffffL, message.getMacReceiverBinary());
+        assertEquals("ffffffffffff", message.getMacReceiver());
+
+        // Binary setters keep the address instance
+        Ipv6Address sender = Ipv6Address.parse("fde938777acb4bd4c4ca4238a0b92382");
+        message.setNetworkIpv6SenderBinary(sender);
+        message.setMacSenderBinary(NetworkUtils.macAddressToLong("fe38a0b92382"));
+        assertSame(sender, message.copy().getNetworkIpv6SenderBinary());
+        assertEquals("fde938777acb4bd4c4ca4238a0b92382", message.getNetworkIpv6Sender());
+        assertEquals("fe38a0b92382", message.getMacSender());
+    }
+}
@@ -0,0 +1,95 @@
+package simulation.network;
+
+import org.apache.commons.math3.linear.RealVector;
+import org.junit.AfterClass;
+import org.junit.BeforeClass;
+import org.junit.Test;
+import simulation.network.settings.SettingsDirect;
+import simulation.util.Log;
+import simulation.vehicle.PhysicalVehicle;
+import simulation.vehicle.PhysicalVehicleBuilder;
+
+import java.util.LinkedList;
+import java.util.List;
+import java.util.Optional;
+import java.util.Random;
+
+import static org.junit.Assert.*;
+
+/**
+ * Test for the spatial index of network nodes
+ */
+public class NetworkNodeGridTest {
+
+    @BeforeClass
+    public static void setUpClass() {
+        Log.setLogEnabled(false);
+    }
+
+    @AfterClass
+    public static void tearDownClass() {
+        Log.setLogEnabled(true);
+    }
+
+    @Test
+    public void testNodesInRange() {
+        NetworkSimulator.resetInstance();
+        NetworkSimulator networkSimulator = NetworkSimulator.getInstance();
+        networkSimulator.setNetworkSettings(new SettingsDirect());
+
+        List<NetworkNode> nodes = createNodes(40, 5000.0, new Random(42));
+        networkSimulator.setNetworkNodes(nodes);
+        double range = networkSimulator.getNetworkSettings().getNetworkChannelModel().getMaximumRange();
+
+        for (NetworkNode node : nodes) {
+            // Compare with all nodes within the range in the x y plane, in the order of their registration
+            RealVector pos = node.getPhysicalObject().getGeometryPos();
+            List<NetworkNode> expected = new LinkedList<>();
+
+            for (NetworkNode otherNode : nodes) {
+                RealVector otherPos = otherNode.getPhysicalObject().getGeometryPos();
+                double dx = otherPos.getEntry(0) - pos.getEntry(0);
+                double dy = otherPos.getEntry(1) - pos.getEntry(1);
+
+                if (Math.sqrt(dx * dx + dy * dy) <= range) {
+                    expected.add(otherNode);
+                }
+            }
+
+            List<NetworkNode> actual = networkSimulator.getNetworkNodesInRange(node, range);
+            assertEquals(expected, actual);
+            assertTrue(actual.contains(node));
+        }
+
+        // Unlimited range returns all nodes
+        assertEquals(nodes, networkSimulator.getNetworkNodesInRange(nodes.get(0), Double.POSITIVE_INFINITY));
+    }
+
+    @Test
+    public void testNodesMoved() {
+        NetworkSimulator.resetInstance();
+        NetworkSimulator networkSimulator = NetworkSimulator.getInstance();
+        networkSimulator.setNetworkSettings(new SettingsDirect());
+
+        List<NetworkNode> nodes = createNodes(2, 0.0, new Random(42));
+        networkSimulator.setNetworkNodes(nodes);
+        assertEquals(2, networkSimulator.getNetworkNodesInRange(nodes.get(0), 100.0).size());
+
+        // Index is rebuilt after the next loop iteration
+        ((PhysicalVehicle) nodes.get(1).getPhysicalObject()).setGlobalPos(2000.0, 2000.0, 0.5);
+        networkSimulator.didExecuteLoop(new LinkedList<>(), 0, 0);
+        assertEquals(1, networkSimulator.getNetworkNodesInRange(nodes.get(0), 100.0).size());
+    }
+
+    private static List<NetworkNode> createNodes(int count, double areaSize, Random random) {
+        List<NetworkNode> nodes = new LinkedList<>();
+
+        for (int i = 0; i < count; ++i) {
+            PhysicalVehicle vehicle = PhysicalVehicleBuilder.getInstance().buildPhysicalVehicle(Optional.empty(), Optional.empty(), Optional.empty());
+            vehicle.setGlobalPos(1000.0 + areaSize * random.nextDouble(), 1000.0 + areaSize * random.nextDouble(), 0.5);
+            nodes.add(new NetworkNode(vehicle));
+        }
+
+        return nodes;
+    }
+}
@@ -1,16 +1,24 @@
 package simulation.network;
 
 import commons.simulation.DiscreteEvent;
+import commons.simulation.PhysicalObject;
 import commons.simulation.SimulationLoopExecutable;
+import org.apache.commons.math3.linear.RealVector;
 import org.junit.Test;
+import simulation.network.channels.ChannelModelDirect;
+import simulation.network.settings.SettingsDirect;
 import simulation.network.settings.SettingsSimple;
 import simulation.util.Log;
 import simulation.vehicle.PhysicalVehicle;
 import simulation.vehicle.PhysicalVehicleBuilder;
+import simulation.vehicle.Vehicle;
 
+import java.util.HashSet;
 import java.util.LinkedList;
 import java.util.List;
 import java.util.Optional;
+import java.util.Random;
+import java.util.Set;
 
 import static org.junit.Assert.*;
 import static simulation.network.NetworkDiscreteEventId.NETWORK_EVENT_ID_RANDOM_START_INITIALIZE;
@@ -127,6 +135,173 @@ public class NetworkSimulatorTest {
         Log.setLogEnabled(true);
     }
 
+    @Test
+    public void testCancelledEventSkipped() {
+        // Setup
+        Log.setLogEnabled(false);
+        NetworkSettings settings = new SettingsSimple();
+
+        NetworkSimulator.resetInstance();
+        NetworkSimulator networkSimulator = NetworkSimulator.getInstance();
+        networkSimulator.setNetworkSettings(settings);
+
+        PhysicalVehicle vehicle1 = PhysicalVehicleBuilder.getInstance().buildPhysicalVehicle(Optional.empty(), Optional.empty(), Optional.empty());
+        vehicle1.setGlobalPos(1000.0, 1000.0, 0.50);
+        NetworkNode networkNode = new NetworkNode(vehicle1);
+
+        List<NetworkNode> nodeList = new LinkedList<>();
+        nodeList.add(networkNode);
+        networkSimulator.setNetworkNodes(nodeList);
+
+        // Cancelled random start event does not start the tasks, thus no new events are produced
+        assertTrue(networkSimulator.getEventList().size() == 1);
+        NetworkDiscreteEvent firstEvent = (NetworkDiscreteEvent) (networkSimulator.getEventList().get(0));
+        firstEvent.cancel();
+        assertTrue(firstEvent.isCancelled());
+
+        networkSimulator.didExecuteLoop(new LinkedList<SimulationLoopExecutable>(), 0, settings.getMaxTaskStartTimeNs() / 1000000L + 1);
+        assertTrue(networkSimulator.getEventList().isEmpty());
+
+        // Enable log
+        Log.setLogEnabled(true);
+    }
+
+    @Test
+    public void testRecentMessagesBySender() {
+        // Setup
+        Log.setLogEnabled(false);
+        NetworkSettings settings = new SettingsSimple();
+
+        NetworkSimulator.resetInstance();
+        NetworkSimulator networkSimulator = NetworkSimulator.getInstance();
+        networkSimulator.setNetworkSettings(settings);
+
+        PhysicalVehicle vehicle1 = PhysicalVehicleBuilder.getInstance().buildPhysicalVehicle(Optional.empty(), Optional.empty(), Optional.empty());
+        NetworkNode networkNode = new NetworkNode(vehicle1);
+
+        // Messages are stored per sender node id, at most message buffer size messages per sender
+        for (int i = 0; i < 2 * settings.getMessageBufferSize() + 5; ++i) {
+            NetworkMessage message = new NetworkMessage();
+            message.setNetworkIpv6Sender("fe80000000000000000000000000000" + (i % 2));
+            message.setNetworkSenderNodeId(i % 2);
+            message.setMacSenderNodeId(i % 2);
+            NetworkUtils.putMessageInNode(networkNode, message);
+        }
+
+        assertEquals(2, networkNode.getRecentIpv6MessagesMap().size());
+        assertEquals(2, networkNode.getRecentMacMessagesMap().size());
+        assertEquals(settings.getMessageBufferSize(), networkNode.getRecentIpv6MessagesMap().get(0L).size());
+        assertEquals(settings.getMessageBufferSize(), networkNode.getRecentMacMessagesMap().get(1L).size());
+        assertEquals(2, networkNode.getRecentIpv6Senders().size());
+        assertTrue(networkNode.getRecentIpv6Senders().contains("fe800000000000000000000000000001"));
+
+        // Enable log
+        Log.setLogEnabled(true);
+    }
+
+    @Test
+    public void testCalendarEventQueue() {
+        // Setup
+        Log.setLogEnabled(false);
+        NetworkSettings settings = new SettingsSimple();
+        settings.setCalendarEventQueueEnabled(true);
+
+        NetworkSimulator.resetInstance();
+        NetworkSimulator networkSimulator = NetworkSimulator.getInstance();
+        networkSimulator.setNetworkSettings(settings);
+
+        PhysicalVehicle vehicle1 = PhysicalVehicleBuilder.getInstance().buildPhysicalVehicle(Optional.empty(), Optional.empty(), Optional.empty());
+        vehicle1.setGlobalPos(1000.0, 1000.0, 0.50);
+        NetworkNode networkNode = new NetworkNode(vehicle1);
+
+        List<NetworkNode> nodeList = new LinkedList<>();
+        nodeList.add(networkNode);
+        networkSimulator.setNetworkNodes(nodeList);
+
+        // Network events are kept in the calendar queue, the event list only contains a wake up event
+        assertTrue(networkSimulator.getEventList().size() == 1);
+        assertFalse(networkSimulator.getEventList().get(0) instanceof NetworkDiscreteEvent);
+
+        // Periodic events of the tasks keep the calendar queue running
+        networkSimulator.didExecuteLoop(new LinkedList<SimulationLoopExecutable>(), 0, settings.getMaxTaskStartTimeNs() / 1000000L + 1000L);
+        assertFalse(networkSimulator.getEventList().isEmpty());
+
+        for (DiscreteEvent event : networkSimulator.getEventList()) {
+            assertFalse(event instanceof NetworkDiscreteEvent);
+            assertTrue(event.getEventTime() >= networkSimulator.getSimulationTimeNs());
+        }
+
+        // Enable log
+        Log.setLogEnabled(true);
+    }
+
+    @Test
+    public void testTimerAndEventPool() {
+        // Setup
+        Log.setLogEnabled(false);
+        NetworkSettings settings = new SettingsSimple();
+
+        NetworkSimulator.resetInstance();
+        NetworkSimulator networkSimulator = NetworkSimulator.getInstance();
+        networkSimulator.setNetworkSettings(settings);
+
+        PhysicalVehicle vehicle1 = PhysicalVehicleBuilder.getInstance().buildPhysicalVehicle(Optional.empty(), Optional.empty(), Optional.empty());
+        vehicle1.setGlobalPos(1000.0, 1000.0, 0.50);
+        NetworkNode networkNode = new NetworkNode(vehicle1);
+
+        List<NetworkNode> nodeList = new LinkedList<>();
+        nodeList.add(networkNode);
+        networkSimulator.setNetworkNodes(nodeList);
+
+        // Timer events have no message and are only accepted by the task that scheduled them
+        NetworkTask softStateTask = networkNode.getNetworkTaskById(NetworkTaskId.NETWORK_TASK_ID_APP_MESSAGES_SOFT_STATE).get();
+        NetworkTask beaconTask = networkNode.getNetworkTaskById(NetworkTaskId.NETWORK_TASK_ID_APP_BEACON).get();
+        NetworkEventHandle timerHandle = networkSimulator.scheduleTimer(0L, NetworkDiscreteEventId.NETWORK_EVENT_ID_SELF_PERIODIC, softStateTask);
+        assertTrue(timerHandle.isPending());
+        assertEquals(0L, timerHandle.getEventTime());
+
+        NetworkDiscreteEvent timer = null;
+        for (DiscreteEvent event : networkSimulator.getEventList()) {
+            if (((NetworkDiscreteEvent) event).getTimerTaskId() != null) {
+                timer = (NetworkDiscreteEvent) event;
+            }
+        }
+
+        assertNotNull(timer);
+        assertNull(timer.getEventMessage());
+        assertTrue(softStateTask.isOwnTimer(timer));
+        assertFalse(beaconTask.isOwnTimer(timer));
+
+        // Processed and skipped events are reused
+        Set<NetworkDiscreteEvent> processedEvents = new HashSet<>();
+        for (DiscreteEvent event : networkSimulator.getEventList()) {
+            ((NetworkDiscreteEvent) event).cancel();
+            processedEvents.add((NetworkDiscreteEvent) event);
+        }
+
+        networkSimulator.didExecuteLoop(new LinkedList<SimulationLoopExecutable>(), 0, settings.getMaxTaskStartTimeNs() / 1000000L + 1);
+        assertTrue(networkSimulator.getEventList().isEmpty());
+
+        List<NetworkDiscreteEvent> reusedEvents = new LinkedList<>();
+        for (int i = 0; i < processedEvents.size(); ++i) {
+            NetworkDiscreteEvent event = networkSimulator.obtainEvent(1L, NetworkDiscreteEventId.NETWORK_EVENT_ID_NONE, networkNode, null);
+            assertTrue(processedEvents.contains(event));
+            assertFalse(event.isCancelled());
+            assertNull(event.getTimerTaskId());
+            assertEquals(1L, event.getEventTime());
+            reusedEvents.add(event);
+        }
+
+        // A handle of a processed timer does not cancel the event that reuses it
+        assertFalse(timerHandle.isPending());
+        timerHandle.cancel();
+        assertTrue(reusedEvents.contains(timer));
+        assertFalse(timer.isCancelled());
+
+        // Enable log
+        Log.setLogEnabled(true);
+    }
+
     @Test
     public void testStatisticsFunctions() {
         // Setup
@@ -173,4 +348,79 @@ public class NetworkSimulatorTest {
         // Enable log
         Log.setLogEnabled(true);
     }
+
+    @Test
+    public void testMultiPathErrorRate() {
+        // Setup
+        Log.setLogEnabled(false);
+        NetworkSimulator.resetInstance();
+        NetworkSimulator networkSimulator = NetworkSimulator.getInstance();
+        networkSimulator.setNetworkSettings(new SettingsDirect());
+        Random random = new Random(42);
+
+        List<NetworkNode> nodeList = new LinkedList<>();
+        List<PhysicalObject> objectList = new LinkedList<>();
+        for (int i = 0; i < 8; ++i) {
+            PhysicalVehicle vehicle = PhysicalVehicleBuilder.getInstance().buildPhysicalVehicle(Optional.empty(), Optional.empty(), Optional.empty());
+            vehicle.setGlobalPos(1000.0 + 600.0 * random.nextDouble(), 1000.0 + 600.0 * random.nextDouble(), 0.50);
+            nodeList.add(new NetworkNode(vehicle));
+            objectList.add(vehicle);
+        }
+
+        networkSimulator.setNetworkNodes(nodeList);
+        networkSimulator.setPhysicalObjects(objectList);
+
+        // Error rate from the number of objects matches the discretized computation for all pairs of nodes
+        for (NetworkNode sender : nodeList) {
+            for (NetworkNode receiver : nodeList) {
+                if (sender != receiver) {
+                    double expected = discretizedMultiPathErrorRate(sender, receiver, objectList);
+                    double actual = NetworkUtils.calcMultiPathErrorRate(sender, receiver, ChannelModelDirect.MULTI_PATH_BASE_ERROR,
+                            ChannelModelDirect.MULTI_PATH_SCALE_FACTOR, ChannelModelDirect.MULTI_PATH_MAX_DISTANCE);
+                    assertEquals(expected, actual, 1E-12 * expected);
+                }
+            }
+        }
+
+        // Enable log
+        Log.setLogEnabled(true);
+    }
+
+    /**
+     * Computes the multi path error rate with positions along a discretized line and Vehicle.getNearestPositionOnPositionList()
+     */
+    private static double discretizedMultiPathErrorRate(NetworkNode sender, NetworkNode receiver, List<PhysicalObject> objects) {
+        double errorRateMultiPath = ChannelModelDirect.MULTI_PATH_BASE_ERROR;
+
+        for (PhysicalObject physicalObject : objects) {
+            if (physicalObject.getId() != sender.getPhysicalObject().getId() && physicalObject.getId() != receiver.getPhysicalObject().getId()) {
+                RealVector otherPos = physicalObject.getGeometryPos();
+                List<RealVector> positionList = discretizeSegment(sender.getPhysicalObject().getGeometryPos(), otherPos);
+                RealVector otherNearestPosOnRay = Vehicle.getNearestPositionOnPositionList(positionList, otherPos, ChannelModelDirect.MULTI_PATH_ACCURACY_NEAREST_POSITION).getValue();
+                double otherNearestDistance = otherPos.getDistance(otherNearestPosOnRay);
+
+                if (otherNearestDistance < ChannelModelDirect.MULTI_PATH_MAX_DISTANCE) {
+                    if (otherNearestDistance < 1.0) {
+                        otherNearestDistance = 0.5;
+                    }
+
+                    errorRateMultiPath += (ChannelModelDirect.MULTI_PATH_SCALE_FACTOR / otherNearestDistance);
+                }
+            }
+        }
+
+        return errorRateMultiPath;
+    }
+
+    private static List<RealVector> discretizeSegment(RealVector start, RealVector end) {
+        RealVector diffVector = end.subtract(start);
+        List<RealVector> positionList = new LinkedList<>();
+
+        for (int i = 0; i <= ChannelModelDirect.MULTI_PATH_ACCURACY; ++i) {
+            double factor = (double)(i) / (double)(ChannelModelDirect.MULTI_PATH_ACCURACY);
+            positionList.add(start.add(diffVector.mapMultiply(factor)));
+        }
+
+        return positionList;
+    }
 }
\ No newline at end of file
@@ -25,9 +25,9 @@ public class TaskAppMessagesSoftStateTest {
         NetworkSimulator networkSimulator = NetworkSimulator.getInstance();
         networkSimulator.setNetworkSettings(settings);
 
-        Map<String, List<NetworkMessage>> messagesMap = Collections.synchronizedMap(new HashMap<>());
-        List<NetworkMessage> messageList1 = Collections.synchronizedList(new LinkedList<>());
-        List<NetworkMessage> messageList2 = Collections.synchronizedList(new LinkedList<>());
+        Map<Long, NetworkMessageRingBuffer> messagesMap = Collections.synchronizedMap(new HashMap<>());
+        NetworkMessageRingBuffer messageList1 = new NetworkMessageRingBuffer(settings.getMessageBufferSize());
+        NetworkMessageRingBuffer messageList2 = new NetworkMessageRingBuffer(settings.getMessageBufferSize());
 
         for (int i = 0; i < 10; ++i) {
             long msgReceiveTimeNs = (i * (settings.getMessageBufferMaxTime() / 10)) + 1;
@@ -43,19 +43,19 @@ public class TaskAppMessagesSoftStateTest {
             messageList2.add(msg);
         }
 
-        messagesMap.put("fea86fb7a631", messageList1);
-        messagesMap.put("fec2efa52351", messageList2);
+        messagesMap.put(1L, messageList1);
+        messagesMap.put(2L, messageList2);
 
         // Ensure that keeping valid messages works
         TaskAppMessagesSoftState.softStateCleanup(messagesMap);
         assertTrue(messagesMap.size() == 2);
-        assertTrue(messagesMap.get("fea86fb7a631").size() == 10);
-        assertTrue(messagesMap.get("fec2efa52351").size() == 5);
+        assertTrue(messagesMap.get(1L).size() == 10);
+        assertTrue(messagesMap.get(2L).size() == 5);
         networkSimulator.didExecuteLoop(new LinkedList<SimulationLoopExecutable>(), 0, settings.getMessageBufferMaxTime() / 1000000L);
         TaskAppMessagesSoftState.softStateCleanup(messagesMap);
         assertTrue(messagesMap.size() == 2);
-        assertTrue(messagesMap.get("fea86fb7a631").size() == 10);
-        assertTrue(messagesMap.get("fec2efa52351").size() == 5);
+        assertTrue(messagesMap.get(1L).size() == 10);
+        assertTrue(messagesMap.get(2L).size() == 5);
 
         // Enable log
         Log.setLogEnabled(true);
@@ -71,9 +71,9 @@ public class TaskAppMessagesSoftStateTest {
         NetworkSimulator networkSimulator = NetworkSimulator.getInstance();
         networkSimulator.setNetworkSettings(settings);
 
-        Map<String, List<NetworkMessage>> messagesMap = Collections.synchronizedMap(new HashMap<>());
-        List<NetworkMessage> messageList1 = Collections.synchronizedList(new LinkedList<>());
-        List<NetworkMessage> messageList2 = Collections.synchronizedList(new LinkedList<>());
+        Map<Long, NetworkMessageRingBuffer> messagesMap = Collections.synchronizedMap(new HashMap<>());
+        NetworkMessageRingBuffer messageList1 = new NetworkMessageRingBuffer(settings.getMessageBufferSize());
+        NetworkMessageRingBuffer messageList2 = new NetworkMessageRingBuffer(settings.getMessageBufferSize());
 
         for (int i = 0; i < 10; ++i) {
             long msgReceiveTimeNs = (i * (settings.getMessageBufferMaxTime() / 10)) + 1;
@@ -89,14 +89,14 @@ public class TaskAppMessagesSoftStateTest {
             messageList2.add(msg);
         }
 
-        messagesMap.put("fea86fb7a631", messageList1);
-        messagesMap.put("fec2efa52351", messageList2);
+        messagesMap.put(1L, messageList1);
+        messagesMap.put(2L, messageList2);
 
         // Ensure that clearing invalid messages works
         TaskAppMessagesSoftState.softStateCleanup(messagesMap);
         assertTrue(messagesMap.size() == 2);
-        assertTrue(messagesMap.get("fea86fb7a631").size() == 10);
-        assertTrue(messagesMap.get("fec2efa52351").size() == 5);
+        assertTrue(messagesMap.get(1L).size() == 10);
+        assertTrue(messagesMap.get(2L).size() == 5);
         networkSimulator.didExecuteLoop(new LinkedList<SimulationLoopExecutable>(), 0, 2 + (2 * settings.getMessageBufferMaxTime() / 1000000L));
         TaskAppMessagesSoftState.softStateCleanup(messagesMap);
         assertTrue(messagesMap.size() == 0);
@@ -115,9 +115,9 @@ public class TaskAppMessagesSoftStateTest {
         NetworkSimulator networkSimulator = NetworkSimulator.getInstance();
         networkSimulator.setNetworkSettings(settings);
 
-        Map<String, List<NetworkMessage>> messagesMap = Collections.synchronizedMap(new HashMap<>());
-        List<NetworkMessage> messageList1 = Collections.synchronizedList(new LinkedList<>());
-        List<NetworkMessage> messageList2 = Collections.synchronizedList(new LinkedList<>());
+        Map<Long, NetworkMessageRingBuffer> messagesMap = Collections.synchronizedMap(new HashMap<>());
+        NetworkMessageRingBuffer messageList1 = new NetworkMessageRingBuffer(settings.getMessageBufferSize());
+        NetworkMessageRingBuffer messageList2 = new NetworkMessageRingBuffer(settings.getMessageBufferSize());
 
         for (int i = 0; i < 10; ++i) {
             long msgReceiveTimeNs = (i * (settings.getMessageBufferMaxTime() / 10)) + 1;
@@ -133,18 +133,18 @@ public class TaskAppMessagesSoftStateTest {
             messageList2.add(msg);
         }
 
-        messagesMap.put("fea86fb7a631", messageList1);
-        messagesMap.put("fec2efa52351", messageList2);
+        messagesMap.put(1L, messageList1);
+        messagesMap.put(2L, messageList2);
 
         // Ensure some messages are kept and others are removed / cleared
         TaskAppMessagesSoftState.softStateCleanup(messagesMap);
         assertTrue(messagesMap.size() == 2);
-        assertTrue(messagesMap.get("fea86fb7a631").size() == 10);
-        assertTrue(messagesMap.get("fec2efa52351").size() == 5);
+        assertTrue(messagesMap.get(1L).size() == 10);
+        assertTrue(messagesMap.get(2L).size() == 5);
         networkSimulator.didExecuteLoop(new LinkedList<SimulationLoopExecutable>(), 0, ((5 * (settings.getMessageBufferMaxTime() / 10)) + 1 + settings.getMessageBufferMaxTime()) / 1000000L);
         TaskAppMessagesSoftState.softStateCleanup(messagesMap);
         assertTrue(messagesMap.size() == 1);
-        assertTrue(messagesMap.get("fea86fb7a631").size() == 5);
+        assertTrue(messagesMap.get(1L).size() == 5);
 
         // Enable log
         Log.setLogEnabled(true);
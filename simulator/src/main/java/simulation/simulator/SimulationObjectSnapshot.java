@@ -0,0 +1,133 @@
+package simulation.simulator;
+
+import commons.simulation.PhysicalObject;
+import commons.simulation.SimulationLoopExecutable;
+import simulation.vehicle.PhysicalVehicle;
+
+import java.util.*;
+
+/**
+ * Immutable, array backed snapshot of the objects registered at the simulator. The simulator creates a new
+ * snapshot whenever objects are registered or unregistered, such that the simulation loop, observers and
+ * getters can share the same lists without copying them in every frame
+ */
+final class SimulationObjectSnapshot {
+
+    /** Empty snapshot for a simulator without objects */
+    static final SimulationObjectSnapshot EMPTY = new SimulationObjectSnapshot(Collections.emptyList(), Collections.emptyList());
+
+    /** All objects that execute the simulation loop, in the order of registration */
+    private final List<SimulationLoopExecutable> simulationObjects;
+
+    /** All physical objects, in the order of registration */
+    private final List<PhysicalObject> physicalObjects;
+
+    /** Simulation objects that are also physical objects, in the order of registration */
+    private final List<PhysicalObject> physicalSimulationObjects;
+
+    /** Simulation objects that are physical vehicles, in the order of registration */
+    private final List<PhysicalVehicle> physicalVehicles;
+
+    /** Simulation objects that are physical objects but no physical vehicles, in the order of registration */
+    private final List<PhysicalObject> otherPhysicalSimulationObjects;
+
+    /** Simulation objects that are not physical objects, in the order of registration */
+    private final List<SimulationLoopExecutable> otherSimulationObjects;
+
+    /** Physical objects that are not registered as simulation objects, in the order of registration */
+    private final List<PhysicalObject> passivePhysicalObjects;
+
+    /**
+     * Constructor that copies the given collections
+     *
+     * @param simulationObjects All objects that execute the simulation loop
+     * @param physicalObjects All physical objects
+     */
+    SimulationObjectSnapshot(Collection<SimulationLoopExecutable> simulationObjects, Collection<PhysicalObject> physicalObjects) {
+        List<PhysicalObject> physicalSimulationObjects = new ArrayList<>();
+        List<SimulationLoopExecutable> otherSimulationObjects = new ArrayList<>();
+        List<PhysicalVehicle> physicalVehicles = new ArrayList<>();
+        List<PhysicalObject> otherPhysicalSimulationObjects = new ArrayList<>();
+        Set<PhysicalObject> activeObjects = Collections.newSetFromMap(new IdentityHashMap<>());
+
+        for (SimulationLoopExecutable object : simulationObjects) {
+            if (object instanceof PhysicalObject) {
+                physicalSimulationObjects.add((PhysicalObject) object);
+                activeObjects.add((PhysicalObject) object);
+
+                if (object instanceof PhysicalVehicle) {
+                    physicalVehicles.add((PhysicalVehicle) object);
+                } else {
+                    otherPhysicalSimulationObjects.add((PhysicalObject) object);
+                }
+            } else {
+                otherSimulationObjects.add(object);
+            }
+        }
+
+        List<PhysicalObject> passivePhysicalObjects = new ArrayList<>();
+
+        for (PhysicalObject object : physicalObjects) {
+            if (!activeObjects.contains(object)) {
+                passivePhysicalObjects.add(object);
+            }
+        }
+
+        this.simulationObjects = Collections.unmodifiableList(new ArrayList<>(simulationObjects));
+        this.physicalObjects = Collections.unmodifiableList(new ArrayList<>(physicalObjects));
+        this.physicalSimulationObjects = Collections.unmodifiableList(physicalSimulationObjects);
+        this.physicalVehicles = Collections.unmodifiableList(physicalVehicles);
+        this.otherPhysicalSimulationObjects = Collections.unmodifiableList(otherPhysicalSimulationObjects);
+        this.otherSimulationObjects = Collections.unmodifiableList(otherSimulationObjects);
+        this.passivePhysicalObjects = Collections.unmodifiableList(passivePhysicalObjects);
+    }
+
+    /**
+     * @return Unmodifiable list of all objects that execute the simulation loop
+     */
+    List<SimulationLoopExecutable> getSimulationObjects() {
+        return simulationObjects;
+    }
+
+    /**
+     * @return Unmodifiable list of all physical objects
+     */
+    List<PhysicalObject> getPhysicalObjects() {
+        return physicalObjects;
+    }
+
+    /**
+     * @return Unmodifiable list of simulation objects that are also physical objects
+     */
+    List<PhysicalObject> getPhysicalSimulationObjects() {
+        return physicalSimulationObjects;
+    }
+
+    /**
+     * @return Unmodifiable list of simulation objects that are physical vehicles
+     */
+    List<PhysicalVehicle> getPhysicalVehicles() {
+        return physicalVehicles;
+    }
+
+    /**
+     * @return Unmodifiable list of simulation objects that are physical objects but no physical vehicles
+     */
+    List<PhysicalObject> getOtherPhysicalSimulationObjects() {
+        return otherPhysicalSimulationObjects;
+    }
+
+    /**
+     * @return Unmodifiable list of simulation objects that are not physical objects
+     */
+    List<SimulationLoopExecutable> getOtherSimulationObjects() {
+        return otherSimulationObjects;
+    }
+
+    /**
+     * @return Unmodifiable list of physical objects that are not registered as simulation objects
+     */
+    List<PhysicalObject> getPassivePhysicalObjects() {
+        return passivePhysicalObjects;
+    }
+}
@@ -18,7 +18,10 @@ import commons.simulation.SimulationLoopExecutable;
 import simulation.vehicle.*;
 import commons.simulation.PhysicalObject;
 import java.util.*;
+import java.util.concurrent.ForkJoinPool;
 import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.IntConsumer;
+import java.util.stream.IntStream;
 
 import static simulation.vehicle.MassPointType.*;
 
@@ -93,6 +96,30 @@ public class Simulator {
      */
     private boolean synchronousSimulation = false;
 
+    /**
+     * Whether or not the objects of the simulation should be computed in parallel phases
+     * instead of one after another. See setParallelSimulation() for more information.
+     */
+    private boolean parallelSimulation = false;
+
+    /** Number of worker threads used for parallel simulation. Default: Number of available processors */
+    private int parallelism = Runtime.getRuntime().availableProcessors();
+
+    /** Pool that executes the parallel phases of the simulation loop, created on demand and kept across pauses */
+    private ForkJoinPool parallelPool = null;
+
+    /** Broad phase that determines which pairs of physical objects are checked for collisions */
+    private final CollisionBroadPhase collisionBroadPhase = new CollisionBroadPhase();
+
+    /**
+     * Whether or not the rigid body state of all physical vehicles should be integrated in one pass
+     * per state store during parallel simulation. See setBatchVehicleIntegration() for more information.
+     */
+    private boolean batchVehicleIntegration = false;
+
+    /** Integrator that is used for all physical vehicles if batch vehicle integration is enabled */
+    private final VehicleBatchIntegrator vehicleBatchIntegrator = new VehicleBatchIntegrator();
+
     /** Number of simulated frames up to now */
     private long frameCount = 0;
 
@@ -117,6 +144,12 @@ public class Simulator {
     /** All simulation objects */
     private final List<PhysicalObject> physicalObjects = Collections.synchronizedList(new LinkedList<PhysicalObject>());
 
+    /** Immutable snapshot of simulationObjects and physicalObjects, replaced whenever objects are (un)registered */
+    private volatile SimulationObjectSnapshot objectSnapshot = SimulationObjectSnapshot.EMPTY;
+
+    /** Lock that serializes updates of objectSnapshot */
+    private final Object objectSnapshotLock = new Object();
+
     /** Times for which others wait using the waitForTime() method */
     private final List<Long> waitTimers = Collections.synchronizedList(new LinkedList<Long>());
 
@@ -125,8 +158,13 @@ public class Simulator {
      * Should only be used for testing purposes.
      */
     public static void resetSimulator() {
+        if (sharedInstance != null) {
+            sharedInstance.shutdownParallelPool();
+        }
+
         IdGenerator.resetInstance();
         PhysicalVehicleBuilder.resetInstance();
+        WorldModel.removeAllObjects();
         sharedInstance = new Simulator(0);
     }
 
@@ -251,6 +289,9 @@ public class Simulator {
 
         // Inform observers about simulation stop if it is not a pause
         if (!isPausedInFuture()) {
+            //Release worker threads of parallel simulation, a paused simulation keeps them for its continuation
+            shutdownParallelPool();
+
             for (SimulationLoopNotifiable observer : this.loopObservers) {
                 observer.simulationStopped(getSimulationObjects(), simulationTime);
             }
@@ -366,54 +407,33 @@ public class Simulator {
         //Update simulated daytime
         daytime.add(Calendar.MILLISECOND, (int)timeBetweenLastIterations * daytimeSpeedup);
 
+        //All objects of this frame, registrations during the frame take effect in the next frame
+        SimulationObjectSnapshot snapshot = objectSnapshot;
+
         synchronized (loopObservers) {
             //Inform observers about upcoming loop iteration
             for (SimulationLoopNotifiable observer : loopObservers) {
-                observer.willExecuteLoop(getSimulationObjects(), simulationTime, timeBetweenLastIterations);
+                observer.willExecuteLoop(snapshot.getSimulationObjects(), simulationTime, timeBetweenLastIterations);
             }
 
             NotificationCenter.getSharedInstance().postNotification(Notification.NOTIFICATION_LOOP_UPCOMING, null);
         }
 
-        synchronized (simulationObjects) {
-            // Reset forces on every Physical object
-            for(SimulationLoopExecutable object : simulationObjects) {
-                if (object instanceof PhysicalObject) {
-                    PhysicsEngine.resetForces((PhysicalObject) object);
-                }
-            }
-        }
+        //Build the world around the moving objects before they query it, tiles far away from all of them are dropped
+        WorldModel.pageTiles(snapshot.getPhysicalSimulationObjects());
 
         synchronized (simulationObjects) {
-            for (SimulationLoopExecutable object : simulationObjects) {
-
-                // Inform observers about upcoming loop iteration for each object
-                synchronized (loopObservers) {
-                    for (SimulationLoopNotifiable observer : loopObservers) {
-                        observer.willExecuteLoopForObject(object, simulationTime, timeBetweenLastIterations);
-                    }
-                }
-
-                //Execute loop
-                if(object instanceof PhysicalObject){
-                    PhysicsEngine.computePhysics((PhysicalObject) object, getPhysicalObjects(), timeBetweenLastIterations);
-                }
-
-                object.executeLoopIteration(timeBetweenLastIterations);
-
-                // Inform observers about completed loop iteration for each object
-                synchronized (loopObservers) {
-                    for (SimulationLoopNotifiable observer : loopObservers) {
-                        observer.didExecuteLoopForObject(object, simulationTime, timeBetweenLastIterations);
-                    }
-                }
+            if (parallelSimulation) {
+                executeParallelLoopIteration(snapshot);
+            } else {
+                executeSerialLoopIteration(snapshot);
             }
         }
 
         synchronized (loopObservers) {
             //Inform observers about completed loop iteration
             for (SimulationLoopNotifiable observer : loopObservers) {
-                observer.didExecuteLoop(getSimulationObjects(), simulationTime, timeBetweenLastIterations);
+                observer.didExecuteLoop(snapshot.getSimulationObjects(), simulationTime, timeBetweenLastIterations);
             }
 
             NotificationCenter.getSharedInstance().postNotification(Notification.NOTIFICATION_LOOP_DONE, null);
@@ -438,7 +458,7 @@ public class Simulator {
             collisionOccurredDuringExecution = collisionPresent();
         }
 
-        Log.finest("Did loop iteration at simulation time " + simulationTime);
+        Log.finest(() -> "Did loop iteration at simulation time " + simulationTime);
         frameCount++;
 
         //Slow down computation if requested by user
@@ -455,6 +475,185 @@ public class Simulator {
         return true;
     }
 
+    /**
+     * Computes physics and executes the loop iteration for every simulation object one after
+     * another in the order of their registration. Each physical object is checked for collisions
+     * just before it moves, the broad phase only skips objects that can not collide with it.
+     * Should only be called by executeSimulationLoop()
+     *
+     * @param snapshot Objects of the current frame
+     */
+    private void executeSerialLoopIteration(SimulationObjectSnapshot snapshot) {
+        // Reset forces on every Physical object
+        for (PhysicalObject object : snapshot.getPhysicalSimulationObjects()) {
+            PhysicsEngine.resetForces(object);
+        }
+
+        collisionBroadPhase.rebuild(snapshot.getPhysicalObjects());
+        List<PhysicalObject> collisionCandidates = new ArrayList<>();
+
+        for (SimulationLoopExecutable object : snapshot.getSimulationObjects()) {
+
+            // Inform observers about upcoming loop iteration for each object
+            synchronized (loopObservers) {
+                for (SimulationLoopNotifiable observer : loopObservers) {
+                    observer.willExecuteLoopForObject(object, simulationTime, timeBetweenLastIterations);
+                }
+            }
+
+            //Execute loop
+            if(object instanceof PhysicalObject){
+                collisionCandidates.clear();
+                collisionBroadPhase.collectCandidates((PhysicalObject) object, collisionCandidates);
+                PhysicsEngine.computePhysics((PhysicalObject) object, collisionCandidates, timeBetweenLastIterations);
+            }
+
+            object.executeLoopIteration(timeBetweenLastIterations);
+
+            if(object instanceof PhysicalObject){
+                collisionBroadPhase.updateObject((PhysicalObject) object);
+            }
+
+            // Inform observers about completed loop iteration for each object
+            synchronized (loopObservers) {
+                for (SimulationLoopNotifiable observer : loopObservers) {
+                    observer.didExecuteLoopForObject(object, simulationTime, timeBetweenLastIterations);
+                }
+            }
+        }
+    }
+
+    /**
+     * Computes physics and executes the loop iteration for all simulation objects in parallel phases.
+     * All objects see the state of the other objects from the beginning of the frame, thus the result
+     * does not depend on the number of threads or their scheduling. Phases:
+     * 1. Reset forces of all physical objects (parallel)
+     * 2. Detect collisions between candidate pairs of the broad phase (parallel), then apply
+     *    the collision forces in the order of registration (sequential)
+     * 3. Compute the remaining forces of every physical object (parallel)
+     * 4. Execute the loop iteration of all physical objects (parallel), afterwards of all other
+     *    simulation objects (sequential). With batch vehicle integration, physical vehicles are
+     *    prepared (parallel), integrated per state store (parallel) and finished (parallel)
+     * Observers are informed before phase 1 and after phase 4 in the order of registration.
+     * Should only be called by executeSimulationLoop()
+     *
+     * @param snapshot Objects of the current frame
+     */
+    private void executeParallelLoopIteration(SimulationObjectSnapshot snapshot) {
+        final long deltaTime = timeBetweenLastIterations;
+        final List<SimulationLoopExecutable> objects = snapshot.getSimulationObjects();
+        final List<PhysicalObject> physicalSimulationObjects = snapshot.getPhysicalSimulationObjects();
+
+        // Inform observers about upcoming loop iteration for each object
+        synchronized (loopObservers) {
+            for (SimulationLoopExecutable object : objects) {
+                for (SimulationLoopNotifiable observer : loopObservers) {
+                    observer.willExecuteLoopForObject(object, simulationTime, deltaTime);
+                }
+            }
+        }
+
+        // Phase 1: Reset forces on every physical object
+        runParallelPhase(physicalSimulationObjects.size(), i -> PhysicsEngine.resetForces(physicalSimulationObjects.get(i)));
+
+        // Phase 2: Detect collisions based on the state at the beginning of the frame
+        computeCollisions(snapshot);
+
+        // Phase 3: Compute forces of every physical object
+        runParallelPhase(physicalSimulationObjects.size(), i -> PhysicsEngine.computeForces(physicalSimulationObjects.get(i), deltaTime));
+
+        // Phase 4: Execute loop of every physical object, then of all other objects
+        if (batchVehicleIntegration) {
+            final List<PhysicalVehicle> physicalVehicles = snapshot.getPhysicalVehicles();
+            final List<PhysicalObject> otherPhysicalObjects = snapshot.getOtherPhysicalSimulationObjects();
+
+            vehicleBatchIntegrator.beginLoopIteration(physicalVehicles, deltaTime);
+            runParallelPhase(physicalVehicles.size(), vehicleBatchIntegrator::prepareVehicle);
+            runParallelPhase(vehicleBatchIntegrator.getStoreCount(), vehicleBatchIntegrator::integrateStore);
+            runParallelPhase(physicalVehicles.size(), vehicleBatchIntegrator::finishVehicle);
+            runParallelPhase(otherPhysicalObjects.size(), i -> ((SimulationLoopExecutable) otherPhysicalObjects.get(i)).executeLoopIteration(deltaTime));
+        } else {
+            runParallelPhase(physicalSimulationObjects.size(), i -> ((SimulationLoopExecutable) physicalSimulationObjects.get(i)).executeLoopIteration(deltaTime));
+        }
+
+        for (SimulationLoopExecutable object : snapshot.getOtherSimulationObjects()) {
+            object.executeLoopIteration(deltaTime);
+        }
+
+        // Inform observers about completed loop iteration for each object
+        synchronized (loopObservers) {
+            for (SimulationLoopExecutable object : objects) {
+                for (SimulationLoopNotifiable observer : loopObservers) {
+                    observer.didExecuteLoopForObject(object, simulationTime, deltaTime);
+                }
+            }
+        }
+    }
+
+    /**
+     * Detects collisions between all physical objects and applies the resulting forces. Only pairs
+     * of objects with overlapping bounding boxes are checked in detail and each pair is checked
+     * at most once. Collisions are applied in the order of registration of the objects. Used by the
+     * parallel loop, in which all objects are checked against the state at the beginning of the frame
+     *
+     * @param snapshot Objects of the current frame
+     */
+    private void computeCollisions(SimulationObjectSnapshot snapshot) {
+        final long deltaTime = timeBetweenLastIterations;
+        final int pairCount = collisionBroadPhase.update(snapshot.getPhysicalSimulationObjects(), snapshot.getPassivePhysicalObjects());
+        final boolean[] collisions = new boolean[pairCount];
+
+        runParallelPhase(pairCount, i -> {
+            PhysicalObject first = collisionBroadPhase.getFirst(i);
+            PhysicalObject second = collisionBroadPhase.getSecond(i);
+
+            // Do not compute collision if one of the objects has a computational error
+            if (!first.getError() && !second.getError()) {
+                collisions[i] = PhysicsEngine.detectCollision(first, second);
+            }
+        });
+
+        for (int i = 0; i < pairCount; ++i) {
+            PhysicalObject first = collisionBroadPhase.getFirst(i);
+            PhysicalObject second = collisionBroadPhase.getSecond(i);
+
+            // Do not compute collision when both objects are already in collision
+            if (!collisions[i] || (first.getCollision() && second.getCollision())) {
+                continue;
+            }
+
+            PhysicsEngine.handleCollision(first, second, deltaTime);
+        }
+    }
+
+    /**
+     * Executes an action for all indices from 0 (inclusive) to count (exclusive) on the parallel pool
+     * and blocks until all of them are done. Actions for different indices must be independent.
+     *
+     * @param count Number of indices to be processed
+     * @param action Action that is executed for each index
+     */
+    private void runParallelPhase(int count, IntConsumer action) {
+        if (count == 0) {
+            return;
+        }
+
+        if (parallelPool == null) {
+            parallelPool = new ForkJoinPool(parallelism);
+        }
+
+        parallelPool.submit(() -> IntStream.range(0, count).parallel().forEach(action)).join();
+    }
+
+    /**
+     * Releases the worker threads of the parallel pool, a new pool is created when the next parallel phase is executed
+     */
+    private synchronized void shutdownParallelPool() {
+        if (parallelPool != null) {
+            parallelPool.shutdown();
+            parallelPool = null;
+        }
+    }
 
     /**
      * Blocks the calling thread until simulation is finished
@@ -551,6 +750,8 @@ public class Simulator {
                 registerPhysicalObject((PhysicalObject) object);
             }
         }
+
+        updateObjectSnapshot();
     }
 
     /**
@@ -568,6 +769,8 @@ public class Simulator {
                 unregisterPhysicalObject((PhysicalObject) object);
             }
         }
+
+        updateObjectSnapshot();
     }
 
     /**
@@ -582,6 +785,8 @@ public class Simulator {
                 physicalObjects.add(object);
             }
         }
+
+        updateObjectSnapshot();
     }
 
     /**
@@ -596,32 +801,48 @@ public class Simulator {
             if (!(object instanceof SimulationLoopExecutable)) {
                 //Objects that are not SimulationLoopExecutables can be removed
                 physicalObjects.remove(object);
+                WorldModel.removeObject(object);
             } else if (!(simulationObjects.contains(object))) {
                 //Objects that are SimulationLoopExecutables but not registered as such can also be removed
                 physicalObjects.remove(object);
+                WorldModel.removeObject(object);
             } else {
                 //Objects that are registered SimulationLoopExecutables may not be removed
                 Log.warning("You cannot unregister a physical object that is registered as a simulation object");
             }
         }
+
+        updateObjectSnapshot();
+    }
+
+    /**
+     * Replaces the object snapshot by a snapshot of the current object lists.
+     * Must be called after every modification of simulationObjects or physicalObjects
+     */
+    private void updateObjectSnapshot() {
+        synchronized (objectSnapshotLock) {
+            objectSnapshot = new SimulationObjectSnapshot(new ArrayList<>(simulationObjects), new ArrayList<>(physicalObjects));
+        }
     }
 
     /**
-     * Retrieves a copy of the physical objects managed by the simulator
+     * Retrieves the physical objects managed by the simulator. The returned list is an unmodifiable
+     * snapshot that is shared between callers and does not reflect later (un)registrations
      *
-     * @return Copy of the physical objects
+     * @return Unmodifiable snapshot of the physical objects
      */
     public List<PhysicalObject> getPhysicalObjects() {
-        return new LinkedList<>(physicalObjects);
+        return objectSnapshot.getPhysicalObjects();
     }
 
     /**
-     * Retrieves a copy of the simulation objects managed by the simulator
+     * Retrieves the simulation objects managed by the simulator. The returned list is an unmodifiable
+     * snapshot that is shared between callers and does not reflect later (un)registrations
      *
-     * @return Copy of the simulation objects
+     * @return Unmodifiable snapshot of the simulation objects
      */
     public List<SimulationLoopExecutable> getSimulationObjects() {
-        return new LinkedList<>(simulationObjects);
+        return objectSnapshot.getSimulationObjects();
     }
 
     /**
@@ -630,7 +851,7 @@ public class Simulator {
      * @return List of collided objects
      */
     public List<PhysicalObject> getCollidedObjects() {
-        LinkedList<PhysicalObject> collidedObjects = new LinkedList<>(physicalObjects);
+        LinkedList<PhysicalObject> collidedObjects = new LinkedList<>(getPhysicalObjects());
         collidedObjects.removeIf(physicalObject -> (!physicalObject.getCollision() && !physicalObject.getError()));
         return collidedObjects;
     }
@@ -807,6 +1028,94 @@ public class Simulator {
         this.synchronousSimulation = synchronousSimulation;
     }
 
+    /**
+     * Checks if the objects of the simulation are computed in parallel
+     *
+     * @return True iff the simulation objects are computed in parallel
+     */
+    public boolean isParallelSimulation() {
+        return parallelSimulation;
+    }
+
+    /**
+     * Configure whether the objects of the simulation should be computed in parallel phases
+     * on multiple threads. Each phase is applied to all objects before the next phase starts,
+     * so all objects are computed based on the state of the other objects at the beginning of
+     * the frame. Results are thus deterministic, but may differ slightly from a serial simulation
+     * in which each object already sees the updated state of the objects computed before it.
+     * May only be set while the simulation is not running. Default: false.
+     *
+     * @param parallelSimulation True iff the simulation objects should be computed in parallel.
+     */
+    public void setParallelSimulation(boolean parallelSimulation) {
+        if (isSimulationRunning()) {
+            Log.severe("Cannot change parallel simulation. Simulation already running.");
+            return;
+        }
+
+        this.parallelSimulation = parallelSimulation;
+    }
+
+    /**
+     * Checks if the rigid body state of all physical vehicles is integrated in one pass per state store
+     *
+     * @return True iff batch vehicle integration is enabled
+     */
+    public boolean isBatchVehicleIntegration() {
+        return batchVehicleIntegration;
+    }
+
+    /**
+     * Configure whether the rigid body state of all physical vehicles should be integrated by a
+     * VehicleBatchIntegrator in one pass over the contiguous arrays of each VehicleStateStore instead of
+     * one pass per vehicle. Results are identical to the integration of each vehicle on its own.
+     * Only applies to parallel simulation. May only be set while the simulation is not running. Default: false.
+     *
+     * @param batchVehicleIntegration True iff physical vehicles should be integrated per state store
+     */
+    public void setBatchVehicleIntegration(boolean batchVehicleIntegration) {
+        if (isSimulationRunning()) {
+            Log.severe("Cannot change batch vehicle integration. Simulation already running.");
+            return;
+        }
+
+        this.batchVehicleIntegration = batchVehicleIntegration;
+    }
+
+    /**
+     * Returns the number of worker threads used for parallel simulation
+     *
+     * @return Number of worker threads
+     */
+    public int getParallelism() {
+        return parallelism;
+    }
+
+    /**
+     * Set the number of worker threads used for parallel simulation.
+     * May only be set while the simulation is not running.
+     * Default: Number of available processors.
+     *
+     * @param parallelism Number of worker threads, must be positive
+     */
+    public void setParallelism(int parallelism) {
+        if (isSimulationRunning()) {
+            Log.severe("Cannot change parallelism. Simulation already running.");
+            return;
+        }
+
+        if (parallelism < 1) {
+            Log.warning("Parallelism must be at least 1.");
+            return;
+        }
+
+        if (this.parallelism != parallelism) {
+            shutdownParallelPool();
+        }
+
+        this.parallelism = parallelism;
+    }
+
     /**
      * Checks whether the simulator assumes the simulation will be paused or extended
      * in the future
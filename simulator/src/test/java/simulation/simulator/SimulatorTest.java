@@ -166,6 +166,39 @@ public class SimulatorTest {
         assertTrue(!sim.getPhysicalObjects().contains(a));
     }
 
+    /**
+     * Object lists are shared snapshots that are only replaced on (un)registration
+     */
+    @Test
+    public void objectListsAreSnapshots() {
+        Simulator sim = Simulator.getSharedInstance();
+        SimObject a = new SimObject();
+
+        List<PhysicalObject> physicalObjectsBefore = sim.getPhysicalObjects();
+        List<SimulationLoopExecutable> simulationObjectsBefore = sim.getSimulationObjects();
+        assertTrue(physicalObjectsBefore == sim.getPhysicalObjects());
+        assertTrue(simulationObjectsBefore == sim.getSimulationObjects());
+
+        sim.registerSimulationObject(a);
+        assertTrue(!physicalObjectsBefore.contains(a));
+        assertTrue(!simulationObjectsBefore.contains(a));
+        assertTrue(sim.getPhysicalObjects().contains(a));
+        assertTrue(sim.getSimulationObjects().contains(a));
+
+        boolean exceptionCaught = false;
+        try {
+            sim.getSimulationObjects().clear();
+        } catch (UnsupportedOperationException e) {
+            exceptionCaught = true;
+        }
+        assertTrue(exceptionCaught);
+        assertTrue(sim.getSimulationObjects().contains(a));
+
+        sim.unregisterSimulationObject(a);
+        assertTrue(!sim.getPhysicalObjects().contains(a));
+        assertTrue(!sim.getSimulationObjects().contains(a));
+    }
+
     /**
      * Returning collided objects returns collided objects only
      */
@@ -743,6 +776,68 @@ public class SimulatorTest {
         assertTrue(framesRun1 == framesRun2);
     }
 
+    /**
+     * Parallel simulation leads to the same results regardless of the number of worker threads
+     */
+    @Test
+    public void parallelSimulationIsDeterministic() {
+        List<RealVector> positionsRun1 = runParallelVehicleSimulation(1, false);
+        List<RealVector> positionsRun2 = runParallelVehicleSimulation(4, false);
+
+        assertTrue(positionsRun1.size() == positionsRun2.size());
+        for (int i = 0; i < positionsRun1.size(); ++i) {
+            assertTrue(positionsRun1.get(i).equals(positionsRun2.get(i)));
+        }
+    }
+
+    /**
+     * Test that batch vehicle integration leads to the same results as integrating each vehicle on its own
+     */
+    @Test
+    public void batchVehicleIntegrationEqualsSingleIntegration() {
+        List<RealVector> positionsRun1 = runParallelVehicleSimulation(4, false);
+        List<RealVector> positionsRun2 = runParallelVehicleSimulation(4, true);
+
+        assertTrue(positionsRun1.size() == positionsRun2.size());
+        for (int i = 0; i < positionsRun1.size(); ++i) {
+            assertTrue(positionsRun1.get(i).equals(positionsRun2.get(i)));
+        }
+    }
+
+    /**
+     * Runs a short parallel simulation with a few vehicles and returns their final positions
+     *
+     * @param parallelism Number of worker threads to be used
+     * @param batchVehicleIntegration True iff the vehicles should be integrated per state store
+     * @return Final positions of all vehicles in the order of their creation
+     */
+    private List<RealVector> runParallelVehicleSimulation(int parallelism, boolean batchVehicleIntegration) {
+        Simulator.resetSimulator();
+        Simulator sim = Simulator.getSharedInstance();
+        sim.setSimulationType(SimulationType.SIMULATION_TYPE_FIXED_TIME);
+        sim.setSimulationLoopFrequency(30);
+        sim.setSynchronousSimulation(true);
+        sim.setParallelSimulation(true);
+        sim.setParallelism(parallelism);
+        sim.setBatchVehicleIntegration(batchVehicleIntegration);
+
+        List<PhysicalVehicle> vehicles = new LinkedList<>();
+        for (int i = 0; i < 5; ++i) {
+            PhysicalVehicle vehicle = PhysicalVehicleBuilder.getInstance().buildPhysicalVehicle(Optional.empty(), Optional.empty(), Optional.empty());
+            sim.registerAndPutObject(vehicle, 900.0 + 3.0 * i, 410.0 + 2.0 * i, 0.25 * i * Math.PI);
+            vehicles.add(vehicle);
+        }
+
+        sim.stopAfter(1000);
+        sim.startSimulation();
+
+        List<RealVector> positions = new LinkedList<>();
+        for (PhysicalVehicle vehicle : vehicles) {
+            positions.add(vehicle.getPos());
+        }
+        return positions;
+    }
+
     /**
      * Test that extendSimulationTime() actually increases simulation time
      */
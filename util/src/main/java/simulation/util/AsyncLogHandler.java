@@ -0,0 +1,173 @@
+package simulation.util;
+
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.logging.ErrorManager;
+import java.util.logging.Handler;
+import java.util.logging.Level;
+import java.util.logging.LogRecord;
+import java.util.logging.SimpleFormatter;
+
+/**
+ * Handler that passes log records to another handler on a background thread. Logging threads only
+ * put records into a bounded queue, slow handlers such as file handlers are decoupled from the
+ * simulation loop. If the queue is full, logging threads wait instead of dropping records.
+ */
+final class AsyncLogHandler extends Handler {
+
+    /** Default number of records that may be pending */
+    static final int DEFAULT_CAPACITY = 8192;
+
+    /** Record that stops the background thread */
+    private static final LogRecord CLOSE_RECORD = new LogRecord(Level.OFF, "");
+
+    /** Formatter used to insert record parameters on the logging thread */
+    private static final SimpleFormatter MESSAGE_FORMATTER = new SimpleFormatter();
+
+    /** Handler that writes the records */
+    private final Handler target;
+
+    /** Pending records */
+    private final BlockingQueue<LogRecord> queue;
+
+    /** Background thread that passes records to the target */
+    private final Thread writerThread;
+
+    /** Number of records put into the queue, guarded by this */
+    private long queuedCount = 0;
+
+    /** Number of records passed to the target, guarded by this */
+    private long writtenCount = 0;
+
+    /** True iff close() has been called */
+    private volatile boolean closed = false;
+
+    /**
+     * Constructor for a handler with default capacity
+     *
+     * @param target Handler that writes the records
+     */
+    AsyncLogHandler(Handler target) {
+        this(target, DEFAULT_CAPACITY);
+    }
+
+    /**
+     * Constructor for a handler with given capacity
+     *
+     * @param target Handler that writes the records
+     * @param capacity Maximum number of pending records
+     */
+    AsyncLogHandler(Handler target, int capacity) {
+        this.target = target;
+        this.queue = new ArrayBlockingQueue<>(capacity);
+
+        writerThread = new Thread(this::writeRecords, "Simulation log writer");
+        writerThread.setDaemon(true);
+        writerThread.start();
+    }
+
+    /**
+     * Queues a record for the target handler
+     *
+     * @param record Record to be written
+     */
+    @Override
+    public void publish(LogRecord record) {
+        if (closed || !isLoggable(record)) {
+            return;
+        }
+
+        // Parameters may be changed by the simulation before the record is written, format them now
+        Object[] parameters = record.getParameters();
+        if (parameters != null && parameters.length > 0) {
+            record.setMessage(MESSAGE_FORMATTER.formatMessage(record));
+            record.setParameters(null);
+        }
+
+        try {
+            queue.put(record);
+
+            synchronized (this) {
+                queuedCount++;
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            reportError(null, e, ErrorManager.WRITE_FAILURE);
+        }
+    }
+
+    /**
+     * Waits until all records queued so far are written, then flushes the target handler
+     */
+    @Override
+    public void flush() {
+        synchronized (this) {
+            long flushCount = queuedCount;
+
+            while (writtenCount < flushCount && writerThread.isAlive()) {
+                try {
+                    wait(100);
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                    break;
+                }
+            }
+        }
+
+        target.flush();
+    }
+
+    /**
+     * Writes all pending records and closes the target handler
+     */
+    @Override
+    public void close() {
+        if (closed) {
+            return;
+        }
+
+        closed = true;
+
+        try {
+            queue.put(CLOSE_RECORD);
+            writerThread.join();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+
+        target.close();
+    }
+
+    /**
+     * Main function of the background thread
+     */
+    private void writeRecords() {
+        while (true) {
+            LogRecord record;
+
+            try {
+                record = queue.take();
+            } catch (InterruptedException e) {
+                return;
+            }
+
+            if (record == CLOSE_RECORD) {
+                return;
+            }
+
+            try {
+                target.publish(record);
+            } catch (RuntimeException e) {
+                reportError(null, e, ErrorManager.WRITE_FAILURE);
+            }
+
+            synchronized (this) {
+                writtenCount++;
+
+                if (queue.isEmpty()) {
+                    notifyAll();
+                }
+            }
+        }
+    }
+}
@@ -1,6 +1,8 @@
 package simulation.util;
 
+import java.text.MessageFormat;
 import java.util.Locale;
+import java.util.function.Supplier;
 import java.util.logging.*;
 
 import static java.util.logging.Level.*;
@@ -24,10 +26,43 @@ public final class Log {
      * @param msg Content of the message
      */
     public static void log(Level logLevel, String msg) {
-        if (isLogEnabled())
+        if (isLoggable(logLevel))
             LoggingModule.logger.log(logLevel, msg);
     }
 
+    /**
+     * Log a message that is only constructed if it is written by at least one handler.
+     * Use this for messages that are expensive to build, e.g. messages containing toString() of vehicles
+     * @param logLevel Level, i.e., severeness, of the message
+     * @param msgSupplier Supplier for the content of the message
+     */
+    public static void log(Level logLevel, Supplier<String> msgSupplier) {
+        if (isLoggable(logLevel))
+            LoggingModule.logger.log(logLevel, msgSupplier.get());
+    }
+
+    /**
+     * Log a message with parameters that are only formatted if the message is written by at least one handler.
+     * Parameters are formatted on the calling thread, as they are usually mutable simulation objects
+     * @param logLevel Level, i.e., severeness, of the message
+     * @param pattern Content of the message in MessageFormat syntax, e.g. "Vehicle: {0}"
+     * @param params Parameters that are inserted into the pattern
+     */
+    public static void log(Level logLevel, String pattern, Object... params) {
+        if (isLoggable(logLevel))
+            LoggingModule.logger.log(logLevel, MessageFormat.format(pattern, params));
+    }
+
+    /**
+     * Returns whether a message of the given level would be written by at least one handler.
+     * Cheap enough to guard the construction of log messages in the simulation loop
+     * @param logLevel Level, i.e., severeness, of the message
+     * @return True iff logging is enabled and a handler accepts messages of the given level
+     */
+    public static boolean isLoggable(Level logLevel) {
+        return LoggingModule.logEnabled && logLevel.intValue() >= LoggingModule.loggableLevel;
+    }
+
     /**
      * Internally used logger
      */
@@ -37,13 +72,19 @@ public final class Log {
         private static Logger logger = null;
 
         /** True iff logging is enabled by user */
-        private static boolean logEnabled = true;
+        private static volatile boolean logEnabled = true;
+
+        /** Minimum level of all handlers, messages below this level are not constructed at all */
+        private static volatile int loggableLevel = INFO.intValue();
+
+        /** Console handler for log messages */
+        private static Handler consoleHandler;
 
         /** True iff the log messages should be written to a file */
         private static boolean writeToDiskEnabled = false;
 
-        /** File handler for storing the log messages to disk */
-        private static FileHandler fileHandler;
+        /** Asynchronous handler that stores the log messages to disk */
+        private static Handler fileHandler;
 
 
         /**
@@ -65,25 +106,60 @@ public final class Log {
                 System.setProperty("java.util.logging.SimpleFormatter.format", "[%1$tc] %4$s: %5$s%n");
 
                 // Setup console logger
-                Handler consoleHandler = new ConsoleHandler();
+                consoleHandler = new ConsoleHandler();
                 consoleHandler.setLevel(INFO);
                 consoleHandler.setFormatter(new SimpleFormatter());
                 logger.addHandler(consoleHandler);
 
                 if (writeToDiskEnabled) {
-                    // Setup file logger
-                    try {
-                        fileHandler = new FileHandler("simulation.log", false);
-                        fileHandler.setLevel(INFO);
-                        fileHandler.setFormatter(new SimpleFormatter());
-                        logger.addHandler(fileHandler);
-                    } catch (Exception e) {
-                        logger.log(SEVERE, e.toString());
-                    }
+                    addFileHandler();
                 }
+
+                updateLoggableLevel();
             }
         }
 
+        /**
+         * Adds a handler that writes log messages to disk on a background thread,
+         * such that the simulation loop does not wait for file operations
+         */
+        private static void addFileHandler() {
+            try {
+                FileHandler diskHandler = new FileHandler("simulation.log", false);
+                diskHandler.setFormatter(new SimpleFormatter());
+                fileHandler = new AsyncLogHandler(diskHandler);
+                fileHandler.setLevel(INFO);
+                logger.addHandler(fileHandler);
+            } catch (Exception e) {
+                logger.log(SEVERE, e.toString());
+            }
+        }
+
+        /**
+         * Removes the file handler, pending messages are written before the file is closed
+         */
+        private static void removeFileHandler() {
+            try {
+                logger.removeHandler(fileHandler);
+                fileHandler.close();
+            } catch (Exception e) {
+                logger.log(SEVERE, e.toString());
+            }
+        }
+
+        /**
+         * Recomputes the minimum level of all handlers after handlers or their levels changed
+         */
+        private static void updateLoggableLevel() {
+            int level = OFF.intValue();
+
+            for (Handler handler : logger.getHandlers()) {
+                level = Math.min(level, handler.getLevel().intValue());
+            }
+
+            loggableLevel = Math.max(level, logger.getLevel().intValue());
+        }
+
     }
 
     /**
@@ -112,6 +188,75 @@ public final class Log {
      */
     public static void finest(String msg) { log(FINEST, msg); }
 
+    /**
+     * Log a lazily constructed message of level "severe"
+     * @param msgSupplier Supplier for the content of the message
+     */
+    public static void severe(Supplier<String> msgSupplier) { log(SEVERE, msgSupplier); }
+
+    /**
+     * Log a lazily constructed message of level "warning"
+     * @param msgSupplier Supplier for the content of the message
+     */
+    public static void warning(Supplier<String> msgSupplier) { log(WARNING, msgSupplier); }
+
+    /**
+     * Log a lazily constructed message of level "info"
+     * @param msgSupplier Supplier for the content of the message
+     */
+    public static void info(Supplier<String> msgSupplier) { log(INFO, msgSupplier); }
+
+    /**
+     * Log a lazily constructed message of level "finest"
+     * @param msgSupplier Supplier for the content of the message
+     */
+    public static void finest(Supplier<String> msgSupplier) { log(FINEST, msgSupplier); }
+
+    /**
+     * Log a message with parameters of level "severe"
+     * @param pattern Content of the message in MessageFormat syntax
+     * @param params Parameters that are inserted into the pattern
+     */
+    public static void severe(String pattern, Object... params) { log(SEVERE, pattern, params); }
+
+    /**
+     * Log a message with parameters of level "warning"
+     * @param pattern Content of the message in MessageFormat syntax
+     * @param params Parameters that are inserted into the pattern
+     */
+    public static void warning(String pattern, Object... params) { log(WARNING, pattern, params); }
+
+    /**
+     * Log a message with parameters of level "info"
+     * @param pattern Content of the message in MessageFormat syntax
+     * @param params Parameters that are inserted into the pattern
+     */
+    public static void info(String pattern, Object... params) { log(INFO, pattern, params); }
+
+    /**
+     * Log a message with parameters of level "finest"
+     * @param pattern Content of the message in MessageFormat syntax
+     * @param params Parameters that are inserted into the pattern
+     */
+    public static void finest(String pattern, Object... params) { log(FINEST, pattern, params); }
+
+    /**
+     * Returns the minimum level of messages written to the console
+     * @return Level of the console handler
+     */
+    public static Level getConsoleLevel() {
+        return LoggingModule.consoleHandler.getLevel();
+    }
+
+    /**
+     * Set the minimum level of messages written to the console, e.g. FINEST for debugging
+     * @param level Level of the console handler
+     */
+    public static void setConsoleLevel(Level level) {
+        LoggingModule.consoleHandler.setLevel(level);
+        LoggingModule.updateLoggableLevel();
+    }
+
     /**
      * Returns whether or not the logging is enabled
      * @return True iff logging is enabled
@@ -140,30 +285,20 @@ public final class Log {
      * Enable or disable logging to disk
      * @param enabled True iff logging to disk should enabled
      */
-    public static void setWriteToDiskEnabled(boolean enabled) {
+    public static synchronized void setWriteToDiskEnabled(boolean enabled) {
         //File write should be disabled
         if (!enabled && LoggingModule.writeToDiskEnabled) {
             // Remove file logger
-            try {
-                LoggingModule.logger.removeHandler(LoggingModule.fileHandler);
-            } catch (Exception e) {
-                LoggingModule.logger.log(SEVERE, e.toString());
-            }
+            LoggingModule.removeFileHandler();
         }
 
         //File write should be enabled
-        if (!enabled && LoggingModule.writeToDiskEnabled) {
+        if (enabled && !LoggingModule.writeToDiskEnabled) {
             // Setup file logger
-            try {
-                LoggingModule.fileHandler = new FileHandler("simulation.log", false);
-                LoggingModule.fileHandler.setLevel(INFO);
-                LoggingModule.fileHandler.setFormatter(new SimpleFormatter());
-                LoggingModule.logger.addHandler(LoggingModule.fileHandler);
-            } catch (Exception e) {
-                LoggingModule.logger.log(SEVERE, e.toString());
-            }
+            LoggingModule.addFileHandler();
         }
 
         LoggingModule.writeToDiskEnabled = enabled;
+        LoggingModule.updateLoggableLevel();
     }
 }
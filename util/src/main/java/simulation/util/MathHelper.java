@@ -18,6 +18,12 @@ import java.util.Map;
  */
 public final class MathHelper {
 
+    /** Tolerance in meters below which 2D regions are considered as not intersecting */
+    public static final double INTERSECTION_TOLERANCE = 1.0e-5;
+
+    /** Reused corners of the two quadrilaterals of checkIntersection2D, per thread as collisions are detected in parallel */
+    private static final ThreadLocal<double[][]> QUADRILATERAL_CORNERS = ThreadLocal.withInitial(() -> new double[2][8]);
+
     /**
      * Empty non accessible constructor, there is no instance of this class
      */
@@ -205,12 +211,32 @@ public final class MathHelper {
 
     /**
      * Function that checks if two 2D spaces defined by real vectors have a non empty 2D space intersection
+     * Convex quadrilaterals, such as the boundary vectors of vehicles projected to the XY plane, are checked with
+     * checkQuadrilateralIntersection2D, all other shapes are checked with checkPolygonIntersection2D
      *
      * @param vectorsOne First pairs of vector start points and end points that create a 2D space, ordered such that left halves of lines between following start points include the 2D space
      * @param vectorsTwo Second pairs of vector start points and end points that create a 2D space, ordered such that left halves of lines between following start points include the 2D space
      * @return True if 2D intersection is non-empty, otherwise false
      */
     public static boolean checkIntersection2D(List<Map.Entry<RealVector, RealVector>> vectorsOne, List<Map.Entry<RealVector, RealVector>> vectorsTwo) {
+        double[][] quadrilaterals = QUADRILATERAL_CORNERS.get();
+
+        if (toConvexQuadrilateral2D(vectorsOne, quadrilaterals[0]) && toConvexQuadrilateral2D(vectorsTwo, quadrilaterals[1])) {
+            return checkQuadrilateralIntersection2D(quadrilaterals[0], quadrilaterals[1]);
+        }
+
+        return checkPolygonIntersection2D(vectorsOne, vectorsTwo);
+    }
+
+    /**
+     * Function that checks if two 2D spaces defined by real vectors have a non empty 2D space intersection
+     * Works for arbitrary polygons by intersecting polygon regions, which is expensive
+     *
+     * @param vectorsOne First pairs of vector start points and end points that create a 2D space, ordered such that left halves of lines between following start points include the 2D space
+     * @param vectorsTwo Second pairs of vector start points and end points that create a 2D space, ordered such that left halves of lines between following start points include the 2D space
+     * @return True if 2D intersection is non-empty, otherwise false
+     */
+    public static boolean checkPolygonIntersection2D(List<Map.Entry<RealVector, RealVector>> vectorsOne, List<Map.Entry<RealVector, RealVector>> vectorsTwo) {
         // If any list is empty, return false
         if (vectorsOne.isEmpty() || vectorsTwo.isEmpty()) {
             return false;
@@ -241,8 +267,8 @@ public final class MathHelper {
         }
 
         // From lists create regions
-        Region<Euclidean2D> regionOne = new PolygonsSet(1.0e-5, listOne.toArray(new Vector2D[listOne.size()]));
-        Region<Euclidean2D> regionTwo = new PolygonsSet(1.0e-5, listTwo.toArray(new Vector2D[listTwo.size()]));
+        Region<Euclidean2D> regionOne = new PolygonsSet(INTERSECTION_TOLERANCE, listOne.toArray(new Vector2D[listOne.size()]));
+        Region<Euclidean2D> regionTwo = new PolygonsSet(INTERSECTION_TOLERANCE, listTwo.toArray(new Vector2D[listTwo.size()]));
 
         // Check intersection for emptiness
         RegionFactory<Euclidean2D> regionFactory = new RegionFactory<>();
@@ -250,6 +276,126 @@ public final class MathHelper {
         return !regionIntersection.isEmpty();
     }
 
+    /**
+     * Function that checks if two rectangles in 2D have a non empty 2D space intersection
+     * Uses the separating axis theorem and does not allocate any objects
+     * Rectangles are given by their four corners {x0, y0, x1, y1, x2, y2, x3, y3} in counter clockwise order
+     * Rectangles that only touch each other within a tolerance of INTERSECTION_TOLERANCE do not intersect
+     *
+     * @param rectangleOne Corners of the first rectangle
+     * @param rectangleTwo Corners of the second rectangle
+     * @return True if 2D intersection is non-empty, otherwise false
+     */
+    public static boolean checkRectangleIntersection2D(double[] rectangleOne, double[] rectangleTwo) {
+        // Two rectangles are separated iff one of their edge directions is a separating axis,
+        // opposite edges of a rectangle are parallel, so two axes per rectangle are sufficient
+        return !isSeparatingAxis2D(rectangleOne, 0, rectangleOne, rectangleTwo) &&
+                !isSeparatingAxis2D(rectangleOne, 2, rectangleOne, rectangleTwo) &&
+                !isSeparatingAxis2D(rectangleTwo, 0, rectangleOne, rectangleTwo) &&
+                !isSeparatingAxis2D(rectangleTwo, 2, rectangleOne, rectangleTwo);
+    }
+
+    /**
+     * Function that checks if two convex quadrilaterals in 2D have a non empty 2D space intersection
+     * Uses the separating axis theorem and does not allocate any objects
+     * In contrast to checkRectangleIntersection2D it also handles parallelograms and other convex quadrilaterals, e.g. projections of pitched or rolled vehicles
+     * Quadrilaterals are given by their four corners {x0, y0, x1, y1, x2, y2, x3, y3} in counter clockwise order
+     * Quadrilaterals that only touch each other within a tolerance of INTERSECTION_TOLERANCE do not intersect
+     *
+     * @param quadrilateralOne Corners of the first convex quadrilateral
+     * @param quadrilateralTwo Corners of the second convex quadrilateral
+     * @return True if 2D intersection is non-empty, otherwise false
+     */
+    public static boolean checkQuadrilateralIntersection2D(double[] quadrilateralOne, double[] quadrilateralTwo) {
+        // Two convex polygons are separated iff the normal of one of their edges is a separating axis
+        for (int edgeStart = 0; edgeStart < 8; edgeStart += 2) {
+            if (isSeparatingAxis2D(quadrilateralOne, edgeStart, quadrilateralOne, quadrilateralTwo) ||
+                    isSeparatingAxis2D(quadrilateralTwo, edgeStart, quadrilateralOne, quadrilateralTwo)) {
+                return false;
+            }
+        }
+
+        return true;
+    }
+
+    /**
+     * Function that checks if the normal of an edge separates two quadrilaterals
+     *
+     * @param edgeQuadrilateral Quadrilateral that contains the edge
+     * @param edgeStart Index of the x coordinate of the start corner of the edge in edgeQuadrilateral
+     * @param quadrilateralOne Corners of the first quadrilateral
+     * @param quadrilateralTwo Corners of the second quadrilateral
+     * @return True if the projections of both quadrilaterals on the axis do not overlap by more than the tolerance
+     */
+    private static boolean isSeparatingAxis2D(double[] edgeQuadrilateral, int edgeStart, double[] quadrilateralOne, double[] quadrilateralTwo) {
+        int edgeEnd = (edgeStart + 2) % 8;
+        double axisX = -(edgeQuadrilateral[edgeEnd + 1] - edgeQuadrilateral[edgeStart + 1]);
+        double axisY = edgeQuadrilateral[edgeEnd] - edgeQuadrilateral[edgeStart];
+        double axisLength = Math.sqrt(axisX * axisX + axisY * axisY);
+
+        // Degenerated edge can not separate anything
+        if (axisLength == 0.0) {
+            return false;
+        }
+
+        double minOne = Double.POSITIVE_INFINITY;
+        double maxOne = Double.NEGATIVE_INFINITY;
+        double minTwo = Double.POSITIVE_INFINITY;
+        double maxTwo = Double.NEGATIVE_INFINITY;
+
+        for (int i = 0; i < 8; i += 2) {
+            double projectionOne = (quadrilateralOne[i] * axisX + quadrilateralOne[i + 1] * axisY) / axisLength;
+            double projectionTwo = (quadrilateralTwo[i] * axisX + quadrilateralTwo[i + 1] * axisY) / axisLength;
+            minOne = Math.min(minOne, projectionOne);
+            maxOne = Math.max(maxOne, projectionOne);
+            minTwo = Math.min(minTwo, projectionTwo);
+            maxTwo = Math.max(maxTwo, projectionTwo);
+        }
+
+        return (Math.min(maxOne, maxTwo) - Math.max(minOne, minTwo)) <= INTERSECTION_TOLERANCE;
+    }
+
+    /**
+     * Function that converts pairs of vector start points and end points to the corners of a convex quadrilateral
+     *
+     * @param vectors Pairs of vector start points and end points, ordered counter clockwise
+     * @param corners Array of length 8 that is filled with the corners {x0, y0, x1, y1, x2, y2, x3, y3}
+     * @return True if the vectors form a non degenerated convex quadrilateral in 2D, otherwise false
+     */
+    private static boolean toConvexQuadrilateral2D(List<Map.Entry<RealVector, RealVector>> vectors, double[] corners) {
+        if (vectors.size() != 4) {
+            return false;
+        }
+
+        int index = 0;
+
+        for (Map.Entry<RealVector, RealVector> entry : vectors) {
+            if (entry.getKey().getDimension() < 2 || entry.getValue().getDimension() < 2) {
+                return false;
+            }
+
+            corners[index++] = entry.getKey().getEntry(0);
+            corners[index++] = entry.getKey().getEntry(1);
+        }
+
+        // Every corner must be a strict left turn, which excludes degenerated edges,
+        // collinear corners, self intersecting and clockwise ordered quadrilaterals
+        for (int i = 0; i < 8; i += 2) {
+            double edgeOneX = corners[(i + 2) % 8] - corners[i];
+            double edgeOneY = corners[(i + 3) % 8] - corners[i + 1];
+            double edgeTwoX = corners[(i + 4) % 8] - corners[(i + 2) % 8];
+            double edgeTwoY = corners[(i + 5) % 8] - corners[(i + 3) % 8];
+            double lengthOne = Math.sqrt(edgeOneX * edgeOneX + edgeOneY * edgeOneY);
+            double lengthTwo = Math.sqrt(edgeTwoX * edgeTwoX + edgeTwoY * edgeTwoY);
+
+            if (edgeOneX * edgeTwoY - edgeOneY * edgeTwoX <= 1.0e-9 * Math.max(1.0, lengthOne * lengthTwo)) {
+                return false;
+            }
+        }
+
+        return true;
+    }
+
     /**
      * Function that generates uniformly distributed random long values in a specified interval
      *
@@ -0,0 +1,334 @@
+package simulation.util;
+
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.function.IntConsumer;
+
+/**
+ * Uniform grid that sorts axis aligned bounding boxes in the XY plane into quadratic cells of a fixed size.
+ * Entries are identified by non-negative int ids, which should be small and dense (e.g. list indices),
+ * as internal arrays are sized by the largest id. The grid is intended to be cleared and refilled
+ * once per simulation frame, internal storage is reused between frames.
+ */
+public class SpatialHashGrid {
+
+    /**
+     * Consumer for pairs of entry ids
+     */
+    @FunctionalInterface
+    public interface PairConsumer {
+        /**
+         * Called for a pair of entries
+         *
+         * @param first Id of the first entry, always smaller than second
+         * @param second Id of the second entry
+         */
+        void accept(int first, int second);
+    }
+
+    /**
+     * Ids of all entries whose bounding box overlaps a single cell
+     */
+    private static class Cell {
+        /** Ids of entries in this cell */
+        int[] ids = new int[4];
+
+        /** Number of valid ids */
+        int size = 0;
+
+        void add(int id) {
+            if (size == ids.length) {
+                ids = Arrays.copyOf(ids, 2 * size);
+            }
+            ids[size++] = id;
+        }
+
+        void remove(int id) {
+            for (int i = 0; i < size; ++i) {
+                if (ids[i] == id) {
+                    ids[i] = ids[--size];
+                    return;
+                }
+            }
+        }
+    }
+
+    /** Edge length of a cell in meters */
+    private final double cellSize;
+
+    /** Cells that contain at least one entry or did so since the last pruning, keyed by cell coordinates */
+    private final Map<Long, Cell> cells = new HashMap<>();
+
+    /** Number of cells that contain at least one entry */
+    private int usedCellCount = 0;
+
+    /** Bounding boxes of entries, indexed by entry id */
+    private double[] minX = new double[0];
+    private double[] minY = new double[0];
+    private double[] maxX = new double[0];
+    private double[] maxY = new double[0];
+
+    /** True iff the entry with that id is inserted */
+    private boolean[] inserted = new boolean[0];
+
+    /** Query stamps per entry id, used to report each entry once per query */
+    private int[] stamps = new int[0];
+
+    /** Stamp of the current query */
+    private int currentStamp = 0;
+
+    /**
+     * Constructor for an empty grid
+     *
+     * @param cellSize Edge length of a cell in meters, must be positive
+     */
+    public SpatialHashGrid(double cellSize) {
+        if (!(cellSize > 0.0)) {
+            throw new IllegalArgumentException("SpatialHashGrid: cellSize must be positive, got " + cellSize);
+        }
+
+        this.cellSize = cellSize;
+    }
+
+    /**
+     * Removes all entries from the grid while keeping the allocated storage
+     */
+    public void clear() {
+        // Drop storage of cells that are no longer used, e.g. after objects moved to other parts of the map
+        if (cells.size() > 2 * usedCellCount + 64) {
+            cells.clear();
+        } else {
+            for (Cell cell : cells.values()) {
+                cell.size = 0;
+            }
+        }
+
+        Arrays.fill(inserted, false);
+        usedCellCount = 0;
+    }
+
+    /**
+     * Inserts an entry with its bounding box. Each id may only be inserted once between two calls of clear(),
+     * unless it is removed in between
+     *
+     * @param id Non-negative id of the entry
+     * @param minX Minimum x coordinate of the bounding box
+     * @param minY Minimum y coordinate of the bounding box
+     * @param maxX Maximum x coordinate of the bounding box
+     * @param maxY Maximum y coordinate of the bounding box
+     */
+    public void insert(int id, double minX, double minY, double maxX, double maxY) {
+        ensureCapacity(id + 1);
+
+        if (inserted[id]) {
+            throw new IllegalStateException("SpatialHashGrid: id " + id + " is already inserted");
+        }
+
+        inserted[id] = true;
+        this.minX[id] = minX;
+        this.minY[id] = minY;
+        this.maxX[id] = maxX;
+        this.maxY[id] = maxY;
+
+        int cellMinX = cellCoordinate(minX);
+        int cellMinY = cellCoordinate(minY);
+        int cellMaxX = cellCoordinate(maxX);
+        int cellMaxY = cellCoordinate(maxY);
+
+        for (int cellX = cellMinX; cellX <= cellMaxX; ++cellX) {
+            for (int cellY = cellMinY; cellY <= cellMaxY; ++cellY) {
+                Cell cell = cells.computeIfAbsent(cellKey(cellX, cellY), key -> new Cell());
+
+                if (cell.size == 0) {
+                    usedCellCount++;
+                }
+
+                cell.add(id);
+            }
+        }
+    }
+
+    /**
+     * Removes an entry, e.g. to insert it again with the bounding box of a moved object. Does nothing
+     * if the id is not inserted
+     *
+     * @param id Non-negative id of the entry
+     */
+    public void remove(int id) {
+        if (id >= inserted.length || !inserted[id]) {
+            return;
+        }
+
+        inserted[id] = false;
+
+        int cellMinX = cellCoordinate(minX[id]);
+        int cellMinY = cellCoordinate(minY[id]);
+        int cellMaxX = cellCoordinate(maxX[id]);
+        int cellMaxY = cellCoordinate(maxY[id]);
+
+        for (int cellX = cellMinX; cellX <= cellMaxX; ++cellX) {
+            for (int cellY = cellMinY; cellY <= cellMaxY; ++cellY) {
+                Cell cell = cells.get(cellKey(cellX, cellY));
+                cell.remove(id);
+
+                if (cell.size == 0) {
+                    usedCellCount--;
+                }
+            }
+        }
+    }
+
+    /**
+     * Reports all entries whose bounding box overlaps the given box, each entry exactly once.
+     * The order in which entries are reported is unspecified.
+     *
+     * @param minX Minimum x coordinate of the query box
+     * @param minY Minimum y coordinate of the query box
+     * @param maxX Maximum x coordinate of the query box
+     * @param maxY Maximum y coordinate of the query box
+     * @param consumer Consumer that is called with the id of every overlapping entry
+     */
+    public void query(double minX, double minY, double maxX, double maxY, IntConsumer consumer) {
+        int stamp = nextStamp();
+
+        int cellMinX = cellCoordinate(minX);
+        int cellMinY = cellCoordinate(minY);
+        int cellMaxX = cellCoordinate(maxX);
+        int cellMaxY = cellCoordinate(maxY);
+
+        for (int cellX = cellMinX; cellX <= cellMaxX; ++cellX) {
+            for (int cellY = cellMinY; cellY <= cellMaxY; ++cellY) {
+                Cell cell = cells.get(cellKey(cellX, cellY));
+
+                if (cell == null) {
+                    continue;
+                }
+
+                for (int i = 0; i < cell.size; ++i) {
+                    int id = cell.ids[i];
+
+                    if (stamps[id] == stamp) {
+                        continue;
+                    }
+
+                    stamps[id] = stamp;
+
+                    if (overlaps(id, minX, minY, maxX, maxY)) {
+                        consumer.accept(id);
+                    }
+                }
+            }
+        }
+    }
+
+    /**
+     * Reports all pairs of entries with overlapping bounding boxes, each unordered pair exactly once.
+     * The order in which pairs are reported is unspecified.
+     *
+     * @param consumer Consumer that is called with the ids of every overlapping pair
+     */
+    public void forEachOverlappingPair(PairConsumer consumer) {
+        for (Map.Entry<Long, Cell> entry : cells.entrySet()) {
+            Cell cell = entry.getValue();
+
+            if (cell.size < 2) {
+                continue;
+            }
+
+            int cellX = (int) (entry.getKey() >> 32);
+            int cellY = (int) (long) entry.getKey();
+
+            for (int i = 0; i < cell.size; ++i) {
+                int a = cell.ids[i];
+
+                for (int j = i + 1; j < cell.size; ++j) {
+                    int b = cell.ids[j];
+
+                    if (!overlaps(b, minX[a], minY[a], maxX[a], maxY[a])) {
+                        continue;
+                    }
+
+                    // A pair shares all cells that contain the minimum corner of their overlap,
+                    // only report it in that cell to avoid duplicates
+                    double overlapMinX = Math.max(minX[a], minX[b]);
+                    double overlapMinY = Math.max(minY[a], minY[b]);
+
+                    if (cellCoordinate(overlapMinX) != cellX || cellCoordinate(overlapMinY) != cellY) {
+                        continue;
+                    }
+
+                    consumer.accept(Math.min(a, b), Math.max(a, b));
+                }
+            }
+        }
+    }
+
+    /**
+     * Returns the edge length of the cells
+     *
+     * @return Edge length of a cell in meters
+     */
+    public double getCellSize() {
+        return cellSize;
+    }
+
+    /**
+     * Returns the number of cells that currently contain at least one entry
+     *
+     * @return Number of non-empty cells
+     */
+    public int getUsedCellCount() {
+        return usedCellCount;
+    }
+
+    /**
+     * Checks whether the bounding box of an entry overlaps the given box
+     */
+    private boolean overlaps(int id, double minX, double minY, double maxX, double maxY) {
+        return this.minX[id] <= maxX && this.maxX[id] >= minX && this.minY[id] <= maxY && this.maxY[id] >= minY;
+    }
+
+    /**
+     * Returns a new stamp for a query, resets all stamps on overflow
+     */
+    private int nextStamp() {
+        if (currentStamp == Integer.MAX_VALUE) {
+            Arrays.fill(stamps, 0);
+            currentStamp = 0;
+        }
+
+        return ++currentStamp;
+    }
+
+    /**
+     * Grows the per entry arrays such that they can hold at least the given number of entries
+     */
+    private void ensureCapacity(int capacity) {
+        if (capacity <= inserted.length) {
+            return;
+        }
+
+        int newCapacity = Math.max(capacity, 2 * inserted.length);
+        minX = Arrays.copyOf(minX, newCapacity);
+        minY = Arrays.copyOf(minY, newCapacity);
+        maxX = Arrays.copyOf(maxX, newCapacity);
+        maxY = Arrays.copyOf(maxY, newCapacity);
+        inserted = Arrays.copyOf(inserted, newCapacity);
+        stamps = Arrays.copyOf(stamps, newCapacity);
+    }
+
+    /**
+     * Converts a coordinate to the coordinate of the containing cell
+     */
+    private int cellCoordinate(double value) {
+        return (int) Math.floor(value / cellSize);
+    }
+
+    /**
+     * Combines both cell coordinates into a single key
+     */
+    private static long cellKey(int cellX, int cellY) {
+        return ((long) cellX << 32) | (cellY & 0xFFFFFFFFL);
+    }
+}
@@ -0,0 +1,121 @@
+package simulation.util;
+
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.logging.Handler;
+import java.util.logging.Level;
+import java.util.logging.LogRecord;
+
+import static org.junit.Assert.*;
+
+/**
+ * Class that tests the Log class and its asynchronous handler
+ */
+public class LogTest {
+
+    @Test
+    public void testIsLoggable() {
+        Level consoleLevel = Log.getConsoleLevel();
+
+        try {
+            Log.setConsoleLevel(Level.INFO);
+            assertTrue(Log.isLoggable(Level.SEVERE));
+            assertTrue(Log.isLoggable(Level.INFO));
+            assertFalse(Log.isLoggable(Level.FINEST));
+
+            Log.setConsoleLevel(Level.FINEST);
+            assertTrue(Log.isLoggable(Level.FINEST));
+
+            Log.setLogEnabled(false);
+            assertFalse(Log.isLoggable(Level.SEVERE));
+        } finally {
+            Log.setLogEnabled(true);
+            Log.setConsoleLevel(consoleLevel);
+        }
+    }
+
+    @Test
+    public void testSupplierOnlyCalledIfLoggable() {
+        Level consoleLevel = Log.getConsoleLevel();
+        AtomicInteger calls = new AtomicInteger(0);
+
+        try {
+            Log.setConsoleLevel(Level.INFO);
+            Log.finest(() -> "Message " + calls.incrementAndGet());
+            assertEquals(0, calls.get());
+
+            Log.setLogEnabled(false);
+            Log.warning(() -> "Message " + calls.incrementAndGet());
+            assertEquals(0, calls.get());
+        } finally {
+            Log.setLogEnabled(true);
+            Log.setConsoleLevel(consoleLevel);
+        }
+    }
+
+    @Test
+    public void testAsyncHandlerWritesAllRecordsInOrder() {
+        CollectingHandler target = new CollectingHandler();
+        AsyncLogHandler handler = new AsyncLogHandler(target, 4);
+
+        for (int i = 0; i < 100; ++i) {
+            handler.publish(new LogRecord(Level.INFO, "Message " + i));
+        }
+
+        handler.flush();
+        assertEquals(100, target.messages.size());
+
+        for (int i = 0; i < 100; ++i) {
+            assertEquals("Message " + i, target.messages.get(i));
+        }
+
+        handler.close();
+        assertTrue(target.closed);
+
+        // Records after closing are ignored
+        handler.publish(new LogRecord(Level.INFO, "Message"));
+        assertEquals(100, target.messages.size());
+    }
+
+    @Test
+    public void testAsyncHandlerFormatsParametersOnLoggingThread() {
+        CollectingHandler target = new CollectingHandler();
+        AsyncLogHandler handler = new AsyncLogHandler(target);
+
+        StringBuilder parameter = new StringBuilder("before");
+        LogRecord record = new LogRecord(Level.INFO, "Value: {0}");
+        record.setParameters(new Object[] {parameter});
+        handler.publish(record);
+
+        // Changes after publishing do not affect the written message
+        parameter.replace(0, parameter.length(), "after");
+
+        handler.close();
+        assertEquals(1, target.messages.size());
+        assertEquals("Value: before", target.messages.get(0));
+    }
+
+    /**
+     * Handler that stores all messages in memory
+     */
+    private static class CollectingHandler extends Handler {
+        private final List<String> messages = new ArrayList<>();
+        private boolean closed = false;
+
+        @Override
+        public synchronized void publish(LogRecord record) {
+            messages.add(record.getMessage());
+        }
+
+        @Override
+        public void flush() {}
+
+        @Override
+        public void close() {
+            closed = true;
+        }
+    }
+}
@@ -8,6 +8,7 @@ import java.util.AbstractMap;
 import java.util.LinkedList;
 import java.util.List;
 import java.util.Map;
+import java.util.Random;
 
 import static org.junit.Assert.*;
 
@@ -201,6 +202,77 @@ public class MathHelperTest {
         assertTrue(MathHelper.checkIntersection2D(list2, list3));
     }
 
+    @Test
+    public void testCheckRectangleIntersection2DAgreesWithPolygons() {
+        Random random = new Random(4711);
+        int intersections = 0;
+
+        for (int i = 0; i < 2000; ++i) {
+            double[] rectangleOne = randomRectangle(random);
+            double[] rectangleTwo = randomRectangle(random);
+            boolean result = MathHelper.checkRectangleIntersection2D(rectangleOne, rectangleTwo);
+
+            // Skip nearly touching rectangles, where the result depends on the numeric tolerances
+            if (result != MathHelper.checkRectangleIntersection2D(scaleRectangle(rectangleOne, 1.001), scaleRectangle(rectangleTwo, 1.001)) ||
+                    result != MathHelper.checkRectangleIntersection2D(scaleRectangle(rectangleOne, 0.999), scaleRectangle(rectangleTwo, 0.999))) {
+                continue;
+            }
+
+            List<Map.Entry<RealVector, RealVector>> vectorsOne = rectangleToVectors(rectangleOne);
+            List<Map.Entry<RealVector, RealVector>> vectorsTwo = rectangleToVectors(rectangleTwo);
+            assertEquals(MathHelper.checkPolygonIntersection2D(vectorsOne, vectorsTwo), result);
+            assertEquals(result, MathHelper.checkIntersection2D(vectorsOne, vectorsTwo));
+            assertEquals(result, MathHelper.checkRectangleIntersection2D(rectangleTwo, rectangleOne));
+
+            if (result) {
+                intersections++;
+            }
+        }
+
+        // Ensure that both outcomes are covered
+        assertTrue(intersections > 100);
+        assertTrue(intersections < 1900);
+    }
+
+    @Test
+    public void testCheckQuadrilateralIntersection2DAgreesWithPolygons() {
+        Random random = new Random(815);
+        int intersections = 0;
+
+        for (int i = 0; i < 2000; ++i) {
+            // Projections of pitched or rolled vehicles are parallelograms, also check general convex quadrilaterals
+            double[] quadrilateralOne = shearQuadrilateral(randomRectangle(random), random);
+            double[] quadrilateralTwo = shearQuadrilateral(randomRectangle(random), random);
+
+            if (i % 2 == 0) {
+                quadrilateralTwo[4] += random.nextDouble() * (quadrilateralTwo[4] - quadrilateralTwo[0]);
+                quadrilateralTwo[5] += random.nextDouble() * (quadrilateralTwo[5] - quadrilateralTwo[1]);
+            }
+
+            boolean result = MathHelper.checkQuadrilateralIntersection2D(quadrilateralOne, quadrilateralTwo);
+
+            // Skip nearly touching quadrilaterals, where the result depends on the numeric tolerances
+            if (result != MathHelper.checkQuadrilateralIntersection2D(scaleRectangle(quadrilateralOne, 1.001), scaleRectangle(quadrilateralTwo, 1.001)) ||
+                    result != MathHelper.checkQuadrilateralIntersection2D(scaleRectangle(quadrilateralOne, 0.999), scaleRectangle(quadrilateralTwo, 0.999))) {
+                continue;
+            }
+
+            List<Map.Entry<RealVector, RealVector>> vectorsOne = rectangleToVectors(quadrilateralOne);
+            List<Map.Entry<RealVector, RealVector>> vectorsTwo = rectangleToVectors(quadrilateralTwo);
+            assertEquals(MathHelper.checkPolygonIntersection2D(vectorsOne, vectorsTwo), result);
+            assertEquals(result, MathHelper.checkIntersection2D(vectorsOne, vectorsTwo));
+            assertEquals(result, MathHelper.checkQuadrilateralIntersection2D(quadrilateralTwo, quadrilateralOne));
+
+            if (result) {
+                intersections++;
+            }
+        }
+
+        // Ensure that both outcomes are covered
+        assertTrue(intersections > 100);
+        assertTrue(intersections < 1900);
+    }
+
     @Test
     public void testRandomLong() {
         assertTrue(MathHelper.randomLong(0L, 0L) == 0L);
@@ -230,4 +302,61 @@ public class MathHelperTest {
         long result2 = MathHelper.randomInt(Integer.MIN_VALUE / 2, Integer.MAX_VALUE / 2);
         assertTrue(result2 >= Integer.MIN_VALUE / 2 && result2 <= Integer.MAX_VALUE / 2);
     }
-}
\ No newline at end of file
+
+    private static double[] randomRectangle(Random random) {
+        double centerX = 20.0 * random.nextDouble();
+        double centerY = 20.0 * random.nextDouble();
+        double width = 0.5 + 4.0 * random.nextDouble();
+        double length = 0.5 + 8.0 * random.nextDouble();
+        double angle = 2.0 * Math.PI * random.nextDouble();
+        double[] signs = {-1.0, -1.0, 1.0, -1.0, 1.0, 1.0, -1.0, 1.0};
+        double[] corners = new double[8];
+
+        for (int i = 0; i < 8; i += 2) {
+            double x = 0.5 * signs[i] * width;
+            double y = 0.5 * signs[i + 1] * length;
+            corners[i] = centerX + Math.cos(angle) * x - Math.sin(angle) * y;
+            corners[i + 1] = centerY + Math.sin(angle) * x + Math.cos(angle) * y;
+        }
+
+        return corners;
+    }
+
+    private static double[] shearQuadrilateral(double[] corners, Random random) {
+        // Shearing keeps the area and the orientation, thus the corners stay counter clockwise
+        double shear = 2.0 * random.nextDouble() - 1.0;
+        double[] result = new double[8];
+
+        for (int i = 0; i < 8; i += 2) {
+            result[i] = corners[i] + shear * corners[i + 1];
+            result[i + 1] = corners[i + 1];
+        }
+
+        return result;
+    }
+
+    private static double[] scaleRectangle(double[] corners, double factor) {
+        double centerX = 0.5 * (corners[0] + corners[4]);
+        double centerY = 0.5 * (corners[1] + corners[5]);
+        double[] result = new double[8];
+
+        for (int i = 0; i < 8; i += 2) {
+            result[i] = centerX + factor * (corners[i] - centerX);
+            result[i + 1] = centerY + factor * (corners[i + 1] - centerY);
+        }
+
+        return result;
+    }
+
+    private static List<Map.Entry<RealVector, RealVector>> rectangleToVectors(double[] corners) {
+        List<Map.Entry<RealVector, RealVector>> vectors = new LinkedList<>();
+
+        for (int i = 0; i < 8; i += 2) {
+            RealVector start = new ArrayRealVector(new double[]{corners[i], corners[i + 1], 0.0});
+            RealVector end = new ArrayRealVector(new double[]{corners[(i + 2) % 8], corners[(i + 3) % 8], 0.0});
+            vectors.add(new AbstractMap.SimpleEntry<>(start, end));
+        }
+
+        return vectors;
+    }
+}
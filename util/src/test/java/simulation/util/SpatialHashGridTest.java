@@ -0,0 +1,143 @@
+package simulation.util;
+
+import org.junit.Test;
+
+import java.util.*;
+
+import static org.junit.Assert.*;
+
+/**
+ * Class that tests the SpatialHashGrid class
+ */
+public class SpatialHashGridTest {
+
+    @Test
+    public void testOverlappingPairsMatchBruteForce() {
+        Random random = new Random(42);
+
+        for (int run = 0; run < 50; ++run) {
+            SpatialHashGrid grid = new SpatialHashGrid(1.0 + 10.0 * random.nextDouble());
+            int count = random.nextInt(60);
+            double[][] boxes = randomBoxes(random, count);
+
+            // Refill the same grid to check that storage is reused correctly
+            for (int refill = 0; refill < 2; ++refill) {
+                grid.clear();
+                for (int i = 0; i < count; ++i) {
+                    grid.insert(i, boxes[i][0], boxes[i][1], boxes[i][2], boxes[i][3]);
+                }
+
+                Set<List<Integer>> expected = new HashSet<>();
+                for (int i = 0; i < count; ++i) {
+                    for (int j = i + 1; j < count; ++j) {
+                        if (overlaps(boxes[i], boxes[j])) {
+                            expected.add(Arrays.asList(i, j));
+                        }
+                    }
+                }
+
+                List<List<Integer>> reported = new LinkedList<>();
+                grid.forEachOverlappingPair((first, second) -> reported.add(Arrays.asList(first, second)));
+
+                // Every pair is reported exactly once
+                assertEquals(expected.size(), reported.size());
+                assertEquals(expected, new HashSet<>(reported));
+            }
+        }
+    }
+
+    @Test
+    public void testQueryMatchesBruteForce() {
+        Random random = new Random(7);
+        SpatialHashGrid grid = new SpatialHashGrid(4.0);
+        int count = 200;
+        double[][] boxes = randomBoxes(random, count);
+
+        for (int i = 0; i < count; ++i) {
+            grid.insert(i, boxes[i][0], boxes[i][1], boxes[i][2], boxes[i][3]);
+        }
+
+        for (int query = 0; query < 100; ++query) {
+            double[] queryBox = randomBoxes(random, 1)[0];
+
+            Set<Integer> expected = new HashSet<>();
+            for (int i = 0; i < count; ++i) {
+                if (overlaps(boxes[i], queryBox)) {
+                    expected.add(i);
+                }
+            }
+
+            List<Integer> reported = new LinkedList<>();
+            grid.query(queryBox[0], queryBox[1], queryBox[2], queryBox[3], reported::add);
+
+            assertEquals(expected.size(), reported.size());
+            assertEquals(expected, new HashSet<>(reported));
+        }
+    }
+
+    @Test
+    public void testClear() {
+        SpatialHashGrid grid = new SpatialHashGrid(10.0);
+        grid.insert(0, 0.0, 0.0, 1.0, 1.0);
+        grid.insert(1, 0.5, 0.5, 2.0, 2.0);
+        assertEquals(1, grid.getUsedCellCount());
+
+        grid.clear();
+        assertEquals(0, grid.getUsedCellCount());
+
+        List<Integer> reported = new LinkedList<>();
+        grid.query(-100.0, -100.0, 100.0, 100.0, reported::add);
+        assertTrue(reported.isEmpty());
+
+        // Ids may be inserted again after clearing
+        grid.insert(0, 0.0, 0.0, 1.0, 1.0);
+        grid.query(-100.0, -100.0, 100.0, 100.0, reported::add);
+        assertEquals(Collections.singletonList(0), reported);
+    }
+
+    @Test
+    public void testRemove() {
+        SpatialHashGrid grid = new SpatialHashGrid(10.0);
+        grid.insert(0, 0.0, 0.0, 1.0, 1.0);
+        grid.insert(1, 0.5, 0.5, 25.0, 2.0);
+        assertEquals(3, grid.getUsedCellCount());
+
+        // Move entry 1 away from entry 0
+        grid.remove(1);
+        assertEquals(1, grid.getUsedCellCount());
+        grid.insert(1, 100.0, 100.0, 101.0, 101.0);
+
+        List<Integer> reported = new LinkedList<>();
+        grid.query(-1.0, -1.0, 30.0, 30.0, reported::add);
+        assertEquals(Collections.singletonList(0), reported);
+
+        reported.clear();
+        grid.forEachOverlappingPair((first, second) -> reported.add(first));
+        assertTrue(reported.isEmpty());
+
+        // Removing an entry again or an id that was never inserted does nothing
+        grid.remove(1);
+        grid.remove(1);
+        grid.remove(5);
+        assertEquals(1, grid.getUsedCellCount());
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testInvalidCellSize() {
+        new SpatialHashGrid(0.0);
+    }
+
+    private static double[][] randomBoxes(Random random, int count) {
+        double[][] boxes = new double[count][];
+        for (int i = 0; i < count; ++i) {
+            double x = 100.0 * random.nextDouble() - 50.0;
+            double y = 100.0 * random.nextDouble() - 50.0;
+            boxes[i] = new double[] {x, y, x + 15.0 * random.nextDouble(), y + 15.0 * random.nextDouble()};
+        }
+        return boxes;
+    }
+
+    private static boolean overlaps(double[] box1, double[] box2) {
+        return box1[0] <= box2[2] && box1[2] >= box2[0] && box1[1] <= box2[3] && box1[3] >= box2[1];
+    }
+}
@@ -0,0 +1,237 @@
+package simulation.vehicle;
+
+import commons.simulation.PhysicalObject;
+import org.apache.commons.math3.linear.RealVector;
+import simulation.util.SpatialHashGrid;
+
+import java.util.*;
+import java.util.function.IntConsumer;
+
+/**
+ * Broad phase of the collision detection. Sorts physical objects into a uniform grid based on the
+ * bounding boxes of their boundary vectors in the XY plane, such that only pairs of objects with
+ * overlapping bounding boxes need to be checked by PhysicsEngine.detectCollision()
+ */
+public class CollisionBroadPhase {
+
+    /** Default edge length of grid cells in meters, roughly the length of two vehicles */
+    public static final double DEFAULT_CELL_SIZE = 10.0;
+
+    /** Grid of object bounding boxes, ids are indices of objects */
+    private final SpatialHashGrid grid;
+
+    /** Objects of the current frame, active objects first */
+    private final List<PhysicalObject> objects = new ArrayList<>();
+
+    /** Number of active objects at the beginning of objects */
+    private int activeObjectCount = 0;
+
+    /** Candidate pairs of the current frame, encoded as (first index << 32 | second index) */
+    private long[] candidatePairs = new long[64];
+
+    /** Number of valid entries in candidatePairs */
+    private int candidatePairCount = 0;
+
+    /** Index of every object of the current frame */
+    private final Map<PhysicalObject, Integer> indices = new IdentityHashMap<>();
+
+    /** Indices of the candidates of the last query of the serial loop */
+    private int[] candidates = new int[16];
+
+    /** Number of valid entries in candidates */
+    private int candidateCount = 0;
+
+    /** Adds an index to candidates */
+    private final IntConsumer candidateCollector = index -> {
+        if (candidateCount == candidates.length) {
+            candidates = Arrays.copyOf(candidates, 2 * candidateCount);
+        }
+
+        candidates[candidateCount++] = index;
+    };
+
+    /** Bounding box {minX, minY, maxX, maxY} computed by computeBoundingBox() */
+    private final double[] box = new double[4];
+
+    /**
+     * Constructor for a broad phase with default cell size
+     */
+    public CollisionBroadPhase() {
+        this(DEFAULT_CELL_SIZE);
+    }
+
+    /**
+     * Constructor for a broad phase with given cell size
+     *
+     * @param cellSize Edge length of grid cells in meters
+     */
+    public CollisionBroadPhase(double cellSize) {
+        grid = new SpatialHashGrid(cellSize);
+    }
+
+    /**
+     * Rebuilds the grid for the current state of the objects and computes the candidate pairs for this frame.
+     * Each unordered pair of objects is reported at most once. Pairs of two passive objects are never reported,
+     * as passive objects do not compute their physics. Candidate pairs are ordered by the index of their first
+     * and then their second object, where active objects precede passive objects in the order given.
+     *
+     * @param activeObjects Objects whose physics are computed in the simulation loop
+     * @param passiveObjects Physical objects that are not contained in activeObjects
+     * @return Number of candidate pairs
+     */
+    public int update(List<PhysicalObject> activeObjects, List<PhysicalObject> passiveObjects) {
+        objects.clear();
+        objects.addAll(activeObjects);
+        objects.addAll(passiveObjects);
+        activeObjectCount = activeObjects.size();
+
+        // Insert bounding boxes of all objects
+        grid.clear();
+        for (int i = 0; i < objects.size(); ++i) {
+            insertObject(i);
+        }
+
+        // Collect pairs with at least one active object
+        candidatePairCount = 0;
+        grid.forEachOverlappingPair((first, second) -> {
+            if (first >= activeObjectCount) {
+                return;
+            }
+
+            if (candidatePairCount == candidatePairs.length) {
+                candidatePairs = Arrays.copyOf(candidatePairs, 2 * candidatePairCount);
+            }
+
+            candidatePairs[candidatePairCount++] = ((long) first << 32) | second;
+        });
+
+        // Sort pairs to get a deterministic order independent of grid internals
+        Arrays.sort(candidatePairs, 0, candidatePairCount);
+        return candidatePairCount;
+    }
+
+    /**
+     * Rebuilds the grid for the current state of the objects for the serial simulation loop, in which every
+     * object is checked for collisions just before it moves. Candidates of an object are then queried with
+     * collectCandidates() and the grid is kept up to date by calling updateObject() after an object moved
+     *
+     * @param physicalObjects All physical objects in the order in which they are checked for collisions
+     */
+    public void rebuild(List<PhysicalObject> physicalObjects) {
+        objects.clear();
+        objects.addAll(physicalObjects);
+        activeObjectCount = objects.size();
+        candidatePairCount = 0;
+
+        indices.clear();
+        grid.clear();
+        for (int i = 0; i < objects.size(); ++i) {
+            indices.put(objects.get(i), i);
+            insertObject(i);
+        }
+    }
+
+    /**
+     * Collects all objects of the last rebuild whose current bounding boxes overlap the current bounding box
+     * of an object. These are all objects that may collide with the object, in the order given to rebuild()
+     *
+     * @param object Object of the last rebuild
+     * @param result List to which the candidates are added, without the object itself
+     */
+    public void collectCandidates(PhysicalObject object, List<PhysicalObject> result) {
+        Integer index = indices.get(object);
+
+        if (index == null || !computeBoundingBox(object)) {
+            return;
+        }
+
+        candidateCount = 0;
+        grid.query(box[0], box[1], box[2], box[3], candidateCollector);
+        Arrays.sort(candidates, 0, candidateCount);
+
+        for (int i = 0; i < candidateCount; ++i) {
+            if (candidates[i] != index) {
+                result.add(objects.get(candidates[i]));
+            }
+        }
+    }
+
+    /**
+     * Updates the bounding box of an object of the last rebuild, must be called after the object moved
+     *
+     * @param object Object of the last rebuild
+     */
+    public void updateObject(PhysicalObject object) {
+        Integer index = indices.get(object);
+
+        if (index != null) {
+            grid.remove(index);
+            insertObject(index);
+        }
+    }
+
+    /**
+     * Returns the number of candidate pairs computed by the last update
+     *
+     * @return Number of candidate pairs
+     */
+    public int getCandidatePairCount() {
+        return candidatePairCount;
+    }
+
+    /**
+     * Returns the first object of a candidate pair, this is always an active object
+     *
+     * @param pairIndex Index of the pair, between 0 and getCandidatePairCount() - 1
+     * @return First object of the pair
+     */
+    public PhysicalObject getFirst(int pairIndex) {
+        return objects.get((int) (candidatePairs[pairIndex] >>> 32));
+    }
+
+    /**
+     * Returns the second object of a candidate pair
+     *
+     * @param pairIndex Index of the pair, between 0 and getCandidatePairCount() - 1
+     * @return Second object of the pair
+     */
+    public PhysicalObject getSecond(int pairIndex) {
+        return objects.get((int) candidatePairs[pairIndex]);
+    }
+
+    /**
+     * Inserts the current bounding box of an object into the grid, objects without boundary vectors can not collide
+     */
+    private void insertObject(int index) {
+        if (computeBoundingBox(objects.get(index))) {
+            grid.insert(index, box[0], box[1], box[2], box[3]);
+        }
+    }
+
+    /**
+     * Computes the bounding box of the boundary vectors of an object in the XY plane into box
+     *
+     * @return False iff the object has no boundary vectors
+     */
+    private boolean computeBoundingBox(PhysicalObject object) {
+        double minX = Double.MAX_VALUE;
+        double minY = Double.MAX_VALUE;
+        double maxX = -Double.MAX_VALUE;
+        double maxY = -Double.MAX_VALUE;
+
+        for (Map.Entry<RealVector, RealVector> entry : object.getBoundaryVectors()) {
+            RealVector start = entry.getKey();
+            RealVector end = entry.getValue();
+            minX = Math.min(minX, Math.min(start.getEntry(0), end.getEntry(0)));
+            minY = Math.min(minY, Math.min(start.getEntry(1), end.getEntry(1)));
+            maxX = Math.max(maxX, Math.max(start.getEntry(0), end.getEntry(0)));
+            maxY = Math.max(maxY, Math.max(start.getEntry(1), end.getEntry(1)));
+        }
+
+        box[0] = minX;
+        box[1] = minY;
+        box[2] = maxX;
+        box[3] = maxY;
+        return minX <= maxX && minY <= maxY;
+    }
+}
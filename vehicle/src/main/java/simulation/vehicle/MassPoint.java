@@ -4,41 +4,40 @@ import org.apache.commons.math3.linear.RealVector;
 
 /**
  * Class that represents a mass point of a rigid body
+ * The state of a mass point lives in a wheel slot of a VehicleStateStore. A new mass point has a store of its own,
+ * PhysicalVehicle moves the state of its wheel mass points into its own store, see moveTo()
  */
 public class MassPoint {
 
     /** Type of mass point */
     private MassPointType type;
 
+    /** Store that holds the state of the mass point */
+    private VehicleStateStore store;
+
+    /** Wheel slot of the mass point in the store */
+    private int slot;
+
     /** x_i bar of formula: Position relative to center of mass of rigid body (local coordinate system) */
-    private RealVector localPos;
+    private Vec3 localPos;
 
     /** r_i bar of formula: Vector pointing from center of mass of rigid body to mass point (local coordinate system) */
-    private RealVector localCenterDiff;
+    private Vec3 localCenterDiff;
 
     /** x_i of formula: Position relative to global coordinate system */
-    private RealVector pos;
+    private Vec3 pos;
 
     /** r_i of formula: Vector pointing from center of mass of rigid body to mass point (global coordinate system) */
-    private RealVector centerDiff;
+    private Vec3 centerDiff;
 
     /** x_i dot of formula: Velocity relative to global coordinate system */
-    private RealVector velocity;
+    private Vec3 velocity;
 
     /** x_i dot dot of formula: Acceleration relative to global coordinate system */
-    private RealVector acceleration;
+    private Vec3 acceleration;
 
     /** f_i of formula: Acceleration relative to global coordinate system */
-    private RealVector force;
-
-    /** m_i of formula: Mass of the mass point */
-    private double mass;
-
-    /** Ground Z position of mass point (for performance improvements) */
-    private double groundZ;
-
-    /** Pressure value for the mass point (e.g. tire pressure) initialized to 0.0 */
-    private double pressure;
+    private Vec3 force;
 
     /**
      * Constructor for a mass point that takes all variables
@@ -56,16 +55,71 @@ public class MassPoint {
      */
     public MassPoint(MassPointType type, RealVector localPos, RealVector localCenterDiff, RealVector pos, RealVector centerDiff, RealVector velocity, RealVector acceleration, RealVector force, double mass) {
         this.type = type;
-        this.localPos = localPos.copy();
-        this.localCenterDiff = localCenterDiff.copy();
-        this.pos = pos.copy();
-        this.centerDiff = centerDiff.copy();
-        this.velocity = velocity.copy();
-        this.acceleration = acceleration.copy();
-        this.force = force.copy();
-        this.mass = mass;
-        this.groundZ = 0.0;
-        this.pressure = 0.0;
+        setSlot(new VehicleStateStore(1), 0);
+        this.localPos.set(localPos);
+        this.localCenterDiff.set(localCenterDiff);
+        this.pos.set(pos);
+        this.centerDiff.set(centerDiff);
+        this.velocity.set(velocity);
+        this.acceleration.set(acceleration);
+        this.force.set(force);
+        setMass(mass);
+        setGroundZ(0.0);
+        setPressure(0.0);
+    }
+
+    /**
+     * Moves the state of the mass point into a wheel slot of another store, afterwards the mass point
+     * reads and writes the state in that slot
+     *
+     * @param store Store that receives the state
+     * @param slot Wheel slot in the store
+     */
+    void moveTo(VehicleStateStore store, int slot) {
+        if (isStoredAt(store, slot)) {
+            return;
+        }
+
+        VehicleStateStore.vector(store.wheelLocalPos, slot).set(localPos);
+        VehicleStateStore.vector(store.wheelLocalCenterDiff, slot).set(localCenterDiff);
+        VehicleStateStore.vector(store.wheelPos, slot).set(pos);
+        VehicleStateStore.vector(store.wheelCenterDiff, slot).set(centerDiff);
+        VehicleStateStore.vector(store.wheelVelocity, slot).set(velocity);
+        VehicleStateStore.vector(store.wheelAcceleration, slot).set(acceleration);
+        VehicleStateStore.vector(store.wheelForce, slot).set(force);
+        store.wheelMass[slot] = getMass();
+        store.wheelGroundZ[slot] = getGroundZ();
+        store.wheelPressure[slot] = getPressure();
+        setSlot(store, slot);
+    }
+
+    /**
+     * Checks if the state of the mass point lives in a wheel slot of a store
+     *
+     * @param store Store of the slot
+     * @param slot Wheel slot in the store
+     * @return True iff the mass point reads and writes the state in that slot
+     */
+    boolean isStoredAt(VehicleStateStore store, int slot) {
+        return this.store == store && this.slot == slot;
+    }
+
+    /**
+     * Makes the vectors of the mass point views onto a wheel slot
+     *
+     * @param store Store of the slot
+     * @param slot Wheel slot in the store
+     */
+    private void setSlot(VehicleStateStore store, int slot) {
+        this.localPos = VehicleStateStore.vector(store.wheelLocalPos, slot);
+        this.localCenterDiff = VehicleStateStore.vector(store.wheelLocalCenterDiff, slot);
+        this.pos = VehicleStateStore.vector(store.wheelPos, slot);
+        this.centerDiff = VehicleStateStore.vector(store.wheelCenterDiff, slot);
+        this.velocity = VehicleStateStore.vector(store.wheelVelocity, slot);
+        this.acceleration = VehicleStateStore.vector(store.wheelAcceleration, slot);
+        this.force = VehicleStateStore.vector(store.wheelForce, slot);
+        this.store = store;
+        this.slot = slot;
     }
 
     /**
@@ -81,7 +135,7 @@ public class MassPoint {
      * @return Deep copy of the actual vector to avoid external modifications of vector data
      */
     public RealVector getLocalPos() {
-        return localPos.copy();
+        return localPos.toRealVector();
     }
 
     /**
@@ -89,7 +143,7 @@ public class MassPoint {
      * @return Deep copy of the actual vector to avoid external modifications of vector data
      */
     public RealVector getLocalCenterDiff() {
-        return localCenterDiff.copy();
+        return localCenterDiff.toRealVector();
     }
 
     /**
@@ -97,7 +151,7 @@ public class MassPoint {
      * @return Deep copy of the actual vector to avoid external modifications of vector data
      */
     public RealVector getPos() {
-        return pos.copy();
+        return pos.toRealVector();
     }
 
     /**
@@ -105,7 +159,7 @@ public class MassPoint {
      * @return Deep copy of the actual vector to avoid external modifications of vector data
      */
     public RealVector getCenterDiff() {
-        return centerDiff.copy();
+        return centerDiff.toRealVector();
     }
 
     /**
@@ -113,7 +167,7 @@ public class MassPoint {
      * @return Deep copy of the actual vector to avoid external modifications of vector data
      */
     public RealVector getVelocity() {
-        return velocity.copy();
+        return velocity.toRealVector();
     }
 
     /**
@@ -121,7 +175,7 @@ public class MassPoint {
      * @return Deep copy of the actual vector to avoid external modifications of vector data
      */
     public RealVector getAcceleration() {
-        return acceleration.copy();
+        return acceleration.toRealVector();
     }
 
     /**
@@ -129,7 +183,7 @@ public class MassPoint {
      * @return Deep copy of the actual vector to avoid external modifications of vector data
      */
     public RealVector getForce() {
-        return force.copy();
+        return force.toRealVector();
     }
 
     /**
@@ -137,7 +191,7 @@ public class MassPoint {
      * @return Mass of the mass point
      */
     public double getMass() {
-        return mass;
+        return store.wheelMass[slot];
     }
 
     /**
@@ -145,7 +199,7 @@ public class MassPoint {
      * @param localPos Input vector data that is deep copied to the mass point data to avoid external modifications
      */
     public void setLocalPos(RealVector localPos) {
-        this.localPos = localPos.copy();
+        this.localPos.set(localPos);
     }
 
     /**
@@ -153,7 +207,7 @@ public class MassPoint {
      * @param localCenterDiff Input vector data that is deep copied to the mass point data to avoid external modifications
      */
     public void setLocalCenterDiff(RealVector localCenterDiff) {
-        this.localCenterDiff = localCenterDiff.copy();
+        this.localCenterDiff.set(localCenterDiff);
     }
 
     /**
@@ -161,7 +215,7 @@ public class MassPoint {
      * @param pos Input vector data that is deep copied to the mass point data to avoid external modifications
      */
     public void setPos(RealVector pos) {
-        this.pos = pos.copy();
+        this.pos.set(pos);
     }
 
     /**
@@ -169,7 +223,7 @@ public class MassPoint {
      * @param centerDiff Input vector data that is deep copied to the mass point data to avoid external modifications
      */
     public void setCenterDiff(RealVector centerDiff) {
-        this.centerDiff = centerDiff.copy();
+        this.centerDiff.set(centerDiff);
     }
 
     /**
@@ -177,7 +231,7 @@ public class MassPoint {
      * @param velocity Input vector data that is deep copied to the mass point data to avoid external modifications
      */
     public void setVelocity(RealVector velocity) {
-        this.velocity = velocity.copy();
+        this.velocity.set(velocity);
     }
 
     /**
@@ -185,7 +239,7 @@ public class MassPoint {
      * @param acceleration Input vector data that is deep copied to the mass point data to avoid external modifications
      */
     public void setAcceleration(RealVector acceleration) {
-        this.acceleration = acceleration.copy();
+        this.acceleration.set(acceleration);
     }
 
     /**
@@ -193,7 +247,7 @@ public class MassPoint {
      * @param force Input vector data that is deep copied to the mass point data to avoid external modifications
      */
     public void setForce(RealVector force) {
-        this.force = force.copy();
+        this.force.set(force);
     }
 
     /**
@@ -201,7 +255,7 @@ public class MassPoint {
      * @param mass Mass for the mass point
      */
     public void setMass(double mass) {
-        this.mass = mass;
+        store.wheelMass[slot] = mass;
     }
 
     /**
@@ -209,7 +263,7 @@ public class MassPoint {
      * @return Ground z
      */
     public double getGroundZ() {
-        return groundZ;
+        return store.wheelGroundZ[slot];
     }
 
     /**
@@ -217,7 +271,7 @@ public class MassPoint {
      * @param groundZ Ground Z for the mass point
      */
     public void setGroundZ(double groundZ) {
-        this.groundZ = groundZ;
+        store.wheelGroundZ[slot] = groundZ;
     }
 
     /**
@@ -225,7 +279,7 @@ public class MassPoint {
      * @return Pressure value
      */
     public double getPressure() {
-        return pressure;
+        return store.wheelPressure[slot];
     }
 
     /**
@@ -233,7 +287,63 @@ public class MassPoint {
      * @param pressure Pressure for the mass point
      */
     public void setPressure(double pressure) {
-        this.pressure = pressure;
+        store.wheelPressure[slot] = pressure;
+    }
+
+    /**
+     * Direct access to the local position for the physics computations, no copy is created
+     * @return Local position vector of the mass point
+     */
+    Vec3 localPos() {
+        return localPos;
+    }
+
+    /**
+     * Direct access to the local center difference vector for the physics computations, no copy is created
+     * @return Local center difference vector of the mass point
+     */
+    Vec3 localCenterDiff() {
+        return localCenterDiff;
+    }
+
+    /**
+     * Direct access to the global position for the physics computations, no copy is created
+     * @return Global position vector of the mass point
+     */
+    Vec3 pos() {
+        return pos;
+    }
+
+    /**
+     * Direct access to the center difference vector for the physics computations, no copy is created
+     * @return Center difference vector of the mass point
+     */
+    Vec3 centerDiff() {
+        return centerDiff;
+    }
+
+    /**
+     * Direct access to the velocity for the physics computations, no copy is created
+     * @return Velocity vector of the mass point
+     */
+    Vec3 velocity() {
+        return velocity;
+    }
+
+    /**
+     * Direct access to the acceleration for the physics computations, no copy is created
+     * @return Acceleration vector of the mass point
+     */
+    Vec3 acceleration() {
+        return acceleration;
+    }
+
+    /**
+     * Direct access to the force for the physics computations, no copy is created
+     * @return Force vector of the mass point
+     */
+    Vec3 force() {
+        return force;
     }
 
     /**
@@ -250,8 +360,8 @@ public class MassPoint {
                 " , velocity: " + velocity +
                 " , acceleration: " + acceleration +
                 " , force: " + force +
-                " , mass: " + mass +
-                " , groundZ: " + groundZ +
-                " , pressure: " + pressure;
+                " , mass: " + getMass() +
+                " , groundZ: " + getGroundZ() +
+                " , pressure: " + getPressure();
     }
 }
@@ -0,0 +1,319 @@
+package simulation.vehicle;
+
+import org.apache.commons.math3.linear.BlockRealMatrix;
+import org.apache.commons.math3.linear.RealMatrix;
+import org.apache.commons.math3.util.FastMath;
+
+/**
+ * Mutable 3x3 matrix for the physics computations of vehicles. All operations work in place
+ * and return this matrix, such that the simulation loop does not allocate temporary matrices.
+ * Operations are evaluated in the same order as the corresponding RealMatrix operations.
+ * A matrix is a view onto nine consecutive entries of a double array in row major order, see Vec3.
+ * Matrices that are created without an array own a private array.
+ * Instances are internal state and must not be shared with code outside of the physics computations.
+ */
+final class Mat3 {
+
+    /** Array that holds the entries of the matrix in row major order */
+    private final double[] data;
+
+    /** Index of the first entry in the array */
+    private final int offset;
+
+    /**
+     * Constructor for a zero matrix
+     */
+    Mat3() {
+        this(new double[9], 0);
+    }
+
+    /**
+     * Constructor for a view onto the entries offset to offset + 8 of an array in row major order
+     *
+     * @param data Array that holds the entries of the matrix
+     * @param offset Index of the first entry in the array
+     */
+    Mat3(double[] data, int offset) {
+        this.data = data;
+        this.offset = offset;
+    }
+
+    /**
+     * @return Entry in row 0 and column 0
+     */
+    double m00() {
+        return data[offset];
+    }
+
+    /**
+     * @return Entry in row 0 and column 1
+     */
+    double m01() {
+        return data[offset + 1];
+    }
+
+    /**
+     * @return Entry in row 0 and column 2
+     */
+    double m02() {
+        return data[offset + 2];
+    }
+
+    /**
+     * @return Entry in row 1 and column 0
+     */
+    double m10() {
+        return data[offset + 3];
+    }
+
+    /**
+     * @return Entry in row 1 and column 1
+     */
+    double m11() {
+        return data[offset + 4];
+    }
+
+    /**
+     * @return Entry in row 1 and column 2
+     */
+    double m12() {
+        return data[offset + 5];
+    }
+
+    /**
+     * @return Entry in row 2 and column 0
+     */
+    double m20() {
+        return data[offset + 6];
+    }
+
+    /**
+     * @return Entry in row 2 and column 1
+     */
+    double m21() {
+        return data[offset + 7];
+    }
+
+    /**
+     * @return Entry in row 2 and column 2
+     */
+    double m22() {
+        return data[offset + 8];
+    }
+
+    /**
+     * Sets all entries of this matrix row by row
+     *
+     * @return This matrix
+     */
+    Mat3 set(double m00, double m01, double m02,
+             double m10, double m11, double m12,
+             double m20, double m21, double m22) {
+        data[offset] = m00;
+        data[offset + 1] = m01;
+        data[offset + 2] = m02;
+        data[offset + 3] = m10;
+        data[offset + 4] = m11;
+        data[offset + 5] = m12;
+        data[offset + 6] = m20;
+        data[offset + 7] = m21;
+        data[offset + 8] = m22;
+        return this;
+    }
+
+    /**
+     * Copies the entries of another matrix into this matrix
+     *
+     * @param m Matrix to be copied
+     * @return This matrix
+     */
+    Mat3 set(Mat3 m) {
+        return set(m.m00(), m.m01(), m.m02(), m.m10(), m.m11(), m.m12(), m.m20(), m.m21(), m.m22());
+    }
+
+    /**
+     * Copies the entries of a 3x3 RealMatrix into this matrix
+     *
+     * @param m Matrix to be copied
+     * @return This matrix
+     */
+    Mat3 set(RealMatrix m) {
+        return set(m.getEntry(0, 0), m.getEntry(0, 1), m.getEntry(0, 2),
+                m.getEntry(1, 0), m.getEntry(1, 1), m.getEntry(1, 2),
+                m.getEntry(2, 0), m.getEntry(2, 1), m.getEntry(2, 2));
+    }
+
+    /**
+     * Copies the entries of a 3x3 array into this matrix
+     *
+     * @param m Array of rows to be copied
+     * @return This matrix
+     */
+    Mat3 set(double[][] m) {
+        return set(m[0][0], m[0][1], m[0][2], m[1][0], m[1][1], m[1][2], m[2][0], m[2][1], m[2][2]);
+    }
+
+    /**
+     * Sets this matrix to the identity matrix
+     *
+     * @return This matrix
+     */
+    Mat3 setIdentity() {
+        return set(1.0, 0.0, 0.0, 0.0, 1.0, 0.0, 0.0, 0.0, 1.0);
+    }
+
+    /**
+     * Sets this matrix to the rotation around the z axis that is returned by
+     * new Rotation(RotationOrder.XYZ, RotationConvention.VECTOR_OPERATOR, 0.0, 0.0, angle).getMatrix()
+     *
+     * @param angle Rotation angle in radians
+     * @return This matrix
+     */
+    Mat3 setRotationZ(double angle) {
+        // Quaternion of the rotation, the components for the x and y axis are zero
+        // FastMath is used like in Rotation to get identical results
+        double q0 = FastMath.cos(-0.5 * angle);
+        double q3 = FastMath.sin(-0.5 * angle);
+        double q0q0 = q0 * q0;
+        double q0q3 = q0 * q3;
+        double q3q3 = q3 * q3;
+
+        return set(2.0 * q0q0 - 1.0, 2.0 * q0q3, 0.0,
+                -2.0 * q0q3, 2.0 * q0q0 - 1.0, 0.0,
+                0.0, 0.0, 2.0 * (q0q0 + q3q3) - 1.0);
+    }
+
+    /**
+     * Sets this matrix to the product a * b, a and b may be this matrix
+     *
+     * @param a Left matrix of the product
+     * @param b Right matrix of the product
+     * @return This matrix
+     */
+    Mat3 setProduct(Mat3 a, Mat3 b) {
+        double a00 = a.m00(), a01 = a.m01(), a02 = a.m02();
+        double a10 = a.m10(), a11 = a.m11(), a12 = a.m12();
+        double a20 = a.m20(), a21 = a.m21(), a22 = a.m22();
+        double b00 = b.m00(), b01 = b.m01(), b02 = b.m02();
+        double b10 = b.m10(), b11 = b.m11(), b12 = b.m12();
+        double b20 = b.m20(), b21 = b.m21(), b22 = b.m22();
+        return set(a00 * b00 + a01 * b10 + a02 * b20,
+                a00 * b01 + a01 * b11 + a02 * b21,
+                a00 * b02 + a01 * b12 + a02 * b22,
+                a10 * b00 + a11 * b10 + a12 * b20,
+                a10 * b01 + a11 * b11 + a12 * b21,
+                a10 * b02 + a11 * b12 + a12 * b22,
+                a20 * b00 + a21 * b10 + a22 * b20,
+                a20 * b01 + a21 * b11 + a22 * b21,
+                a20 * b02 + a21 * b12 + a22 * b22);
+    }
+
+    /**
+     * Sets this matrix to the product a * transpose(b), a and b may be this matrix
+     *
+     * @param a Left matrix of the product
+     * @param b Matrix whose transpose is the right matrix of the product
+     * @return This matrix
+     */
+    Mat3 setProductTransposed(Mat3 a, Mat3 b) {
+        double a00 = a.m00(), a01 = a.m01(), a02 = a.m02();
+        double a10 = a.m10(), a11 = a.m11(), a12 = a.m12();
+        double a20 = a.m20(), a21 = a.m21(), a22 = a.m22();
+        double b00 = b.m00(), b01 = b.m01(), b02 = b.m02();
+        double b10 = b.m10(), b11 = b.m11(), b12 = b.m12();
+        double b20 = b.m20(), b21 = b.m21(), b22 = b.m22();
+        return set(a00 * b00 + a01 * b01 + a02 * b02,
+                a00 * b10 + a01 * b11 + a02 * b12,
+                a00 * b20 + a01 * b21 + a02 * b22,
+                a10 * b00 + a11 * b01 + a12 * b02,
+                a10 * b10 + a11 * b11 + a12 * b12,
+                a10 * b20 + a11 * b21 + a12 * b22,
+                a20 * b00 + a21 * b01 + a22 * b02,
+                a20 * b10 + a21 * b11 + a22 * b12,
+                a20 * b20 + a21 * b21 + a22 * b22);
+    }
+
+    /**
+     * Adds the product of the cross product matrix of a vector and this matrix multiplied by a factor,
+     * i.e. this + (crossProductMatrix(w) * this) * factor, which is one Euler step of a rotation matrix
+     *
+     * @param w Vector whose cross product matrix is used, e.g. the angular velocity
+     * @param factor Factor for the product, e.g. the time step
+     * @return This matrix
+     */
+    Mat3 addCrossProductTimes(Vec3 w, double factor) {
+        // Rows of the cross product matrix are {0, -w.z, w.y}, {w.z, 0, -w.x}, {-w.y, w.x, 0}
+        double x = w.x(), y = w.y(), z = w.z();
+        double m00 = m00(), m01 = m01(), m02 = m02();
+        double m10 = m10(), m11 = m11(), m12 = m12();
+        double m20 = m20(), m21 = m21(), m22 = m22();
+        return set(m00 + (-z * m10 + y * m20) * factor,
+                m01 + (-z * m11 + y * m21) * factor,
+                m02 + (-z * m12 + y * m22) * factor,
+                m10 + (z * m00 + -x * m20) * factor,
+                m11 + (z * m01 + -x * m21) * factor,
+                m12 + (z * m02 + -x * m22) * factor,
+                m20 + (-y * m00 + x * m10) * factor,
+                m21 + (-y * m01 + x * m11) * factor,
+                m22 + (-y * m02 + x * m12) * factor);
+    }
+
+    /**
+     * Orthonormalizes the columns of this matrix with the Gram Schmidt process,
+     * equivalent to MathHelper.matrix3DOrthonormalize()
+     *
+     * @return This matrix
+     */
+    Mat3 orthonormalize() {
+        double m00 = m00(), m01 = m01(), m02 = m02();
+        double m10 = m10(), m11 = m11(), m12 = m12();
+        double m20 = m20(), m21 = m21(), m22 = m22();
+
+        // First column
+        double norm0 = Math.sqrt(m00 * m00 + m10 * m10 + m20 * m20);
+        double v00 = m00 / norm0;
+        double v01 = m10 / norm0;
+        double v02 = m20 / norm0;
+
+        // Second column
+        double dot01 = v00 * m01 + v01 * m11 + v02 * m21;
+        double v10 = m01 - v00 * dot01;
+        double v11 = m11 - v01 * dot01;
+        double v12 = m21 - v02 * dot01;
+        double norm1 = Math.sqrt(v10 * v10 + v11 * v11 + v12 * v12);
+        v10 = v10 / norm1;
+        v11 = v11 / norm1;
+        v12 = v12 / norm1;
+
+        // Third column
+        double dot02 = v00 * m02 + v01 * m12 + v02 * m22;
+        double dot12 = v10 * m02 + v11 * m12 + v12 * m22;
+        double v20 = (m02 - v00 * dot02) - v10 * dot12;
+        double v21 = (m12 - v01 * dot02) - v11 * dot12;
+        double v22 = (m22 - v02 * dot02) - v12 * dot12;
+        double norm2 = Math.sqrt(v20 * v20 + v21 * v21 + v22 * v22);
+
+        return set(v00, v10, v20 / norm2,
+                v01, v11, v21 / norm2,
+                v02, v12, v22 / norm2);
+    }
+
+    /**
+     * Creates a new RealMatrix with the entries of this matrix
+     *
+     * @return New matrix that is independent of this matrix
+     */
+    RealMatrix toRealMatrix() {
+        return new BlockRealMatrix(new double[][] {{m00(), m01(), m02()}, {m10(), m11(), m12()}, {m20(), m21(), m22()}});
+    }
+
+    /**
+     * Returns the entries in the same format as RealMatrix
+     *
+     * @return String representation of the matrix
+     */
+    @Override
+    public String toString() {
+        return toRealMatrix().toString();
+    }
+}
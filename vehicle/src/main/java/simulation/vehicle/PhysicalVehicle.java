@@ -21,42 +21,53 @@ import static simulation.vehicle.VehicleActuatorType.*;
 
 /**
  * Class that represents all physical properties of a vehicle and performs physics computations
+ * The physics state of the vehicle and its wheel mass points lives in a slot of a VehicleStateStore,
+ * the vectors and matrices of the vehicle are views onto that slot
  */
 public class PhysicalVehicle implements SimulationLoopExecutable, PhysicalObject {
 
+    /** Slot that holds the physics state of the vehicle and its wheel mass points */
+    private final VehicleStateStore.Slot state = VehicleStateStore.allocateSlot();
+
     /** x_cm bar of formula */
-    private RealVector localPos;
+    private final Vec3 localPos = VehicleStateStore.vector(state.store.localPos, state.index);
 
     /** x_cm of formula */
-    private RealVector pos;
+    private final Vec3 pos = VehicleStateStore.vector(state.store.pos, state.index);
 
     /** v_cm / x_cm dot of formula */
-    private RealVector velocity;
+    private final Vec3 velocity = VehicleStateStore.vector(state.store.velocity, state.index);
 
     /** x_cm dot dot of formula */
-    private RealVector acceleration;
+    private final Vec3 acceleration = VehicleStateStore.vector(state.store.acceleration, state.index);
 
     /** F of formula */
-    private RealVector force;
+    private final Vec3 force = VehicleStateStore.vector(state.store.force, state.index);
 
     /** I bar ^-1 of formula */
-    private RealMatrix localInertiaInverse;
+    private final Mat3 localInertiaInverse = VehicleStateStore.matrix(state.store.localInertiaInverse, state.index);
 
     /** I ^-1 of formula */
-    private RealMatrix inertiaInverse;
+    private final Mat3 inertiaInverse = VehicleStateStore.matrix(state.store.inertiaInverse, state.index);
 
 
     /** A of formula */
-    private RealMatrix rotationMatrix;
+    private final Mat3 rotationMatrix = VehicleStateStore.matrix(state.store.rotationMatrix, state.index);
 
     /** omega of formula */
-    private RealVector angularVelocity;
+    private final Vec3 angularVelocity = VehicleStateStore.vector(state.store.angularVelocity, state.index);
 
     /** L of formula */
-    private RealVector angularMomentum;
+    private final Vec3 angularMomentum = VehicleStateStore.vector(state.store.angularMomentum, state.index);
 
     /** tau of formula */
-    private RealVector angularMomentumDeriv;
+    private final Vec3 angularMomentumDeriv = VehicleStateStore.vector(state.store.angularMomentumDeriv, state.index);
+
+    /** Temporary vectors and matrices of the loop computations, only used by the thread that updates this vehicle */
+    private final Vec3 tmpVector = new Vec3();
+    private final Vec3 tmpPreviousVelocity = new Vec3();
+    private final Mat3 tmpMatrix = new Mat3();
+    private final Mat3 tmpSteeringMatrix = new Mat3();
 
     /** Type of the vehicle as physical object */
     PhysicalObjectType physicalObjectType;
@@ -89,21 +100,21 @@ public class PhysicalVehicle implements SimulationLoopExecutable, PhysicalObject
         physicalVehicleInitialized = false;
 
         // PhysicalVehicle is standing, no velocity, acceleration, force
-        velocity = new ArrayRealVector(new double[] {0.0, 0.0, 0.0});
-        acceleration = new ArrayRealVector(new double[] {0.0, 0.0, 0.0});
-        force = new ArrayRealVector(new double[] {0.0, 0.0, 0.0});
+        velocity.setZero();
+        acceleration.setZero();
+        force.setZero();
 
         // Init values for matrices
-        localInertiaInverse = MatrixUtils.createRealIdentityMatrix(3);
-        inertiaInverse = MatrixUtils.createRealIdentityMatrix(3);
+        localInertiaInverse.setIdentity();
+        inertiaInverse.setIdentity();
 
         // Init values for more vectors and matrices
-        angularVelocity = new ArrayRealVector(new double[] {0.0, 0.0, 0.0});
-        angularMomentum = new ArrayRealVector(new double[] {0.0, 0.0, 0.0});
-        angularMomentumDeriv = new ArrayRealVector(new double[] {0.0, 0.0, 0.0});
+        angularVelocity.setZero();
+        angularMomentum.setZero();
+        angularMomentumDeriv.setZero();
 
         // Center of mass in local coordinate system is initialized with 0
-        localPos = new ArrayRealVector(new double[] {0.0, 0.0, 0.0});
+        localPos.setZero();
 
         // By default vehicle is not in collision or computational error and has default car object type
         physicalObjectType = PhysicalObjectType.PHYSICAL_OBJECT_TYPE_CAR_DEFAULT;
@@ -124,7 +135,7 @@ public class PhysicalVehicle implements SimulationLoopExecutable, PhysicalObject
         initPhysicalVehicle(controllerBus, controller, navigation);
         physicalVehicleInitialized = true;
 
-        Log.finest("PhysicalVehicle: Constructor - PhysicalVehicle constructed: " + this);
+        Log.finest(() -> "PhysicalVehicle: Constructor - PhysicalVehicle constructed: " + this);
     }
 
     /**
@@ -136,7 +147,7 @@ public class PhysicalVehicle implements SimulationLoopExecutable, PhysicalObject
      * @param navigation Optional navigation of the vehicle
      */
     void initPhysicalVehicle(Optional<Bus> controllerBus, Optional<FunctionBlockInterface> controller, Optional<FunctionBlockInterface> navigation) {
-        Log.finest("PhysicalVehicle: initPhysicalVehicle - PhysicalVehicle at start: " + this);
+        Log.finest(() -> "PhysicalVehicle: initPhysicalVehicle - PhysicalVehicle at start: " + this);
 
         // Set controllerBus and controller to the vehicle
         simulationVehicle.setControllerBus(controllerBus);
@@ -144,6 +155,7 @@ public class PhysicalVehicle implements SimulationLoopExecutable, PhysicalObject
         simulationVehicle.setNavigation(navigation);
 
         // Initialize values for physicalVehicle after constructor or builder
+        initStateStore();
         initLocalPos();
         initMassPointLocalCenterDiff();
         initLocalInertiaInverse();
@@ -154,7 +166,20 @@ public class PhysicalVehicle implements SimulationLoopExecutable, PhysicalObject
         calcMassPointCenterDiff();
         calcMassPointPosition();
 
-        Log.finest("PhysicalVehicle: initPhysicalVehicle - PhysicalVehicle at end: " + this);
+        Log.finest(() -> "PhysicalVehicle: initPhysicalVehicle - PhysicalVehicle at end: " + this);
+    }
+
+    /**
+     * Function that moves the wheel mass points and the mass of the vehicle into the slot of the vehicle
+     * Should only be called by initPhysicalVehicle and prepareLoopIteration
+     */
+    private void initStateStore() {
+        state.store.mass[state.index] = simulationVehicle.getMass();
+        MassPoint[] massPoints = simulationVehicle.getWheelMassPoints();
+
+        for (int i = 0; i < massPoints.length; ++i) {
+            massPoints[i].moveTo(state.store, VehicleStateStore.WHEEL_COUNT * state.index + i);
+        }
     }
 
     /**
@@ -163,15 +188,15 @@ public class PhysicalVehicle implements SimulationLoopExecutable, PhysicalObject
      * Should only be called by initPhysicalVehicle
      */
     private void initLocalPos() {
-        Log.finest("PhysicalVehicle: initLocalPos - PhysicalVehicle at start: " + this);
-        RealVector result = new ArrayRealVector(new double[] {0.0, 0.0, 0.0});
+        Log.finest(() -> "PhysicalVehicle: initLocalPos - PhysicalVehicle at start: " + this);
+        localPos.setZero();
 
         for (MassPoint mp : simulationVehicle.getWheelMassPoints()) {
-            result = result.add(mp.getLocalPos().mapMultiplyToSelf(mp.getMass()));
+            localPos.addScaled(mp.localPos(), mp.getMass());
         }
 
-        localPos = result.mapDivideToSelf(simulationVehicle.getMass());
-        Log.finest("PhysicalVehicle: initLocalPos - PhysicalVehicle at end: " + this);
+        localPos.divide(simulationVehicle.getMass());
+        Log.finest(() -> "PhysicalVehicle: initLocalPos - PhysicalVehicle at end: " + this);
     }
 
     /**
@@ -180,13 +205,13 @@ public class PhysicalVehicle implements SimulationLoopExecutable, PhysicalObject
      * Should only be called by initPhysicalVehicle
      */
     private void initMassPointLocalCenterDiff() {
-        Log.finest("PhysicalVehicle: initMassPointLocalCenterDiff - PhysicalVehicle at start: " + this);
+        Log.finest(() -> "PhysicalVehicle: initMassPointLocalCenterDiff - PhysicalVehicle at start: " + this);
 
         for (MassPoint mp : simulationVehicle.getWheelMassPoints()) {
-            mp.setLocalCenterDiff(mp.getLocalPos().subtract(localPos));
+            mp.localCenterDiff().setDifference(mp.localPos(), localPos);
         }
 
-        Log.finest("PhysicalVehicle: initMassPointLocalCenterDiff - PhysicalVehicle at end: " + this);
+        Log.finest(() -> "PhysicalVehicle: initMassPointLocalCenterDiff - PhysicalVehicle at end: " + this);
     }
 
     /**
@@ -195,7 +220,7 @@ public class PhysicalVehicle implements SimulationLoopExecutable, PhysicalObject
      * Should only be called by initPhysicalVehicle
      */
     private void initLocalInertiaInverse(){
-        Log.finest("PhysicalVehicle: initLocalInertiaInverse - PhysicalVehicle at start: " + this);
+        Log.finest(() -> "PhysicalVehicle: initLocalInertiaInverse - PhysicalVehicle at start: " + this);
         try {
             // Matrix of dimension 3x3 with zero values
             RealMatrix result = MatrixUtils.createRealMatrix(3, 3);
@@ -207,13 +232,13 @@ public class PhysicalVehicle implements SimulationLoopExecutable, PhysicalObject
             }
 
             // Compute inverse
-            localInertiaInverse = MathHelper.matrixInvert(result);
+            localInertiaInverse.set(MathHelper.matrixInvert(result));
 
         } catch (Exception e) {
             Log.severe("PhysicalVehicle: initLocalInertiaInverse - Could not calculate local inertia inverse. Cross product matrix or matrix inversion failed.");
             e.printStackTrace();
         }
-        Log.finest("PhysicalVehicle: initLocalInertiaInverse - PhysicalVehicle at end: " + this);
+        Log.finest(() -> "PhysicalVehicle: initLocalInertiaInverse - PhysicalVehicle at end: " + this);
     }
 
     /**
@@ -224,10 +249,23 @@ public class PhysicalVehicle implements SimulationLoopExecutable, PhysicalObject
      * @return RealVector that represents the force
      */
     protected RealVector calcAccelerationForce(MassPoint mp, double deltaT){
+        Vec3 forceAcceleration = new Vec3();
+        calcAccelerationForce(mp, deltaT, forceAcceleration);
+        return forceAcceleration.toRealVector();
+    }
+
+    /**
+     * Function that calculates the acceleration force for a given mass point without allocations
+     *
+     * @param mp MassPoint for which force should be computed
+     * @param deltaT Time difference to previous step in seconds
+     * @param forceAcceleration Vector that is set to the force
+     */
+    void calcAccelerationForce(MassPoint mp, double deltaT, Vec3 forceAcceleration){
         // Check wheels with ground contact
         double groundContact = PhysicsEngine.calcGroundContact(mp, this, deltaT);
 
-        RealVector forceAcceleration = new ArrayRealVector(new double[] {0.0, 0.0, 0.0});
+        forceAcceleration.setZero();
 
         double countWheelGroundContact = 0.0;
         for (MassPoint mpTmp : getSimulationVehicle().getWheelMassPoints()) {
@@ -237,17 +275,16 @@ public class PhysicalVehicle implements SimulationLoopExecutable, PhysicalObject
         }
 
         if (mp.getType().ordinal() > MASS_POINT_TYPE_WHEEL_BACK_RIGHT.ordinal() || groundContact == 0.0 || countWheelGroundContact == 0.0) {
-            return forceAcceleration;
+            return;
         }
 
         // Compute motor acceleration values shared among wheels with ground contact
         double accelerationPerWheel = (4.0 * getSimulationVehicle().getVehicleActuator(VEHICLE_ACTUATOR_TYPE_MOTOR).getActuatorValueCurrent() / countWheelGroundContact);
 
-        RealVector vehicleOrientation = getGeometryRot().operate(new ArrayRealVector(new double[] {0.0, 1.0, 0.0}));
         double steeringAngle = getSimulationVehicle().getVehicleActuator(VEHICLE_ACTUATOR_TYPE_STEERING).getActuatorValueCurrent();
 
         // Scale force down when near zero velocity to avoid permanent positive / negative changes
-        double velocityNorm = mp.getVelocity().getNorm();
+        double velocityNorm = mp.velocity().norm();
         double brakeValueActuatorFrontLeft = getSimulationVehicle().getVehicleActuator(VEHICLE_ACTUATOR_TYPE_BRAKES_FRONT_LEFT).getActuatorValueCurrent();
         double brakeValueActuatorFrontRight = getSimulationVehicle().getVehicleActuator(VEHICLE_ACTUATOR_TYPE_BRAKES_FRONT_RIGHT).getActuatorValueCurrent();
         double brakeValueActuatorBackLeft = getSimulationVehicle().getVehicleActuator(VEHICLE_ACTUATOR_TYPE_BRAKES_BACK_LEFT).getActuatorValueCurrent();
@@ -257,17 +294,18 @@ public class PhysicalVehicle implements SimulationLoopExecutable, PhysicalObject
             accelerationPerWheel = 0.0;
         }
 
-        // Force: Motor acceleration, F = mass * acceleration
-        forceAcceleration = vehicleOrientation.mapMultiply(mp.getMass() * accelerationPerWheel);
+        // Force: Motor acceleration, F = mass * acceleration, in direction of the vehicle orientation
+        forceAcceleration.set(0.0, 1.0, 0.0);
+        forceAcceleration.setProduct(rotationMatrix, forceAcceleration);
+        forceAcceleration.multiply(mp.getMass() * accelerationPerWheel);
 
         // Front wheels: Consider steering
         if (mp.getType().ordinal() == MASS_POINT_TYPE_WHEEL_FRONT_LEFT.ordinal() || mp.getType().ordinal() == MASS_POINT_TYPE_WHEEL_FRONT_RIGHT.ordinal()) {
-            Rotation steerRotZ = new Rotation(RotationOrder.XYZ, RotationConvention.VECTOR_OPERATOR, 0.0, 0.0, -steeringAngle);
-            RealMatrix steerRotZMatrix = new BlockRealMatrix(steerRotZ.getMatrix());
-            forceAcceleration = steerRotZMatrix.operate(forceAcceleration);
+            tmpSteeringMatrix.setRotationZ(-steeringAngle);
+            forceAcceleration.setProduct(tmpSteeringMatrix, forceAcceleration);
         }
 
-        return forceAcceleration.mapMultiply(groundContact);
+        forceAcceleration.multiply(groundContact);
     }
 
     /**
@@ -278,13 +316,26 @@ public class PhysicalVehicle implements SimulationLoopExecutable, PhysicalObject
      * @return RealVector that represents the force
      */
     protected RealVector calcBrakeForce(MassPoint mp, double deltaT){
+        Vec3 forceBrake = new Vec3();
+        calcBrakeForce(mp, deltaT, forceBrake);
+        return forceBrake.toRealVector();
+    }
+
+    /**
+     * Function that calculates the brake force for a given mass point without allocations
+     *
+     * @param mp MassPoint for which force should be computed
+     * @param deltaT Time difference to previous step in seconds
+     * @param forceBrake Vector that is set to the force
+     */
+    void calcBrakeForce(MassPoint mp, double deltaT, Vec3 forceBrake){
         // Check wheels with ground contact
         double groundContact = PhysicsEngine.calcGroundContact(mp, this, deltaT);
 
-        RealVector forceBrake = new ArrayRealVector(new double[] {0.0, 0.0, 0.0});
+        forceBrake.setZero();
 
         if (mp.getType().ordinal() > MASS_POINT_TYPE_WHEEL_BACK_RIGHT.ordinal() || groundContact == 0.0) {
-            return forceBrake;
+            return;
         }
 
         // Individual brake force for each wheel
@@ -305,11 +356,11 @@ public class PhysicalVehicle implements SimulationLoopExecutable, PhysicalObject
         }
 
         // Brakes work against mass point velocity with amount of acceleration
-        forceBrake = mp.getVelocity().mapMultiply(-1.0);
-        double velocityNorm = mp.getVelocity().getNorm();
+        forceBrake.set(mp.velocity()).multiply(-1.0);
+        double velocityNorm = mp.velocity().norm();
 
         if (velocityNorm > 0.0) {
-            forceBrake = forceBrake.mapDivide(velocityNorm);
+            forceBrake.divide(velocityNorm);
         }
 
         // Scale force down when near zero velocity to avoid permanent positive / negative changes
@@ -320,9 +371,8 @@ public class PhysicalVehicle implements SimulationLoopExecutable, PhysicalObject
 
         // Force: Brake force F = mass * acceleration
         // Consider amount of acceleration, do not cause negative acceleration due to brakes
-        forceBrake = forceBrake.mapMultiply(mp.getMass() * brakeAmount);
-
-        return forceBrake.mapMultiply(groundContact);
+        forceBrake.multiply(mp.getMass() * brakeAmount);
+        forceBrake.multiply(groundContact);
     }
 
     /**
@@ -330,9 +380,10 @@ public class PhysicalVehicle implements SimulationLoopExecutable, PhysicalObject
      * Based on current physicalVehicles localInertiaInverse and rotationMatrix
      */
     private void calcInertiaInverse(){
-        Log.finest("PhysicalVehicle: calcInertiaInverse - PhysicalVehicle at start: " + this);
-        inertiaInverse = rotationMatrix.multiply(localInertiaInverse).multiply(rotationMatrix.transpose());
-        Log.finest("PhysicalVehicle: calcInertiaInverse - PhysicalVehicle at end: " + this);
+        Log.finest(() -> "PhysicalVehicle: calcInertiaInverse - PhysicalVehicle at start: " + this);
+        tmpMatrix.setProduct(rotationMatrix, localInertiaInverse);
+        inertiaInverse.setProductTransposed(tmpMatrix, rotationMatrix);
+        Log.finest(() -> "PhysicalVehicle: calcInertiaInverse - PhysicalVehicle at end: " + this);
     }
 
     /**
@@ -340,41 +391,39 @@ public class PhysicalVehicle implements SimulationLoopExecutable, PhysicalObject
      * Based on current physicalVehicles inertiaInverse and angularMomentum
      */
     private void calcAngularVelocity(){
-        Log.finest("PhysicalVehicle: calcAngularVelocity - PhysicalVehicle at start: " + this);
-        angularVelocity = inertiaInverse.operate(angularMomentum);
-        Log.finest("PhysicalVehicle: calcAngularVelocity - PhysicalVehicle at end: " + this);
+        Log.finest(() -> "PhysicalVehicle: calcAngularVelocity - PhysicalVehicle at start: " + this);
+        angularVelocity.setProduct(inertiaInverse, angularMomentum);
+        Log.finest(() -> "PhysicalVehicle: calcAngularVelocity - PhysicalVehicle at end: " + this);
     }
 
     /**
      * Recalculates the r_i after one integration step
      */
     private void calcMassPointCenterDiff(){
-        Log.finest("PhysicalVehicle: calcMassPointCenterDiff - PhysicalVehicle at start: " + this);
+        Log.finest(() -> "PhysicalVehicle: calcMassPointCenterDiff - PhysicalVehicle at start: " + this);
         for(MassPoint massPoint : this.simulationVehicle.getWheelMassPoints()){
-            massPoint.setCenterDiff(this.rotationMatrix.operate(massPoint.getLocalCenterDiff()));
+            massPoint.centerDiff().setProduct(this.rotationMatrix, massPoint.localCenterDiff());
         }
-        Log.finest("PhysicalVehicle: calcMassPointCenterDiff - PhysicalVehicle at end: " + this);
+        Log.finest(() -> "PhysicalVehicle: calcMassPointCenterDiff - PhysicalVehicle at end: " + this);
     }
 
     /**
      * Calculates the positions of the mass points
      */
     private void calcMassPointPosition(){
-        Log.finest("PhysicalVehicle: calcMassPointPosition - PhysicalVehicle at start: " + this);
+        Log.finest(() -> "PhysicalVehicle: calcMassPointPosition - PhysicalVehicle at start: " + this);
         for(MassPoint massPoint : this.simulationVehicle.getWheelMassPoints()){
-            massPoint.setPos(this.pos.add(massPoint.getCenterDiff()));
-
-            RealVector massPointPos = massPoint.getPos();
-            double groundZ = WorldModel.getInstance().getGround(massPointPos.getEntry(0), massPointPos.getEntry(1), massPointPos.getEntry(2)).doubleValue();
+            Vec3 massPointPos = massPoint.pos().set(this.pos).add(massPoint.centerDiff());
+            double groundZ = WorldModel.getInstance().getGround(massPointPos.x(), massPointPos.y(), massPointPos.z()).doubleValue();
             massPoint.setGroundZ(groundZ);
             double limitZ = groundZ + simulationVehicle.getWheelRadius();
 
             // If mass point position goes way below ground position + wheel radius, then set computational error
-            if (massPointPos.getEntry(2) < (limitZ - 0.5 * simulationVehicle.getWheelRadius())) {
+            if (massPointPos.z() < (limitZ - 0.5 * simulationVehicle.getWheelRadius())) {
                 setError(true);
             }
         }
-        Log.finest("PhysicalVehicle: calcMassPointPosition - PhysicalVehicle at end: " + this);
+        Log.finest(() -> "PhysicalVehicle: calcMassPointPosition - PhysicalVehicle at end: " + this);
     }
 
     /**
@@ -382,99 +431,24 @@ public class PhysicalVehicle implements SimulationLoopExecutable, PhysicalObject
      * @param deltaT Time difference to previous step in seconds
      */
     private void calcMassPointVelocityAndAcceleration(double deltaT){
-        Log.finest("PhysicalVehicle: calcMassPointVelocityAndAcceleration - PhysicalVehicle at start: " + this);
+        Log.finest(() -> "PhysicalVehicle: calcMassPointVelocityAndAcceleration - PhysicalVehicle at start: " + this);
         for(MassPoint massPoint : this.simulationVehicle.getWheelMassPoints()){
 
-            RealVector previousVelocity = massPoint.getVelocity().copy();
+            Vec3 massPointVelocity = massPoint.velocity();
+            tmpPreviousVelocity.set(massPointVelocity);
+            massPointVelocity.setCross(this.angularVelocity, massPoint.centerDiff()).add(this.velocity);
 
-            try {
-                massPoint.setVelocity(this.velocity.add(MathHelper.vector3DCrossProduct(this.angularVelocity, massPoint.getCenterDiff())));
-            } catch (Exception e) {
-                e.printStackTrace();
-            }
-
-            RealVector zeroVector = new ArrayRealVector(new double[] {0.0, 0.0, 0.0});
+            // Velocities with a norm below the threshold are set to zero
             double threshold = 0.0000000000001;
-            if (MathHelper.vectorEquals(massPoint.getVelocity(), zeroVector, threshold)) {
-                massPoint.setVelocity(zeroVector);
+            if (massPointVelocity.norm() < threshold) {
+                massPointVelocity.setZero();
             }
 
             if (deltaT > 0.0) {
-                massPoint.setAcceleration(massPoint.getVelocity().subtract(previousVelocity).mapDivide(deltaT));
+                massPoint.acceleration().setDifference(massPointVelocity, tmpPreviousVelocity).divide(deltaT);
             }
         }
-        Log.finest("PhysicalVehicle: calcMassPointVelocityAndAcceleration - PhysicalVehicle at end: " + this);
-    }
-
-    /**
-     * Function that calculates the position vector for the physicalVehicle
-     * Based on current physicalVehicles velocity and time input
-     *
-     * @param deltaT Time difference to previous step in seconds
-     */
-    private void calcPosition(double deltaT){
-        Log.finest("PhysicalVehicle: calcPosition - Input time: " + deltaT + ", PhysicalVehicle at start: " + this);
-        pos = pos.add(velocity.mapMultiply(deltaT));
-        Log.finest("PhysicalVehicle: calcPosition - PhysicalVehicle at end: " + this);
-    }
-
-    /**
-     * Function that calculates the velocity and acceleration vector for the physicalVehicle
-     * Based on current physicalVehicles force and time input
-     *
-     * @param deltaT Time difference to previous step in seconds
-     */
-    private void calcVelocityAndAcceleration(double deltaT){
-        Log.finest("PhysicalVehicle: calcVelocityAndAcceleration - Input time: " + deltaT + ", PhysicalVehicle at start: " + this);
-
-        RealVector previousVelocity = velocity.copy();
-        velocity = velocity.add((force.mapDivide(simulationVehicle.getMass())).mapMultiply(deltaT));
-
-        RealVector zeroVector = new ArrayRealVector(new double[] {0.0, 0.0, 0.0});
-        double threshold = 0.0000000000001;
-        if (MathHelper.vectorEquals(velocity, zeroVector, threshold)) {
-            velocity = zeroVector;
-        }
-
-        if (deltaT > 0.0) {
-            acceleration = velocity.subtract(previousVelocity).mapDivide(deltaT);
-        }
-
-        Log.finest("PhysicalVehicle: calcVelocityAndAcceleration - PhysicalVehicle at end: " + this);
-    }
-
-    /**
-     * Function that calculates the rotationMatrix for the physicalVehicle
-     * Based on current physicalVehicles angularVelocity and time input
-     *
-     * @param deltaT Time difference to previous step in seconds
-     */
-    private void calcRotationMatrix(double deltaT){
-        Log.finest("PhysicalVehicle: calcRotationMatrix - Input time: " + deltaT + ", PhysicalVehicle at start: " + this);
-
-        try {
-            rotationMatrix = rotationMatrix.add((MathHelper.vector3DToCrossProductMatrix(angularVelocity).multiply(rotationMatrix)).scalarMultiply(deltaT));
-        } catch (Exception e) {
-            Log.severe("PhysicalVehicle: calcRotationMatrix - Exception:" + e.toString());
-            e.printStackTrace();
-        }
-
-        // Always orthonormalize matrix after computations to avoid numerical issues
-        rotationMatrix = MathHelper.matrix3DOrthonormalize(rotationMatrix);
-
-        Log.finest("PhysicalVehicle: calcRotationMatrix - PhysicalVehicle at end: " + this);
-    }
-
-    /**
-     * Function that calculates the angularMomentum for the physicalVehicle
-     * Based on current physicalVehicles angularMomentumDeriv and time input
-     *
-     * @param deltaT Time difference to previous step in seconds
-     */
-    private void calcAngularMomentum(double deltaT){
-        Log.finest("PhysicalVehicle: calcAngularMomentum - Input time: " + deltaT + ", PhysicalVehicle at start: " + this);
-        angularMomentum = angularMomentum.add(angularMomentumDeriv.mapMultiply(deltaT));
-        Log.finest("PhysicalVehicle: calcAngularMomentum - PhysicalVehicle at end: " + this);
+        Log.finest(() -> "PhysicalVehicle: calcMassPointVelocityAndAcceleration - PhysicalVehicle at end: " + this);
     }
 
     /**
@@ -482,21 +456,13 @@ public class PhysicalVehicle implements SimulationLoopExecutable, PhysicalObject
      * Based on current forces and center differences of vehicles mass points
      */
     private void calcAngularMomentumDeriv(){
-        Log.finest("PhysicalVehicle: calcAngularMomentumDeriv - PhysicalVehicle at start: " + this);
-        RealVector result = new ArrayRealVector(new double[] {0.0, 0.0, 0.0});
+        Log.finest(() -> "PhysicalVehicle: calcAngularMomentumDeriv - PhysicalVehicle at start: " + this);
+        angularMomentumDeriv.setZero();
 
         for (MassPoint mp : simulationVehicle.getWheelMassPoints()) {
-            try {
-                result = result.add(MathHelper.vector3DCrossProduct(mp.getCenterDiff(), mp.getForce()));
-            }
-            catch (Exception e) {
-                Log.severe("PhysicalVehicle: calcAngularMomentumDeriv - Exception:" + e.toString());
-                e.printStackTrace();
-            }
+            angularMomentumDeriv.add(tmpVector.setCross(mp.centerDiff(), mp.force()));
         }
-
-        angularMomentumDeriv = result;
-        Log.finest("PhysicalVehicle: calcAngularMomentumDeriv - PhysicalVehicle at end: " + this);
+        Log.finest(() -> "PhysicalVehicle: calcAngularMomentumDeriv - PhysicalVehicle at end: " + this);
     }
 
     /**
@@ -504,22 +470,21 @@ public class PhysicalVehicle implements SimulationLoopExecutable, PhysicalObject
      * Based on current forces of vehicles mass points
      */
     private void calcForce(){
-        Log.finest("PhysicalVehicle: calcForce - PhysicalVehicle at start: " + this);
-        RealVector result = new ArrayRealVector(new double[] {0.0, 0.0, 0.0});
+        Log.finest(() -> "PhysicalVehicle: calcForce - PhysicalVehicle at start: " + this);
+        force.setZero();
 
         for (MassPoint mp : simulationVehicle.getWheelMassPoints()) {
-            result = result.add(mp.getForce());
+            force.add(mp.force());
         }
 
-        force = result;
-        Double forceNorm = force.getNorm();
+        double forceNorm = force.norm();
 
         // Set computational error if forces are way too high to keep vehicle in stable state
-        if (forceNorm.isInfinite() || forceNorm.isNaN() || forceNorm > 1.0E10) {
+        if (Double.isInfinite(forceNorm) || Double.isNaN(forceNorm) || forceNorm > 1.0E10) {
             setError(true);
         }
 
-        Log.finest("PhysicalVehicle: calcForce - PhysicalVehicle at end: " + this);
+        Log.finest(() -> "PhysicalVehicle: calcForce - PhysicalVehicle at end: " + this);
     }
 
     /**
@@ -530,10 +495,10 @@ public class PhysicalVehicle implements SimulationLoopExecutable, PhysicalObject
      * @param rotZ Global z rotation of physicalVehicle
      */
     public void setGlobalRotation(double rotX, double rotY, double rotZ) {
-        Log.finest("PhysicalVehicle: setGlobalRotation - PhysicalVehicle at start: " + this);
+        Log.finest(() -> "PhysicalVehicle: setGlobalRotation - PhysicalVehicle at start: " + this);
         Rotation rot = new Rotation(RotationOrder.XYZ, RotationConvention.VECTOR_OPERATOR, rotX, rotY, rotZ);
-        rotationMatrix = new BlockRealMatrix(rot.getMatrix());
-        Log.finest("PhysicalVehicle: setGlobalRotation - PhysicalVehicle at end: " + this);
+        rotationMatrix.set(rot.getMatrix());
+        Log.finest(() -> "PhysicalVehicle: setGlobalRotation - PhysicalVehicle at end: " + this);
     }
 
     /**
@@ -544,12 +509,12 @@ public class PhysicalVehicle implements SimulationLoopExecutable, PhysicalObject
      * @param z Global z position of physicalVehicle
      */
     public void setGlobalPos(double x, double y, double z) {
-        Log.finest("PhysicalVehicle: setGlobalPos - PhysicalVehicle at start: " + this);
+        Log.finest(() -> "PhysicalVehicle: setGlobalPos - PhysicalVehicle at start: " + this);
 
         // The input relates to the center geometry position of the car, thus lower the height of pos to wheel level
-        pos = new ArrayRealVector(new double[] {x, y, z - (simulationVehicle.getHeight() / 2.0)});
+        pos.set(x, y, z - (simulationVehicle.getHeight() / 2.0));
 
-        Log.finest("PhysicalVehicle: setGlobalPos - PhysicalVehicle at end: " + this);
+        Log.finest(() -> "PhysicalVehicle: setGlobalPos - PhysicalVehicle at end: " + this);
     }
 
     /**
@@ -558,9 +523,9 @@ public class PhysicalVehicle implements SimulationLoopExecutable, PhysicalObject
      * @param physicalObjectType New object type of the physical vehicle
      */
     protected void setPhysicalObjectType(PhysicalObjectType physicalObjectType) {
-        Log.finest("PhysicalVehicle: setPhysicalObjectType - physicalObjectType: " + physicalObjectType + ", PhysicalVehicle at start: " + this);
+        Log.finest(() -> "PhysicalVehicle: setPhysicalObjectType - physicalObjectType: " + physicalObjectType + ", PhysicalVehicle at start: " + this);
         this.physicalObjectType = physicalObjectType;
-        Log.finest("PhysicalVehicle: setPhysicalObjectType - physicalObjectType: " + physicalObjectType + ", PhysicalVehicle at end: " + this);
+        Log.finest(() -> "PhysicalVehicle: setPhysicalObjectType - physicalObjectType: " + physicalObjectType + ", PhysicalVehicle at end: " + this);
     }
 
     /**
@@ -578,7 +543,7 @@ public class PhysicalVehicle implements SimulationLoopExecutable, PhysicalObject
      * @return Copy of localPos
      */
     public RealVector getLocalPos() {
-        return localPos.copy();
+        return localPos.toRealVector();
     }
 
     /**
@@ -587,7 +552,7 @@ public class PhysicalVehicle implements SimulationLoopExecutable, PhysicalObject
      * @return Copy of pos
      */
     public RealVector getPos() {
-        return pos.copy();
+        return pos.toRealVector();
     }
 
     /**
@@ -596,7 +561,7 @@ public class PhysicalVehicle implements SimulationLoopExecutable, PhysicalObject
      * @return Copy of velocity
      */
     public RealVector getVelocity() {
-        return velocity.copy();
+        return velocity.toRealVector();
     }
 
     /**
@@ -605,7 +570,7 @@ public class PhysicalVehicle implements SimulationLoopExecutable, PhysicalObject
      * @return Copy of acceleration
      */
     public RealVector getAcceleration() {
-        return acceleration.copy();
+        return acceleration.toRealVector();
     }
 
     /**
@@ -614,7 +579,7 @@ public class PhysicalVehicle implements SimulationLoopExecutable, PhysicalObject
      * @return Copy of force
      */
     public RealVector getForce() {
-        return force.copy();
+        return force.toRealVector();
     }
 
     /**
@@ -631,7 +596,7 @@ public class PhysicalVehicle implements SimulationLoopExecutable, PhysicalObject
      * @return Copy of localInertiaInverse
      */
     public RealMatrix getLocalInertiaInverse() {
-        return localInertiaInverse.copy();
+        return localInertiaInverse.toRealMatrix();
     }
 
     /**
@@ -640,7 +605,7 @@ public class PhysicalVehicle implements SimulationLoopExecutable, PhysicalObject
      * @return Copy of inertiaInverse
      */
     public RealMatrix getInertiaInverse() {
-        return inertiaInverse.copy();
+        return inertiaInverse.toRealMatrix();
     }
 
     /**
@@ -649,7 +614,7 @@ public class PhysicalVehicle implements SimulationLoopExecutable, PhysicalObject
      * @return Copy of angularVelocity
      */
     public RealVector getAngularVelocity() {
-        return angularVelocity.copy();
+        return angularVelocity.toRealVector();
     }
 
     /**
@@ -658,7 +623,7 @@ public class PhysicalVehicle implements SimulationLoopExecutable, PhysicalObject
      * @return Copy of angularMomentum
      */
     public RealVector getAngularMomentum() {
-        return angularMomentum.copy();
+        return angularMomentum.toRealVector();
     }
 
     /**
@@ -667,7 +632,7 @@ public class PhysicalVehicle implements SimulationLoopExecutable, PhysicalObject
      * @return Copy of angularMomentumDeriv
      */
     public RealVector getAngularMomentumDeriv() {
-        return angularMomentumDeriv.copy();
+        return angularMomentumDeriv.toRealVector();
     }
 
     /**
@@ -692,10 +657,10 @@ public class PhysicalVehicle implements SimulationLoopExecutable, PhysicalObject
      * Function that provides public access to compute mass point position updates
      */
     public void updateMassPointPositions() {
-        Log.finest("PhysicalVehicle: updateMassPointPositions, PhysicalVehicle at start: " + this);
+        Log.finest(() -> "PhysicalVehicle: updateMassPointPositions, PhysicalVehicle at start: " + this);
         calcMassPointCenterDiff();
         calcMassPointPosition();
-        Log.finest("PhysicalVehicle: updateMassPointPositions, PhysicalVehicle at end: " + this);
+        Log.finest(() -> "PhysicalVehicle: updateMassPointPositions, PhysicalVehicle at end: " + this);
     }
 
     /**
@@ -705,13 +670,30 @@ public class PhysicalVehicle implements SimulationLoopExecutable, PhysicalObject
      */
     @Override
     public void executeLoopIteration(long timeDiffMs) {
+        if (prepareLoopIteration(timeDiffMs)) {
+            state.store.integrate(state.index, state.index + 1, timeDiffMs / 1000.0);
+            finishLoopIteration(timeDiffMs);
+        }
+    }
+
+    /**
+     * First part of executeLoopIteration(): Updates sensors, controller and actuators, sums up the forces of the
+     * mass points and marks the slot of the vehicle for the integration in its VehicleStateStore
+     *
+     * @param timeDiffMs Difference in time measured in milliseconds
+     * @return True iff the vehicle moves in this loop iteration and its slot has been marked
+     */
+    boolean prepareLoopIteration(long timeDiffMs) {
         simulationVehicle.updateAllSensors();
 
         if (!this.error) {
-            Log.finest("PhysicalVehicle: executeLoopIteration - timeDiffMs: " + timeDiffMs + ", PhysicalVehicle at start: " + this);
+            Log.finest(() -> "PhysicalVehicle: executeLoopIteration - timeDiffMs: " + timeDiffMs + ", PhysicalVehicle at start: " + this);
 
             final double deltaT = (timeDiffMs / 1000.0);
 
+            // Wheel mass points that were replaced after initialization are moved into the slot of this vehicle
+            initStateStore();
+
             // Exchange data with controller
             simulationVehicle.exchangeDataWithController(deltaT);
 
@@ -743,24 +725,36 @@ public class PhysicalVehicle implements SimulationLoopExecutable, PhysicalObject
             calcAngularMomentumDeriv();
             calcForce();
 
-            // Some sources put position before velocity, others do it the other way around
-            // calcPosition(deltaT);
-            calcVelocityAndAcceleration(deltaT);
-            calcPosition(deltaT);
+            // Velocity, position, rotation, angular momentum, inertia, angular velocity and mass point
+            // center differences are integrated by VehicleStateStore.integrate()
+            state.store.setActive(state.index);
+            return true;
+        } else {
+            Log.finest(() -> "PhysicalVehicle: Vehicle collided or had a computational error and will therefore not move anymore, PhysicalVehicle: " + this);
+            return false;
+        }
+    }
 
-            calcRotationMatrix(deltaT);
-            calcAngularMomentum(deltaT);
-            calcInertiaInverse();
-            calcAngularVelocity();
+    /**
+     * Last part of executeLoopIteration() after the integration of the slot: Moves the mass points
+     *
+     * @param timeDiffMs Difference in time measured in milliseconds
+     */
+    void finishLoopIteration(long timeDiffMs) {
+        final double deltaT = (timeDiffMs / 1000.0);
+        calcMassPointPosition();
+        calcMassPointVelocityAndAcceleration(deltaT);
 
-            calcMassPointCenterDiff();
-            calcMassPointPosition();
-            calcMassPointVelocityAndAcceleration(deltaT);
+        Log.finest(() -> "PhysicalVehicle: executeLoopIteration - timeDiffMs: " + timeDiffMs +  ", PhysicalVehicle at end: " + this);
+    }
 
-            Log.finest("PhysicalVehicle: executeLoopIteration - timeDiffMs: " + timeDiffMs +  ", PhysicalVehicle at end: " + this);
-        } else {
-            Log.finest("PhysicalVehicle: Vehicle collided or had a computational error and will therefore not move anymore, PhysicalVehicle: " + this);
-        }
+    /**
+     * Direct access to the slot that holds the state of the vehicle
+     *
+     * @return Slot of the vehicle
+     */
+    VehicleStateStore.Slot stateSlot() {
+        return state;
     }
 
     /**
@@ -781,20 +775,21 @@ public class PhysicalVehicle implements SimulationLoopExecutable, PhysicalObject
      */
     @Override
     public RealVector getGeometryPos() {
-        RealVector relVectorBottomTop = new ArrayRealVector(new double[] {0.0, 0.0, getHeight()});
-        relVectorBottomTop = getGeometryRot().operate(relVectorBottomTop);
-        relVectorBottomTop = relVectorBottomTop.mapMultiply(0.5);
-
-        RealVector relVectorBackFront = (simulationVehicle.getWheelMassPoints()[MASS_POINT_TYPE_WHEEL_FRONT_LEFT.ordinal()].getPos().subtract(simulationVehicle.getWheelMassPoints()[MASS_POINT_TYPE_WHEEL_BACK_LEFT.ordinal()].getPos()));
-        RealVector relVectorLeftRight = (simulationVehicle.getWheelMassPoints()[MASS_POINT_TYPE_WHEEL_FRONT_RIGHT.ordinal()].getPos().subtract(simulationVehicle.getWheelMassPoints()[MASS_POINT_TYPE_WHEEL_FRONT_LEFT.ordinal()].getPos()));
-        relVectorBackFront = relVectorBackFront.mapMultiply(0.5);
-        relVectorLeftRight = relVectorLeftRight.mapMultiply(0.5);
-
-        RealVector absGeometryCenterPos = simulationVehicle.getWheelMassPoints()[MASS_POINT_TYPE_WHEEL_BACK_LEFT.ordinal()].getPos();
-        absGeometryCenterPos = absGeometryCenterPos.add(relVectorBackFront);
-        absGeometryCenterPos = absGeometryCenterPos.add(relVectorLeftRight);
-        absGeometryCenterPos = absGeometryCenterPos.add(relVectorBottomTop);
-        return absGeometryCenterPos;
+        // Local vectors instead of fields, this function may be called by other threads during collision detection
+        Vec3 relVectorBottomTop = new Vec3(0.0, 0.0, getHeight());
+        relVectorBottomTop.setProduct(rotationMatrix, relVectorBottomTop).multiply(0.5);
+
+        MassPoint[] massPoints = simulationVehicle.getWheelMassPoints();
+        Vec3 relVectorBackFront = new Vec3().setDifference(massPoints[MASS_POINT_TYPE_WHEEL_FRONT_LEFT.ordinal()].pos(), massPoints[MASS_POINT_TYPE_WHEEL_BACK_LEFT.ordinal()].pos());
+        Vec3 relVectorLeftRight = new Vec3().setDifference(massPoints[MASS_POINT_TYPE_WHEEL_FRONT_RIGHT.ordinal()].pos(), massPoints[MASS_POINT_TYPE_WHEEL_FRONT_LEFT.ordinal()].pos());
+        relVectorBackFront.multiply(0.5);
+        relVectorLeftRight.multiply(0.5);
+
+        Vec3 absGeometryCenterPos = new Vec3().set(massPoints[MASS_POINT_TYPE_WHEEL_BACK_LEFT.ordinal()].pos());
+        absGeometryCenterPos.add(relVectorBackFront);
+        absGeometryCenterPos.add(relVectorLeftRight);
+        absGeometryCenterPos.add(relVectorBottomTop);
+        return absGeometryCenterPos.toRealVector();
     }
 
     /**
@@ -844,7 +839,7 @@ public class PhysicalVehicle implements SimulationLoopExecutable, PhysicalObject
      */
     @Override
     public RealMatrix getGeometryRot() {
-        return rotationMatrix.copy();
+        return rotationMatrix.toRealMatrix();
     }
 
     /**
@@ -904,7 +899,7 @@ public class PhysicalVehicle implements SimulationLoopExecutable, PhysicalObject
      */
     @Override
     public void setCollision(boolean collision) {
-        Log.warning("PhysicalVehicle: setCollision - collision: " + collision + ", PhysicalVehicle at start: " + this);
+        Log.warning(() -> "PhysicalVehicle: setCollision - collision: " + collision + ", PhysicalVehicle at start: " + this);
         this.collision = collision;
 
         /*
@@ -924,7 +919,7 @@ public class PhysicalVehicle implements SimulationLoopExecutable, PhysicalObject
         }
         */
 
-        Log.warning("PhysicalVehicle: setCollision - collision: " + collision + ", PhysicalVehicle at end: " + this);
+        Log.warning(() -> "PhysicalVehicle: setCollision - collision: " + collision + ", PhysicalVehicle at end: " + this);
     }
 
     /**
@@ -944,25 +939,24 @@ public class PhysicalVehicle implements SimulationLoopExecutable, PhysicalObject
      */
     @Override
     public void setError(boolean error) {
-        Log.warning("PhysicalVehicle: setError - error: " + error + ", PhysicalVehicle at start: " + this);
+        Log.warning(() -> "PhysicalVehicle: setError - error: " + error + ", PhysicalVehicle at start: " + this);
         this.error = error;
 
         if (error) {
-            this.velocity = new ArrayRealVector(new double[] {0.0, 0.0, 0.0});
-            this.acceleration = new ArrayRealVector(new double[] {0.0, 0.0, 0.0});
-            this.angularVelocity = new ArrayRealVector(new double[] {0.0, 0.0, 0.0});
-            this.angularMomentum = new ArrayRealVector(new double[] {0.0, 0.0, 0.0});
-            this.angularMomentumDeriv = new ArrayRealVector(new double[] {0.0, 0.0, 0.0});
+            this.velocity.setZero();
+            this.acceleration.setZero();
+            this.angularVelocity.setZero();
+            this.angularMomentum.setZero();
+            this.angularMomentumDeriv.setZero();
             MassPoint [] points = this.simulationVehicle.getWheelMassPoints();
             for(MassPoint point : points){
-                point.setAcceleration(new ArrayRealVector(new double[] {0.0, 0.0, 0.0}));
-                point.setVelocity(new ArrayRealVector(new double[] {0.0, 0.0, 0.0}));
-                point.setForce(new ArrayRealVector(new double[] {0.0, 0.0, 0.0}));
+                point.acceleration().setZero();
+                point.velocity().setZero();
+                point.force().setZero();
             }
-            this.simulationVehicle.setWheelMassPoints(points);
         }
 
-        Log.warning("PhysicalVehicle: setError - error: " + error + ", PhysicalVehicle at end: " + this);
+        Log.warning(() -> "PhysicalVehicle: setError - error: " + error + ", PhysicalVehicle at end: " + this);
     }
 
     /**
@@ -1017,19 +1011,37 @@ public class PhysicalVehicle implements SimulationLoopExecutable, PhysicalObject
 
     /**
      *
-     * @return The rotation matrix of the vehicle
+     * @return Copy of the rotation matrix of the vehicle
      */
     public RealMatrix getRotationMatrix() {
-        return rotationMatrix;
+        return rotationMatrix.toRealMatrix();
     }
 
 
     /**
      *
-     * @param rotationMatrix new rotation matrix for the vehicle
+     * @param rotationMatrix new rotation matrix for the vehicle, values are copied
      */
     protected void setRotationMatrix(RealMatrix rotationMatrix) {
-        this.rotationMatrix = rotationMatrix;
+        this.rotationMatrix.set(rotationMatrix);
+    }
+
+    /**
+     * Direct access to the rotation matrix for the physics computations, no copy is created
+     *
+     * @return Rotation matrix of the vehicle
+     */
+    Mat3 rotationMatrix() {
+        return rotationMatrix;
+    }
+
+    /**
+     * Direct access to the angular velocity for the physics computations, no copy is created
+     *
+     * @return Angular velocity of the vehicle
+     */
+    Vec3 angularVelocity() {
+        return angularVelocity;
     }
 
     /**
@@ -2,12 +2,7 @@ package simulation.vehicle;
 
 
 import commons.simulation.PhysicalObject;
-import org.apache.commons.math3.geometry.euclidean.threed.Rotation;
-import org.apache.commons.math3.geometry.euclidean.threed.RotationConvention;
-import org.apache.commons.math3.geometry.euclidean.threed.RotationOrder;
 import org.apache.commons.math3.linear.ArrayRealVector;
-import org.apache.commons.math3.linear.BlockRealMatrix;
-import org.apache.commons.math3.linear.RealMatrix;
 import org.apache.commons.math3.linear.RealVector;
 import simulation.environment.WorldModel;
 import simulation.util.Log;
@@ -35,6 +30,8 @@ public class PhysicsEngine{
     /** Average road friction coefficient for wet roads (no unit) */
     public static final double ROAD_FRICTION_WET = 0.4;
 
+    /** Temporary vectors of the force computations, one set per thread that computes forces */
+    private static final ThreadLocal<ForceWorkspace> FORCE_WORKSPACE = ThreadLocal.withInitial(ForceWorkspace::new);
 
     /**
      * Computes the physics of all the physical objects
@@ -44,8 +41,6 @@ public class PhysicsEngine{
      */
     public static void computePhysics(PhysicalObject object, List<PhysicalObject> physicalObjects, long timeDiffMs){
 
-        double deltaT = timeDiffMs / 1000.0;
-
         //Do not compute collision if the object has a computational error
         if (!object.getError()) {
 
@@ -56,38 +51,72 @@ public class PhysicsEngine{
                     continue;
                 }
 
-                // Do not compute collision if both objects are more than 100 meters away from each other
-                if (physicalObject.getGeometryPos().getDistance(object.getGeometryPos()) >= 100.0) {
-                    continue;
+                if (detectCollision(object, physicalObject)) {
+                    handleCollision(object, physicalObject, timeDiffMs);
                 }
+            }
+        }
 
-                // Do not compute collision if objects do not overlap in height
-                double minHeight = object.getGeometryPos().getEntry(2) - 0.5 * object.getHeight();
-                double maxHeight = object.getGeometryPos().getEntry(2) + 0.5 * object.getHeight();
-                double otherMinHeight = physicalObject.getGeometryPos().getEntry(2) - 0.5 * physicalObject.getHeight();
-                double otherMaxHeight = physicalObject.getGeometryPos().getEntry(2) + 0.5 * physicalObject.getHeight();
-                boolean heightOverlap = (minHeight >= otherMinHeight && minHeight <= otherMaxHeight) ||
-                        (maxHeight >= otherMinHeight && maxHeight <= otherMaxHeight) ||
-                        (otherMinHeight >= minHeight && otherMinHeight <= maxHeight) ||
-                        (otherMaxHeight >= minHeight && otherMaxHeight <= maxHeight);
-
-                if (!heightOverlap) {
-                    continue;
-                }
+        computeForces(object, timeDiffMs);
+    }
 
-                // Perform collision computation
-                List<Map.Entry<RealVector, RealVector>> boundaries = object.getBoundaryVectors();
-                List<Map.Entry<RealVector, RealVector>> otherBoundaries = physicalObject.getBoundaryVectors();
-                boolean collisionDetected = MathHelper.checkIntersection2D(boundaries, otherBoundaries);
+    /**
+     * Checks whether two physical objects currently overlap. Only reads the state of both objects,
+     * so it may be called concurrently for different pairs of objects
+     *
+     * @param object First physical object
+     * @param otherObject Second physical object
+     * @return True iff the boundaries of both objects intersect
+     */
+    public static boolean detectCollision(PhysicalObject object, PhysicalObject otherObject) {
+        // Do not compute collision if both objects are more than 100 meters away from each other
+        if (otherObject.getGeometryPos().getDistance(object.getGeometryPos()) >= 100.0) {
+            return false;
+        }
 
-                if (collisionDetected) {
-                    object.setCollision(true);
-                    physicalObject.setCollision(true);
-                    calcCollisionForces(object, physicalObject, deltaT);
-                }
-            }
+        // Do not compute collision if objects do not overlap in height
+        double minHeight = object.getGeometryPos().getEntry(2) - 0.5 * object.getHeight();
+        double maxHeight = object.getGeometryPos().getEntry(2) + 0.5 * object.getHeight();
+        double otherMinHeight = otherObject.getGeometryPos().getEntry(2) - 0.5 * otherObject.getHeight();
+        double otherMaxHeight = otherObject.getGeometryPos().getEntry(2) + 0.5 * otherObject.getHeight();
+        boolean heightOverlap = (minHeight >= otherMinHeight && minHeight <= otherMaxHeight) ||
+                (maxHeight >= otherMinHeight && maxHeight <= otherMaxHeight) ||
+                (otherMinHeight >= minHeight && otherMinHeight <= maxHeight) ||
+                (otherMaxHeight >= minHeight && otherMaxHeight <= maxHeight);
+
+        if (!heightOverlap) {
+            return false;
         }
 
+        // Perform collision computation
+        List<Map.Entry<RealVector, RealVector>> boundaries = object.getBoundaryVectors();
+        List<Map.Entry<RealVector, RealVector>> otherBoundaries = otherObject.getBoundaryVectors();
+        return MathHelper.checkIntersection2D(boundaries, otherBoundaries);
+    }
+
+    /**
+     * Marks two objects as collided and applies the resulting collision forces to both of them
+     *
+     * @param object First physical object of the collision
+     * @param otherObject Second physical object of the collision
+     * @param timeDiffMs Difference in time measured in milliseconds
+     */
+    public static void handleCollision(PhysicalObject object, PhysicalObject otherObject, long timeDiffMs) {
+        object.setCollision(true);
+        otherObject.setCollision(true);
+        calcCollisionForces(object, otherObject, timeDiffMs / 1000.0);
+    }
+
+    /**
+     * Computes the forces acting on a single physical object, without any collision checks.
+     * Only modifies the state of the given object
+     *
+     * @param object Is the physical object, which forces have to be computed
+     * @param timeDiffMs Difference in time measured in milliseconds
+     */
+    public static void computeForces(PhysicalObject object, long timeDiffMs) {
+        double deltaT = timeDiffMs / 1000.0;
+
         switch (object.getPhysicalObjectType()) {
             case PHYSICAL_OBJECT_TYPE_CAR_DEFAULT:
             case PHYSICAL_OBJECT_TYPE_CAR_1:
@@ -131,7 +160,7 @@ public class PhysicsEngine{
                 PhysicalVehicle vehicle = (PhysicalVehicle) object;
                 MassPoint[] massPoints = vehicle.getSimulationVehicle().getWheelMassPoints();
                 for(MassPoint mp : massPoints) {
-                    mp.setForce(new ArrayRealVector(new double[] {0.0, 0.0, 0.0})) ;
+                    mp.force().setZero();
                 }
                 break;
             case PHYSICAL_OBJECT_TYPE_PEDESTRIAN:
@@ -157,67 +186,79 @@ public class PhysicsEngine{
      * @param vehicle Physical vehicle for which force should be computed
      */
     private static void calcMassPointForces(double deltaT, PhysicalVehicle vehicle){
-        Log.finest("PhysicsEngine: calcMassPointForces - PhysicalVehicle at start: " + vehicle);
+        Log.finest(() -> "PhysicsEngine: calcMassPointForces - PhysicalVehicle at start: " + vehicle);
 
         MassPoint[] massPoints = vehicle.getSimulationVehicle().getWheelMassPoints();
+        ForceWorkspace workspace = FORCE_WORKSPACE.get();
 
         // Iterate over wheel mass points
         for (MassPoint mp : massPoints) {
 
             // Force result of wheel mass point
-            RealVector forceResult = new ArrayRealVector(new double[] {0.0, 0.0, 0.0});
+            Vec3 forceResult = workspace.forceResult.setZero();
 
             // Force: Acceleration force F = mass * acceleration
-            RealVector forceAcceleration = vehicle.calcAccelerationForce(mp, deltaT);
-            forceResult = forceResult.add(forceAcceleration);
+            Vec3 forceAcceleration = workspace.forceAcceleration;
+            vehicle.calcAccelerationForce(mp, deltaT, forceAcceleration);
+            forceResult.add(forceAcceleration);
 
-            Double forceAccelerationNorm = forceAcceleration.getNorm();
-            if (forceAccelerationNorm.isInfinite() || forceAccelerationNorm.isNaN() || forceAccelerationNorm > 1.0E10) {
-                Log.warning("Large forceAcceleration: " + forceAcceleration + " in MassPoint: " + mp + " for PhysicalVehicle: " + vehicle);
+            if (isLargeForce(forceAcceleration.norm())) {
+                Log.warning(() -> "Large forceAcceleration: " + forceAcceleration + " in MassPoint: " + mp + " for PhysicalVehicle: " + vehicle);
             }
 
             // Force: Brake force F = mass * acceleration
             // Consider amount of acceleration, do not cause negative acceleration due to brakes
-            RealVector forceBrake = vehicle.calcBrakeForce(mp, deltaT);
-            forceResult = forceResult.add(forceBrake);
+            Vec3 forceBrake = workspace.forceBrake;
+            vehicle.calcBrakeForce(mp, deltaT, forceBrake);
+            forceResult.add(forceBrake);
 
-            Double forceBrakeNorm = forceBrake.getNorm();
-            if (forceBrakeNorm.isInfinite() || forceBrakeNorm.isNaN() || forceBrakeNorm > 1.0E10) {
-                Log.warning("Large forceBrake: " + forceBrake + " in MassPoint: " + mp + " for PhysicalVehicle: " + vehicle);
+            if (isLargeForce(forceBrake.norm())) {
+                Log.warning(() -> "Large forceBrake: " + forceBrake + " in MassPoint: " + mp + " for PhysicalVehicle: " + vehicle);
             }
 
             // Forces: Gravity, road friction, downhill force
-            RealVector forcesRelatedToGravity = calcGravityRelatedForces(mp, vehicle, deltaT);
-            forceResult = forceResult.add(forcesRelatedToGravity);
+            Vec3 forcesRelatedToGravity = workspace.forcesRelatedToGravity;
+            calcGravityRelatedForces(mp, vehicle, deltaT, workspace, forcesRelatedToGravity);
+            forceResult.add(forcesRelatedToGravity);
 
-            Double forcesRelatedToGravityNorm = forcesRelatedToGravity.getNorm();
-            if (forcesRelatedToGravityNorm.isInfinite() || forcesRelatedToGravityNorm.isNaN() || forcesRelatedToGravityNorm > 1.0E10) {
-                Log.warning("Large forcesRelatedToGravity: " + forcesRelatedToGravityNorm + " in MassPoint: " + mp + " for PhysicalVehicle: " + vehicle);
+            double forcesRelatedToGravityNorm = forcesRelatedToGravity.norm();
+            if (isLargeForce(forcesRelatedToGravityNorm)) {
+                Log.warning(() -> "Large forcesRelatedToGravity: " + forcesRelatedToGravityNorm + " in MassPoint: " + mp + " for PhysicalVehicle: " + vehicle);
             }
 
             // Force: Centripetal force Fc = mass * acceleration centrifugal = mass * (angularVelocity x (angularVelocity x radiusVector))
-            RealVector forceCentripetal = calcCentripetalForce(mp, vehicle);
-            forceResult = forceResult.add(forceCentripetal);
+            Vec3 forceCentripetal = workspace.forceCentripetal;
+            calcCentripetalForce(mp, vehicle, workspace, forceCentripetal);
+            forceResult.add(forceCentripetal);
 
-            Double forceCentripetalNorm = forceCentripetal.getNorm();
-            if (forceCentripetalNorm.isInfinite() || forceCentripetalNorm.isNaN() || forceCentripetalNorm > 1.0E10) {
-                Log.warning("Large forceCentripetal: " + forceCentripetal + " in MassPoint: " + mp + " for PhysicalVehicle: " + vehicle);
+            if (isLargeForce(forceCentripetal.norm())) {
+                Log.warning(() -> "Large forceCentripetal: " + forceCentripetal + " in MassPoint: " + mp + " for PhysicalVehicle: " + vehicle);
             }
 
             // Force: Air friction Fa = -0.5 * air density * velocity^2 * drag coefficient * area hit by wind
-            RealVector forceAirFriction = calcAirFrictionForce(mp, vehicle);
-            forceResult = forceResult.add(forceAirFriction);
+            Vec3 forceAirFriction = workspace.forceAirFriction;
+            calcAirFrictionForce(mp, vehicle, workspace, forceAirFriction);
+            forceResult.add(forceAirFriction);
 
-            Double forceAirFrictionNorm = forceAirFriction.getNorm();
-            if (forceAirFrictionNorm.isInfinite() || forceAirFrictionNorm.isNaN() || forceAirFrictionNorm > 1.0E10) {
-                Log.warning("Large forceAirFriction: " + forceAirFriction + " in MassPoint: " + mp + " for PhysicalVehicle: " + vehicle);
+            if (isLargeForce(forceAirFriction.norm())) {
+                Log.warning(() -> "Large forceAirFriction: " + forceAirFriction + " in MassPoint: " + mp + " for PhysicalVehicle: " + vehicle);
             }
 
             // Set force to mass point
-            mp.setForce(mp.getForce().add(forceResult));
+            mp.force().add(forceResult);
         }
 
-        Log.finest("PhysicsEngine: calcMassPointForces - PhysicalVehicle at end: " + vehicle);
+        Log.finest(() -> "PhysicsEngine: calcMassPointForces - PhysicalVehicle at end: " + vehicle);
+    }
+
+    /**
+     * Function that checks whether the norm of a force is too large for a stable simulation
+     *
+     * @param forceNorm Norm of the force
+     * @return True iff the norm is infinite, NaN or larger than 1.0E10
+     */
+    private static boolean isLargeForce(double forceNorm) {
+        return Double.isInfinite(forceNorm) || Double.isNaN(forceNorm) || forceNorm > 1.0E10;
     }
 
     /**
@@ -233,12 +274,12 @@ public class PhysicsEngine{
 
         double groundFraction = 0.0;
 
-        double velocityZ = mp.getVelocity().getEntry(2);
-        double accelerationZ = mp.getAcceleration().getEntry(2);
+        double velocityZ = mp.velocity().z();
+        double accelerationZ = mp.acceleration().z();
 
         double groundZ = mp.getGroundZ();
         double limitZ = groundZ + vehicle.getSimulationVehicle().getWheelRadius();
-        double groundDistance = (mp.getPos().getEntry(2) - limitZ);
+        double groundDistance = (mp.pos().z() - limitZ);
 
         if (groundDistance > 1.0E-8) {
             accelerationZ = GRAVITY_EARTH;
@@ -261,150 +302,138 @@ public class PhysicsEngine{
      * @param mp MassPoint for which force should be computed
      * @param vehicle Physical vehicle for which force should be computed
      * @param deltaT Time difference to previous step in seconds
-     * @return RealVector that represents the force
+     * @param workspace Temporary vectors of the current thread
+     * @param forcesGravityAll Vector that is set to the force
      */
-    private static RealVector calcGravityRelatedForces(MassPoint mp, PhysicalVehicle vehicle, double deltaT){
+    private static void calcGravityRelatedForces(MassPoint mp, PhysicalVehicle vehicle, double deltaT, ForceWorkspace workspace, Vec3 forcesGravityAll){
         // Check wheels with ground contact
         double groundContact = calcGroundContact(mp, vehicle, deltaT);
 
-        RealVector forcesGravityAll = new ArrayRealVector(new double[] {0.0, 0.0, 0.0});
-        RealVector forcesGravityGround = new ArrayRealVector(new double[] {0.0, 0.0, 0.0});
-        RealVector forcesGravityFalling = new ArrayRealVector(new double[] {0.0, 0.0, 0.0});
+        forcesGravityAll.setZero();
+        Vec3 forcesGravityGround = workspace.forcesGravityGround.setZero();
+        Vec3 forcesGravityFalling = workspace.forcesGravityFalling.setZero();
 
         // Skip invalid mass points to avoid out of array bounds accesses
         if (mp.getType().ordinal() > MASS_POINT_TYPE_WHEEL_BACK_RIGHT.ordinal()) {
-            return forcesGravityAll;
+            return;
         }
 
-        // Force: Gravity force Fg = mass * gravity constant
-        RealVector forceGravity = new ArrayRealVector(new double[] {0.0, 0.0, mp.getMass() * PhysicsEngine.GRAVITY_EARTH});
+        // Force: Gravity force Fg = mass * gravity constant, only in z direction
+        double forceGravityZ = mp.getMass() * PhysicsEngine.GRAVITY_EARTH;
 
         // Compute forces related to ground contact
         if (groundContact > 0.0) {
 
             // Add gravity force
-            forcesGravityGround = forcesGravityGround.add(forceGravity);
+            forcesGravityGround.set(0.0, 0.0, forceGravityZ);
 
-            // Determine angle information of vehicle
-            RealVector backFront1 = (vehicle.getSimulationVehicle().getWheelMassPoints()[MASS_POINT_TYPE_WHEEL_FRONT_LEFT.ordinal()].getPos().subtract(vehicle.getSimulationVehicle().getWheelMassPoints()[MASS_POINT_TYPE_WHEEL_BACK_LEFT.ordinal()].getPos()));
-            RealVector backFront2 = (vehicle.getSimulationVehicle().getWheelMassPoints()[MASS_POINT_TYPE_WHEEL_FRONT_RIGHT.ordinal()].getPos().subtract(vehicle.getSimulationVehicle().getWheelMassPoints()[MASS_POINT_TYPE_WHEEL_BACK_RIGHT.ordinal()].getPos()));
-            RealVector leftRight1 = (vehicle.getSimulationVehicle().getWheelMassPoints()[MASS_POINT_TYPE_WHEEL_FRONT_RIGHT.ordinal()].getPos().subtract(vehicle.getSimulationVehicle().getWheelMassPoints()[MASS_POINT_TYPE_WHEEL_FRONT_LEFT.ordinal()].getPos()));
-            RealVector leftRight2 = (vehicle.getSimulationVehicle().getWheelMassPoints()[MASS_POINT_TYPE_WHEEL_BACK_RIGHT.ordinal()].getPos().subtract(vehicle.getSimulationVehicle().getWheelMassPoints()[MASS_POINT_TYPE_WHEEL_BACK_LEFT.ordinal()].getPos()));
-
-            // Compute average vectors
-            RealVector vectorBackFront = backFront1.add(backFront2).mapMultiply(0.5);
-            RealVector vectorLeftRight = leftRight1.add(leftRight2).mapMultiply(0.5);
+            // Determine angle information of vehicle, compute average vectors
+            MassPoint[] massPoints = vehicle.getSimulationVehicle().getWheelMassPoints();
+            Vec3 vectorBackFront = workspace.vectorBackFront.setDifference(massPoints[MASS_POINT_TYPE_WHEEL_FRONT_LEFT.ordinal()].pos(), massPoints[MASS_POINT_TYPE_WHEEL_BACK_LEFT.ordinal()].pos());
+            vectorBackFront.add(workspace.tmpVector.setDifference(massPoints[MASS_POINT_TYPE_WHEEL_FRONT_RIGHT.ordinal()].pos(), massPoints[MASS_POINT_TYPE_WHEEL_BACK_RIGHT.ordinal()].pos())).multiply(0.5);
+            Vec3 vectorLeftRight = workspace.vectorLeftRight.setDifference(massPoints[MASS_POINT_TYPE_WHEEL_FRONT_RIGHT.ordinal()].pos(), massPoints[MASS_POINT_TYPE_WHEEL_FRONT_LEFT.ordinal()].pos());
+            vectorLeftRight.add(workspace.tmpVector.setDifference(massPoints[MASS_POINT_TYPE_WHEEL_BACK_RIGHT.ordinal()].pos(), massPoints[MASS_POINT_TYPE_WHEEL_BACK_LEFT.ordinal()].pos())).multiply(0.5);
 
             // Force: Normal force Fn = mass * gravity constant (with correct angles)
-            RealVector forceNormal = new ArrayRealVector(new double[] {0.0, 0.0, 0.0});
-
-            try {
-                forceNormal = MathHelper.vector3DCrossProduct(vectorBackFront, vectorLeftRight);
-            } catch (Exception e) {
-                e.printStackTrace();
-            }
+            Vec3 forceNormal = workspace.forceNormal.setCross(vectorBackFront, vectorLeftRight);
 
             // Ensure that normal force points upwards
-            if (forceNormal.getEntry(2) < 0.0) {
-                forceNormal = forceNormal.mapMultiply(-1.0);
+            if (forceNormal.z() < 0.0) {
+                forceNormal.multiply(-1.0);
             }
 
             // Normalize vector
-            double forceNormalNorm = forceNormal.getNorm();
+            double forceNormalNorm = forceNormal.norm();
             if (forceNormalNorm != 0.0) {
-                forceNormal = forceNormal.mapDivide(forceNormalNorm);
+                forceNormal.divide(forceNormalNorm);
             }
 
             // Set correct length of vector and add it to final result
             double forceNormalAmount = Math.abs(mp.getMass() * PhysicsEngine.GRAVITY_EARTH);
-            forceNormal = forceNormal.mapMultiply(forceNormalAmount);
-            forcesGravityGround = forcesGravityGround.add(forceNormal);
+            forceNormal.multiply(forceNormalAmount);
+            forcesGravityGround.add(forceNormal);
+            double forceNormalLength = forceNormal.norm();
 
             // Split normal force vector to get fractions in backFront and leftRight directions
             // Compute angle between normal force and z plane, with this angle compute x, y normal force component vector in z plane
+            // Cosine of the angle to the z plane vector (0, 0, 1) is the z entry divided by the norm
             double angleNormalZ = 0.0;
-            RealVector planeZVector = new ArrayRealVector(new double[] {0.0, 0.0, 1.0});
 
-            if (forceNormal.getNorm() != 0.0 && planeZVector.getNorm() != 0.0) {
-                angleNormalZ = Math.acos(forceNormal.cosine(planeZVector));
+            if (forceNormalLength != 0.0) {
+                angleNormalZ = Math.acos(forceNormal.z() / forceNormalLength);
             }
 
-            RealVector componentXYVector = new ArrayRealVector(new double[] {forceNormal.getEntry(0), forceNormal.getEntry(1), 1.0});
-            double normComponentXYVector = componentXYVector.getNorm();
+            Vec3 componentXYVector = workspace.componentXYVector.set(forceNormal.x(), forceNormal.y(), 1.0);
+            double normComponentXYVector = componentXYVector.norm();
 
             if (normComponentXYVector > 0.0) {
-                componentXYVector = componentXYVector.mapDivide(normComponentXYVector);
+                componentXYVector.divide(normComponentXYVector);
             }
 
             // Rotate x, y normal force component vector to origin, then split based on axis
-            componentXYVector = componentXYVector.mapMultiply(angleNormalZ * forceNormal.getNorm());
-            componentXYVector = vehicle.getRotationMatrix().transpose().operate(componentXYVector);
+            componentXYVector.multiply(angleNormalZ * forceNormalLength);
+            componentXYVector.setTransposedProduct(vehicle.rotationMatrix(), componentXYVector);
 
             double fractionNormalLeftRight = 0.0;
             double fractionNormalBackFront = 0.0;
-            double fractionNormalLengths = Math.abs(componentXYVector.getEntry(0)) + Math.abs(componentXYVector.getEntry(1));
+            double fractionNormalLengths = Math.abs(componentXYVector.x()) + Math.abs(componentXYVector.y());
 
             if (fractionNormalLengths != 0.0) {
-                fractionNormalBackFront = 2.0 * (Math.abs(componentXYVector.getEntry(1)) / fractionNormalLengths);
-                fractionNormalLeftRight = 2.0 * (Math.abs(componentXYVector.getEntry(0)) / fractionNormalLengths);
+                fractionNormalBackFront = 2.0 * (Math.abs(componentXYVector.y()) / fractionNormalLengths);
+                fractionNormalLeftRight = 2.0 * (Math.abs(componentXYVector.x()) / fractionNormalLengths);
             } else {
                 fractionNormalBackFront = 1.0;
                 fractionNormalLeftRight = 1.0;
             }
 
             // Compute amounts of normal forces in different directions
-            double forceNormalLengthLeftRight = fractionNormalLeftRight * forceNormal.getNorm();
-            double forceNormalLengthBackFront = fractionNormalBackFront * forceNormal.getNorm();
+            double forceNormalLengthLeftRight = fractionNormalLeftRight * forceNormalLength;
+            double forceNormalLengthBackFront = fractionNormalBackFront * forceNormalLength;
 
             // Split velocity vector
-            RealVector mpVelocityWheels = new ArrayRealVector(new double[] {0.0, 1.0, 0.0});
-            RealVector mpVelocityWheelsOrthogonal = new ArrayRealVector(new double[] {1.0, 0.0, 0.0});
             double steeringAngle = vehicle.getSimulationVehicle().getVehicleActuator(VEHICLE_ACTUATOR_TYPE_STEERING).getActuatorValueCurrent();
+            boolean frontWheel = mp.getType().ordinal() == MASS_POINT_TYPE_WHEEL_FRONT_LEFT.ordinal() || mp.getType().ordinal() == MASS_POINT_TYPE_WHEEL_FRONT_RIGHT.ordinal();
 
             // For rotation matrix it holds transpose(matrix) = inverse(matrix)
-            RealVector mpVelocityOrigin = vehicle.getRotationMatrix().transpose().operate(mp.getVelocity());
+            Vec3 mpVelocityOrigin = workspace.velocityOrigin.setTransposedProduct(vehicle.rotationMatrix(), mp.velocity());
 
             // Front wheels: Consider steering
-            if (mp.getType().ordinal() == MASS_POINT_TYPE_WHEEL_FRONT_LEFT.ordinal() || mp.getType().ordinal() == MASS_POINT_TYPE_WHEEL_FRONT_RIGHT.ordinal()) {
-                Rotation steerRotZ = new Rotation(RotationOrder.XYZ, RotationConvention.VECTOR_OPERATOR, 0.0, 0.0, steeringAngle);
-                RealMatrix steerRotZMatrix = new BlockRealMatrix(steerRotZ.getMatrix());
-                mpVelocityOrigin = steerRotZMatrix.operate(mpVelocityOrigin);
+            if (frontWheel) {
+                workspace.steerRotZMatrix.setRotationZ(steeringAngle);
+                mpVelocityOrigin.setProduct(workspace.steerRotZMatrix, mpVelocityOrigin);
             }
 
             // Fractions of velocity vector in x and y directions
             double fractionWheels = 0.0;
             double fractionWheelsOrthogonal = 0.0;
-            double fractionWheelsLengths = Math.abs(mpVelocityOrigin.getEntry(0)) + Math.abs(mpVelocityOrigin.getEntry(1));
+            double fractionWheelsLengths = Math.abs(mpVelocityOrigin.x()) + Math.abs(mpVelocityOrigin.y());
 
             if (fractionWheelsLengths != 0.0) {
-                fractionWheels = (Math.abs(mpVelocityOrigin.getEntry(1)) / fractionWheelsLengths);
-                fractionWheelsOrthogonal = (Math.abs(mpVelocityOrigin.getEntry(0)) / fractionWheelsLengths);
+                fractionWheels = (Math.abs(mpVelocityOrigin.y()) / fractionWheelsLengths);
+                fractionWheelsOrthogonal = (Math.abs(mpVelocityOrigin.x()) / fractionWheelsLengths);
             }
 
-            mpVelocityWheels.setEntry(1, mpVelocityOrigin.getEntry(1));
-            mpVelocityWheels.setEntry(2, fractionWheels * mpVelocityOrigin.getEntry(2));
-            mpVelocityWheelsOrthogonal.setEntry(0, mpVelocityOrigin.getEntry(0));
-            mpVelocityWheelsOrthogonal.setEntry(2, fractionWheelsOrthogonal * mpVelocityOrigin.getEntry(2));
+            Vec3 mpVelocityWheels = workspace.velocityWheels.set(0.0, mpVelocityOrigin.y(), fractionWheels * mpVelocityOrigin.z());
+            Vec3 mpVelocityWheelsOrthogonal = workspace.velocityWheelsOrthogonal.set(mpVelocityOrigin.x(), 0.0, fractionWheelsOrthogonal * mpVelocityOrigin.z());
 
             // Front wheels: Consider steering
-            if (mp.getType().ordinal() == MASS_POINT_TYPE_WHEEL_FRONT_LEFT.ordinal() || mp.getType().ordinal() == MASS_POINT_TYPE_WHEEL_FRONT_RIGHT.ordinal()) {
-                Rotation steerRotZ = new Rotation(RotationOrder.XYZ, RotationConvention.VECTOR_OPERATOR, 0.0, 0.0, -steeringAngle);
-                RealMatrix steerRotZMatrix = new BlockRealMatrix(steerRotZ.getMatrix());
-                mpVelocityWheels = steerRotZMatrix.operate(mpVelocityWheels);
-                mpVelocityWheelsOrthogonal = steerRotZMatrix.operate(mpVelocityWheelsOrthogonal);
+            if (frontWheel) {
+                workspace.steerRotZMatrix.setRotationZ(-steeringAngle);
+                mpVelocityWheels.setProduct(workspace.steerRotZMatrix, mpVelocityWheels);
+                mpVelocityWheelsOrthogonal.setProduct(workspace.steerRotZMatrix, mpVelocityWheelsOrthogonal);
             }
 
-            mpVelocityWheels = vehicle.getRotationMatrix().operate(mpVelocityWheels);
-            mpVelocityWheelsOrthogonal = vehicle.getRotationMatrix().operate(mpVelocityWheelsOrthogonal);
+            mpVelocityWheels.setProduct(vehicle.rotationMatrix(), mpVelocityWheels);
+            mpVelocityWheelsOrthogonal.setProduct(vehicle.rotationMatrix(), mpVelocityWheelsOrthogonal);
 
             // Road friction: Back-Front: Rolling resistance in the direction of the wheels
-            RealVector forceRoadFrictionBackFront = mpVelocityWheels.mapMultiply(-1.0);
-            double forceRoadFrictionBackFrontNorm = forceRoadFrictionBackFront.getNorm();
+            Vec3 forceRoadFrictionBackFront = mpVelocityWheels.multiply(-1.0);
+            double forceRoadFrictionBackFrontNorm = forceRoadFrictionBackFront.norm();
             double pressure = (mp.getPressure() > 0.0 ? mp.getPressure() : Vehicle.VEHICLE_DEFAULT_TIRE_PRESSURE);
             double rollingCoefficient = 0.005 + (1 / pressure) * (0.01 + 0.0095 * (forceRoadFrictionBackFrontNorm * 3.6 / 100) * (forceRoadFrictionBackFrontNorm * 3.6 / 100));
 
             if (forceRoadFrictionBackFrontNorm > 0.0) {
-                forceRoadFrictionBackFront = forceRoadFrictionBackFront.mapDivide(forceRoadFrictionBackFrontNorm);
+                forceRoadFrictionBackFront.divide(forceRoadFrictionBackFrontNorm);
             } else {
                 // If there is no velocity, there should not be any rolling coefficient
                 rollingCoefficient = 0.0;
@@ -415,15 +444,15 @@ public class PhysicsEngine{
                 rollingCoefficient = forceRoadFrictionBackFrontNorm * rollingCoefficient;
             }
 
-            forceRoadFrictionBackFront = forceRoadFrictionBackFront.mapMultiply(rollingCoefficient * forceNormalLengthBackFront);
-            forcesGravityGround = forcesGravityGround.add(forceRoadFrictionBackFront);
+            forceRoadFrictionBackFront.multiply(rollingCoefficient * forceNormalLengthBackFront);
+            forcesGravityGround.add(forceRoadFrictionBackFront);
 
             // Road friction: Left-Right: Resistance against wheels moving sideways
-            RealVector forceRoadFrictionLeftRight = mpVelocityWheelsOrthogonal.mapMultiply(-1.0);
-            double forceRoadFrictionLeftRightNorm = forceRoadFrictionLeftRight.getNorm();
+            Vec3 forceRoadFrictionLeftRight = mpVelocityWheelsOrthogonal.multiply(-1.0);
+            double forceRoadFrictionLeftRightNorm = forceRoadFrictionLeftRight.norm();
 
             if (forceRoadFrictionLeftRightNorm > 0.0) {
-                forceRoadFrictionLeftRight = forceRoadFrictionLeftRight.mapDivide(forceRoadFrictionLeftRightNorm);
+                forceRoadFrictionLeftRight.divide(forceRoadFrictionLeftRightNorm);
             }
 
             double forceRoadFrictionLeftRightAmount = ((WorldModel.getInstance().isItRaining()) ? PhysicsEngine.ROAD_FRICTION_WET : PhysicsEngine.ROAD_FRICTION_DRY) * forceNormalLengthLeftRight;
@@ -433,34 +462,30 @@ public class PhysicsEngine{
                 forceRoadFrictionLeftRightAmount = forceRoadFrictionLeftRightNorm * forceRoadFrictionLeftRightAmount;
             }
 
-            forceRoadFrictionLeftRight = forceRoadFrictionLeftRight.mapMultiply(forceRoadFrictionLeftRightAmount);
-            forcesGravityGround = forcesGravityGround.add(forceRoadFrictionLeftRight);
-            forcesGravityGround = forcesGravityGround.mapMultiply(groundContact);
+            forceRoadFrictionLeftRight.multiply(forceRoadFrictionLeftRightAmount);
+            forcesGravityGround.add(forceRoadFrictionLeftRight);
+            forcesGravityGround.multiply(groundContact);
         }
 
         // No ground contact, mass point is falling
         if (groundContact < 1.0) {
             // Add gravity force
-            forcesGravityFalling = forcesGravityFalling.add(forceGravity);
-            forcesGravityFalling = forcesGravityFalling.mapMultiply(1.0 - groundContact);
+            forcesGravityFalling.set(0.0, 0.0, forceGravityZ);
+            forcesGravityFalling.multiply(1.0 - groundContact);
 
             // Impact impulse J = mass * delta velocity = F_average * delta time (for change)
             if (groundContact > 0.0) {
-                double velocityZ = (1.0 - groundContact) * deltaT * GRAVITY_EARTH + mp.getVelocity().getEntry(2);
+                double velocityZ = (1.0 - groundContact) * deltaT * GRAVITY_EARTH + mp.velocity().z();
 
                 if (velocityZ < 0.0) {
                     double impactImpulse = mp.getMass() * Math.abs(velocityZ);
                     double forceImpactAverageAmount = impactImpulse / 0.01;
-                    RealVector forceImpactAverage = new ArrayRealVector(new double[] {0.0, 0.0, 1.0});
-                    forceImpactAverage = forceImpactAverage.mapMultiply(forceImpactAverageAmount);
-                    forcesGravityFalling = forcesGravityFalling.add(forceImpactAverage);
+                    forcesGravityFalling.add(workspace.tmpVector.set(0.0, 0.0, 1.0).multiply(forceImpactAverageAmount));
                 }
             }
         }
 
-        forcesGravityAll = forcesGravityGround.add(forcesGravityFalling);
-
-        return forcesGravityAll;
+        forcesGravityAll.set(forcesGravityGround).add(forcesGravityFalling);
     }
 
     /**
@@ -468,11 +493,12 @@ public class PhysicsEngine{
      *
      * @param mp MassPoint for which force should be computed
      * @param vehicle Physical vehicle for which force should be computed
-     * @return RealVector that represents the force
+     * @param workspace Temporary vectors of the current thread
+     * @param forceCentripetal Vector that is set to the force
      */
-    private static RealVector calcCentripetalForce(MassPoint mp, PhysicalVehicle vehicle){
+    private static void calcCentripetalForce(MassPoint mp, PhysicalVehicle vehicle, ForceWorkspace workspace, Vec3 forceCentripetal){
         // Force: Centripetal force Fc = mass * acceleration centrifugal = mass * (angularVelocity x (angularVelocity x radiusVector))
-        RealVector forceCentripetal = new ArrayRealVector(new double[] {0.0, 0.0, 0.0});
+        forceCentripetal.setZero();
 
         double steeringAngle = vehicle.getSimulationVehicle().getVehicleActuator(VEHICLE_ACTUATOR_TYPE_STEERING).getActuatorValueCurrent();
 
@@ -480,7 +506,7 @@ public class PhysicsEngine{
         // Values very close to 0 are equivalent to a nearly infinite turning radius, leading to wrong force results
         // 0.02 rad = 1.1 deg means that turning radius is limited to a value of about 150 meters
         if (Math.abs(steeringAngle) < 0.02) {
-            return forceCentripetal;
+            return;
         }
 
         double curveRadiusSin = Math.sin(steeringAngle);
@@ -488,22 +514,20 @@ public class PhysicsEngine{
         if (curveRadiusSin != 0.0) {
             double wheelDistFrontBack = vehicle.getSimulationVehicle().getWheelDistFrontBack();
             double curveRadiusVectorLength = (wheelDistFrontBack / curveRadiusSin);
-            RealVector curveRadiusVector = (vehicle.getSimulationVehicle().getWheelMassPoints()[MASS_POINT_TYPE_WHEEL_FRONT_RIGHT.ordinal()].getPos().subtract(vehicle.getSimulationVehicle().getWheelMassPoints()[MASS_POINT_TYPE_WHEEL_FRONT_LEFT.ordinal()].getPos()));
+            MassPoint[] massPoints = vehicle.getSimulationVehicle().getWheelMassPoints();
+            Vec3 curveRadiusVector = workspace.curveRadiusVector.setDifference(massPoints[MASS_POINT_TYPE_WHEEL_FRONT_RIGHT.ordinal()].pos(), massPoints[MASS_POINT_TYPE_WHEEL_FRONT_LEFT.ordinal()].pos());
 
-            if (curveRadiusVector.getNorm() > 0.0) {
-                curveRadiusVector = curveRadiusVector.mapDivide(curveRadiusVector.getNorm());
+            double curveRadiusVectorNorm = curveRadiusVector.norm();
+            if (curveRadiusVectorNorm > 0.0) {
+                curveRadiusVector.divide(curveRadiusVectorNorm);
             }
 
-            curveRadiusVector = curveRadiusVector.mapMultiply(curveRadiusVectorLength);
+            curveRadiusVector.multiply(curveRadiusVectorLength);
 
-            try {
-                forceCentripetal = MathHelper.vector3DCrossProduct(vehicle.getAngularVelocity(), MathHelper.vector3DCrossProduct(vehicle.getAngularVelocity(), curveRadiusVector)).mapMultiply(mp.getMass());
-            }
-            catch (Exception e) {
-                e.printStackTrace();
-            }
+            Vec3 angularVelocity = vehicle.angularVelocity();
+            forceCentripetal.setCross(angularVelocity, curveRadiusVector);
+            forceCentripetal.setCross(angularVelocity, forceCentripetal).multiply(mp.getMass());
         }
-        return forceCentripetal;
     }
 
     /**
@@ -511,16 +535,17 @@ public class PhysicsEngine{
      *
      * @param mp MassPoint for which force should be computed
      * @param vehicle Physical vehicle for which force should be computed
-     * @return RealVector that represents the force
+     * @param workspace Temporary vectors of the current thread
+     * @param forceAirFriction Vector that is set to the force
      */
-    private static RealVector calcAirFrictionForce(MassPoint mp, PhysicalVehicle vehicle){
+    private static void calcAirFrictionForce(MassPoint mp, PhysicalVehicle vehicle, ForceWorkspace workspace, Vec3 forceAirFriction){
         // Force: Air friction Fa = -0.5 * air density * velocity^2 * drag coefficient * area hit by wind
-        RealVector forceAirFriction = new ArrayRealVector(new double[] {0.0, 0.0, 0.0});
+        forceAirFriction.setZero();
 
-        RealVector velocity = mp.getVelocity();
+        Vec3 velocity = mp.velocity();
 
-        if (velocity.getNorm() == 0.0) {
-            return forceAirFriction;
+        if (velocity.norm() == 0.0) {
+            return;
         }
 
         double areaX = 0.25 * vehicle.getSimulationVehicle().getHeight() * vehicle.getSimulationVehicle().getLength();
@@ -529,12 +554,13 @@ public class PhysicsEngine{
 
         // For a rotation matrix it holds: inverse(matrix) = transpose(matrix)
         // Rotate velocityOrientation back to global coordinate system axis to match up with area values
-        RealVector velocityOrigin = vehicle.getRotationMatrix().transpose().operate(velocity);
+        Vec3 velocityOrigin = workspace.velocityOrigin.setTransposedProduct(vehicle.rotationMatrix(), velocity);
+        double velocityOriginL1Norm = velocityOrigin.l1Norm();
 
         // Fractions of area values for each axis according to velocity vector orientation and with no more vehicle rotation
-        areaX = areaX * (velocityOrigin.getEntry(0) / velocityOrigin.getL1Norm());
-        areaY = areaY * (velocityOrigin.getEntry(1) / velocityOrigin.getL1Norm());
-        areaZ = areaZ * (velocityOrigin.getEntry(2) / velocityOrigin.getL1Norm());
+        areaX = areaX * (velocityOrigin.x() / velocityOriginL1Norm);
+        areaY = areaY * (velocityOrigin.y() / velocityOriginL1Norm);
+        areaZ = areaZ * (velocityOrigin.z() / velocityOriginL1Norm);
 
         // Sum of all fractions for area values yields correct approximation of total area for air resistance
         double area = Math.abs(areaX) + Math.abs(areaY) + Math.abs(areaZ);
@@ -543,12 +569,10 @@ public class PhysicsEngine{
         double scalarCoefficient = -0.5 * PhysicsEngine.AIR_DENSITY * PhysicsEngine.AIR_DRAG_CAR * area;
 
         // Final force computation, preserve direction that we need for computations in the 3D space
-        RealVector direction = new ArrayRealVector(new double[] {0.0, 0.0, 0.0});
-        direction.setEntry(0, (velocity.getEntry(0) < 0.0 ? -1.0 : 1.0));
-        direction.setEntry(1, (velocity.getEntry(1) < 0.0 ? -1.0 : 1.0));
-        direction.setEntry(2, (velocity.getEntry(2) < 0.0 ? -1.0 : 1.0));
-        forceAirFriction = velocity.ebeMultiply(velocity).ebeMultiply(direction).mapMultiply(scalarCoefficient);
-        return forceAirFriction;
+        forceAirFriction.set(velocity.x() * velocity.x() * (velocity.x() < 0.0 ? -1.0 : 1.0),
+                velocity.y() * velocity.y() * (velocity.y() < 0.0 ? -1.0 : 1.0),
+                velocity.z() * velocity.z() * (velocity.z() < 0.0 ? -1.0 : 1.0));
+        forceAirFriction.multiply(scalarCoefficient);
     }
 
     /**
@@ -696,4 +720,29 @@ public class PhysicsEngine{
                 break;
         }
     }
+
+    /**
+     * Temporary vectors and matrices for the force computations of one thread
+     * Avoids allocations of vectors for each mass point in every simulation step
+     */
+    private static final class ForceWorkspace {
+        private final Vec3 forceResult = new Vec3();
+        private final Vec3 forceAcceleration = new Vec3();
+        private final Vec3 forceBrake = new Vec3();
+        private final Vec3 forcesRelatedToGravity = new Vec3();
+        private final Vec3 forceCentripetal = new Vec3();
+        private final Vec3 forceAirFriction = new Vec3();
+        private final Vec3 forcesGravityGround = new Vec3();
+        private final Vec3 forcesGravityFalling = new Vec3();
+        private final Vec3 vectorBackFront = new Vec3();
+        private final Vec3 vectorLeftRight = new Vec3();
+        private final Vec3 forceNormal = new Vec3();
+        private final Vec3 componentXYVector = new Vec3();
+        private final Vec3 velocityOrigin = new Vec3();
+        private final Vec3 velocityWheels = new Vec3();
+        private final Vec3 velocityWheelsOrthogonal = new Vec3();
+        private final Vec3 curveRadiusVector = new Vec3();
+        private final Vec3 tmpVector = new Vec3();
+        private final Mat3 steerRotZMatrix = new Mat3();
+    }
 }
@@ -0,0 +1,269 @@
+package simulation.vehicle;
+
+import org.apache.commons.math3.linear.ArrayRealVector;
+import org.apache.commons.math3.linear.RealVector;
+
+/**
+ * Mutable 3-dimensional vector for the physics computations of vehicles. All operations work in place
+ * and return this vector, such that the simulation loop does not allocate temporary vectors.
+ * Operations are evaluated in the same order as the corresponding RealVector and RealMatrix operations,
+ * such that results are identical to the previous RealVector based computations.
+ * A vector is a view onto three consecutive entries of a double array, such that the state of vehicles and
+ * mass points can live in the contiguous arrays of a VehicleStateStore. Vectors that are created without an
+ * array own a private array.
+ * Instances are internal state and must not be shared with code outside of the physics computations.
+ */
+final class Vec3 {
+
+    /** Array that holds the entries of the vector */
+    private final double[] data;
+
+    /** Index of the first entry in the array */
+    private final int offset;
+
+    /**
+     * Constructor for a zero vector
+     */
+    Vec3() {
+        this(new double[3], 0);
+    }
+
+    /**
+     * Constructor for a view onto the entries offset, offset + 1 and offset + 2 of an array
+     *
+     * @param data Array that holds the entries of the vector
+     * @param offset Index of the first entry in the array
+     */
+    Vec3(double[] data, int offset) {
+        this.data = data;
+        this.offset = offset;
+    }
+
+    /**
+     * Constructor for a vector with given entries
+     *
+     * @param x First entry
+     * @param y Second entry
+     * @param z Third entry
+     */
+    Vec3(double x, double y, double z) {
+        this();
+        set(x, y, z);
+    }
+
+    /**
+     * @return First entry
+     */
+    double x() {
+        return data[offset];
+    }
+
+    /**
+     * @return Second entry
+     */
+    double y() {
+        return data[offset + 1];
+    }
+
+    /**
+     * @return Third entry
+     */
+    double z() {
+        return data[offset + 2];
+    }
+
+    /**
+     * Sets all entries of this vector
+     *
+     * @param x First entry
+     * @param y Second entry
+     * @param z Third entry
+     * @return This vector
+     */
+    Vec3 set(double x, double y, double z) {
+        data[offset] = x;
+        data[offset + 1] = y;
+        data[offset + 2] = z;
+        return this;
+    }
+
+    /**
+     * Copies the entries of another vector into this vector
+     *
+     * @param v Vector to be copied
+     * @return This vector
+     */
+    Vec3 set(Vec3 v) {
+        return set(v.x(), v.y(), v.z());
+    }
+
+    /**
+     * Copies the entries of a 3-dimensional RealVector into this vector
+     *
+     * @param v Vector to be copied
+     * @return This vector
+     */
+    Vec3 set(RealVector v) {
+        return set(v.getEntry(0), v.getEntry(1), v.getEntry(2));
+    }
+
+    /**
+     * Sets all entries of this vector to zero
+     *
+     * @return This vector
+     */
+    Vec3 setZero() {
+        return set(0.0, 0.0, 0.0);
+    }
+
+    /**
+     * Adds another vector to this vector
+     *
+     * @param v Vector to be added
+     * @return This vector
+     */
+    Vec3 add(Vec3 v) {
+        return set(x() + v.x(), y() + v.y(), z() + v.z());
+    }
+
+    /**
+     * Adds a scaled vector to this vector, i.e. this + v * factor
+     *
+     * @param v Vector to be scaled and added
+     * @param factor Factor for v
+     * @return This vector
+     */
+    Vec3 addScaled(Vec3 v, double factor) {
+        return set(x() + v.x() * factor, y() + v.y() * factor, z() + v.z() * factor);
+    }
+
+    /**
+     * Subtracts another vector from this vector
+     *
+     * @param v Vector to be subtracted
+     * @return This vector
+     */
+    Vec3 subtract(Vec3 v) {
+        return set(x() - v.x(), y() - v.y(), z() - v.z());
+    }
+
+    /**
+     * Sets this vector to the difference of two vectors, i.e. a - b
+     *
+     * @param a Minuend
+     * @param b Subtrahend
+     * @return This vector
+     */
+    Vec3 setDifference(Vec3 a, Vec3 b) {
+        return set(a.x() - b.x(), a.y() - b.y(), a.z() - b.z());
+    }
+
+    /**
+     * Multiplies all entries of this vector with a factor
+     *
+     * @param factor Factor for all entries
+     * @return This vector
+     */
+    Vec3 multiply(double factor) {
+        return set(x() * factor, y() * factor, z() * factor);
+    }
+
+    /**
+     * Divides all entries of this vector by a divisor
+     *
+     * @param divisor Divisor for all entries
+     * @return This vector
+     */
+    Vec3 divide(double divisor) {
+        return set(x() / divisor, y() / divisor, z() / divisor);
+    }
+
+    /**
+     * Sets this vector to the cross product a x b, a and b may be this vector
+     *
+     * @param a First vector of the cross product
+     * @param b Second vector of the cross product
+     * @return This vector
+     */
+    Vec3 setCross(Vec3 a, Vec3 b) {
+        double ax = a.x(), ay = a.y(), az = a.z();
+        double bx = b.x(), by = b.y(), bz = b.z();
+        return set(ay * bz - az * by, az * bx - ax * bz, ax * by - ay * bx);
+    }
+
+    /**
+     * Sets this vector to the product m * v, v may be this vector
+     *
+     * @param m Matrix of the product
+     * @param v Vector of the product
+     * @return This vector
+     */
+    Vec3 setProduct(Mat3 m, Vec3 v) {
+        double x = v.x(), y = v.y(), z = v.z();
+        return set(m.m00() * x + m.m01() * y + m.m02() * z,
+                m.m10() * x + m.m11() * y + m.m12() * z,
+                m.m20() * x + m.m21() * y + m.m22() * z);
+    }
+
+    /**
+     * Sets this vector to the product transpose(m) * v, v may be this vector
+     *
+     * @param m Matrix whose transpose is used in the product
+     * @param v Vector of the product
+     * @return This vector
+     */
+    Vec3 setTransposedProduct(Mat3 m, Vec3 v) {
+        double x = v.x(), y = v.y(), z = v.z();
+        return set(m.m00() * x + m.m10() * y + m.m20() * z,
+                m.m01() * x + m.m11() * y + m.m21() * z,
+                m.m02() * x + m.m12() * y + m.m22() * z);
+    }
+
+    /**
+     * Computes the dot product of this vector and another vector
+     *
+     * @param v Other vector
+     * @return Dot product
+     */
+    double dot(Vec3 v) {
+        return x() * v.x() + y() * v.y() + z() * v.z();
+    }
+
+    /**
+     * Computes the euclidean norm of this vector
+     *
+     * @return Euclidean norm
+     */
+    double norm() {
+        double x = x(), y = y(), z = z();
+        return Math.sqrt(x * x + y * y + z * z);
+    }
+
+    /**
+     * Computes the sum of the absolute values of all entries
+     *
+     * @return L1 norm
+     */
+    double l1Norm() {
+        return Math.abs(x()) + Math.abs(y()) + Math.abs(z());
+    }
+
+    /**
+     * Creates a new RealVector with the entries of this vector
+     *
+     * @return New vector that is independent of this vector
+     */
+    RealVector toRealVector() {
+        return new ArrayRealVector(new double[] {x(), y(), z()}, false);
+    }
+
+    /**
+     * Returns the entries in the same format as RealVector
+     *
+     * @return String representation of the vector
+     */
+    @Override
+    public String toString() {
+        return toRealVector().toString();
+    }
+}
@@ -196,7 +196,7 @@ public class Vehicle {
         // Initialize camera image with empty optional
         cameraImage = Optional.empty();
 
-        Log.finest("Vehicle: Constructor - Vehicle constructed: " + this);
+        Log.finest(() -> "Vehicle: Constructor - Vehicle constructed: " + this);
     }
 
     /**
@@ -209,7 +209,7 @@ public class Vehicle {
      * @param wheelDistFrontBack Distance between front and back wheels
      */
     void setWheelProperties(double massFront, double massBack, double wheelRadius, double wheelDistLeftRight, double wheelDistFrontBack) {
-        Log.finest("Vehicle: setWheelProperties - Vehicle at start: " + this);
+        Log.finest(() -> "Vehicle: setWheelProperties - Vehicle at start: " + this);
         mass = massFront + massBack;
         this.wheelRadius = wheelRadius;
         this.wheelDistLeftRight = wheelDistLeftRight;
@@ -233,7 +233,7 @@ public class Vehicle {
         wheelMassPoints[MASS_POINT_TYPE_WHEEL_FRONT_RIGHT.ordinal()].setPressure(VEHICLE_DEFAULT_TIRE_PRESSURE);
         wheelMassPoints[MASS_POINT_TYPE_WHEEL_BACK_LEFT.ordinal()].setPressure(VEHICLE_DEFAULT_TIRE_PRESSURE);
         wheelMassPoints[MASS_POINT_TYPE_WHEEL_BACK_RIGHT.ordinal()].setPressure(VEHICLE_DEFAULT_TIRE_PRESSURE);
-        Log.finest("Vehicle: setWheelProperties - Vehicle at end: " + this);
+        Log.finest(() -> "Vehicle: setWheelProperties - Vehicle at end: " + this);
     }
 
     /**
@@ -245,7 +245,7 @@ public class Vehicle {
      * @param actuatorChangeRate Change rate of the actuator
      */
     void setActuatorProperties(VehicleActuatorType actuatorType, double actuatorValueMin, double actuatorValueMax, double actuatorChangeRate) {
-        Log.finest("Vehicle: setActuatorProperties - Vehicle at start: " + this);
+        Log.finest(() -> "Vehicle: setActuatorProperties - Vehicle at start: " + this);
 
         switch (actuatorType) {
             case VEHICLE_ACTUATOR_TYPE_MOTOR:
@@ -270,7 +270,7 @@ public class Vehicle {
                 break;
         }
 
-        Log.finest("Vehicle: setActuatorProperties - Vehicle at end: " + this);
+        Log.finest(() -> "Vehicle: setActuatorProperties - Vehicle at end: " + this);
     }
 
     /**
@@ -281,11 +281,11 @@ public class Vehicle {
      * @param height Height of the vehicle
      */
     void setDimensions(double length, double width, double height) {
-        Log.finest("Vehicle: setDimensions - Vehicle at start: " + this);
+        Log.finest(() -> "Vehicle: setDimensions - Vehicle at start: " + this);
         this.length = length;
         this.width = width;
         this.height = height;
-        Log.finest("Vehicle: setDimensions - Vehicle at end: " + this);
+        Log.finest(() -> "Vehicle: setDimensions - Vehicle at end: " + this);
     }
 
     /**
@@ -0,0 +1,117 @@
+package simulation.vehicle;
+
+import simulation.util.Log;
+
+import java.util.*;
+
+/**
+ * Class that executes the loop iteration of many physical vehicles with one integration pass per
+ * VehicleStateStore instead of one per vehicle. The state of the vehicles already lives in their stores,
+ * nothing is copied. The results are identical to PhysicalVehicle.executeLoopIteration().
+ *
+ * A loop iteration consists of beginLoopIteration(), prepareVehicle() for each vehicle, integrateStore()
+ * for each store and finishVehicle() for each vehicle. The calls of each step for different indices
+ * may be executed in parallel, the steps must not overlap.
+ */
+public final class VehicleBatchIntegrator {
+
+    /** Vehicles of the current loop iteration */
+    private List<PhysicalVehicle> vehicles = Collections.emptyList();
+
+    /** Stores of the vehicles of the current loop iteration in the order of their first vehicle */
+    private final List<VehicleStateStore> stores = new ArrayList<>();
+
+    /** Set of the stores in the list, only used to avoid duplicates */
+    private final Set<VehicleStateStore> storeSet = Collections.newSetFromMap(new IdentityHashMap<>());
+
+    /** Flags whether the vehicle with the same index moves in the current loop iteration */
+    private boolean[] prepared = new boolean[0];
+
+    /** Time difference of the current loop iteration in milliseconds */
+    private long timeDiffMs = 0L;
+
+    /**
+     * Executes a complete loop iteration for a list of vehicles on the current thread
+     *
+     * @param vehicles Vehicles that are updated
+     * @param timeDiffMs Difference in time measured in milliseconds
+     */
+    public void executeLoopIteration(List<PhysicalVehicle> vehicles, long timeDiffMs) {
+        beginLoopIteration(vehicles, timeDiffMs);
+
+        for (int i = 0; i < vehicles.size(); ++i) {
+            prepareVehicle(i);
+        }
+
+        for (int i = 0; i < getStoreCount(); ++i) {
+            integrateStore(i);
+        }
+
+        for (int i = 0; i < vehicles.size(); ++i) {
+            finishVehicle(i);
+        }
+    }
+
+    /**
+     * Starts a loop iteration for a list of vehicles
+     *
+     * @param vehicles Vehicles that are updated, the list must not be modified until the loop iteration is finished
+     * @param timeDiffMs Difference in time measured in milliseconds
+     */
+    public void beginLoopIteration(List<PhysicalVehicle> vehicles, long timeDiffMs) {
+        this.vehicles = vehicles;
+        this.timeDiffMs = timeDiffMs;
+
+        if (prepared.length < vehicles.size()) {
+            prepared = new boolean[vehicles.size()];
+        }
+
+        stores.clear();
+        storeSet.clear();
+
+        for (PhysicalVehicle vehicle : vehicles) {
+            if (storeSet.add(vehicle.stateSlot().store)) {
+                stores.add(vehicle.stateSlot().store);
+            }
+        }
+
+        Log.finest(() -> "VehicleBatchIntegrator: beginLoopIteration - vehicles: " + vehicles.size() + ", stores: " + stores.size() + ", timeDiffMs: " + timeDiffMs);
+    }
+
+    /**
+     * Updates sensors, controller and actuators of a vehicle, sums up its forces and marks it for the integration
+     *
+     * @param index Index of the vehicle in the list of the current loop iteration
+     */
+    public void prepareVehicle(int index) {
+        prepared[index] = vehicles.get(index).prepareLoopIteration(timeDiffMs);
+    }
+
+    /**
+     * @return Number of stores that hold the vehicles of the current loop iteration
+     */
+    public int getStoreCount() {
+        return stores.size();
+    }
+
+    /**
+     * Integrates the rigid body state of all prepared vehicles of a store
+     *
+     * @param index Index of the store, smaller than getStoreCount()
+     */
+    public void integrateStore(int index) {
+        VehicleStateStore store = stores.get(index);
+        store.integrate(0, store.size(), timeDiffMs / 1000.0);
+    }
+
+    /**
+     * Moves the mass points of a vehicle according to its integrated rigid body state
+     *
+     * @param index Index of the vehicle in the list of the current loop iteration
+     */
+    public void finishVehicle(int index) {
+        if (prepared[index]) {
+            vehicles.get(index).finishLoopIteration(timeDiffMs);
+        }
+    }
+}
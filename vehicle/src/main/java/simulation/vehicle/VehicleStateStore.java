@@ -0,0 +1,453 @@
+package simulation.vehicle;
+
+/**
+ * Class that holds the physics state of a block of vehicles and their wheel mass points in a structure of
+ * arrays layout. Each field, e.g. the velocity of all vehicles, is one contiguous double array in which the
+ * entries of a vehicle slot are adjacent: vectors use 3 entries, matrices 9 entries in row major order and
+ * scalars 1 entry per slot. The wheel mass points of the vehicle in slot i use the wheel slots 4 * i to 4 * i + 3
+ * in the order of MassPointType.
+ *
+ * PhysicalVehicle and MassPoint do not hold their own state, their Vec3 and Mat3 fields are views onto the
+ * arrays of their store. integrate() advances the rigid body state of a range of vehicles with loops over these
+ * arrays, the same code is used for a single vehicle and for a whole block, see VehicleBatchIntegrator.
+ *
+ * New vehicles are appended to the current store until it is full, then a new store is started. Slots are not
+ * reused, a store is garbage collected with its last vehicle.
+ */
+final class VehicleStateStore {
+
+    /** Number of vehicles in a store that is used by allocateSlot() */
+    static final int BLOCK_CAPACITY = 64;
+
+    /** Number of wheel mass points of a vehicle */
+    static final int WHEEL_COUNT = 4;
+
+    /** Velocities with a norm below this threshold are set to zero */
+    static final double VELOCITY_ZERO_THRESHOLD = 0.0000000000001;
+
+    /** Store that receives new vehicles */
+    private static VehicleStateStore currentStore = null;
+
+    /** x_cm bar of formula */
+    final double[] localPos;
+
+    /** x_cm of formula */
+    final double[] pos;
+
+    /** v_cm / x_cm dot of formula */
+    final double[] velocity;
+
+    /** x_cm dot dot of formula */
+    final double[] acceleration;
+
+    /** F of formula */
+    final double[] force;
+
+    /** I bar ^-1 of formula */
+    final double[] localInertiaInverse;
+
+    /** I ^-1 of formula */
+    final double[] inertiaInverse;
+
+    /** A of formula */
+    final double[] rotationMatrix;
+
+    /** omega of formula */
+    final double[] angularVelocity;
+
+    /** L of formula */
+    final double[] angularMomentum;
+
+    /** tau of formula */
+    final double[] angularMomentumDeriv;
+
+    /** M of formula */
+    final double[] mass;
+
+    /** x_i bar of formula for all wheel mass points */
+    final double[] wheelLocalPos;
+
+    /** r_i bar of formula for all wheel mass points */
+    final double[] wheelLocalCenterDiff;
+
+    /** x_i of formula for all wheel mass points */
+    final double[] wheelPos;
+
+    /** r_i of formula for all wheel mass points */
+    final double[] wheelCenterDiff;
+
+    /** x_i dot of formula for all wheel mass points */
+    final double[] wheelVelocity;
+
+    /** x_i dot dot of formula for all wheel mass points */
+    final double[] wheelAcceleration;
+
+    /** f_i of formula for all wheel mass points */
+    final double[] wheelForce;
+
+    /** m_i of formula for all wheel mass points */
+    final double[] wheelMass;
+
+    /** Ground Z position for all wheel mass points */
+    final double[] wheelGroundZ;
+
+    /** Pressure for all wheel mass points */
+    final double[] wheelPressure;
+
+    /** Flags whether a vehicle slot is advanced by the next call of integrate() */
+    private final boolean[] active;
+
+    /** Maximum number of vehicle slots */
+    private final int capacity;
+
+    /** Number of allocated vehicle slots */
+    private int size = 0;
+
+    /**
+     * Constructor for an empty store
+     *
+     * @param capacity Maximum number of vehicle slots
+     */
+    VehicleStateStore(int capacity) {
+        if (capacity <= 0) {
+            throw new IllegalArgumentException("VehicleStateStore: Capacity must be positive, capacity: " + capacity);
+        }
+
+        this.capacity = capacity;
+        localPos = new double[3 * capacity];
+        pos = new double[3 * capacity];
+        velocity = new double[3 * capacity];
+        acceleration = new double[3 * capacity];
+        force = new double[3 * capacity];
+        localInertiaInverse = new double[9 * capacity];
+        inertiaInverse = new double[9 * capacity];
+        rotationMatrix = new double[9 * capacity];
+        angularVelocity = new double[3 * capacity];
+        angularMomentum = new double[3 * capacity];
+        angularMomentumDeriv = new double[3 * capacity];
+        mass = new double[capacity];
+
+        int wheels = WHEEL_COUNT * capacity;
+        wheelLocalPos = new double[3 * wheels];
+        wheelLocalCenterDiff = new double[3 * wheels];
+        wheelPos = new double[3 * wheels];
+        wheelCenterDiff = new double[3 * wheels];
+        wheelVelocity = new double[3 * wheels];
+        wheelAcceleration = new double[3 * wheels];
+        wheelForce = new double[3 * wheels];
+        wheelMass = new double[wheels];
+        wheelGroundZ = new double[wheels];
+        wheelPressure = new double[wheels];
+
+        active = new boolean[capacity];
+    }
+
+    /**
+     * Allocates a vehicle slot in the current store and starts a new store if it is full
+     *
+     * @return Allocated slot
+     */
+    static synchronized Slot allocateSlot() {
+        if (currentStore == null || currentStore.size == currentStore.capacity) {
+            currentStore = new VehicleStateStore(BLOCK_CAPACITY);
+        }
+
+        return new Slot(currentStore, currentStore.size++);
+    }
+
+    /**
+     * Creates a view onto a vector of a vehicle or wheel slot
+     *
+     * @param field Array of the field, e.g. velocity or wheelVelocity
+     * @param slot Vehicle slot for vehicle fields, wheel slot for wheel fields
+     * @return Vector that reads and writes the entries of the slot
+     */
+    static Vec3 vector(double[] field, int slot) {
+        return new Vec3(field, 3 * slot);
+    }
+
+    /**
+     * Creates a view onto a matrix of a vehicle slot
+     *
+     * @param field Array of the field, e.g. rotationMatrix
+     * @param slot Vehicle slot
+     * @return Matrix that reads and writes the entries of the slot
+     */
+    static Mat3 matrix(double[] field, int slot) {
+        return new Mat3(field, 9 * slot);
+    }
+
+    /**
+     * @return Number of allocated vehicle slots
+     */
+    int size() {
+        return size;
+    }
+
+    /**
+     * Marks a vehicle slot to be advanced by the next call of integrate(). Different slots may be marked
+     * concurrently
+     *
+     * @param slot Vehicle slot
+     */
+    void setActive(int slot) {
+        active[slot] = true;
+    }
+
+    /**
+     * Advances the rigid body state of all marked vehicle slots in [from, to) by one integration step and
+     * updates r_i of their wheel mass points, then clears the marks. Calls for disjoint ranges may run
+     * concurrently.
+     * The steps and the order of all floating point operations are the same as in the Vec3 and Mat3 based
+     * computations of PhysicalVehicle: velocity and acceleration, position, rotation matrix, angular momentum,
+     * inertia inverse, angular velocity and the center differences of the wheel mass points.
+     *
+     * @param from First vehicle slot
+     * @param to Vehicle slot after the last slot
+     * @param deltaT Time difference to previous step in seconds
+     */
+    void integrate(int from, int to, double deltaT) {
+        integrateVelocityAndAcceleration(from, to, deltaT);
+        integratePosition(from, to, deltaT);
+        integrateRotationMatrix(from, to, deltaT);
+        integrateAngularMomentum(from, to, deltaT);
+        computeInertiaInverse(from, to);
+        computeAngularVelocity(from, to);
+        computeWheelCenterDiff(from, to);
+
+        for (int i = from; i < to; ++i) {
+            active[i] = false;
+        }
+    }
+
+    /**
+     * v = v + (F / M) * deltaT, zero if below threshold, acceleration is the difference quotient
+     */
+    private void integrateVelocityAndAcceleration(int from, int to, double deltaT) {
+        for (int i = from; i < to; ++i) {
+            if (!active[i]) {
+                continue;
+            }
+
+            int j = 3 * i;
+            double previousX = velocity[j];
+            double previousY = velocity[j + 1];
+            double previousZ = velocity[j + 2];
+            double x = previousX + (force[j] / mass[i]) * deltaT;
+            double y = previousY + (force[j + 1] / mass[i]) * deltaT;
+            double z = previousZ + (force[j + 2] / mass[i]) * deltaT;
+
+            if (Math.sqrt(x * x + y * y + z * z) < VELOCITY_ZERO_THRESHOLD) {
+                x = 0.0;
+                y = 0.0;
+                z = 0.0;
+            }
+
+            velocity[j] = x;
+            velocity[j + 1] = y;
+            velocity[j + 2] = z;
+
+            if (deltaT > 0.0) {
+                acceleration[j] = (x - previousX) / deltaT;
+                acceleration[j + 1] = (y - previousY) / deltaT;
+                acceleration[j + 2] = (z - previousZ) / deltaT;
+            }
+        }
+    }
+
+    /**
+     * x = x + v * deltaT
+     */
+    private void integratePosition(int from, int to, double deltaT) {
+        for (int i = from; i < to; ++i) {
+            if (!active[i]) {
+                continue;
+            }
+
+            int j = 3 * i;
+            pos[j] = pos[j] + velocity[j] * deltaT;
+            pos[j + 1] = pos[j + 1] + velocity[j + 1] * deltaT;
+            pos[j + 2] = pos[j + 2] + velocity[j + 2] * deltaT;
+        }
+    }
+
+    /**
+     * A = orthonormalize(A + crossProductMatrix(omega) * A * deltaT), see Mat3
+     */
+    private void integrateRotationMatrix(int from, int to, double deltaT) {
+        double[] r = rotationMatrix;
+
+        for (int i = from; i < to; ++i) {
+            if (!active[i]) {
+                continue;
+            }
+
+            int k = 9 * i;
+            double m00 = r[k], m01 = r[k + 1], m02 = r[k + 2];
+            double m10 = r[k + 3], m11 = r[k + 4], m12 = r[k + 5];
+            double m20 = r[k + 6], m21 = r[k + 7], m22 = r[k + 8];
+            double x = angularVelocity[3 * i], y = angularVelocity[3 * i + 1], z = angularVelocity[3 * i + 2];
+
+            // Euler step with the cross product matrix of the angular velocity
+            double n00 = m00 + (-z * m10 + y * m20) * deltaT;
+            double n01 = m01 + (-z * m11 + y * m21) * deltaT;
+            double n02 = m02 + (-z * m12 + y * m22) * deltaT;
+            double n10 = m10 + (z * m00 + -x * m20) * deltaT;
+            double n11 = m11 + (z * m01 + -x * m21) * deltaT;
+            double n12 = m12 + (z * m02 + -x * m22) * deltaT;
+            double n20 = m20 + (-y * m00 + x * m10) * deltaT;
+            double n21 = m21 + (-y * m01 + x * m11) * deltaT;
+            double n22 = m22 + (-y * m02 + x * m12) * deltaT;
+
+            // Gram Schmidt process on the columns
+            double norm0 = Math.sqrt(n00 * n00 + n10 * n10 + n20 * n20);
+            double v00 = n00 / norm0;
+            double v01 = n10 / norm0;
+            double v02 = n20 / norm0;
+
+            double dot01 = v00 * n01 + v01 * n11 + v02 * n21;
+            double v10 = n01 - v00 * dot01;
+            double v11 = n11 - v01 * dot01;
+            double v12 = n21 - v02 * dot01;
+            double norm1 = Math.sqrt(v10 * v10 + v11 * v11 + v12 * v12);
+            v10 = v10 / norm1;
+            v11 = v11 / norm1;
+            v12 = v12 / norm1;
+
+            double dot02 = v00 * n02 + v01 * n12 + v02 * n22;
+            double dot12 = v10 * n02 + v11 * n12 + v12 * n22;
+            double v20 = (n02 - v00 * dot02) - v10 * dot12;
+            double v21 = (n12 - v01 * dot02) - v11 * dot12;
+            double v22 = (n22 - v02 * dot02) - v12 * dot12;
+            double norm2 = Math.sqrt(v20 * v20 + v21 * v21 + v22 * v22);
+
+            r[k] = v00;
+            r[k + 1] = v10;
+            r[k + 2] = v20 / norm2;
+            r[k + 3] = v01;
+            r[k + 4] = v11;
+            r[k + 5] = v21 / norm2;
+            r[k + 6] = v02;
+            r[k + 7] = v12;
+            r[k + 8] = v22 / norm2;
+        }
+    }
+
+    /**
+     * L = L + tau * deltaT
+     */
+    private void integrateAngularMomentum(int from, int to, double deltaT) {
+        for (int i = from; i < to; ++i) {
+            if (!active[i]) {
+                continue;
+            }
+
+            int j = 3 * i;
+            angularMomentum[j] = angularMomentum[j] + angularMomentumDeriv[j] * deltaT;
+            angularMomentum[j + 1] = angularMomentum[j + 1] + angularMomentumDeriv[j + 1] * deltaT;
+            angularMomentum[j + 2] = angularMomentum[j + 2] + angularMomentumDeriv[j + 2] * deltaT;
+        }
+    }
+
+    /**
+     * I ^-1 = A * I bar ^-1 * transpose(A)
+     */
+    private void computeInertiaInverse(int from, int to) {
+        double[] r = rotationMatrix;
+        double[] l = localInertiaInverse;
+
+        for (int i = from; i < to; ++i) {
+            if (!active[i]) {
+                continue;
+            }
+
+            int k = 9 * i;
+
+            // t = A * I bar ^-1
+            double t00 = r[k] * l[k] + r[k + 1] * l[k + 3] + r[k + 2] * l[k + 6];
+            double t01 = r[k] * l[k + 1] + r[k + 1] * l[k + 4] + r[k + 2] * l[k + 7];
+            double t02 = r[k] * l[k + 2] + r[k + 1] * l[k + 5] + r[k + 2] * l[k + 8];
+            double t10 = r[k + 3] * l[k] + r[k + 4] * l[k + 3] + r[k + 5] * l[k + 6];
+            double t11 = r[k + 3] * l[k + 1] + r[k + 4] * l[k + 4] + r[k + 5] * l[k + 7];
+            double t12 = r[k + 3] * l[k + 2] + r[k + 4] * l[k + 5] + r[k + 5] * l[k + 8];
+            double t20 = r[k + 6] * l[k] + r[k + 7] * l[k + 3] + r[k + 8] * l[k + 6];
+            double t21 = r[k + 6] * l[k + 1] + r[k + 7] * l[k + 4] + r[k + 8] * l[k + 7];
+            double t22 = r[k + 6] * l[k + 2] + r[k + 7] * l[k + 5] + r[k + 8] * l[k + 8];
+
+            // I ^-1 = t * transpose(A)
+            inertiaInverse[k] = t00 * r[k] + t01 * r[k + 1] + t02 * r[k + 2];
+            inertiaInverse[k + 1] = t00 * r[k + 3] + t01 * r[k + 4] + t02 * r[k + 5];
+            inertiaInverse[k + 2] = t00 * r[k + 6] + t01 * r[k + 7] + t02 * r[k + 8];
+            inertiaInverse[k + 3] = t10 * r[k] + t11 * r[k + 1] + t12 * r[k + 2];
+            inertiaInverse[k + 4] = t10 * r[k + 3] + t11 * r[k + 4] + t12 * r[k + 5];
+            inertiaInverse[k + 5] = t10 * r[k + 6] + t11 * r[k + 7] + t12 * r[k + 8];
+            inertiaInverse[k + 6] = t20 * r[k] + t21 * r[k + 1] + t22 * r[k + 2];
+            inertiaInverse[k + 7] = t20 * r[k + 3] + t21 * r[k + 4] + t22 * r[k + 5];
+            inertiaInverse[k + 8] = t20 * r[k + 6] + t21 * r[k + 7] + t22 * r[k + 8];
+        }
+    }
+
+    /**
+     * omega = I ^-1 * L
+     */
+    private void computeAngularVelocity(int from, int to) {
+        double[] m = inertiaInverse;
+
+        for (int i = from; i < to; ++i) {
+            if (!active[i]) {
+                continue;
+            }
+
+            int j = 3 * i;
+            int k = 9 * i;
+            double x = angularMomentum[j], y = angularMomentum[j + 1], z = angularMomentum[j + 2];
+            angularVelocity[j] = m[k] * x + m[k + 1] * y + m[k + 2] * z;
+            angularVelocity[j + 1] = m[k + 3] * x + m[k + 4] * y + m[k + 5] * z;
+            angularVelocity[j + 2] = m[k + 6] * x + m[k + 7] * y + m[k + 8] * z;
+        }
+    }
+
+    /**
+     * r_i = A * r_i bar for all wheel mass points
+     */
+    private void computeWheelCenterDiff(int from, int to) {
+        double[] r = rotationMatrix;
+
+        for (int i = from; i < to; ++i) {
+            if (!active[i]) {
+                continue;
+            }
+
+            int k = 9 * i;
+
+            for (int w = WHEEL_COUNT * i; w < WHEEL_COUNT * (i + 1); ++w) {
+                int j = 3 * w;
+                double x = wheelLocalCenterDiff[j], y = wheelLocalCenterDiff[j + 1], z = wheelLocalCenterDiff[j + 2];
+                wheelCenterDiff[j] = r[k] * x + r[k + 1] * y + r[k + 2] * z;
+                wheelCenterDiff[j + 1] = r[k + 3] * x + r[k + 4] * y + r[k + 5] * z;
+                wheelCenterDiff[j + 2] = r[k + 6] * x + r[k + 7] * y + r[k + 8] * z;
+            }
+        }
+    }
+
+    /**
+     * Vehicle slot in a store
+     */
+    static final class Slot {
+
+        /** Store that holds the state of the slot */
+        final VehicleStateStore store;
+
+        /** Index of the vehicle slot in the store */
+        final int index;
+
+        /**
+         * @param store Store that holds the state of the slot
+         * @param index Index of the vehicle slot in the store
+         */
+        private Slot(VehicleStateStore store, int index) {
+            this.store = store;
+            this.index = index;
+        }
+    }
+}
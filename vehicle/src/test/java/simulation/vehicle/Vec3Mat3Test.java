@@ -0,0 +1,145 @@
+package simulation.vehicle;
+
+import org.apache.commons.math3.geometry.euclidean.threed.Rotation;
+import org.apache.commons.math3.geometry.euclidean.threed.RotationConvention;
+import org.apache.commons.math3.geometry.euclidean.threed.RotationOrder;
+import org.apache.commons.math3.linear.ArrayRealVector;
+import org.apache.commons.math3.linear.BlockRealMatrix;
+import org.apache.commons.math3.linear.RealMatrix;
+import org.apache.commons.math3.linear.RealVector;
+import org.junit.*;
+import simulation.util.Log;
+import simulation.util.MathHelper;
+
+import java.util.Random;
+
+import static org.junit.Assert.*;
+
+/**
+ * Class that tests the Vec3 and Mat3 classes against the corresponding RealVector and RealMatrix operations
+ */
+public class Vec3Mat3Test {
+
+    @BeforeClass
+    public static void setUpClass() {
+        Log.setLogEnabled(false);
+    }
+
+    @AfterClass
+    public static void tearDownClass() {
+        Log.setLogEnabled(true);
+    }
+
+    @Test
+    public void testVectorOperations() throws Exception {
+        Random random = new Random(42);
+
+        for (int i = 0; i < 1000; ++i) {
+            RealVector a = randomVector(random);
+            RealVector b = randomVector(random);
+            RealMatrix m = randomMatrix(random);
+            double factor = random.nextDouble() * 10.0 - 5.0;
+
+            assertVectorEquals(a.add(b), new Vec3().set(a).add(new Vec3().set(b)));
+            assertVectorEquals(a.subtract(b), new Vec3().setDifference(new Vec3().set(a), new Vec3().set(b)));
+            assertVectorEquals(a.add(b.mapMultiply(factor)), new Vec3().set(a).addScaled(new Vec3().set(b), factor));
+            assertVectorEquals(a.mapDivide(factor), new Vec3().set(a).divide(factor));
+            assertVectorEquals(MathHelper.vector3DCrossProduct(a, b), new Vec3().setCross(new Vec3().set(a), new Vec3().set(b)));
+            assertVectorEquals(m.operate(a), new Vec3().setProduct(new Mat3().set(m), new Vec3().set(a)));
+            assertVectorEquals(m.transpose().operate(a), new Vec3().setTransposedProduct(new Mat3().set(m), new Vec3().set(a)));
+
+            assertEquals(a.dotProduct(b), new Vec3().set(a).dot(new Vec3().set(b)), 0.0);
+            assertEquals(a.getNorm(), new Vec3().set(a).norm(), 0.0);
+            assertEquals(a.getL1Norm(), new Vec3().set(a).l1Norm(), 0.0);
+
+            // Operands may be the result vector
+            Vec3 v = new Vec3().set(a);
+            assertVectorEquals(MathHelper.vector3DCrossProduct(a, b), v.setCross(v, new Vec3().set(b)));
+            v.set(a);
+            assertVectorEquals(m.operate(a), v.setProduct(new Mat3().set(m), v));
+        }
+    }
+
+    @Test
+    public void testMatrixOperations() throws Exception {
+        Random random = new Random(42);
+
+        for (int i = 0; i < 1000; ++i) {
+            RealMatrix a = randomMatrix(random);
+            RealMatrix b = randomMatrix(random);
+            RealVector w = randomVector(random);
+            double deltaT = random.nextDouble() * 0.1;
+
+            assertMatrixEquals(a.multiply(b), new Mat3().setProduct(new Mat3().set(a), new Mat3().set(b)));
+            assertMatrixEquals(a.multiply(b.transpose()), new Mat3().setProductTransposed(new Mat3().set(a), new Mat3().set(b)));
+
+            // Operands may be the result matrix
+            Mat3 m = new Mat3().set(a);
+            assertMatrixEquals(a.multiply(b), m.setProduct(m, new Mat3().set(b)));
+
+            RealMatrix rotationUpdate = a.add((MathHelper.vector3DToCrossProductMatrix(w).multiply(a)).scalarMultiply(deltaT));
+            assertMatrixEquals(rotationUpdate, new Mat3().set(a).addCrossProductTimes(new Vec3().set(w), deltaT));
+
+            assertMatrixEquals(MathHelper.matrix3DOrthonormalize(a.copy()), new Mat3().set(a).orthonormalize());
+        }
+    }
+
+    @Test
+    public void testRotationZ() {
+        for (double angle = -Math.PI; angle <= Math.PI; angle += 0.01) {
+            Rotation rotation = new Rotation(RotationOrder.XYZ, RotationConvention.VECTOR_OPERATOR, 0.0, 0.0, angle);
+            assertMatrixEquals(new BlockRealMatrix(rotation.getMatrix()), new Mat3().setRotationZ(angle));
+        }
+    }
+
+    @Test
+    public void testConversions() {
+        RealVector vector = new ArrayRealVector(new double[] {1.0, -2.0, 3.5});
+        Vec3 v = new Vec3().set(vector);
+        RealVector copy = v.toRealVector();
+        assertVectorEquals(vector, v);
+        assertEquals(vector.toString(), v.toString());
+
+        // Returned vectors are copies
+        copy.setEntry(0, 10.0);
+        assertEquals(1.0, v.x(), 0.0);
+
+        Mat3 m = new Mat3().setIdentity();
+        RealMatrix matrix = m.toRealMatrix();
+        matrix.setEntry(0, 0, 5.0);
+        assertEquals(1.0, m.m00(), 0.0);
+        assertEquals(0.0, m.m01(), 0.0);
+    }
+
+    private static RealVector randomVector(Random random) {
+        return new ArrayRealVector(new double[] {random.nextGaussian() * 10.0, random.nextGaussian() * 10.0, random.nextGaussian() * 10.0});
+    }
+
+    private static RealMatrix randomMatrix(Random random) {
+        double[][] entries = new double[3][3];
+
+        for (int i = 0; i < 3; ++i) {
+            for (int j = 0; j < 3; ++j) {
+                entries[i][j] = random.nextGaussian();
+            }
+        }
+
+        return new BlockRealMatrix(entries);
+    }
+
+    private static void assertVectorEquals(RealVector expected, Vec3 actual) {
+        assertEquals(expected.getEntry(0), actual.x(), 0.0);
+        assertEquals(expected.getEntry(1), actual.y(), 0.0);
+        assertEquals(expected.getEntry(2), actual.z(), 0.0);
+    }
+
+    private static void assertMatrixEquals(RealMatrix expected, Mat3 actual) {
+        double[][] entries = {{actual.m00(), actual.m01(), actual.m02()}, {actual.m10(), actual.m11(), actual.m12()}, {actual.m20(), actual.m21(), actual.m22()}};
+
+        for (int i = 0; i < 3; ++i) {
+            for (int j = 0; j < 3; ++j) {
+                assertEquals(expected.getEntry(i, j), entries[i][j], 0.0);
+            }
+        }
+    }
+}
@@ -0,0 +1,140 @@
+package simulation.vehicle;
+
+import org.apache.commons.math3.linear.RealMatrix;
+import org.apache.commons.math3.linear.RealVector;
+import org.junit.*;
+import simulation.util.Log;
+
+import java.util.Arrays;
+import java.util.List;
+import java.util.Optional;
+
+import static org.junit.Assert.*;
+import static simulation.vehicle.VehicleActuatorType.*;
+
+/**
+ * Class that tests that vehicle state lives in its VehicleStateStore slot and that the VehicleBatchIntegrator
+ * computes the same results as the loop iteration of a single vehicle
+ */
+public class VehicleBatchIntegratorTest {
+
+    /** Time step of the simulation in milliseconds */
+    private static final long TIME_STEP_MS = 10;
+
+    @BeforeClass
+    public static void setUpClass() {
+        Log.setLogEnabled(false);
+    }
+
+    @AfterClass
+    public static void tearDownClass() {
+        Log.setLogEnabled(true);
+    }
+
+    @Test
+    public void testSameResultAsSingleVehicle() throws Exception {
+        PhysicalVehicle single = createVehicle(1.0, 0.1);
+        PhysicalVehicle batched = createVehicle(1.0, 0.1);
+        PhysicalVehicle other = createVehicle(0.5, -0.2);
+        List<PhysicalVehicle> vehicles = Arrays.asList(batched, other);
+        VehicleBatchIntegrator integrator = new VehicleBatchIntegrator();
+
+        for (int i = 0; i < 500; ++i) {
+            PhysicsEngine.resetForces(single);
+            PhysicsEngine.computeForces(single, TIME_STEP_MS);
+            single.executeLoopIteration(TIME_STEP_MS);
+
+            for (PhysicalVehicle vehicle : vehicles) {
+                PhysicsEngine.resetForces(vehicle);
+                PhysicsEngine.computeForces(vehicle, TIME_STEP_MS);
+            }
+            integrator.executeLoopIteration(vehicles, TIME_STEP_MS);
+
+            assertVehicleEquals(single, batched);
+        }
+
+        // Vehicle has actually moved and turned
+        assertTrue(single.getVelocity().getNorm() > 0.0);
+        assertTrue(single.getAngularVelocity().getNorm() > 0.0);
+    }
+
+    @Test
+    public void testVehicleWithError() throws Exception {
+        PhysicalVehicle moving = createVehicle(1.0, 0.0);
+        PhysicalVehicle broken = createVehicle(1.0, 0.0);
+        broken.setError(true);
+        RealVector brokenPosition = broken.getPos();
+
+        VehicleBatchIntegrator integrator = new VehicleBatchIntegrator();
+        List<PhysicalVehicle> vehicles = Arrays.asList(broken, moving);
+
+        for (int i = 0; i < 100; ++i) {
+            for (PhysicalVehicle vehicle : vehicles) {
+                PhysicsEngine.resetForces(vehicle);
+                PhysicsEngine.computeForces(vehicle, TIME_STEP_MS);
+            }
+            integrator.executeLoopIteration(vehicles, TIME_STEP_MS);
+        }
+
+        assertEquals(brokenPosition, broken.getPos());
+        assertTrue(moving.getVelocity().getNorm() > 0.0);
+    }
+
+    @Test
+    public void testStateIsStoredInSlot() throws Exception {
+        PhysicalVehicle vehicle = createVehicle(1.0, 0.1);
+        VehicleStateStore.Slot slot = vehicle.stateSlot();
+        MassPoint[] massPoints = vehicle.getSimulationVehicle().getWheelMassPoints();
+
+        vehicle.setGlobalPos(10.0, 20.0, 30.0);
+        RealVector pos = vehicle.getPos();
+        assertEquals(pos.getEntry(0), slot.store.pos[3 * slot.index], 0.0);
+        assertEquals(pos.getEntry(1), slot.store.pos[3 * slot.index + 1], 0.0);
+        assertEquals(pos.getEntry(2), slot.store.pos[3 * slot.index + 2], 0.0);
+
+        for (int i = 0; i < massPoints.length; ++i) {
+            assertTrue(massPoints[i].isStoredAt(slot.store, VehicleStateStore.WHEEL_COUNT * slot.index + i));
+        }
+
+        // A replaced mass point keeps its values and is moved into the slot by the next loop iteration
+        MassPoint old = massPoints[0];
+        MassPoint replacement = new MassPoint(old.getType(), old.getLocalPos(), old.getLocalCenterDiff(), old.getPos(), old.getCenterDiff(), old.getVelocity(), old.getAcceleration(), old.getForce(), old.getMass());
+        replacement.setPressure(old.getPressure());
+        massPoints[0] = replacement;
+        assertFalse(replacement.isStoredAt(slot.store, VehicleStateStore.WHEEL_COUNT * slot.index));
+
+        PhysicsEngine.resetForces(vehicle);
+        PhysicsEngine.computeForces(vehicle, TIME_STEP_MS);
+        vehicle.executeLoopIteration(TIME_STEP_MS);
+
+        assertTrue(replacement.isStoredAt(slot.store, VehicleStateStore.WHEEL_COUNT * slot.index));
+        assertEquals(old.getMass(), replacement.getMass(), 0.0);
+        assertEquals(old.getPressure(), replacement.getPressure(), 0.0);
+    }
+
+    private static PhysicalVehicle createVehicle(double motor, double steering) throws Exception {
+        PhysicalVehicle vehicle = PhysicalVehicleBuilder.getInstance().buildPhysicalVehicle(Optional.empty(), Optional.empty(), Optional.empty());
+        vehicle.getSimulationVehicle().getVehicleActuator(VEHICLE_ACTUATOR_TYPE_MOTOR).setActuatorValueTarget(motor);
+        vehicle.getSimulationVehicle().getVehicleActuator(VEHICLE_ACTUATOR_TYPE_STEERING).setActuatorValueTarget(steering);
+        return vehicle;
+    }
+
+    private static void assertVehicleEquals(PhysicalVehicle expected, PhysicalVehicle actual) {
+        assertEquals(expected.getPos(), actual.getPos());
+        assertEquals(expected.getVelocity(), actual.getVelocity());
+        assertEquals(expected.getAngularVelocity(), actual.getAngularVelocity());
+
+        RealMatrix expectedRotation = expected.getRotationMatrix();
+        RealMatrix actualRotation = actual.getRotationMatrix();
+        for (int i = 0; i < 3; ++i) {
+            assertArrayEquals(expectedRotation.getRow(i), actualRotation.getRow(i), 0.0);
+        }
+
+        MassPoint[] expectedMassPoints = expected.getSimulationVehicle().getWheelMassPoints();
+        MassPoint[] actualMassPoints = actual.getSimulationVehicle().getWheelMassPoints();
+        for (int i = 0; i < expectedMassPoints.length; ++i) {
+            assertEquals(expectedMassPoints[i].getPos(), actualMassPoints[i].getPos());
+            assertEquals(expectedMassPoints[i].getVelocity(), actualMassPoints[i].getVelocity());
+        }
+    }
+}